@@ -0,0 +1,306 @@
+package org.xrpl.xrpl4j.samples;
+
+import com.google.common.primitives.UnsignedInteger;
+import org.xrpl.xrpl4j.client.JsonRpcClientErrorException;
+import org.xrpl.xrpl4j.client.faucet.FaucetClient;
+import org.xrpl.xrpl4j.client.faucet.FundAccountRequest;
+import org.xrpl.xrpl4j.crypto.keys.KeyPair;
+import org.xrpl.xrpl4j.crypto.keys.Seed;
+import org.xrpl.xrpl4j.model.client.accounts.AccountInfoRequestParams;
+import org.xrpl.xrpl4j.model.client.common.LedgerSpecifier;
+import org.xrpl.xrpl4j.model.client.ledger.LedgerResult;
+import org.xrpl.xrpl4j.model.client.transactions.TransactionResult;
+import org.xrpl.xrpl4j.model.transactions.Address;
+import org.xrpl.xrpl4j.model.transactions.Payment;
+import org.xrpl.xrpl4j.model.transactions.Transaction;
+
+import java.io.Closeable;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Generates and faucet-funds batches of accounts, reporting each account as soon as a validated ledger shows it was
+ * funded.
+ *
+ * <p>Readiness is detected by scanning each validated ledger published by a {@link ValidatedLedgerPoller} for the
+ * funding Payments, so a batch of any size costs no per-account polling. An account that has not shown up
+ * {@code readinessTimeoutLedgers} ledgers after the first validated ledger seen since its funding is checked once with
+ * {@code account_info}, on a funding thread so that the poller is not held up.
+ */
+public class AccountProvisioner implements ValidatedLedgerPoller.Listener, Closeable {
+
+  private static final long INITIAL_BACKOFF_MILLIS = 500;
+  private static final long MAX_BACKOFF_MILLIS = 10_000;
+
+  private final XrplRpcClient xrplClient;
+  private final FaucetClient faucetClient;
+  private final ExecutorService fundingExecutor;
+  private final int maxFundingAttempts;
+  private final int readinessTimeoutLedgers;
+
+  private final Map<Address, PendingAccount> pendingAccounts = new ConcurrentHashMap<>();
+
+  public AccountProvisioner(
+    XrplRpcClient xrplClient,
+    FaucetClient faucetClient,
+    int fundingConcurrency,
+    int maxFundingAttempts,
+    int readinessTimeoutLedgers
+  ) {
+    this.xrplClient = xrplClient;
+    this.faucetClient = faucetClient;
+    this.fundingExecutor = Executors.newFixedThreadPool(fundingConcurrency, runnable -> {
+      Thread thread = new Thread(runnable, "account-provisioner");
+      thread.setDaemon(true);
+      return thread;
+    });
+    this.maxFundingAttempts = maxFundingAttempts;
+    this.readinessTimeoutLedgers = readinessTimeoutLedgers;
+  }
+
+  /**
+   * Generates {@code count} ed25519 key pairs in parallel and funds them. The returned stream yields each account as
+   * it becomes ready, in readiness order, and ends once every account is either ready or has failed to fund.
+   */
+  public Stream<ProvisionedAccount> provision(int count) {
+    List<KeyPair> keyPairs = IntStream.range(0, count)
+      .parallel()
+      .mapToObj(i -> Seed.ed25519Seed().deriveKeyPair())
+      .collect(Collectors.toList());
+
+    Batch batch = new Batch(count);
+    for (KeyPair keyPair : keyPairs) {
+      PendingAccount pendingAccount = new PendingAccount(batch, keyPair);
+      // Registered before funding so the funding Payment cannot be missed.
+      pendingAccounts.put(pendingAccount.address, pendingAccount);
+      fundingExecutor.execute(() -> fund(pendingAccount));
+    }
+
+    // Not SIZED: accounts that fail to fund are never yielded, and a sized stream may skip the pipeline on count().
+    return StreamSupport.stream(Spliterators.spliteratorUnknownSize(batch, Spliterator.NONNULL), false);
+  }
+
+  private void fund(PendingAccount pendingAccount) {
+    long backoffMillis = INITIAL_BACKOFF_MILLIS;
+    for (int attempt = 1; ; attempt++) {
+      try {
+        faucetClient.fundAccount(FundAccountRequest.of(pendingAccount.address));
+        pendingAccount.funded = true;
+        return;
+      } catch (RuntimeException e) {
+        if (attempt >= maxFundingAttempts) {
+          System.err.println("Unable to fund " + pendingAccount.address + ": " + e.getMessage());
+          fail(pendingAccount);
+          return;
+        }
+      }
+
+      try {
+        // Full jitter keeps a batch of retries from hitting the faucet in lockstep.
+        Thread.sleep(ThreadLocalRandom.current().nextLong(backoffMillis + 1));
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        fail(pendingAccount);
+        return;
+      }
+      backoffMillis = Math.min(backoffMillis * 2, MAX_BACKOFF_MILLIS);
+    }
+  }
+
+  @Override
+  public void onValidatedLedger(LedgerResult ledgerResult) {
+    if (pendingAccounts.isEmpty() || !ledgerResult.ledgerIndex().isPresent()) {
+      return;
+    }
+    UnsignedInteger ledgerIndex = ledgerResult.ledgerIndex().get().unsignedIntegerValue();
+
+    for (TransactionResult<? extends Transaction> transactionResult : ledgerResult.ledger().transactions()) {
+      if (!(transactionResult.transaction() instanceof Payment)) {
+        continue;
+      }
+      boolean succeeded = transactionResult.metadata()
+        .map(metadata -> metadata.transactionResult().equals("tesSUCCESS"))
+        .orElse(false);
+      Address destination = ((Payment) transactionResult.transaction()).destination();
+      if (succeeded) {
+        markReady(destination, ledgerIndex);
+      }
+    }
+
+    for (PendingAccount pendingAccount : pendingAccounts.values()) {
+      UnsignedInteger fundedAt = pendingAccount.fundedAtLedgerIndex;
+      if (fundedAt == null) {
+        if (pendingAccount.funded) {
+          pendingAccount.fundedAtLedgerIndex = ledgerIndex;
+        }
+      } else if (ledgerIndex.minus(fundedAt).compareTo(UnsignedInteger.valueOf(readinessTimeoutLedgers)) >= 0 &&
+        !fundingExecutor.isShutdown() && pendingAccount.checking.compareAndSet(false, true)) {
+        fundingExecutor.execute(() -> checkFunded(pendingAccount, ledgerIndex));
+      }
+    }
+  }
+
+  private void checkFunded(PendingAccount pendingAccount, UnsignedInteger ledgerIndex) {
+    try {
+      xrplClient.accountInfo(
+        AccountInfoRequestParams.builder()
+          .ledgerSpecifier(LedgerSpecifier.VALIDATED)
+          .account(pendingAccount.address)
+          .build()
+      );
+      markReady(pendingAccount.address, ledgerIndex);
+    } catch (JsonRpcClientErrorException | RuntimeException e) {
+      // Not funded yet, or rippled did not answer; check again on a later ledger.
+      pendingAccount.fundedAtLedgerIndex = ledgerIndex;
+    } finally {
+      pendingAccount.checking.set(false);
+    }
+  }
+
+  private void markReady(Address address, UnsignedInteger ledgerIndex) {
+    PendingAccount pendingAccount = pendingAccounts.remove(address);
+    if (pendingAccount != null) {
+      pendingAccount.batch.ready(new ProvisionedAccount(pendingAccount.keyPair, address, ledgerIndex));
+    }
+  }
+
+  private void fail(PendingAccount pendingAccount) {
+    if (pendingAccounts.remove(pendingAccount.address, pendingAccount)) {
+      pendingAccount.batch.failed();
+    }
+  }
+
+  /**
+   * Stops funding. Accounts not yet ready count as failed, so consumers of {@link #provision(int)} streams finish.
+   */
+  @Override
+  public void close() {
+    fundingExecutor.shutdownNow();
+    pendingAccounts.values().forEach(this::fail);
+  }
+
+  /**
+   * A funded account, along with the first validated ledger in which it was seen to exist.
+   */
+  public static class ProvisionedAccount {
+
+    private final KeyPair keyPair;
+    private final Address address;
+    private final UnsignedInteger readyLedgerIndex;
+
+    private ProvisionedAccount(KeyPair keyPair, Address address, UnsignedInteger readyLedgerIndex) {
+      this.keyPair = keyPair;
+      this.address = address;
+      this.readyLedgerIndex = readyLedgerIndex;
+    }
+
+    public KeyPair keyPair() {
+      return keyPair;
+    }
+
+    public Address address() {
+      return address;
+    }
+
+    public UnsignedInteger readyLedgerIndex() {
+      return readyLedgerIndex;
+    }
+
+    @Override
+    public String toString() {
+      return "ProvisionedAccount{address=" + address + ", readyLedgerIndex=" + readyLedgerIndex + "}";
+    }
+
+  }
+
+  private static class PendingAccount {
+
+    private final Batch batch;
+    private final KeyPair keyPair;
+    private final Address address;
+    private final AtomicBoolean checking = new AtomicBoolean();
+    private volatile boolean funded;
+    private volatile UnsignedInteger fundedAtLedgerIndex;
+
+    private PendingAccount(Batch batch, KeyPair keyPair) {
+      this.batch = batch;
+      this.keyPair = keyPair;
+      this.address = keyPair.publicKey().deriveAddress();
+    }
+
+  }
+
+  /**
+   * Blocking iterator over one provisioning batch's ready accounts.
+   */
+  private static class Batch implements Iterator<ProvisionedAccount> {
+
+    private static final ProvisionedAccount FAILED = new ProvisionedAccount(null, null, null);
+
+    private final BlockingQueue<ProvisionedAccount> readyAccounts = new LinkedBlockingQueue<>();
+    private final AtomicInteger unconsumed;
+    private ProvisionedAccount next;
+
+    private Batch(int count) {
+      this.unconsumed = new AtomicInteger(count);
+    }
+
+    private void ready(ProvisionedAccount provisionedAccount) {
+      readyAccounts.add(provisionedAccount);
+    }
+
+    private void failed() {
+      unconsumed.decrementAndGet();
+      // Wake a consumer that may be waiting for an account that will never arrive.
+      readyAccounts.add(FAILED);
+    }
+
+    @Override
+    public boolean hasNext() {
+      while (next == null) {
+        if (unconsumed.get() == 0) {
+          return false;
+        }
+        try {
+          ProvisionedAccount taken = readyAccounts.take();
+          if (taken != FAILED) {
+            unconsumed.decrementAndGet();
+            next = taken;
+          }
+        } catch (InterruptedException e) {
+          Thread.currentThread().interrupt();
+          return false;
+        }
+      }
+      return true;
+    }
+
+    @Override
+    public ProvisionedAccount next() {
+      if (!hasNext()) {
+        throw new NoSuchElementException();
+      }
+      ProvisionedAccount provisionedAccount = next;
+      next = null;
+      return provisionedAccount;
+    }
+
+  }
+
+}
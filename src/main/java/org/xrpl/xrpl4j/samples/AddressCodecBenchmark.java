@@ -0,0 +1,178 @@
+package org.xrpl.xrpl4j.samples;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.xrpl.xrpl4j.codec.addresses.AddressCodec;
+import org.xrpl.xrpl4j.crypto.keys.PublicKey;
+import org.xrpl.xrpl4j.crypto.keys.Seed;
+import org.xrpl.xrpl4j.model.transactions.Address;
+import org.xrpl.xrpl4j.model.transactions.XAddress;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * JMH benchmark of {@link BulkAddressCodec} against calling {@code PublicKey.deriveAddress()} and {@link AddressCodec}
+ * once per address, for deriving addresses from public keys, classic to X-address conversion and normalizing a mix of
+ * both back to classic addresses. Scores are addresses per second.
+ *
+ * <p>Both variants run in the same chunks on the same {@code threads}-thread executor, so only the codec differs.
+ * Each invocation converts {@code KEY_COUNT} distinct keys five times over, so keys repeat the way they do in
+ * reconciliation, and starts with an empty address cache; {@code cacheSize=0} disables memoization.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class AddressCodecBenchmark {
+
+  private static final int KEY_COUNT = 20_000;
+  private static final int REPEATS = 5;
+  private static final int ADDRESS_COUNT = KEY_COUNT * REPEATS;
+  private static final int CHUNK_SIZE = 1024;
+
+  @Param({"1", "4"})
+  public int threads;
+
+  @Param({"0", "20000"})
+  public int cacheSize;
+
+  private ExecutorService executor;
+  private BulkAddressCodec bulkAddressCodec;
+  private AddressCodec addressCodec;
+  private List<PublicKey> publicKeys;
+  private List<Address> addresses;
+  private List<String> mixed;
+
+  public static void main(String[] args) throws RunnerException {
+    new Runner(new OptionsBuilder()
+      .include(AddressCodecBenchmark.class.getSimpleName())
+      .addProfiler(GCProfiler.class)
+      .build()
+    ).run();
+  }
+
+  @Setup
+  public void setUp() throws Exception {
+    executor = Executors.newFixedThreadPool(threads);
+    bulkAddressCodec = new BulkAddressCodec(executor, cacheSize);
+    addressCodec = AddressCodec.getInstance();
+
+    List<PublicKey> distinctKeys = new ArrayList<>(KEY_COUNT);
+    for (int i = 0; i < KEY_COUNT; i++) {
+      distinctKeys.add(Seed.ed25519Seed().deriveKeyPair().publicKey());
+    }
+    publicKeys = new ArrayList<>(ADDRESS_COUNT);
+    for (int i = 0; i < REPEATS; i++) {
+      publicKeys.addAll(distinctKeys);
+    }
+    addresses = deriveAddressPerCall();
+    List<XAddress> xAddresses = toXAddressPerCall();
+    // Half classic, half X-addresses, as reconciliation inputs tend to be.
+    mixed = new ArrayList<>(ADDRESS_COUNT);
+    for (int i = 0; i < ADDRESS_COUNT; i++) {
+      mixed.add(i % 2 == 0 ? addresses.get(i).value() : xAddresses.get(i).value());
+    }
+
+    verify("deriveAddress", addresses, deriveAddressBulk());
+    verify("toXAddress", xAddresses, toXAddressBulk());
+    verify("normalize", addresses, normalizeBulk());
+  }
+
+  // Each invocation converts 100,000 addresses, long enough for per-invocation setup not to skew the timing.
+  @Setup(Level.Invocation)
+  public void clearCache() {
+    bulkAddressCodec.invalidateAll();
+  }
+
+  @TearDown
+  public void tearDown() {
+    executor.shutdown();
+  }
+
+  @Benchmark
+  @OperationsPerInvocation(ADDRESS_COUNT)
+  public List<Address> deriveAddressPerCall() throws Exception {
+    return perCall(publicKeys, PublicKey::deriveAddress);
+  }
+
+  @Benchmark
+  @OperationsPerInvocation(ADDRESS_COUNT)
+  public List<Address> deriveAddressBulk() throws InterruptedException {
+    return bulkAddressCodec.deriveAddresses(publicKeys);
+  }
+
+  @Benchmark
+  @OperationsPerInvocation(ADDRESS_COUNT)
+  public List<XAddress> toXAddressPerCall() throws Exception {
+    return perCall(addresses, address -> addressCodec.classicAddressToXAddress(address, true));
+  }
+
+  @Benchmark
+  @OperationsPerInvocation(ADDRESS_COUNT)
+  public List<XAddress> toXAddressBulk() throws InterruptedException {
+    return bulkAddressCodec.toXAddresses(addresses, true);
+  }
+
+  @Benchmark
+  @OperationsPerInvocation(ADDRESS_COUNT)
+  public List<Address> normalizePerCall() throws Exception {
+    return perCall(mixed, address -> addressCodec.isValidXAddress(address) ?
+      addressCodec.xAddressToClassicAddress(XAddress.of(address)).classicAddress() :
+      Address.of(address));
+  }
+
+  @Benchmark
+  @OperationsPerInvocation(ADDRESS_COUNT)
+  public List<Address> normalizeBulk() throws InterruptedException {
+    return bulkAddressCodec.normalize(mixed);
+  }
+
+  /**
+   * Applies {@code conversion} in the same chunks {@link BulkAddressCodec} uses, on the same executor.
+   */
+  private <T, R> List<R> perCall(List<T> inputs, Function<T, R> conversion) throws Exception {
+    List<Callable<List<R>>> chunks = new ArrayList<>();
+    for (int start = 0; start < inputs.size(); start += CHUNK_SIZE) {
+      List<T> chunk = inputs.subList(start, Math.min(start + CHUNK_SIZE, inputs.size()));
+      chunks.add(() -> chunk.stream().map(conversion).collect(Collectors.toList()));
+    }
+    List<R> results = new ArrayList<>(inputs.size());
+    for (Future<List<R>> chunk : executor.invokeAll(chunks)) {
+      results.addAll(chunk.get());
+    }
+    return results;
+  }
+
+  private static <T> void verify(String operation, List<T> expected, List<T> actual) {
+    if (!expected.equals(actual)) {
+      throw new IllegalStateException(operation + " results differ from AddressCodec's.");
+    }
+  }
+
+}
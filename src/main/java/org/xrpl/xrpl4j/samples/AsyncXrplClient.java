@@ -0,0 +1,144 @@
+package org.xrpl.xrpl4j.samples;
+
+import org.xrpl.xrpl4j.crypto.signing.SingleSignedTransaction;
+import org.xrpl.xrpl4j.model.client.accounts.AccountInfoRequestParams;
+import org.xrpl.xrpl4j.model.client.accounts.AccountInfoResult;
+import org.xrpl.xrpl4j.model.client.accounts.AccountLinesRequestParams;
+import org.xrpl.xrpl4j.model.client.accounts.AccountLinesResult;
+import org.xrpl.xrpl4j.model.client.fees.FeeResult;
+import org.xrpl.xrpl4j.model.client.ledger.LedgerRequestParams;
+import org.xrpl.xrpl4j.model.client.ledger.LedgerResult;
+import org.xrpl.xrpl4j.model.client.transactions.SubmitResult;
+import org.xrpl.xrpl4j.model.client.transactions.TransactionRequestParams;
+import org.xrpl.xrpl4j.model.client.transactions.TransactionResult;
+import org.xrpl.xrpl4j.model.transactions.Transaction;
+
+import java.io.Closeable;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Exposes the {@link XrplRpcClient} calls as {@link CompletableFuture}s, with at most
+ * {@code maxConcurrentRequests} requests outstanding against rippled at once.
+ *
+ * <p>On JDK 21+ each blocking JSON-RPC call runs on its own virtual thread, so callers pay no platform thread per
+ * in-flight request. On older JDKs calls run on a fixed pool of {@code maxConcurrentRequests} platform threads.
+ */
+public class AsyncXrplClient implements Closeable {
+
+  private final XrplRpcClient xrplClient;
+  private final ExecutorService executor;
+  private final Semaphore permits;
+  private final ScheduledExecutorService timer = Executors.newSingleThreadScheduledExecutor(runnable -> {
+    Thread thread = new Thread(runnable, "async-xrpl-client-timer");
+    thread.setDaemon(true);
+    return thread;
+  });
+
+  public AsyncXrplClient(XrplRpcClient xrplClient, int maxConcurrentRequests) {
+    this.xrplClient = xrplClient;
+    this.executor = newExecutor(maxConcurrentRequests);
+    this.permits = new Semaphore(maxConcurrentRequests);
+  }
+
+  private static ExecutorService newExecutor(int maxConcurrentRequests) {
+    try {
+      return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+    } catch (ReflectiveOperationException e) {
+      return Executors.newFixedThreadPool(maxConcurrentRequests, runnable -> {
+        Thread thread = new Thread(runnable, "async-xrpl-client");
+        thread.setDaemon(true);
+        return thread;
+      });
+    }
+  }
+
+  public XrplRpcClient delegate() {
+    return xrplClient;
+  }
+
+  public CompletableFuture<AccountInfoResult> accountInfo(AccountInfoRequestParams params) {
+    return call(() -> xrplClient.accountInfo(params));
+  }
+
+  public CompletableFuture<AccountLinesResult> accountLines(AccountLinesRequestParams params) {
+    return call(() -> xrplClient.accountLines(params));
+  }
+
+  public CompletableFuture<FeeResult> fee() {
+    return call(xrplClient::fee);
+  }
+
+  public CompletableFuture<LedgerResult> ledger(LedgerRequestParams params) {
+    return call(() -> xrplClient.ledger(params));
+  }
+
+  public <T extends Transaction> CompletableFuture<SubmitResult<T>> submit(
+    SingleSignedTransaction<T> signedTransaction
+  ) {
+    return call(() -> xrplClient.submit(signedTransaction));
+  }
+
+  public <T extends Transaction> CompletableFuture<TransactionResult<T>> transaction(
+    TransactionRequestParams params,
+    Class<T> transactionType
+  ) {
+    return call(() -> xrplClient.transaction(params, transactionType));
+  }
+
+  /**
+   * Returns a future that completes after {@code delay} without holding a thread, for use in place of
+   * {@link Thread#sleep(long)} inside a chain.
+   */
+  public CompletableFuture<Void> delay(Duration delay) {
+    CompletableFuture<Void> future = new CompletableFuture<>();
+    timer.schedule(() -> future.complete(null), delay.toMillis(), TimeUnit.MILLISECONDS);
+    return future;
+  }
+
+  private <T> CompletableFuture<T> call(RpcCall<T> rpcCall) {
+    CompletableFuture<T> future = new CompletableFuture<>();
+    try {
+      executor.execute(() -> {
+        try {
+          permits.acquire();
+        } catch (InterruptedException e) {
+          Thread.currentThread().interrupt();
+          future.completeExceptionally(e);
+          return;
+        }
+        T result;
+        try {
+          result = rpcCall.call();
+        } catch (Throwable e) {
+          permits.release();
+          future.completeExceptionally(e);
+          return;
+        }
+        // Release before completing: dependent stages run inline here and must not count against the bound.
+        permits.release();
+        future.complete(result);
+      });
+    } catch (RejectedExecutionException e) {
+      future.completeExceptionally(e);
+    }
+    return future;
+  }
+
+  @Override
+  public void close() {
+    executor.shutdown();
+    timer.shutdownNow();
+  }
+
+  private interface RpcCall<T> {
+    T call() throws Exception;
+  }
+
+}
@@ -0,0 +1,85 @@
+package org.xrpl.xrpl4j.samples;
+
+import org.xrpl.xrpl4j.crypto.keys.PrivateKeyable;
+import org.xrpl.xrpl4j.crypto.signing.SignatureService;
+import org.xrpl.xrpl4j.crypto.signing.SingleSignedTransaction;
+import org.xrpl.xrpl4j.model.transactions.Transaction;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+
+/**
+ * Signs a batch of transactions with one key across an {@link ExecutorService}, returning the signed transactions in
+ * the same order as the input.
+ */
+public class BatchSigner<P extends PrivateKeyable> {
+
+  private static final int DEFAULT_CHUNK_SIZE = 64;
+
+  private final SignatureService<P> signatureService;
+  private final ExecutorService executor;
+  private final int chunkSize;
+
+  public BatchSigner(SignatureService<P> signatureService, ExecutorService executor) {
+    this(signatureService, executor, DEFAULT_CHUNK_SIZE);
+  }
+
+  /**
+   * @param chunkSize number of transactions signed per task, which amortizes scheduling cost over several signatures.
+   */
+  public BatchSigner(SignatureService<P> signatureService, ExecutorService executor, int chunkSize) {
+    this.signatureService = Objects.requireNonNull(signatureService);
+    this.executor = Objects.requireNonNull(executor);
+    if (chunkSize < 1) {
+      throw new IllegalArgumentException("chunkSize must be positive.");
+    }
+    this.chunkSize = chunkSize;
+  }
+
+  /**
+   * Returns a virtual-thread-per-task executor when running on JDK 21+, otherwise the common fork-join pool.
+   */
+  public static ExecutorService defaultExecutor() {
+    try {
+      return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+    } catch (ReflectiveOperationException e) {
+      return ForkJoinPool.commonPool();
+    }
+  }
+
+  public <T extends Transaction> List<SingleSignedTransaction<T>> signAll(P privateKey, List<T> transactions)
+    throws InterruptedException {
+    @SuppressWarnings("unchecked")
+    SingleSignedTransaction<T>[] signedTransactions = new SingleSignedTransaction[transactions.size()];
+
+    List<Future<?>> chunks = new ArrayList<>();
+    for (int start = 0; start < transactions.size(); start += chunkSize) {
+      int chunkStart = start;
+      int chunkEnd = Math.min(start + chunkSize, transactions.size());
+      chunks.add(executor.submit(() -> {
+        for (int i = chunkStart; i < chunkEnd; i++) {
+          signedTransactions[i] = signatureService.sign(privateKey, transactions.get(i));
+        }
+      }));
+    }
+
+    try {
+      for (Future<?> chunk : chunks) {
+        chunk.get();
+      }
+    } catch (ExecutionException e) {
+      chunks.forEach(chunk -> chunk.cancel(true));
+      throw new RuntimeException("Unable to sign batch.", e.getCause());
+    }
+
+    return Arrays.asList(signedTransactions);
+  }
+
+}
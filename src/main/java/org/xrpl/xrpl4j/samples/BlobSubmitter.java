@@ -0,0 +1,141 @@
+package org.xrpl.xrpl4j.samples;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import okhttp3.HttpUrl;
+import okhttp3.MediaType;
+import okhttp3.OkHttpClient;
+import okhttp3.Request;
+import okhttp3.RequestBody;
+import okhttp3.Response;
+import okhttp3.ResponseBody;
+import okio.BufferedSink;
+import org.xrpl.xrpl4j.client.JsonRpcClientErrorException;
+import org.xrpl.xrpl4j.crypto.signing.SingleSignedTransaction;
+import org.xrpl.xrpl4j.model.client.transactions.SubmitResult;
+import org.xrpl.xrpl4j.model.jackson.ObjectMapperFactory;
+import org.xrpl.xrpl4j.model.transactions.Transaction;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+
+/**
+ * Submits signed transactions with request bodies written by {@link SubmitRequestEncoder}, for bulk submission where
+ * {@code XrplClient.submit} spends more time building the request than sending it. Responses are parsed the same way
+ * {@code XrplClient} parses them.
+ *
+ * <p>Unlike {@code XrplClient}, it never sends a submit twice: a failure after the request may have reached rippled is
+ * thrown rather than retried underneath the caller, who can then look the transaction up by hash. Failures are thrown
+ * as {@link JsonRpcClientErrorException}s that {@link RpcError#of(Throwable)} classifies as it does
+ * {@code XrplClient}'s.
+ */
+public class BlobSubmitter {
+
+  private static final MediaType JSON = MediaType.get("application/json");
+  private static final TypeReference<SubmitResult<Transaction>> SUBMIT_RESULT =
+    new TypeReference<SubmitResult<Transaction>>() {
+    };
+
+  private final HttpUrl rippledUrl;
+  private final OkHttpClient okHttpClient;
+  private final ObjectMapper objectMapper = ObjectMapperFactory.create();
+
+  public BlobSubmitter(HttpUrl rippledUrl) {
+    // OkHttp otherwise resends a request whose pooled connection failed, even after writing it.
+    this(rippledUrl, new OkHttpClient.Builder().retryOnConnectionFailure(false).build());
+  }
+
+  public BlobSubmitter(HttpUrl rippledUrl, OkHttpClient okHttpClient) {
+    this.rippledUrl = rippledUrl;
+    this.okHttpClient = okHttpClient;
+  }
+
+  public SubmitResult<Transaction> submit(SingleSignedTransaction<?> signedTransaction)
+    throws JsonRpcClientErrorException {
+    SubmitRequestEncoder encoder = SubmitRequestEncoder.forCurrentThread();
+    encoder.encode(signedTransaction);
+    return send(encoder);
+  }
+
+  /**
+   * Submits a signed transaction blob, such as one kept in a {@link SignedTransactionWarehouse}, from its position to
+   * its limit.
+   */
+  public SubmitResult<Transaction> submit(ByteBuffer signedTransactionBlob) throws JsonRpcClientErrorException {
+    SubmitRequestEncoder encoder = SubmitRequestEncoder.forCurrentThread();
+    encoder.encode(signedTransactionBlob);
+    return send(encoder);
+  }
+
+  private SubmitResult<Transaction> send(SubmitRequestEncoder encoder) throws JsonRpcClientErrorException {
+    // execute() writes the body on this thread, so the thread's encoder still holds it, even on a retry.
+    Request request = new Request.Builder()
+      .url(rippledUrl)
+      .post(new EncodedBody(encoder))
+      .build();
+
+    JsonNode response;
+    try (Response httpResponse = okHttpClient.newCall(request).execute()) {
+      ResponseBody body = httpResponse.body();
+      if (!httpResponse.isSuccessful() || body == null) {
+        throw new HttpStatusException(httpResponse.code());
+      }
+      response = objectMapper.readTree(body.byteStream());
+    } catch (IOException e) {
+      throw new JsonRpcClientErrorException(e);
+    }
+
+    JsonNode result = response.path("result");
+    if ("error".equals(result.path("status").asText())) {
+      throw new JsonRpcClientErrorException(
+        result.has("error_message") ? result.path("error_message").asText() : result.path("error").asText()
+      );
+    }
+    return objectMapper.convertValue(result, SUBMIT_RESULT);
+  }
+
+  /**
+   * rippled, or a proxy in front of it, answered with an HTTP error status.
+   */
+  public static class HttpStatusException extends IOException {
+
+    private final int status;
+
+    private HttpStatusException(int status) {
+      super("rippled responded with HTTP " + status);
+      this.status = status;
+    }
+
+    public int status() {
+      return status;
+    }
+
+  }
+
+  private static class EncodedBody extends RequestBody {
+
+    private final SubmitRequestEncoder encoder;
+
+    private EncodedBody(SubmitRequestEncoder encoder) {
+      this.encoder = encoder;
+    }
+
+    @Override
+    public MediaType contentType() {
+      return JSON;
+    }
+
+    @Override
+    public long contentLength() {
+      return encoder.length();
+    }
+
+    @Override
+    public void writeTo(BufferedSink sink) throws IOException {
+      sink.write(encoder.buffer(), 0, encoder.length());
+    }
+
+  }
+
+}
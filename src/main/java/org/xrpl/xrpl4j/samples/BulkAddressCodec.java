@@ -0,0 +1,382 @@
+package org.xrpl.xrpl4j.samples;
+
+import com.google.common.primitives.UnsignedInteger;
+import org.bouncycastle.crypto.digests.RIPEMD160Digest;
+import org.xrpl.xrpl4j.codec.addresses.UnsignedByteArray;
+import org.xrpl.xrpl4j.crypto.keys.PublicKey;
+import org.xrpl.xrpl4j.model.transactions.Address;
+import org.xrpl.xrpl4j.model.transactions.XAddress;
+
+import java.security.DigestException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+/**
+ * Converts, validates and derives classic addresses and X-addresses in bulk across an {@link ExecutorService}, for
+ * reconciliation jobs that normalize millions of addresses at a time.
+ *
+ * <p>Each thread reuses its own digests and base58 buffers, so a conversion allocates little beyond the resulting
+ * {@code String}. Addresses derived from public keys are memoized, since the same keys come up again and again.
+ */
+public class BulkAddressCodec {
+
+  private static final char[] ALPHABET = "rpshnaf39wBUDNEGHJKLM4PQRST7VWXYZ2bcdeCg65jkm8oFqi1tuvAxyz".toCharArray();
+  private static final int[] INDEXES = new int[128];
+
+  static {
+    Arrays.fill(INDEXES, -1);
+    for (int i = 0; i < ALPHABET.length; i++) {
+      INDEXES[ALPHABET[i]] = i;
+    }
+  }
+
+  private static final byte ACCOUNT_ID_VERSION = 0x00;
+  private static final byte[] MAINNET_X_ADDRESS_PREFIX = {0x05, 0x44};
+  private static final byte[] TESTNET_X_ADDRESS_PREFIX = {0x04, (byte) 0x93};
+  private static final int ACCOUNT_ID_LENGTH = 20;
+  private static final int CHECKSUM_LENGTH = 4;
+  // Version, account ID, checksum.
+  private static final int CLASSIC_LENGTH = 1 + ACCOUNT_ID_LENGTH + CHECKSUM_LENGTH;
+  // Prefix, account ID, tag flag, 32-bit tag, 32 reserved bits, checksum.
+  private static final int X_ADDRESS_LENGTH = 2 + ACCOUNT_ID_LENGTH + 1 + 4 + 4 + CHECKSUM_LENGTH;
+  private static final int DEFAULT_CHUNK_SIZE = 1024;
+
+  private static final ThreadLocal<Scratch> SCRATCH = ThreadLocal.withInitial(Scratch::new);
+
+  private final ExecutorService executor;
+  private final int maximumCacheSize;
+  private final Map<PublicKey, Address> addressCache = new ConcurrentHashMap<>();
+  private final LongAdder hits = new LongAdder();
+  private final LongAdder misses = new LongAdder();
+
+  /**
+   * @param maximumCacheSize how many derived addresses to memoize. Once full, further keys are derived every time.
+   */
+  public BulkAddressCodec(ExecutorService executor, int maximumCacheSize) {
+    this.executor = Objects.requireNonNull(executor);
+    this.maximumCacheSize = maximumCacheSize;
+  }
+
+  /**
+   * The classic address of {@code publicKey}, memoized.
+   */
+  public Address deriveAddress(PublicKey publicKey) {
+    Address cached = addressCache.get(publicKey);
+    if (cached != null) {
+      hits.increment();
+      return cached;
+    }
+    misses.increment();
+    Scratch scratch = SCRATCH.get();
+    UnsignedByteArray publicKeyBytes = publicKey.value();
+    for (int i = 0; i < publicKeyBytes.length(); i++) {
+      scratch.sha256.update((byte) publicKeyBytes.get(i).asInt());
+    }
+    scratch.digest(scratch.sha256, scratch.digest);
+    scratch.ripemd160.update(scratch.digest, 0, scratch.digest.length);
+    scratch.payload[0] = ACCOUNT_ID_VERSION;
+    scratch.ripemd160.doFinal(scratch.payload, 1);
+    Address address = Address.of(scratch.encodeChecked(1 + ACCOUNT_ID_LENGTH));
+
+    if (addressCache.size() < maximumCacheSize) {
+      addressCache.putIfAbsent(publicKey, address);
+    }
+    return address;
+  }
+
+  public List<Address> deriveAddresses(List<PublicKey> publicKeys) throws InterruptedException {
+    return mapAll(publicKeys, this::deriveAddress);
+  }
+
+  public XAddress toXAddress(Address classicAddress, boolean test) {
+    return toXAddress(classicAddress, null, test);
+  }
+
+  /**
+   * @param tag the destination tag to encode, or {@code null} for none.
+   */
+  public XAddress toXAddress(Address classicAddress, UnsignedInteger tag, boolean test) {
+    Scratch scratch = SCRATCH.get();
+    if (!scratch.decodeClassic(classicAddress.value())) {
+      throw new IllegalArgumentException("Invalid classic address: " + classicAddress.value());
+    }
+    byte[] payload = scratch.payload;
+    // Shift the account ID along to make room for the two byte prefix.
+    System.arraycopy(payload, 1, payload, 2, ACCOUNT_ID_LENGTH);
+    byte[] prefix = test ? TESTNET_X_ADDRESS_PREFIX : MAINNET_X_ADDRESS_PREFIX;
+    payload[0] = prefix[0];
+    payload[1] = prefix[1];
+    int position = 2 + ACCOUNT_ID_LENGTH;
+    long tagValue = tag == null ? 0 : tag.longValue();
+    payload[position++] = (byte) (tag == null ? 0 : 1);
+    for (int i = 0; i < 4; i++) {
+      payload[position++] = (byte) (tagValue >>> (8 * i));
+    }
+    for (int i = 0; i < 4; i++) {
+      payload[position++] = 0;
+    }
+    return XAddress.of(scratch.encodeChecked(position));
+  }
+
+  public List<XAddress> toXAddresses(List<Address> classicAddresses, boolean test) throws InterruptedException {
+    return mapAll(classicAddresses, classicAddress -> toXAddress(classicAddress, test));
+  }
+
+  /**
+   * The classic address for a classic address or X-address, discarding any tag.
+   *
+   * @throws IllegalArgumentException if {@code address} is neither, or its checksum does not match.
+   */
+  public Address toClassicAddress(String address) {
+    Address classicAddress = normalizeOrNull(address);
+    if (classicAddress == null) {
+      throw new IllegalArgumentException("Invalid address: " + address);
+    }
+    return classicAddress;
+  }
+
+  /**
+   * {@link #toClassicAddress(String)} for each of {@code addresses}, with {@code null} in place of each invalid one.
+   */
+  public List<Address> normalize(List<String> addresses) throws InterruptedException {
+    return mapAll(addresses, this::normalizeOrNull);
+  }
+
+  public boolean isValid(String address) {
+    return normalizeOrNull(address) != null;
+  }
+
+  public long hitCount() {
+    return hits.sum();
+  }
+
+  public long missCount() {
+    return misses.sum();
+  }
+
+  /**
+   * Forgets every memoized address, e.g. so a benchmark round starts cold.
+   */
+  public void invalidateAll() {
+    addressCache.clear();
+  }
+
+  private Address normalizeOrNull(String address) {
+    Scratch scratch = SCRATCH.get();
+    if (scratch.decodeClassic(address)) {
+      return Address.of(address);
+    }
+    if (!scratch.decodeXAddress(address)) {
+      return null;
+    }
+    // Re-encode the account ID, which decodeXAddress left at payload[2..22), as a classic address.
+    System.arraycopy(scratch.payload, 2, scratch.payload, 1, ACCOUNT_ID_LENGTH);
+    scratch.payload[0] = ACCOUNT_ID_VERSION;
+    return Address.of(scratch.encodeChecked(1 + ACCOUNT_ID_LENGTH));
+  }
+
+  private <T, R> List<R> mapAll(List<T> inputs, Function<T, R> conversion) throws InterruptedException {
+    @SuppressWarnings("unchecked")
+    R[] results = (R[]) new Object[inputs.size()];
+
+    List<Future<?>> chunks = new ArrayList<>();
+    for (int start = 0; start < inputs.size(); start += DEFAULT_CHUNK_SIZE) {
+      int chunkStart = start;
+      int chunkEnd = Math.min(start + DEFAULT_CHUNK_SIZE, inputs.size());
+      chunks.add(executor.submit(() -> {
+        for (int i = chunkStart; i < chunkEnd; i++) {
+          results[i] = conversion.apply(inputs.get(i));
+        }
+      }));
+    }
+
+    try {
+      for (Future<?> chunk : chunks) {
+        chunk.get();
+      }
+    } catch (ExecutionException e) {
+      chunks.forEach(chunk -> chunk.cancel(true));
+      throw new RuntimeException("Unable to convert batch.", e.getCause());
+    }
+
+    return Arrays.asList(results);
+  }
+
+  /**
+   * One thread's digests and buffers. {@code payload} holds the bytes being encoded or the last decoded ones.
+   */
+  private static class Scratch {
+
+    private final MessageDigest sha256;
+    private final RIPEMD160Digest ripemd160 = new RIPEMD160Digest();
+    private final byte[] digest = new byte[32];
+    private final byte[] payload = new byte[X_ADDRESS_LENGTH];
+    private final byte[] work = new byte[64];
+    private final char[] chars = new char[64];
+
+    private Scratch() {
+      try {
+        sha256 = MessageDigest.getInstance("SHA-256");
+      } catch (NoSuchAlgorithmException e) {
+        throw new IllegalStateException(e);
+      }
+    }
+
+    /**
+     * Appends the checksum to the first {@code length} bytes of {@code payload} and base58-encodes the result.
+     */
+    private String encodeChecked(int length) {
+      checksum(length);
+      int totalLength = length + CHECKSUM_LENGTH;
+
+      int zeros = 0;
+      while (zeros < totalLength && payload[zeros] == 0) {
+        zeros++;
+      }
+      System.arraycopy(payload, 0, work, 0, totalLength);
+      int outputStart = chars.length;
+      for (int start = zeros; start < totalLength; ) {
+        chars[--outputStart] = ALPHABET[divmod(work, start, totalLength, 256, 58)];
+        if (work[start] == 0) {
+          start++;
+        }
+      }
+      while (outputStart < chars.length && chars[outputStart] == ALPHABET[0]) {
+        outputStart++;
+      }
+      while (zeros-- > 0) {
+        chars[--outputStart] = ALPHABET[0];
+      }
+      return new String(chars, outputStart, chars.length - outputStart);
+    }
+
+    /**
+     * Decodes {@code address} into {@code payload} if it is a classic address with a valid checksum.
+     */
+    private boolean decodeClassic(String address) {
+      return decodeChecked(address) == CLASSIC_LENGTH && payload[0] == ACCOUNT_ID_VERSION;
+    }
+
+    /**
+     * Decodes {@code address} into {@code payload} if it is a well-formed X-address with a valid checksum.
+     */
+    private boolean decodeXAddress(String address) {
+      if (decodeChecked(address) != X_ADDRESS_LENGTH) {
+        return false;
+      }
+      boolean mainnet = payload[0] == MAINNET_X_ADDRESS_PREFIX[0] && payload[1] == MAINNET_X_ADDRESS_PREFIX[1];
+      boolean testnet = payload[0] == TESTNET_X_ADDRESS_PREFIX[0] && payload[1] == TESTNET_X_ADDRESS_PREFIX[1];
+      int flag = payload[2 + ACCOUNT_ID_LENGTH];
+      int tagStart = 2 + ACCOUNT_ID_LENGTH + 1;
+      boolean reservedZero = true;
+      boolean tagZero = true;
+      for (int i = 0; i < 4; i++) {
+        tagZero &= payload[tagStart + i] == 0;
+        reservedZero &= payload[tagStart + 4 + i] == 0;
+      }
+      return (mainnet || testnet) && reservedZero && (flag == 1 || (flag == 0 && tagZero));
+    }
+
+    /**
+     * Base58-decodes {@code address} into {@code payload} and checks its checksum.
+     *
+     * @return the decoded length including the checksum, or -1 if it is not valid base58check.
+     */
+    private int decodeChecked(String address) {
+      int length = address.length();
+      if (length == 0 || length > work.length) {
+        return -1;
+      }
+      for (int i = 0; i < length; i++) {
+        char c = address.charAt(i);
+        int digit = c < 128 ? INDEXES[c] : -1;
+        if (digit < 0) {
+          return -1;
+        }
+        work[i] = (byte) digit;
+      }
+
+      int zeros = 0;
+      while (zeros < length && work[zeros] == 0) {
+        zeros++;
+      }
+      // Decoded bytes are built right to left at the end of chars, which is long enough and otherwise idle.
+      int outputStart = length;
+      for (int start = zeros; start < length; ) {
+        chars[--outputStart] = (char) divmod(work, start, length, 58, 256);
+        if (work[start] == 0) {
+          start++;
+        }
+      }
+      while (outputStart < length && chars[outputStart] == 0) {
+        outputStart++;
+      }
+      int decodedLength = zeros + length - outputStart;
+      if (decodedLength < CHECKSUM_LENGTH + 1 || decodedLength > payload.length) {
+        return -1;
+      }
+      Arrays.fill(payload, 0, zeros, (byte) 0);
+      for (int i = outputStart; i < length; i++) {
+        payload[zeros + i - outputStart] = (byte) chars[i];
+      }
+
+      int checkedLength = decodedLength - CHECKSUM_LENGTH;
+      byte b0 = payload[checkedLength];
+      byte b1 = payload[checkedLength + 1];
+      byte b2 = payload[checkedLength + 2];
+      byte b3 = payload[checkedLength + 3];
+      checksum(checkedLength);
+      boolean matches = b0 == payload[checkedLength] && b1 == payload[checkedLength + 1] &&
+        b2 == payload[checkedLength + 2] && b3 == payload[checkedLength + 3];
+      return matches ? decodedLength : -1;
+    }
+
+    /**
+     * Writes the first four bytes of SHA-256(SHA-256(payload[0..length))) to payload[length..length + 4).
+     */
+    private void checksum(int length) {
+      sha256.update(payload, 0, length);
+      digest(sha256, digest);
+      sha256.update(digest, 0, digest.length);
+      digest(sha256, digest);
+      System.arraycopy(digest, 0, payload, length, CHECKSUM_LENGTH);
+    }
+
+    private void digest(MessageDigest messageDigest, byte[] output) {
+      try {
+        messageDigest.digest(output, 0, output.length);
+      } catch (DigestException e) {
+        throw new IllegalStateException(e);
+      }
+    }
+
+    /**
+     * Divides the big-endian number in {@code number[start..end)}, in base {@code base}, by {@code divisor} in place.
+     *
+     * @return the remainder.
+     */
+    private static int divmod(byte[] number, int start, int end, int base, int divisor) {
+      int remainder = 0;
+      for (int i = start; i < end; i++) {
+        int digit = number[i] & 0xFF;
+        int temp = remainder * base + digit;
+        number[i] = (byte) (temp / divisor);
+        remainder = temp % divisor;
+      }
+      return remainder;
+    }
+
+  }
+
+}
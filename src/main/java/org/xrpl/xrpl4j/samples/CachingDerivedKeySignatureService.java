@@ -0,0 +1,270 @@
+package org.xrpl.xrpl4j.samples;
+
+import org.xrpl.xrpl4j.codec.addresses.KeyType;
+import org.xrpl.xrpl4j.crypto.ServerSecret;
+import org.xrpl.xrpl4j.crypto.keys.Entropy;
+import org.xrpl.xrpl4j.crypto.keys.KeyPair;
+import org.xrpl.xrpl4j.crypto.keys.PrivateKey;
+import org.xrpl.xrpl4j.crypto.keys.PrivateKeyReference;
+import org.xrpl.xrpl4j.crypto.keys.PublicKey;
+import org.xrpl.xrpl4j.crypto.keys.Seed;
+import org.xrpl.xrpl4j.crypto.signing.Signature;
+import org.xrpl.xrpl4j.crypto.signing.SignatureService;
+import org.xrpl.xrpl4j.crypto.signing.SingleSignedTransaction;
+import org.xrpl.xrpl4j.crypto.signing.bc.BcDerivedKeySignatureService;
+import org.xrpl.xrpl4j.crypto.signing.bc.BcSignatureService;
+import org.xrpl.xrpl4j.model.transactions.Transaction;
+
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import javax.security.auth.DestroyFailedException;
+import javax.security.auth.Destroyable;
+
+/**
+ * A {@link BcDerivedKeySignatureService} that keeps the most recently used derived key pairs in a bounded LRU cache
+ * keyed by {@code (keyIdentifier, keyType)}, so that hot key identifiers skip derivation. Evicted private keys are
+ * destroyed. It derives the same keys as its superclass for the same {@link ServerSecret}, so it can replace one
+ * wherever a {@code SignatureService<PrivateKeyReference>} is used.
+ *
+ * <p>{@link BcDerivedKeySignatureService} keeps its derivation private, so cache misses repeat it here. The first key
+ * derived for each key type is checked against the superclass's {@link #derivePublicKey(PrivateKeyReference)}; if
+ * they differ (say, under a different xrpl4j version), every call for that key type throws an
+ * {@link IllegalStateException} rather than sign with keys the superclass would not derive.
+ */
+public class CachingDerivedKeySignatureService extends BcDerivedKeySignatureService {
+
+  private final Supplier<ServerSecret> serverSecretSupplier;
+  private final int maximumSize;
+  private final SignatureService<PrivateKey> signatureService = new BcSignatureService();
+  private final Map<CacheKey, CachedKeyPair> keyPairs;
+  private final Set<KeyType> verifiedKeyTypes = ConcurrentHashMap.newKeySet();
+
+  private final LongAdder hits = new LongAdder();
+  private final LongAdder misses = new LongAdder();
+  private final LongAdder evictions = new LongAdder();
+
+  /**
+   * @param maximumSize the number of derived key pairs to keep; {@code 0} disables caching.
+   */
+  public CachingDerivedKeySignatureService(Supplier<ServerSecret> serverSecretSupplier, int maximumSize) {
+    super(serverSecretSupplier);
+    this.serverSecretSupplier = Objects.requireNonNull(serverSecretSupplier);
+    if (maximumSize < 0) {
+      throw new IllegalArgumentException("maximumSize must not be negative.");
+    }
+    this.maximumSize = maximumSize;
+    this.keyPairs = new LinkedHashMap<CacheKey, CachedKeyPair>(16, 0.75f, true) {
+      @Override
+      protected boolean removeEldestEntry(Map.Entry<CacheKey, CachedKeyPair> eldest) {
+        if (size() > CachingDerivedKeySignatureService.this.maximumSize) {
+          evict(eldest.getValue());
+          return true;
+        }
+        return false;
+      }
+    };
+  }
+
+  @Override
+  public PublicKey derivePublicKey(PrivateKeyReference privateKeyReference) {
+    if (!caches(privateKeyReference)) {
+      return super.derivePublicKey(privateKeyReference);
+    }
+    return withKeyPair(privateKeyReference, KeyPair::publicKey);
+  }
+
+  @Override
+  public <T extends Transaction> SingleSignedTransaction<T> sign(
+    PrivateKeyReference privateKeyReference,
+    T transaction
+  ) {
+    if (!caches(privateKeyReference)) {
+      return super.sign(privateKeyReference, transaction);
+    }
+    return withKeyPair(privateKeyReference, keyPair -> signatureService.sign(keyPair.privateKey(), transaction));
+  }
+
+  @Override
+  public <T extends Transaction> Signature multiSign(PrivateKeyReference privateKeyReference, T transaction) {
+    if (!caches(privateKeyReference)) {
+      return super.multiSign(privateKeyReference, transaction);
+    }
+    return withKeyPair(privateKeyReference, keyPair -> signatureService.multiSign(keyPair.privateKey(), transaction));
+  }
+
+  public long hitCount() {
+    return hits.sum();
+  }
+
+  public long missCount() {
+    return misses.sum();
+  }
+
+  public long evictionCount() {
+    return evictions.sum();
+  }
+
+  /**
+   * Evicts every cached key pair, destroying each private key once no signer is using it.
+   */
+  public synchronized void invalidateAll() {
+    keyPairs.values().forEach(this::evict);
+    keyPairs.clear();
+  }
+
+  private boolean caches(PrivateKeyReference privateKeyReference) {
+    if (maximumSize == 0) {
+      return false;
+    }
+    KeyType keyType = privateKeyReference.keyType();
+    if (!verifiedKeyTypes.contains(keyType)) {
+      KeyPair keyPair = deriveKeyPair(privateKeyReference);
+      boolean matches = keyPair.publicKey().equals(super.derivePublicKey(privateKeyReference));
+      destroy(keyPair.privateKey());
+      if (!matches) {
+        throw new IllegalStateException(
+          "Derived " + keyType + " keys differ from BcDerivedKeySignatureService's for the same ServerSecret."
+        );
+      }
+      verifiedKeyTypes.add(keyType);
+    }
+    return true;
+  }
+
+  /**
+   * Derives 16 bytes of seed entropy as {@code HMAC-SHA256(serverSecret, keyIdentifier)}, as
+   * {@link BcDerivedKeySignatureService} does.
+   */
+  private KeyPair deriveKeyPair(PrivateKeyReference privateKeyReference) {
+    // value() may hand out the ServerSecret's own array, so only a copy is zeroed.
+    byte[] secret = serverSecretSupplier.get().value().clone();
+    byte[] digest = null;
+    try {
+      Mac hmac = Mac.getInstance("HmacSHA256");
+      hmac.init(new SecretKeySpec(secret, "HmacSHA256"));
+      digest = hmac.doFinal(privateKeyReference.keyIdentifier().getBytes(StandardCharsets.UTF_8));
+      Entropy entropy = Entropy.of(Arrays.copyOf(digest, 16));
+      Seed seed = privateKeyReference.keyType() == KeyType.ED25519 ?
+        Seed.ed25519SeedFromEntropy(entropy) :
+        Seed.secp256k1SeedFromEntropy(entropy);
+      return seed.deriveKeyPair();
+    } catch (GeneralSecurityException e) {
+      throw new RuntimeException("Unable to derive key pair.", e);
+    } finally {
+      Arrays.fill(secret, (byte) 0);
+      if (digest != null) {
+        Arrays.fill(digest, (byte) 0);
+      }
+    }
+  }
+
+  private <R> R withKeyPair(PrivateKeyReference privateKeyReference, Function<KeyPair, R> operation) {
+    CachedKeyPair cachedKeyPair = acquire(privateKeyReference);
+    try {
+      return operation.apply(cachedKeyPair.keyPair);
+    } finally {
+      release(cachedKeyPair);
+    }
+  }
+
+  private CachedKeyPair acquire(PrivateKeyReference privateKeyReference) {
+    CacheKey cacheKey = new CacheKey(privateKeyReference.keyIdentifier(), privateKeyReference.keyType());
+    synchronized (this) {
+      CachedKeyPair cached = keyPairs.get(cacheKey);
+      if (cached != null) {
+        hits.increment();
+        cached.users++;
+        return cached;
+      }
+    }
+
+    // Derive outside the lock so that a miss does not stall signers using other keys.
+    misses.increment();
+    CachedKeyPair derived = new CachedKeyPair(deriveKeyPair(privateKeyReference));
+    synchronized (this) {
+      derived.users++;
+      if (keyPairs.putIfAbsent(cacheKey, derived) != null) {
+        // Another signer cached this key first; use ours once and let release() destroy it.
+        derived.evicted = true;
+      }
+      return derived;
+    }
+  }
+
+  private synchronized void release(CachedKeyPair cachedKeyPair) {
+    cachedKeyPair.users--;
+    if (cachedKeyPair.evicted && cachedKeyPair.users == 0) {
+      destroy(cachedKeyPair.keyPair.privateKey());
+    }
+  }
+
+  // Called with the lock held. Key pairs still in use are destroyed by the last release instead.
+  private void evict(CachedKeyPair cachedKeyPair) {
+    evictions.increment();
+    cachedKeyPair.evicted = true;
+    if (cachedKeyPair.users == 0) {
+      destroy(cachedKeyPair.keyPair.privateKey());
+    }
+  }
+
+  private static void destroy(PrivateKey privateKey) {
+    try {
+      ((Destroyable) privateKey).destroy();
+    } catch (DestroyFailedException e) {
+      System.err.println("Unable to destroy evicted private key: " + e.getMessage());
+    }
+  }
+
+  private static class CachedKeyPair {
+
+    private final KeyPair keyPair;
+    private int users;
+    private boolean evicted;
+
+    private CachedKeyPair(KeyPair keyPair) {
+      this.keyPair = keyPair;
+    }
+
+  }
+
+  private static class CacheKey {
+
+    private final String keyIdentifier;
+    private final KeyType keyType;
+
+    private CacheKey(String keyIdentifier, KeyType keyType) {
+      this.keyIdentifier = keyIdentifier;
+      this.keyType = keyType;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+      if (this == o) {
+        return true;
+      }
+      if (!(o instanceof CacheKey)) {
+        return false;
+      }
+      CacheKey that = (CacheKey) o;
+      return keyIdentifier.equals(that.keyIdentifier) && keyType == that.keyType;
+    }
+
+    @Override
+    public int hashCode() {
+      return Objects.hash(keyIdentifier, keyType);
+    }
+
+  }
+
+}
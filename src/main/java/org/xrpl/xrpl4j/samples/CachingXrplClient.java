@@ -0,0 +1,216 @@
+package org.xrpl.xrpl4j.samples;
+
+import com.google.common.primitives.UnsignedInteger;
+import org.xrpl.xrpl4j.client.JsonRpcClientErrorException;
+import org.xrpl.xrpl4j.model.client.accounts.AccountInfoRequestParams;
+import org.xrpl.xrpl4j.model.client.accounts.AccountInfoResult;
+import org.xrpl.xrpl4j.model.client.common.LedgerSpecifier;
+import org.xrpl.xrpl4j.model.client.fees.FeeResult;
+import org.xrpl.xrpl4j.model.client.ledger.LedgerRequestParams;
+import org.xrpl.xrpl4j.model.client.ledger.LedgerResult;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * An {@link XrplRpcClient} that serves {@code fee}, {@code ledger(VALIDATED)} and {@code account_info(VALIDATED)} from
+ * memory until a newer validated ledger is seen, and coalesces concurrent identical requests into a single RPC.
+ *
+ * <p>A newer validated ledger is noticed either when the cached validated ledger header is refreshed (at most once
+ * per {@code validatedLedgerTtl}) or, sooner, when this client is registered as a {@link ValidatedLedgerPoller}
+ * listener. Either way every cached value from an older ledger, including the validated ledger header itself, is
+ * dropped, so memory stays bounded by the accounts read within one ledger. Requests for any other ledger are passed
+ * straight through to the delegate.
+ */
+public class CachingXrplClient extends ForwardingXrplClient implements ValidatedLedgerPoller.Listener {
+
+  private static final Object FEE_KEY = "fee";
+  private static final Object VALIDATED_LEDGER_KEY = "ledger";
+  private static final LedgerRequestParams VALIDATED_LEDGER_PARAMS = LedgerRequestParams.builder()
+    .ledgerSpecifier(LedgerSpecifier.VALIDATED)
+    .build();
+
+  private final long validatedLedgerTtlNanos;
+  private final Map<Object, CachedValue> cache = new ConcurrentHashMap<>();
+
+  private final CacheStats feeStats = new CacheStats();
+  private final CacheStats ledgerStats = new CacheStats();
+  private final CacheStats accountInfoStats = new CacheStats();
+  private final CacheStats internalStats = new CacheStats();
+
+  private volatile UnsignedInteger latestValidatedLedgerIndex = UnsignedInteger.ZERO;
+  private volatile long generation;
+
+  public CachingXrplClient(XrplRpcClient delegate, Duration validatedLedgerTtl) {
+    super(delegate);
+    this.validatedLedgerTtlNanos = validatedLedgerTtl.toNanos();
+  }
+
+  @Override
+  public FeeResult fee() throws JsonRpcClientErrorException {
+    observeValidatedLedger(internalStats);
+    return get(FEE_KEY, feeStats, true, delegate()::fee);
+  }
+
+  @Override
+  public LedgerResult ledger(LedgerRequestParams params) throws JsonRpcClientErrorException {
+    if (!VALIDATED_LEDGER_PARAMS.equals(params)) {
+      return delegate().ledger(params);
+    }
+    return observeValidatedLedger(ledgerStats);
+  }
+
+  @Override
+  public AccountInfoResult accountInfo(AccountInfoRequestParams params) throws JsonRpcClientErrorException {
+    if (!LedgerSpecifier.VALIDATED.equals(params.ledgerSpecifier())) {
+      return delegate().accountInfo(params);
+    }
+    observeValidatedLedger(internalStats);
+    return get(params, accountInfoStats, true, () -> delegate().accountInfo(params));
+  }
+
+  @Override
+  public void onValidatedLedger(LedgerResult ledgerResult) {
+    ledgerResult.ledgerIndex().ifPresent(ledgerIndex -> advanceTo(ledgerIndex.unsignedIntegerValue()));
+  }
+
+  public CacheStats feeStats() {
+    return feeStats;
+  }
+
+  public CacheStats ledgerStats() {
+    return ledgerStats;
+  }
+
+  public CacheStats accountInfoStats() {
+    return accountInfoStats;
+  }
+
+  /**
+   * Returns the cached validated ledger header, refetching it once it is older than the TTL. Refetching is what
+   * advances the cache generation when no {@link ValidatedLedgerPoller} is feeding this client.
+   */
+  private LedgerResult observeValidatedLedger(CacheStats stats) throws JsonRpcClientErrorException {
+    CachedValue cachedLedger = cache.get(VALIDATED_LEDGER_KEY);
+    if (cachedLedger != null && System.nanoTime() - cachedLedger.createdAtNanos > validatedLedgerTtlNanos) {
+      cache.remove(VALIDATED_LEDGER_KEY, cachedLedger);
+    }
+    return get(VALIDATED_LEDGER_KEY, stats, false, () -> {
+      LedgerResult ledgerResult = delegate().ledger(VALIDATED_LEDGER_PARAMS);
+      ledgerResult.ledgerIndex().ifPresent(ledgerIndex -> advanceTo(ledgerIndex.unsignedIntegerValue()));
+      return ledgerResult;
+    });
+  }
+
+  private synchronized void advanceTo(UnsignedInteger validatedLedgerIndex) {
+    if (validatedLedgerIndex.compareTo(latestValidatedLedgerIndex) > 0) {
+      latestValidatedLedgerIndex = validatedLedgerIndex;
+      generation++;
+      // Sweep values from older ledgers. A header still loading is left alone: it is the fetch that got us here, or
+      // one that will be no older than this ledger.
+      long currentGeneration = generation;
+      cache.entrySet().removeIf(entry -> entry.getKey() == VALIDATED_LEDGER_KEY ?
+        isOlderLedger(entry.getValue(), validatedLedgerIndex) :
+        entry.getValue().generation < currentGeneration);
+    }
+  }
+
+  private static boolean isOlderLedger(CachedValue cachedLedger, UnsignedInteger validatedLedgerIndex) {
+    if (!cachedLedger.future.isDone() || cachedLedger.future.isCompletedExceptionally()) {
+      return false;
+    }
+    return ((LedgerResult) cachedLedger.future.join()).ledgerIndex()
+      .map(ledgerIndex -> ledgerIndex.unsignedIntegerValue().compareTo(validatedLedgerIndex) < 0)
+      .orElse(true);
+  }
+
+  @SuppressWarnings("unchecked")
+  private <T> T get(Object key, CacheStats stats, boolean ledgerScoped, Loader<T> loader)
+    throws JsonRpcClientErrorException {
+    long currentGeneration = generation;
+    CachedValue cachedValue = cache.get(key);
+    if (cachedValue == null || (ledgerScoped && cachedValue.generation < currentGeneration)) {
+      CachedValue loading = new CachedValue(currentGeneration);
+      boolean installed = cachedValue == null ?
+        cache.putIfAbsent(key, loading) == null :
+        cache.replace(key, cachedValue, loading);
+
+      if (installed) {
+        stats.misses.increment();
+        try {
+          loading.future.complete(loader.load());
+        } catch (JsonRpcClientErrorException | RuntimeException e) {
+          // Failures are never cached so the next caller retries.
+          cache.remove(key, loading);
+          loading.future.completeExceptionally(e);
+          throw e;
+        }
+        return (T) loading.future.join();
+      }
+
+      // Another caller started the same request first; share its result.
+      return get(key, stats, ledgerScoped, loader);
+    }
+
+    stats.hits.increment();
+    try {
+      return (T) cachedValue.future.join();
+    } catch (CompletionException e) {
+      if (e.getCause() instanceof JsonRpcClientErrorException) {
+        throw (JsonRpcClientErrorException) e.getCause();
+      }
+      throw e;
+    }
+  }
+
+  private interface Loader<T> {
+    T load() throws JsonRpcClientErrorException;
+  }
+
+  private static class CachedValue {
+
+    private final long generation;
+    private final long createdAtNanos = System.nanoTime();
+    private final CompletableFuture<Object> future = new CompletableFuture<>();
+
+    private CachedValue(long generation) {
+      this.generation = generation;
+    }
+
+  }
+
+  /**
+   * Hit and miss counters for one cached method. Coalesced callers that waited on an in-flight request count as
+   * hits.
+   */
+  public static class CacheStats {
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    public long hitCount() {
+      return hits.sum();
+    }
+
+    public long missCount() {
+      return misses.sum();
+    }
+
+    public double hitRate() {
+      long hitCount = hitCount();
+      long total = hitCount + missCount();
+      return total == 0 ? 0 : (double) hitCount / total;
+    }
+
+    @Override
+    public String toString() {
+      return String.format("hits=%d, misses=%d, hitRate=%.2f", hitCount(), missCount(), hitRate());
+    }
+
+  }
+
+}
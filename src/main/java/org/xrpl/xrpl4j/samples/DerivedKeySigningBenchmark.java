@@ -0,0 +1,114 @@
+package org.xrpl.xrpl4j.samples;
+
+import com.google.common.primitives.UnsignedInteger;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.xrpl.xrpl4j.codec.addresses.KeyType;
+import org.xrpl.xrpl4j.crypto.ServerSecret;
+import org.xrpl.xrpl4j.crypto.keys.PrivateKeyReference;
+import org.xrpl.xrpl4j.crypto.keys.PublicKey;
+import org.xrpl.xrpl4j.crypto.signing.SingleSignedTransaction;
+import org.xrpl.xrpl4j.crypto.signing.bc.BcDerivedKeySignatureService;
+import org.xrpl.xrpl4j.model.transactions.Address;
+import org.xrpl.xrpl4j.model.transactions.Payment;
+import org.xrpl.xrpl4j.model.transactions.XrpCurrencyAmount;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JMH benchmark of {@code derivePublicKey} plus {@code sign} for a working set of key identifiers, through a
+ * {@link CachingDerivedKeySignatureService} with caching disabled ({@code cacheSize=0}, which is plain
+ * {@link BcDerivedKeySignatureService}) and with a cache large enough to hold the working set.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class DerivedKeySigningBenchmark {
+
+  private static final int KEY_COUNT = 1_000;
+
+  @Param({"0", "1000"})
+  public int cacheSize;
+
+  private CachingDerivedKeySignatureService signatureService;
+  private List<PrivateKeyReference> keyReferences;
+  private int next;
+
+  public static void main(String[] args) throws RunnerException {
+    new Runner(new OptionsBuilder()
+      .include(DerivedKeySigningBenchmark.class.getSimpleName())
+      .addProfiler(GCProfiler.class)
+      .build()
+    ).run();
+  }
+
+  @Setup
+  public void setUp() {
+    signatureService = new CachingDerivedKeySignatureService(() -> ServerSecret.of("shh".getBytes()), cacheSize);
+    keyReferences = new ArrayList<>(KEY_COUNT);
+    for (int i = 0; i < KEY_COUNT; i++) {
+      keyReferences.add(privateKeyReference("custody-key-" + i));
+    }
+  }
+
+  @TearDown
+  public void tearDown() {
+    System.out.println("Cache hits: " + signatureService.hitCount() + ", misses: " + signatureService.missCount() +
+      ", evictions: " + signatureService.evictionCount());
+    signatureService.invalidateAll();
+  }
+
+  @Benchmark
+  public SingleSignedTransaction<Payment> deriveAndSign() {
+    int index = next;
+    next = (next + 1) % KEY_COUNT;
+    PrivateKeyReference keyReference = keyReferences.get(index);
+    PublicKey publicKey = signatureService.derivePublicKey(keyReference);
+    return signatureService.sign(keyReference, constructPayment(publicKey, index));
+  }
+
+  private static PrivateKeyReference privateKeyReference(String keyIdentifier) {
+    return new PrivateKeyReference() {
+      @Override
+      public KeyType keyType() {
+        return KeyType.ED25519;
+      }
+
+      @Override
+      public String keyIdentifier() {
+        return keyIdentifier;
+      }
+    };
+  }
+
+  private static Payment constructPayment(PublicKey publicKey, int sequence) {
+    return Payment.builder()
+      .account(publicKey.deriveAddress())
+      .destination(Address.of("rPT1Sjq2YGrBMTttX4GZHjKu9dyfzbpAYe"))
+      .amount(XrpCurrencyAmount.ofDrops(1000))
+      .fee(XrpCurrencyAmount.ofDrops(10))
+      .sequence(UnsignedInteger.valueOf(sequence + 1))
+      .signingPublicKey(publicKey)
+      .build();
+  }
+
+}
@@ -0,0 +1,504 @@
+package org.xrpl.xrpl4j.samples;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.google.common.io.BaseEncoding;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import okhttp3.HttpUrl;
+import org.xrpl.xrpl4j.codec.binary.XrplBinaryCodec;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * An in-process stand-in for rippled's JSON-RPC API, good enough to drive the samples' submission and validation
+ * paths without network access. It implements {@code fee}, {@code ledger}, {@code account_info}, {@code submit} and
+ * {@code tx}, closes a ledger every {@code ledgerCloseInterval}, and can inject failures:
+ *
+ * <ul>
+ *   <li>{@code rpcErrorRate}: fraction of requests answered with a rippled {@code tooBusy} error.</li>
+ *   <li>{@code httpErrorRate}: fraction of requests answered with HTTP 503.</li>
+ *   <li>{@code dropRate}: fraction of accepted transactions that are silently never applied, so they expire.</li>
+ *   <li>{@link #limitRequestRate(int)}: requests beyond a per-second budget are answered with {@code slowDown}, as
+ *   rippled's resource manager does for a client that sends too much.</li>
+ *   <li>{@link #dropSubmitResponses(int)}: submits are processed but the connection is closed without an answer, as
+ *   when a response is lost in transit.</li>
+ * </ul>
+ *
+ * <p>Every account exists on first use with a fixed balance. Balances are not tracked, but an XRP {@code Payment} of
+ * more than that balance is applied as {@code tecUNFUNDED_PAYMENT}: it claims its sequence and makes a validated ledger
+ * without delivering anything, as a {@code tec} result does on the real network.
+ */
+public class FakeRippled implements Closeable {
+
+  private static final long RIPPLE_EPOCH_SECONDS = 946684800L;
+  private static final int RETAINED_LEDGERS = 1_000;
+  private static final String FEE_DROPS = "10";
+  private static final String ACCOUNT_BALANCE_DROPS = "1000000000";
+  private static final DateTimeFormatter CLOSE_TIME_HUMAN =
+    DateTimeFormatter.ofPattern("yyyy-MMM-dd HH:mm:ss.SSSSSSSSS z", Locale.US).withZone(ZoneOffset.UTC);
+
+  private final ObjectMapper objectMapper = new ObjectMapper();
+  private final Duration ledgerCloseInterval;
+  private final double rpcErrorRate;
+  private final double httpErrorRate;
+  private final double dropRate;
+  private final ScheduledExecutorService ledgerCloser = Executors.newSingleThreadScheduledExecutor(runnable -> {
+    Thread thread = new Thread(runnable, "fake-rippled-ledger-close");
+    thread.setDaemon(true);
+    return thread;
+  });
+
+  // All ledger state below is guarded by this.
+  private final Map<String, AccountState> accounts = new HashMap<>();
+  private final Map<Long, ClosedLedger> closedLedgers = new LinkedHashMap<>();
+  private final Map<String, ObjectNode> transactionsByHash = new HashMap<>();
+  private List<ObjectNode> openLedgerTransactions = new ArrayList<>();
+  private long validatedLedgerIndex = 1;
+
+  private final List<LedgerCloseListener> ledgerCloseListeners = new CopyOnWriteArrayList<>();
+
+  // Request rate limiting, in 100ms windows; guarded by rateWindowLock.
+  private final Object rateWindowLock = new Object();
+  private volatile int requestsPerSecondLimit;
+  private long rateWindowStartNanos;
+  private int rateWindowRequests;
+
+  private final AtomicInteger submitResponsesToDrop = new AtomicInteger();
+
+  private HttpServer httpServer;
+
+  /**
+   * Notified on the ledger-closing thread, outside the ledger lock and in ledger order, each time a ledger closes.
+   * The transactions are the closed ledger's and must not be modified.
+   */
+  public interface LedgerCloseListener {
+    void onLedgerClosed(long ledgerIndex, String ledgerHash, List<ObjectNode> transactions);
+  }
+
+  public FakeRippled(Duration ledgerCloseInterval, double rpcErrorRate, double httpErrorRate, double dropRate) {
+    this.ledgerCloseInterval = ledgerCloseInterval;
+    this.rpcErrorRate = rpcErrorRate;
+    this.httpErrorRate = httpErrorRate;
+    this.dropRate = dropRate;
+    closedLedgers.put(validatedLedgerIndex, new ClosedLedger(validatedLedgerIndex, new ArrayList<>()));
+  }
+
+  /**
+   * Starts serving on {@code port} ({@code 0} picks a free port) and returns the URL to construct clients with.
+   */
+  public HttpUrl start(int port) throws IOException {
+    httpServer = HttpServer.create(new InetSocketAddress("127.0.0.1", port), 0);
+    httpServer.createContext("/", this::handle);
+    httpServer.setExecutor(Executors.newCachedThreadPool(runnable -> {
+      Thread thread = new Thread(runnable, "fake-rippled-http");
+      thread.setDaemon(true);
+      return thread;
+    }));
+    httpServer.start();
+
+    long intervalMillis = ledgerCloseInterval.toMillis();
+    ledgerCloser.scheduleAtFixedRate(this::closeLedger, intervalMillis, intervalMillis, TimeUnit.MILLISECONDS);
+    return HttpUrl.get("http://127.0.0.1:" + httpServer.getAddress().getPort() + "/");
+  }
+
+  @Override
+  public void close() {
+    ledgerCloser.shutdownNow();
+    // Idempotent, so a node stopped partway through a sample can still be closed by its try block.
+    if (httpServer != null) {
+      httpServer.stop(0);
+      httpServer = null;
+    }
+  }
+
+  /**
+   * Answers requests beyond {@code requestsPerSecond} with {@code slowDown}; {@code 0} removes the limit.
+   */
+  public void limitRequestRate(int requestsPerSecond) {
+    this.requestsPerSecondLimit = requestsPerSecond;
+  }
+
+  /**
+   * Processes the next {@code count} submits, then closes each one's connection without answering.
+   */
+  public void dropSubmitResponses(int count) {
+    submitResponsesToDrop.set(count);
+  }
+
+  public void addLedgerCloseListener(LedgerCloseListener listener) {
+    ledgerCloseListeners.add(listener);
+  }
+
+  public synchronized long validatedLedgerIndex() {
+    return validatedLedgerIndex;
+  }
+
+  private void handle(HttpExchange exchange) throws IOException {
+    try {
+      if (ThreadLocalRandom.current().nextDouble() < httpErrorRate) {
+        exchange.sendResponseHeaders(503, -1);
+        return;
+      }
+
+      JsonNode request;
+      try (InputStream body = exchange.getRequestBody()) {
+        request = objectMapper.readTree(body);
+      }
+      String method = request.path("method").asText();
+      JsonNode params = request.path("params").path(0);
+
+      ObjectNode result;
+      if (overRequestRateLimit()) {
+        result = error("slowDown", 10, "You are placing too much load on the server.");
+      } else if (ThreadLocalRandom.current().nextDouble() < rpcErrorRate) {
+        result = error("tooBusy", 9, "The server is too busy to help you now.");
+      } else {
+        result = dispatch(method, params);
+        if ("submit".equals(method) && submitResponsesToDrop.getAndUpdate(count -> Math.max(0, count - 1)) > 0) {
+          // Closing the exchange before sending headers closes the connection, so the client gets no response.
+          return;
+        }
+      }
+
+      ObjectNode response = objectMapper.createObjectNode();
+      response.set("result", result);
+      byte[] bytes = objectMapper.writeValueAsBytes(response);
+      exchange.getResponseHeaders().add("Content-Type", "application/json");
+      exchange.sendResponseHeaders(200, bytes.length);
+      try (OutputStream out = exchange.getResponseBody()) {
+        out.write(bytes);
+      }
+    } finally {
+      exchange.close();
+    }
+  }
+
+  private boolean overRequestRateLimit() {
+    int limit = requestsPerSecondLimit;
+    if (limit <= 0) {
+      return false;
+    }
+    synchronized (rateWindowLock) {
+      long now = System.nanoTime();
+      if (now - rateWindowStartNanos >= TimeUnit.MILLISECONDS.toNanos(100)) {
+        rateWindowStartNanos = now;
+        rateWindowRequests = 0;
+      }
+      return ++rateWindowRequests > Math.max(1, limit / 10);
+    }
+  }
+
+  private ObjectNode dispatch(String method, JsonNode params) {
+    switch (method) {
+      case "fee":
+        return fee();
+      case "ledger":
+        return ledger(params);
+      case "account_info":
+        return accountInfo(params);
+      case "submit":
+        return submit(params);
+      case "tx":
+        return tx(params);
+      default:
+        return error("unknownCmd", 32, "Unknown method.");
+    }
+  }
+
+  private synchronized ObjectNode fee() {
+    ObjectNode result = objectMapper.createObjectNode();
+    result.put("current_ledger_size", String.valueOf(openLedgerTransactions.size()));
+    result.put("current_queue_size", "0");
+    ObjectNode drops = result.putObject("drops");
+    drops.put("base_fee", FEE_DROPS);
+    drops.put("median_fee", "5000");
+    drops.put("minimum_fee", FEE_DROPS);
+    drops.put("open_ledger_fee", FEE_DROPS);
+    result.put("expected_ledger_size", "1000");
+    result.put("ledger_current_index", validatedLedgerIndex + 1);
+    ObjectNode levels = result.putObject("levels");
+    levels.put("median_level", "128000");
+    levels.put("minimum_level", "256");
+    levels.put("open_ledger_level", "256");
+    levels.put("reference_level", "256");
+    result.put("max_queue_size", "2000");
+    result.put("status", "success");
+    return result;
+  }
+
+  private synchronized ObjectNode ledger(JsonNode params) {
+    Long ledgerIndex = resolveLedgerIndex(params.path("ledger_index"));
+    ClosedLedger ledger = ledgerIndex == null ? null : closedLedgers.get(ledgerIndex);
+    if (ledger == null) {
+      return error("lgrNotFound", 21, "ledgerNotFound");
+    }
+
+    ObjectNode result = objectMapper.createObjectNode();
+    ObjectNode header = result.putObject("ledger");
+    header.put("account_hash", ledger.accountHash);
+    header.put("close_flags", 0);
+    header.put("close_time", ledger.closeTime.getEpochSecond() - RIPPLE_EPOCH_SECONDS);
+    header.put("close_time_human", CLOSE_TIME_HUMAN.format(ledger.closeTime));
+    header.put("close_time_resolution", 10);
+    header.put("closed", true);
+    header.put("ledger_hash", ledger.ledgerHash);
+    header.put("ledger_index", String.valueOf(ledger.ledgerIndex));
+    header.put("parent_close_time", ledger.closeTime.getEpochSecond() - RIPPLE_EPOCH_SECONDS - 4);
+    header.put("parent_hash", ledger.parentHash);
+    header.put("total_coins", "99999999999999999");
+    header.put("transaction_hash", ledger.transactionHash);
+    if (params.path("transactions").asBoolean(false)) {
+      ArrayNode transactions = header.putArray("transactions");
+      for (ObjectNode transaction : ledger.transactions) {
+        ObjectNode expanded = transaction.deepCopy();
+        expanded.set("metaData", expanded.remove("meta"));
+        expanded.remove("ledger_index");
+        expanded.remove("validated");
+        transactions.add(expanded);
+      }
+    }
+    result.put("ledger_hash", ledger.ledgerHash);
+    result.put("ledger_index", ledger.ledgerIndex);
+    result.put("validated", true);
+    result.put("status", "success");
+    return result;
+  }
+
+  private synchronized ObjectNode accountInfo(JsonNode params) {
+    String account = params.path("account").asText();
+    boolean current = "current".equals(params.path("ledger_index").asText("current"));
+    AccountState state = accounts.computeIfAbsent(account, a -> new AccountState());
+
+    ObjectNode result = objectMapper.createObjectNode();
+    ObjectNode accountData = result.putObject("account_data");
+    accountData.put("Account", account);
+    accountData.put("Balance", ACCOUNT_BALANCE_DROPS);
+    accountData.put("Flags", 0);
+    accountData.put("LedgerEntryType", "AccountRoot");
+    accountData.put("OwnerCount", 0);
+    accountData.put("PreviousTxnID", randomHash());
+    accountData.put("PreviousTxnLgrSeq", validatedLedgerIndex);
+    accountData.put("Sequence", current ? state.openSequence : state.validatedSequence);
+    accountData.put("index", randomHash());
+    if (current) {
+      result.put("ledger_current_index", validatedLedgerIndex + 1);
+    } else {
+      result.put("ledger_index", validatedLedgerIndex);
+    }
+    result.put("validated", !current);
+    result.put("status", "success");
+    return result;
+  }
+
+  private synchronized ObjectNode submit(JsonNode params) {
+    String txBlob = params.path("tx_blob").asText();
+    ObjectNode transaction;
+    try {
+      transaction = (ObjectNode) objectMapper.readTree(XrplBinaryCodec.getInstance().decode(txBlob));
+    } catch (IOException | RuntimeException e) {
+      return error("invalidTransaction", 73, "Unable to decode tx_blob.");
+    }
+    String hash = transactionHash(txBlob);
+    transaction.put("hash", hash);
+
+    AccountState state = accounts.computeIfAbsent(transaction.path("Account").asText(), a -> new AccountState());
+    long sequence = transaction.path("Sequence").asLong();
+    String engineResult;
+    int engineResultCode;
+    String engineResultMessage;
+    if (sequence < state.openSequence) {
+      engineResult = "tefPAST_SEQ";
+      engineResultCode = -190;
+      engineResultMessage = "This sequence number has already passed.";
+    } else if (sequence > state.openSequence) {
+      engineResult = "terPRE_SEQ";
+      engineResultCode = -92;
+      engineResultMessage = "Missing/inapplicable prior transaction.";
+    } else {
+      if (unfunded(transaction)) {
+        engineResult = "tecUNFUNDED_PAYMENT";
+        engineResultCode = 104;
+        engineResultMessage = "Insufficient XRP balance to send.";
+      } else {
+        engineResult = "tesSUCCESS";
+        engineResultCode = 0;
+        engineResultMessage = "The transaction was applied. Only final in a validated ledger.";
+      }
+      // A dropped transaction is acknowledged but never applied, so its sequence stays available.
+      if (ThreadLocalRandom.current().nextDouble() >= dropRate) {
+        state.openSequence++;
+        openLedgerTransactions.add(transaction);
+      }
+    }
+
+    ObjectNode result = objectMapper.createObjectNode();
+    boolean applied = engineResultCode >= 0;
+    result.put("accepted", applied);
+    result.put("account_sequence_available", state.openSequence);
+    result.put("account_sequence_next", state.openSequence);
+    result.put("applied", applied);
+    result.put("broadcast", applied);
+    result.put("engine_result", engineResult);
+    result.put("engine_result_code", engineResultCode);
+    result.put("engine_result_message", engineResultMessage);
+    result.put("kept", applied);
+    result.put("open_ledger_cost", FEE_DROPS);
+    result.put("queued", false);
+    result.put("tx_blob", txBlob);
+    result.set("tx_json", transaction.deepCopy());
+    result.put("validated_ledger_index", validatedLedgerIndex);
+    result.put("status", "success");
+    return result;
+  }
+
+  private synchronized ObjectNode tx(JsonNode params) {
+    ObjectNode transaction = transactionsByHash.get(params.path("transaction").asText());
+    if (transaction == null) {
+      return error("txnNotFound", 29, "Transaction not found.");
+    }
+    ObjectNode result = transaction.deepCopy();
+    result.put("status", "success");
+    return result;
+  }
+
+  private void closeLedger() {
+    ClosedLedger closedLedger = closeOpenLedger();
+    // Listeners may block (e.g. on socket writes), so they are called without holding up RPCs.
+    List<ObjectNode> transactions = Collections.unmodifiableList(closedLedger.transactions);
+    for (LedgerCloseListener listener : ledgerCloseListeners) {
+      listener.onLedgerClosed(closedLedger.ledgerIndex, closedLedger.ledgerHash, transactions);
+    }
+  }
+
+  private synchronized ClosedLedger closeOpenLedger() {
+    long ledgerIndex = validatedLedgerIndex + 1;
+    List<ObjectNode> transactions = openLedgerTransactions;
+    openLedgerTransactions = new ArrayList<>();
+
+    for (int i = 0; i < transactions.size(); i++) {
+      ObjectNode transaction = transactions.get(i);
+      ObjectNode meta = transaction.putObject("meta");
+      meta.putArray("AffectedNodes");
+      meta.put("TransactionIndex", i);
+      boolean unfunded = unfunded(transaction);
+      meta.put("TransactionResult", unfunded ? "tecUNFUNDED_PAYMENT" : "tesSUCCESS");
+      if (!unfunded && "Payment".equals(transaction.path("TransactionType").asText())) {
+        meta.set("delivered_amount", transaction.get("Amount"));
+      }
+      transaction.put("ledger_index", ledgerIndex);
+      transaction.put("validated", true);
+      transactionsByHash.put(transaction.path("hash").asText(), transaction);
+
+      AccountState state = accounts.get(transaction.path("Account").asText());
+      state.validatedSequence = Math.max(state.validatedSequence, transaction.path("Sequence").asLong() + 1);
+    }
+
+    ClosedLedger closedLedger = new ClosedLedger(ledgerIndex, transactions);
+    closedLedgers.put(ledgerIndex, closedLedger);
+    validatedLedgerIndex = ledgerIndex;
+
+    ClosedLedger evicted = closedLedgers.remove(ledgerIndex - RETAINED_LEDGERS);
+    if (evicted != null) {
+      evicted.transactions.forEach(transaction -> transactionsByHash.remove(transaction.path("hash").asText()));
+    }
+    return closedLedger;
+  }
+
+  private static boolean unfunded(JsonNode transaction) {
+    JsonNode amount = transaction.path("Amount");
+    return "Payment".equals(transaction.path("TransactionType").asText()) && amount.isTextual() &&
+      Long.parseLong(amount.asText()) > Long.parseLong(ACCOUNT_BALANCE_DROPS);
+  }
+
+  private Long resolveLedgerIndex(JsonNode ledgerIndex) {
+    String specifier = ledgerIndex.asText("validated");
+    if ("validated".equals(specifier) || "closed".equals(specifier)) {
+      return validatedLedgerIndex;
+    }
+    try {
+      return Long.parseLong(specifier);
+    } catch (NumberFormatException e) {
+      return null;
+    }
+  }
+
+  private ObjectNode error(String error, int errorCode, String errorMessage) {
+    ObjectNode result = objectMapper.createObjectNode();
+    result.put("error", error);
+    result.put("error_code", errorCode);
+    result.put("error_message", errorMessage);
+    result.put("status", "error");
+    return result;
+  }
+
+  /**
+   * SHA-512Half of the transaction ID prefix ({@code TXN\0}) followed by the signed transaction bytes.
+   */
+  private static String transactionHash(String txBlob) {
+    try {
+      MessageDigest sha512 = MessageDigest.getInstance("SHA-512");
+      sha512.update(new byte[] {0x54, 0x58, 0x4E, 0x00});
+      sha512.update(BaseEncoding.base16().decode(txBlob.toUpperCase(Locale.ROOT)));
+      byte[] digest = sha512.digest();
+      return BaseEncoding.base16().encode(digest, 0, 32);
+    } catch (NoSuchAlgorithmException e) {
+      throw new IllegalStateException(e);
+    }
+  }
+
+  private static String randomHash() {
+    byte[] bytes = new byte[32];
+    ThreadLocalRandom.current().nextBytes(bytes);
+    return BaseEncoding.base16().encode(bytes);
+  }
+
+  private static class AccountState {
+    private long openSequence = 1;
+    private long validatedSequence = 1;
+  }
+
+  private static class ClosedLedger {
+
+    private final long ledgerIndex;
+    private final String ledgerHash = randomHash();
+    private final String parentHash = randomHash();
+    private final String accountHash = randomHash();
+    private final String transactionHash = randomHash();
+    private final Instant closeTime = Instant.now();
+    private final List<ObjectNode> transactions;
+
+    private ClosedLedger(long ledgerIndex, List<ObjectNode> transactions) {
+      this.ledgerIndex = ledgerIndex;
+      this.transactions = transactions;
+    }
+
+  }
+
+}
@@ -0,0 +1,333 @@
+package org.xrpl.xrpl4j.samples;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.google.common.io.BaseEncoding;
+
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * The WebSocket side of {@link FakeRippled}: serves the {@code subscribe} command for the {@code ledger} and
+ * {@code transactions} streams and for {@code accounts}, and pushes {@code ledgerClosed} and {@code transaction}
+ * messages as the fake ledger closes. Only what {@link LedgerStreamSubscriber} needs is implemented: unfragmented
+ * text frames, ping and close.
+ *
+ * <p>{@link #dropConnections()} abruptly closes every socket, to exercise reconnect and gap backfill.
+ */
+public class FakeRippledStream implements Closeable, FakeRippled.LedgerCloseListener {
+
+  private static final String WEBSOCKET_GUID = "258EAFA5-E914-47DA-95CA-C5AB0DC85B11";
+
+  private final FakeRippled fakeRippled;
+  private final ObjectMapper objectMapper = new ObjectMapper();
+  private final List<Connection> connections = new CopyOnWriteArrayList<>();
+
+  private ServerSocket serverSocket;
+
+  public FakeRippledStream(FakeRippled fakeRippled) {
+    this.fakeRippled = fakeRippled;
+  }
+
+  /**
+   * Starts accepting connections on {@code port} ({@code 0} picks a free port) and returns the {@code ws://} URL.
+   */
+  public String start(int port) throws IOException {
+    serverSocket = new ServerSocket(port, 50, InetAddress.getLoopbackAddress());
+    fakeRippled.addLedgerCloseListener(this);
+    daemon("fake-rippled-ws-accept", this::acceptLoop).start();
+    return "ws://127.0.0.1:" + serverSocket.getLocalPort() + "/";
+  }
+
+  /**
+   * Closes every open connection without a close handshake, as a crashed or restarted node would.
+   */
+  public void dropConnections() {
+    for (Connection connection : connections) {
+      connection.closeQuietly();
+    }
+  }
+
+  @Override
+  public void close() throws IOException {
+    if (serverSocket != null) {
+      serverSocket.close();
+    }
+    dropConnections();
+  }
+
+  @Override
+  public void onLedgerClosed(long ledgerIndex, String ledgerHash, List<ObjectNode> transactions) {
+    if (connections.isEmpty()) {
+      return;
+    }
+
+    ObjectNode ledgerClosed = objectMapper.createObjectNode();
+    ledgerClosed.put("type", "ledgerClosed");
+    ledgerClosed.put("fee_base", 10);
+    ledgerClosed.put("fee_ref", 10);
+    ledgerClosed.put("ledger_hash", ledgerHash);
+    ledgerClosed.put("ledger_index", ledgerIndex);
+    ledgerClosed.put("reserve_base", 10_000_000);
+    ledgerClosed.put("reserve_inc", 2_000_000);
+    ledgerClosed.put("txn_count", transactions.size());
+    ledgerClosed.put("validated_ledgers", "1-" + ledgerIndex);
+    String ledgerClosedText = ledgerClosed.toString();
+
+    for (Connection connection : connections) {
+      if (connection.ledgerStream) {
+        connection.send(ledgerClosedText);
+      }
+    }
+
+    for (ObjectNode transaction : transactions) {
+      String account = transaction.path("Account").asText();
+      String destination = transaction.path("Destination").asText(null);
+      String message = null;
+      for (Connection connection : connections) {
+        boolean wanted = connection.transactionsStream || connection.accounts.contains(account) ||
+          (destination != null && connection.accounts.contains(destination));
+        if (wanted) {
+          if (message == null) {
+            message = transactionMessage(ledgerIndex, ledgerHash, transaction);
+          }
+          connection.send(message);
+        }
+      }
+    }
+  }
+
+  private String transactionMessage(long ledgerIndex, String ledgerHash, ObjectNode transaction) {
+    ObjectNode fields = transaction.deepCopy();
+    JsonNode meta = fields.remove("meta");
+    fields.remove("ledger_index");
+    fields.remove("validated");
+
+    ObjectNode message = objectMapper.createObjectNode();
+    message.put("type", "transaction");
+    message.put("engine_result", meta.path("TransactionResult").asText());
+    message.put("engine_result_code", 0);
+    message.put("engine_result_message", "The transaction was applied. Only final in a validated ledger.");
+    message.put("ledger_hash", ledgerHash);
+    message.put("ledger_index", ledgerIndex);
+    message.set("meta", meta);
+    message.set("transaction", fields);
+    message.put("validated", true);
+    return message.toString();
+  }
+
+  private void acceptLoop() {
+    while (!serverSocket.isClosed()) {
+      try {
+        Socket socket = serverSocket.accept();
+        daemon("fake-rippled-ws", () -> serve(socket)).start();
+      } catch (IOException e) {
+        // Closed.
+      }
+    }
+  }
+
+  private void serve(Socket socket) {
+    Connection connection = null;
+    try {
+      InputStream in = socket.getInputStream();
+      OutputStream out = socket.getOutputStream();
+      handshake(in, out);
+      connection = new Connection(socket, out);
+      connections.add(connection);
+
+      DataInputStream frames = new DataInputStream(in);
+      while (true) {
+        int first = frames.readUnsignedByte();
+        int second = frames.readUnsignedByte();
+        int opcode = first & 0x0F;
+        long length = second & 0x7F;
+        if (length == 126) {
+          length = frames.readUnsignedShort();
+        } else if (length == 127) {
+          length = frames.readLong();
+        }
+        byte[] mask = new byte[4];
+        if ((second & 0x80) != 0) {
+          frames.readFully(mask);
+        }
+        byte[] payload = new byte[(int) length];
+        frames.readFully(payload);
+        for (int i = 0; i < payload.length; i++) {
+          payload[i] ^= mask[i & 3];
+        }
+
+        if (opcode == 0x8) {
+          connection.sendFrame(0x8, payload);
+          return;
+        } else if (opcode == 0x9) {
+          connection.sendFrame(0xA, payload);
+        } else if (opcode == 0x1) {
+          onRequest(connection, objectMapper.readTree(new String(payload, StandardCharsets.UTF_8)));
+        }
+      }
+    } catch (IOException e) {
+      // Disconnected.
+    } finally {
+      if (connection != null) {
+        connections.remove(connection);
+        connection.closeQuietly();
+      } else {
+        try {
+          socket.close();
+        } catch (IOException ignored) {
+          // Already closed.
+        }
+      }
+    }
+  }
+
+  private void onRequest(Connection connection, JsonNode request) {
+    ObjectNode response = objectMapper.createObjectNode();
+    response.set("id", request.get("id"));
+    response.put("type", "response");
+    if (!"subscribe".equals(request.path("command").asText())) {
+      response.put("status", "error");
+      response.put("error", "unknownCmd");
+      connection.send(response.toString());
+      return;
+    }
+
+    ObjectNode result = response.putObject("result");
+    for (JsonNode stream : request.path("streams")) {
+      if ("ledger".equals(stream.asText())) {
+        connection.ledgerStream = true;
+        long validatedLedgerIndex = fakeRippled.validatedLedgerIndex();
+        result.put("fee_base", 10);
+        result.put("fee_ref", 10);
+        result.put("ledger_index", validatedLedgerIndex);
+        result.put("reserve_base", 10_000_000);
+        result.put("reserve_inc", 2_000_000);
+        result.put("validated_ledgers", "1-" + validatedLedgerIndex);
+      } else if ("transactions".equals(stream.asText())) {
+        connection.transactionsStream = true;
+      }
+    }
+    for (JsonNode account : request.path("accounts")) {
+      connection.accounts.add(account.asText());
+    }
+    response.put("status", "success");
+    connection.send(response.toString());
+  }
+
+  private static void handshake(InputStream in, OutputStream out) throws IOException {
+    // Read the upgrade request byte by byte so no frame bytes are consumed along with it.
+    ByteArrayOutputStream request = new ByteArrayOutputStream();
+    int matched = 0;
+    while (matched < 4) {
+      int b = in.read();
+      if (b == -1) {
+        throw new EOFException("Connection closed during the WebSocket handshake");
+      }
+      request.write(b);
+      matched = b == "\r\n\r\n".charAt(matched) ? matched + 1 : (b == '\r' ? 1 : 0);
+    }
+
+    String key = null;
+    for (String line : new String(request.toByteArray(), StandardCharsets.US_ASCII).split("\r\n")) {
+      int colon = line.indexOf(':');
+      if (colon > 0 && line.substring(0, colon).trim().toLowerCase(Locale.ROOT).equals("sec-websocket-key")) {
+        key = line.substring(colon + 1).trim();
+      }
+    }
+    if (key == null) {
+      throw new IOException("Not a WebSocket upgrade request");
+    }
+
+    String response = "HTTP/1.1 101 Switching Protocols\r\n" +
+      "Upgrade: websocket\r\n" +
+      "Connection: Upgrade\r\n" +
+      "Sec-WebSocket-Accept: " + acceptKey(key) + "\r\n\r\n";
+    out.write(response.getBytes(StandardCharsets.US_ASCII));
+    out.flush();
+  }
+
+  private static String acceptKey(String key) {
+    try {
+      byte[] digest = MessageDigest.getInstance("SHA-1")
+        .digest((key + WEBSOCKET_GUID).getBytes(StandardCharsets.US_ASCII));
+      return BaseEncoding.base64().encode(digest);
+    } catch (NoSuchAlgorithmException e) {
+      throw new IllegalStateException(e);
+    }
+  }
+
+  private static Thread daemon(String name, Runnable runnable) {
+    Thread thread = new Thread(runnable, name);
+    thread.setDaemon(true);
+    return thread;
+  }
+
+  private static class Connection {
+
+    private final Socket socket;
+    private final OutputStream out;
+    private final Set<String> accounts = ConcurrentHashMap.newKeySet();
+    private volatile boolean ledgerStream;
+    private volatile boolean transactionsStream;
+
+    private Connection(Socket socket, OutputStream out) {
+      this.socket = socket;
+      this.out = out;
+    }
+
+    private void send(String text) {
+      try {
+        sendFrame(0x1, text.getBytes(StandardCharsets.UTF_8));
+      } catch (IOException e) {
+        closeQuietly();
+      }
+    }
+
+    private synchronized void sendFrame(int opcode, byte[] payload) throws IOException {
+      // Server frames are never masked.
+      out.write(0x80 | opcode);
+      if (payload.length < 126) {
+        out.write(payload.length);
+      } else if (payload.length <= 0xFFFF) {
+        out.write(126);
+        out.write(payload.length >>> 8);
+        out.write(payload.length);
+      } else {
+        out.write(127);
+        for (int shift = 56; shift >= 0; shift -= 8) {
+          out.write((int) ((long) payload.length >>> shift));
+        }
+      }
+      out.write(payload);
+      out.flush();
+    }
+
+    private void closeQuietly() {
+      try {
+        socket.close();
+      } catch (IOException ignored) {
+        // Already closed.
+      }
+    }
+
+  }
+
+}
@@ -0,0 +1,330 @@
+package org.xrpl.xrpl4j.samples;
+
+import org.xrpl.xrpl4j.client.JsonRpcClientErrorException;
+import org.xrpl.xrpl4j.model.client.fees.FeeResult;
+import org.xrpl.xrpl4j.model.client.ledger.LedgerResult;
+import org.xrpl.xrpl4j.model.transactions.XrpCurrencyAmount;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Learns what it costs to get a transaction into a ledger from a sliding window of {@code fee} samples, one per
+ * validated ledger, instead of paying whatever a single {@code fee()} call reports.
+ *
+ * <p>rippled applies a transaction to the open ledger straight away only if it pays at least the open ledger fee,
+ * which escalates with the square of how far the ledger is over its expected size; cheaper transactions wait in the
+ * queue, from which about {@code expected_ledger_size} are applied at the start of each following ledger. So a fee
+ * gets a transaction in within {@code n} ledgers if it covered the open ledger fee at least once in that span, or if
+ * the queue it joined was short enough to drain in the {@code n - 1} ledgers after. {@link #feeFor(double, int)}
+ * answers with the smallest fee that would have done so in the requested fraction of the recorded windows of
+ * {@code n} ledgers, and {@link #escalate(XrpCurrencyAmount, int)} raises it for a resubmission.
+ *
+ * <p>Samples are taken as each ledger is validated, when the new open ledger is nearly empty and its fee at its
+ * lowest. Taken at face value they understate what a transaction submitted later in the interval pays, so each
+ * sample's open ledger fee is projected to where the queue will take it once it has moved into the open ledger.
+ *
+ * <p>Congestion comes in bursts, so only windows that started in a state like the latest sample count: uncongested
+ * if the open ledger fee is at the minimum and nothing is queued, otherwise within a factor of two of the latest
+ * projected open ledger fee. With too few such windows, every window counts.
+ *
+ * <p>Register it with a {@link ValidatedLedgerPoller} after any {@link CachingXrplClient} it samples through, so the
+ * cache has moved on to the new ledger before it is sampled.
+ */
+public class FeeEstimator implements ValidatedLedgerPoller.Listener {
+
+  // rippled only replaces a queued transaction with one paying at least 25% more.
+  private static final double MIN_REPLACEMENT_MULTIPLIER = 1.25;
+  private static final int MIN_SIMILAR_WINDOWS = 20;
+
+  /**
+   * Where samples come from, typically {@code xrplClient::fee}.
+   */
+  public interface FeeSource {
+    FeeResult fee() throws JsonRpcClientErrorException;
+  }
+
+  private final FeeSource feeSource;
+  private final XrpCurrencyAmount maximumFee;
+  private final Sample[] history;
+
+  // Ring buffer state, guarded by this.
+  private int next;
+  private int size;
+
+  /**
+   * @param historySize how many ledgers of samples to learn from.
+   * @param maximumFee  no estimate or escalation goes above this.
+   */
+  public FeeEstimator(FeeSource feeSource, int historySize, XrpCurrencyAmount maximumFee) {
+    this.feeSource = feeSource;
+    this.maximumFee = maximumFee;
+    this.history = new Sample[historySize];
+  }
+
+  @Override
+  public void onValidatedLedger(LedgerResult ledgerResult) {
+    try {
+      record(Sample.of(feeSource.fee()));
+    } catch (JsonRpcClientErrorException | RuntimeException e) {
+      // A missed sample only shortens the window.
+      System.err.println("Unable to sample fee: " + e.getMessage());
+    }
+  }
+
+  public synchronized void record(Sample sample) {
+    history[next] = sample;
+    next = (next + 1) % history.length;
+    size = Math.min(size + 1, history.length);
+  }
+
+  /**
+   * The recorded samples, oldest first.
+   */
+  public synchronized List<Sample> history() {
+    List<Sample> samples = new ArrayList<>(size);
+    for (int i = 0; i < size; i++) {
+      samples.add(history[(next - size + i + history.length) % history.length]);
+    }
+    return samples;
+  }
+
+  /**
+   * The smallest fee that would have been included within {@code withinLedgers} ledgers in at least
+   * {@code probability} of the recorded windows, never below the latest minimum fee nor above the maximum fee.
+   */
+  public XrpCurrencyAmount feeFor(double probability, int withinLedgers) throws JsonRpcClientErrorException {
+    List<Sample> samples = samplesOrCurrent();
+    return XrpCurrencyAmount.ofDrops(clamp(samples, requiredFee(samples, probability, withinLedgers)));
+  }
+
+  /**
+   * The fraction of recorded windows of {@code withinLedgers} ledgers in which {@code fee} would have been included.
+   */
+  public double inclusionProbability(XrpCurrencyAmount fee, int withinLedgers) throws JsonRpcClientErrorException {
+    long[] required = windowMinimums(samplesOrCurrent(), withinLedgers);
+    long drops = fee.value().longValue();
+    long included = Arrays.stream(required).filter(requiredDrops -> requiredDrops <= drops).count();
+    return (double) included / required.length;
+  }
+
+  /**
+   * The fee for resubmitting a transaction that was not included at {@code previousFee}. Each attempt halves the
+   * tolerated miss rate of {@code probability}, and the result is always enough to replace the queued original.
+   *
+   * @param attempt 1 for the first resubmission.
+   */
+  public XrpCurrencyAmount escalate(XrpCurrencyAmount previousFee, double probability, int attempt)
+    throws JsonRpcClientErrorException {
+    double escalatedProbability = 1 - (1 - probability) / Math.pow(2, attempt);
+    List<Sample> samples = samplesOrCurrent();
+    long replacement = (long) Math.ceil(previousFee.value().longValue() * MIN_REPLACEMENT_MULTIPLIER);
+    long estimate = requiredFee(samples, escalatedProbability, 1);
+    return XrpCurrencyAmount.ofDrops(clamp(samples, Math.max(replacement, estimate)));
+  }
+
+  /**
+   * {@link #escalate(XrpCurrencyAmount, double, int)} for a 90% inclusion target.
+   */
+  public XrpCurrencyAmount escalate(XrpCurrencyAmount previousFee, int attempt) throws JsonRpcClientErrorException {
+    return escalate(previousFee, 0.9, attempt);
+  }
+
+  private List<Sample> samplesOrCurrent() throws JsonRpcClientErrorException {
+    List<Sample> samples = history();
+    if (samples.isEmpty()) {
+      // Nothing learned yet, so the best available answer is the network's view right now.
+      Sample current = Sample.of(feeSource.fee());
+      record(current);
+      samples = history();
+    }
+    return samples;
+  }
+
+  private long clamp(List<Sample> samples, long drops) {
+    long minimum = samples.get(samples.size() - 1).minimumFeeDrops;
+    return Math.min(Math.max(drops, minimum), maximumFee.value().longValue());
+  }
+
+  private static long requiredFee(List<Sample> samples, double probability, int withinLedgers) {
+    long[] required = windowMinimums(samples, withinLedgers);
+    Arrays.sort(required);
+    int rank = (int) Math.ceil(probability * required.length) - 1;
+    return required[Math.max(0, Math.min(required.length - 1, rank))];
+  }
+
+  /**
+   * For each run of {@code withinLedgers} consecutive samples that starts in a state similar to the latest sample,
+   * the lowest fee that got a transaction submitted at its start in before it ended.
+   */
+  private static long[] windowMinimums(List<Sample> samples, int withinLedgers) {
+    int window = Math.max(1, Math.min(withinLedgers, samples.size()));
+    Sample latest = samples.get(samples.size() - 1);
+    long[] all = new long[samples.size() - window + 1];
+    long[] similar = new long[all.length];
+    int similarCount = 0;
+    for (int start = 0; start < all.length; start++) {
+      Sample first = samples.get(start);
+      // Queued behind everything already waiting, which the following ledgers drain.
+      long minimum = first.currentQueueSize + 1 <= (window - 1) * first.expectedLedgerSize ?
+        first.minimumFeeDrops :
+        Long.MAX_VALUE;
+      for (int i = start; i < start + window; i++) {
+        minimum = Math.min(minimum, samples.get(i).projectedOpenLedgerFeeDrops());
+      }
+      all[start] = minimum;
+      if (samples.get(start).isSimilarTo(latest)) {
+        similar[similarCount++] = minimum;
+      }
+    }
+    return similarCount >= MIN_SIMILAR_WINDOWS ? Arrays.copyOf(similar, similarCount) : all;
+  }
+
+  /**
+   * Writes {@code samples} as CSV with a header row, for replay by {@link FeeSimulator}.
+   */
+  public static void writeHistory(Path path, List<Sample> samples) throws IOException {
+    try (BufferedWriter writer = Files.newBufferedWriter(path, StandardCharsets.UTF_8)) {
+      writer.write(Sample.CSV_HEADER);
+      writer.newLine();
+      for (Sample sample : samples) {
+        writer.write(sample.toCsv());
+        writer.newLine();
+      }
+    }
+  }
+
+  public static List<Sample> readHistory(Path path) throws IOException {
+    return Files.readAllLines(path, StandardCharsets.UTF_8).stream()
+      .skip(1)
+      .filter(line -> !line.trim().isEmpty())
+      .map(Sample::fromCsv)
+      .collect(Collectors.toList());
+  }
+
+  /**
+   * The parts of one {@code fee} response the estimator learns from.
+   */
+  public static class Sample {
+
+    private static final String CSV_HEADER =
+      "ledger_current_index,open_ledger_fee,minimum_fee,median_fee,current_ledger_size,expected_ledger_size," +
+        "current_queue_size";
+
+    private final long ledgerCurrentIndex;
+    private final long openLedgerFeeDrops;
+    private final long minimumFeeDrops;
+    private final long medianFeeDrops;
+    private final long currentLedgerSize;
+    private final long expectedLedgerSize;
+    private final long currentQueueSize;
+
+    public Sample(
+      long ledgerCurrentIndex,
+      long openLedgerFeeDrops,
+      long minimumFeeDrops,
+      long medianFeeDrops,
+      long currentLedgerSize,
+      long expectedLedgerSize,
+      long currentQueueSize
+    ) {
+      this.ledgerCurrentIndex = ledgerCurrentIndex;
+      this.openLedgerFeeDrops = openLedgerFeeDrops;
+      this.minimumFeeDrops = minimumFeeDrops;
+      this.medianFeeDrops = medianFeeDrops;
+      this.currentLedgerSize = currentLedgerSize;
+      this.expectedLedgerSize = expectedLedgerSize;
+      this.currentQueueSize = currentQueueSize;
+    }
+
+    public static Sample of(FeeResult feeResult) {
+      return new Sample(
+        feeResult.ledgerCurrentIndex().unsignedIntegerValue().longValue(),
+        feeResult.drops().openLedgerFee().value().longValue(),
+        feeResult.drops().minimumFee().value().longValue(),
+        feeResult.drops().medianFee().value().longValue(),
+        feeResult.currentLedgerSize().longValue(),
+        feeResult.expectedLedgerSize().longValue(),
+        feeResult.currentQueueSize().longValue()
+      );
+    }
+
+    /**
+     * The open ledger fee once the queue has been applied to the open ledger, at rippled's escalation of
+     * {@code median_fee * (size / expected_ledger_size)^2} beyond the expected size.
+     */
+    private long projectedOpenLedgerFeeDrops() {
+      long projectedSize = currentLedgerSize + currentQueueSize;
+      if (expectedLedgerSize <= 0 || projectedSize <= expectedLedgerSize) {
+        return openLedgerFeeDrops;
+      }
+      double ratio = (double) projectedSize / expectedLedgerSize;
+      return Math.max(openLedgerFeeDrops, (long) Math.ceil(medianFeeDrops * ratio * ratio));
+    }
+
+    private boolean isCongested() {
+      return openLedgerFeeDrops > minimumFeeDrops || currentQueueSize > 0;
+    }
+
+    private boolean isSimilarTo(Sample other) {
+      if (isCongested() != other.isCongested()) {
+        return false;
+      }
+      long projected = projectedOpenLedgerFeeDrops();
+      long otherProjected = other.projectedOpenLedgerFeeDrops();
+      return !isCongested() || (projected <= 2 * otherProjected && otherProjected <= 2 * projected);
+    }
+
+    private static Sample fromCsv(String line) {
+      long[] values = Arrays.stream(line.split(",")).mapToLong(value -> Long.parseLong(value.trim())).toArray();
+      return new Sample(values[0], values[1], values[2], values[3], values[4], values[5], values[6]);
+    }
+
+    private String toCsv() {
+      return ledgerCurrentIndex + "," + openLedgerFeeDrops + "," + minimumFeeDrops + "," + medianFeeDrops + "," +
+        currentLedgerSize + "," + expectedLedgerSize + "," + currentQueueSize;
+    }
+
+    public long ledgerCurrentIndex() {
+      return ledgerCurrentIndex;
+    }
+
+    public long openLedgerFeeDrops() {
+      return openLedgerFeeDrops;
+    }
+
+    public long minimumFeeDrops() {
+      return minimumFeeDrops;
+    }
+
+    public long medianFeeDrops() {
+      return medianFeeDrops;
+    }
+
+    public long currentLedgerSize() {
+      return currentLedgerSize;
+    }
+
+    public long expectedLedgerSize() {
+      return expectedLedgerSize;
+    }
+
+    public long currentQueueSize() {
+      return currentQueueSize;
+    }
+
+    @Override
+    public String toString() {
+      return "Sample{" + toCsv() + "}";
+    }
+
+  }
+
+}
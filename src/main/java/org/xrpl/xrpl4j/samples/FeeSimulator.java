@@ -0,0 +1,219 @@
+package org.xrpl.xrpl4j.samples;
+
+import okhttp3.HttpUrl;
+import org.xrpl.xrpl4j.model.transactions.XrpCurrencyAmount;
+
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Replays a fee history ledger by ledger and compares fee strategies on what they pay against how long their
+ * transactions take to get in. A transaction submitted with fee {@code f} is included in the first ledger whose open
+ * ledger fee is at most {@code f}, and expires if that does not happen within {@link #LAST_LEDGER_SEQUENCE_OFFSET}
+ * ledgers, in which case it is resubmitted.
+ *
+ * <pre>
+ * FeeSimulator                          replay a synthetic, bursty history
+ * FeeSimulator replay history.csv       replay a recorded history
+ * FeeSimulator record history.csv 500   record 500 ledgers of Testnet fees
+ * </pre>
+ */
+public class FeeSimulator {
+
+  private static final int LAST_LEDGER_SEQUENCE_OFFSET = 4;
+  private static final int HISTORY_SIZE = 256;
+  private static final XrpCurrencyAmount MAXIMUM_FEE = XrpCurrencyAmount.ofDrops(100_000);
+
+  public static void main(String[] args) throws Exception {
+    String mode = args.length > 0 ? args[0] : "synthetic";
+    switch (mode) {
+      case "record":
+        record(Paths.get(args[1]), args.length > 2 ? Integer.parseInt(args[2]) : 500);
+        return;
+      case "replay":
+        simulate(FeeEstimator.readHistory(Paths.get(args[1])));
+        return;
+      default:
+        simulate(syntheticHistory(2_000, new Random(42)));
+    }
+  }
+
+  private static void record(Path path, int ledgerCount) throws Exception {
+    System.out.println("Recording " + ledgerCount + " ledgers of Testnet fees to " + path + "...");
+    XrplRpcClient xrplClient = XrplRpcClient.of(HttpUrl.get("https://s.altnet.rippletest.net:51234/"));
+    FeeEstimator feeEstimator = new FeeEstimator(xrplClient::fee, ledgerCount, MAXIMUM_FEE);
+    try (ValidatedLedgerPoller ledgerPoller = new ValidatedLedgerPoller(xrplClient, Duration.ofSeconds(1))) {
+      ledgerPoller.addListener(feeEstimator);
+      ledgerPoller.start();
+      while (feeEstimator.history().size() < ledgerCount) {
+        Thread.sleep(1_000);
+      }
+    }
+    FeeEstimator.writeHistory(path, feeEstimator.history());
+  }
+
+  private static void simulate(List<FeeEstimator.Sample> history) throws Exception {
+    System.out.println("Replaying " + history.size() + " ledgers of fee history...");
+    List<Strategy> strategies = Arrays.asList(
+      new Strategy("minimum fee", false) {
+        @Override
+        XrpCurrencyAmount fee(FeeEstimator feeEstimator, FeeEstimator.Sample current) {
+          return XrpCurrencyAmount.ofDrops(current.minimumFeeDrops());
+        }
+      },
+      new Strategy("open ledger fee at submit", false) {
+        @Override
+        XrpCurrencyAmount fee(FeeEstimator feeEstimator, FeeEstimator.Sample current) {
+          return XrpCurrencyAmount.ofDrops(current.openLedgerFeeDrops());
+        }
+      },
+      estimated(0.5, 3),
+      estimated(0.9, 1),
+      estimated(0.99, 1)
+    );
+
+    for (Strategy strategy : strategies) {
+      System.out.println(run(strategy, history));
+    }
+  }
+
+  private static Strategy estimated(double probability, int withinLedgers) {
+    return new Strategy("estimator p=" + probability + " within " + withinLedgers + ", escalating", true) {
+      @Override
+      XrpCurrencyAmount fee(FeeEstimator feeEstimator, FeeEstimator.Sample current) throws Exception {
+        return feeEstimator.feeFor(probability, withinLedgers);
+      }
+    };
+  }
+
+  /**
+   * Submits one transaction per ledger and follows each until it is included.
+   */
+  private static String run(Strategy strategy, List<FeeEstimator.Sample> history) throws Exception {
+    FeeEstimator feeEstimator = new FeeEstimator(() -> {
+      throw new IllegalStateException("Replays only learn from recorded samples");
+    }, HISTORY_SIZE, MAXIMUM_FEE);
+    // Learn from a warm-up prefix before the first submission.
+    int warmUp = Math.min(HISTORY_SIZE, history.size() / 4);
+
+    List<Submission> pending = new ArrayList<>();
+    List<Long> latencies = new ArrayList<>();
+    long feesPaid = 0;
+    int expirations = 0;
+    for (int ledger = 0; ledger < history.size(); ledger++) {
+      FeeEstimator.Sample current = history.get(ledger);
+      feeEstimator.record(current);
+      if (ledger < warmUp) {
+        continue;
+      }
+
+      for (Iterator<Submission> iterator = pending.iterator(); iterator.hasNext(); ) {
+        Submission submission = iterator.next();
+        if (submission.feeDrops >= current.openLedgerFeeDrops()) {
+          iterator.remove();
+          feesPaid += submission.feeDrops;
+          latencies.add((long) (ledger - submission.firstSubmittedLedger));
+        } else if (ledger > submission.lastLedgerSequence) {
+          expirations++;
+          submission.attempt++;
+          XrpCurrencyAmount fee = strategy.escalates ?
+            feeEstimator.escalate(XrpCurrencyAmount.ofDrops(submission.feeDrops), submission.attempt) :
+            strategy.fee(feeEstimator, current);
+          submission.resubmit(fee.value().longValue(), ledger);
+        }
+      }
+
+      // In at once if it covers the current open ledger fee, otherwise queued until a ledger it does cover.
+      Submission submission = new Submission(strategy.fee(feeEstimator, current).value().longValue(), ledger);
+      if (submission.feeDrops >= current.openLedgerFeeDrops()) {
+        feesPaid += submission.feeDrops;
+        latencies.add(0L);
+      } else {
+        pending.add(submission);
+      }
+    }
+
+    long[] sorted = latencies.stream().mapToLong(Long::longValue).sorted().toArray();
+    return String.format(
+      "%-45s included=%d pending=%d expirations=%d mean fee=%.1f drops, ledgers to inclusion p50=%d p99=%d max=%d",
+      strategy.name, sorted.length, pending.size(), expirations,
+      sorted.length == 0 ? 0.0 : (double) feesPaid / sorted.length,
+      percentile(sorted, 0.5), percentile(sorted, 0.99), percentile(sorted, 1.0)
+    );
+  }
+
+  private static long percentile(long[] sorted, double percentile) {
+    if (sorted.length == 0) {
+      return 0;
+    }
+    int index = (int) Math.ceil(percentile * sorted.length) - 1;
+    return sorted[Math.max(0, Math.min(sorted.length - 1, index))];
+  }
+
+  /**
+   * Open ledger load that idles under capacity and occasionally bursts well over it, with the open ledger fee
+   * escalating the way rippled's does: the median fee times the square of the ledger's fullness.
+   */
+  private static List<FeeEstimator.Sample> syntheticHistory(int ledgerCount, Random random) {
+    long expectedLedgerSize = 50;
+    long minimumFeeDrops = 10;
+    long medianFeeDrops = 5_000;
+    List<FeeEstimator.Sample> history = new ArrayList<>(ledgerCount);
+    double load = 0.5;
+    for (int i = 0; i < ledgerCount; i++) {
+      if (random.nextDouble() < 0.03) {
+        load += 0.5 + random.nextDouble();
+      }
+      // Bursts decay back towards half capacity.
+      load = Math.max(0.1, 0.5 + (load - 0.5) * 0.85 + random.nextGaussian() * 0.05);
+      long currentLedgerSize = Math.round(load * expectedLedgerSize);
+      long openLedgerFeeDrops = currentLedgerSize <= expectedLedgerSize ? minimumFeeDrops :
+        medianFeeDrops * currentLedgerSize * currentLedgerSize / (expectedLedgerSize * expectedLedgerSize);
+      long queueSize = Math.max(0, currentLedgerSize - expectedLedgerSize);
+      history.add(new FeeEstimator.Sample(
+        1_000 + i, openLedgerFeeDrops, minimumFeeDrops, medianFeeDrops, currentLedgerSize, expectedLedgerSize, queueSize
+      ));
+    }
+    return history;
+  }
+
+  private abstract static class Strategy {
+
+    private final String name;
+    private final boolean escalates;
+
+    private Strategy(String name, boolean escalates) {
+      this.name = name;
+      this.escalates = escalates;
+    }
+
+    abstract XrpCurrencyAmount fee(FeeEstimator feeEstimator, FeeEstimator.Sample current) throws Exception;
+
+  }
+
+  private static class Submission {
+
+    private final int firstSubmittedLedger;
+    private long feeDrops;
+    private int lastLedgerSequence;
+    private int attempt;
+
+    private Submission(long feeDrops, int ledger) {
+      this.firstSubmittedLedger = ledger;
+      resubmit(feeDrops, ledger);
+    }
+
+    private void resubmit(long feeDrops, int ledger) {
+      this.feeDrops = feeDrops;
+      this.lastLedgerSequence = ledger + LAST_LEDGER_SEQUENCE_OFFSET;
+    }
+
+  }
+
+}
@@ -0,0 +1,69 @@
+package org.xrpl.xrpl4j.samples;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import org.xrpl.xrpl4j.client.JsonRpcClientErrorException;
+import org.xrpl.xrpl4j.crypto.signing.SingleSignedTransaction;
+import org.xrpl.xrpl4j.model.client.accounts.AccountInfoRequestParams;
+import org.xrpl.xrpl4j.model.client.accounts.AccountInfoResult;
+import org.xrpl.xrpl4j.model.client.accounts.AccountLinesRequestParams;
+import org.xrpl.xrpl4j.model.client.accounts.AccountLinesResult;
+import org.xrpl.xrpl4j.model.client.fees.FeeResult;
+import org.xrpl.xrpl4j.model.client.ledger.LedgerRequestParams;
+import org.xrpl.xrpl4j.model.client.ledger.LedgerResult;
+import org.xrpl.xrpl4j.model.client.transactions.SubmitResult;
+import org.xrpl.xrpl4j.model.client.transactions.TransactionRequestParams;
+import org.xrpl.xrpl4j.model.client.transactions.TransactionResult;
+import org.xrpl.xrpl4j.model.transactions.Transaction;
+
+import java.util.Objects;
+
+/**
+ * An {@link XrplRpcClient} that forwards every call to another {@link XrplRpcClient}. Subclasses override the calls
+ * they decorate, so caching, instrumentation and failover can be stacked and the result passed anywhere an
+ * {@code XrplRpcClient} is expected.
+ */
+public abstract class ForwardingXrplClient implements XrplRpcClient {
+
+  private final XrplRpcClient delegate;
+
+  protected ForwardingXrplClient(XrplRpcClient delegate) {
+    this.delegate = Objects.requireNonNull(delegate);
+  }
+
+  public XrplRpcClient delegate() {
+    return delegate;
+  }
+
+  @Override
+  public AccountInfoResult accountInfo(AccountInfoRequestParams params) throws JsonRpcClientErrorException {
+    return delegate.accountInfo(params);
+  }
+
+  @Override
+  public AccountLinesResult accountLines(AccountLinesRequestParams params) throws JsonRpcClientErrorException {
+    return delegate.accountLines(params);
+  }
+
+  @Override
+  public FeeResult fee() throws JsonRpcClientErrorException {
+    return delegate.fee();
+  }
+
+  @Override
+  public LedgerResult ledger(LedgerRequestParams params) throws JsonRpcClientErrorException {
+    return delegate.ledger(params);
+  }
+
+  @Override
+  public <T extends Transaction> SubmitResult<T> submit(SingleSignedTransaction<T> signedTransaction)
+    throws JsonRpcClientErrorException, JsonProcessingException {
+    return delegate.submit(signedTransaction);
+  }
+
+  @Override
+  public <T extends Transaction> TransactionResult<T> transaction(TransactionRequestParams params, Class<T> type)
+    throws JsonRpcClientErrorException {
+    return delegate.transaction(params, type);
+  }
+
+}
@@ -0,0 +1,79 @@
+package org.xrpl.xrpl4j.samples;
+
+import java.util.Arrays;
+
+/**
+ * Open-addressing hash table from the first eight bytes of a transaction hash to the location of its record, which
+ * the caller checks against the full hash. Shared by {@link SignedTransactionWarehouse} and {@link TransactionIndex}.
+ *
+ * <p>Probe with {@link #firstSlot(long)} and {@link #nextSlot(int)} until {@link #location(int)} is negative.
+ * Not thread-safe.
+ */
+class HashPrefixIndex {
+
+  private long[] prefixes = new long[1024];
+  private long[] locations = emptyLocations(1024);
+  private int size;
+
+  void put(long prefix, long location) {
+    if ((size + 1) * 4 > locations.length * 3) {
+      resize();
+    }
+    int slot = firstSlot(prefix);
+    while (locations[slot] >= 0) {
+      slot = nextSlot(slot);
+    }
+    prefixes[slot] = prefix;
+    locations[slot] = location;
+    size++;
+  }
+
+  int firstSlot(long prefix) {
+    return (int) (prefix ^ (prefix >>> 32)) & (locations.length - 1);
+  }
+
+  int nextSlot(int slot) {
+    return (slot + 1) & (locations.length - 1);
+  }
+
+  long prefix(int slot) {
+    return prefixes[slot];
+  }
+
+  /**
+   * The location stored in {@code slot}, or -1 if it is empty.
+   */
+  long location(int slot) {
+    return locations[slot];
+  }
+
+  int size() {
+    return size;
+  }
+
+  void clear() {
+    prefixes = new long[1024];
+    locations = emptyLocations(1024);
+    size = 0;
+  }
+
+  private void resize() {
+    long[] oldPrefixes = prefixes;
+    long[] oldLocations = locations;
+    prefixes = new long[oldPrefixes.length * 2];
+    locations = emptyLocations(oldLocations.length * 2);
+    size = 0;
+    for (int i = 0; i < oldLocations.length; i++) {
+      if (oldLocations[i] >= 0) {
+        put(oldPrefixes[i], oldLocations[i]);
+      }
+    }
+  }
+
+  private static long[] emptyLocations(int length) {
+    long[] empty = new long[length];
+    Arrays.fill(empty, -1);
+    return empty;
+  }
+
+}
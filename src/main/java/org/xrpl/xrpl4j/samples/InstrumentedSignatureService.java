@@ -0,0 +1,99 @@
+package org.xrpl.xrpl4j.samples;
+
+import org.xrpl.xrpl4j.crypto.keys.PrivateKeyable;
+import org.xrpl.xrpl4j.crypto.keys.PublicKey;
+import org.xrpl.xrpl4j.crypto.signing.Signature;
+import org.xrpl.xrpl4j.crypto.signing.SignatureService;
+import org.xrpl.xrpl4j.crypto.signing.SignatureWithPublicKey;
+import org.xrpl.xrpl4j.crypto.signing.SingleSignedTransaction;
+import org.xrpl.xrpl4j.model.client.channels.UnsignedClaim;
+import org.xrpl.xrpl4j.model.transactions.Attestation;
+import org.xrpl.xrpl4j.model.transactions.Transaction;
+import org.xrpl.xrpl4j.model.transactions.TransactionType;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * A {@link SignatureService} that records signing latency, labelled by transaction type, and derivation latency for
+ * another {@code SignatureService}, so it can be passed anywhere the delegate could, such as a {@link BatchSigner}.
+ * Every other call is forwarded untimed.
+ */
+public class InstrumentedSignatureService<P extends PrivateKeyable> implements SignatureService<P> {
+
+  private final SignatureService<P> delegate;
+  private final Metrics metrics;
+  private final Metrics.Histogram derivePublicKeyLatency;
+  // Resolved once per transaction type so that the hot path is a plain map read.
+  private final Map<TransactionType, Metrics.Histogram> signLatencies = new ConcurrentHashMap<>();
+
+  public InstrumentedSignatureService(SignatureService<P> delegate, Metrics metrics) {
+    this.delegate = delegate;
+    this.metrics = metrics;
+    this.derivePublicKeyLatency = metrics.timer(
+      "xrpl_derive_public_key_latency_seconds", "Time to derive a public key."
+    );
+  }
+
+  @Override
+  public PublicKey derivePublicKey(P privateKeyable) {
+    long start = System.nanoTime();
+    try {
+      return delegate.derivePublicKey(privateKeyable);
+    } finally {
+      derivePublicKeyLatency.record(System.nanoTime() - start);
+    }
+  }
+
+  @Override
+  public <T extends Transaction> SingleSignedTransaction<T> sign(P privateKeyable, T transaction) {
+    Metrics.Histogram latency = signLatency(transaction.transactionType());
+    long start = System.nanoTime();
+    try {
+      return delegate.sign(privateKeyable, transaction);
+    } finally {
+      latency.record(System.nanoTime() - start);
+    }
+  }
+
+  @Override
+  public Signature sign(P privateKeyable, UnsignedClaim unsignedClaim) {
+    return delegate.sign(privateKeyable, unsignedClaim);
+  }
+
+  @Override
+  public Signature sign(P privateKeyable, Attestation attestation) {
+    return delegate.sign(privateKeyable, attestation);
+  }
+
+  @Override
+  public <T extends Transaction> Signature multiSign(P privateKeyable, T transaction) {
+    return delegate.multiSign(privateKeyable, transaction);
+  }
+
+  @Override
+  public <T extends Transaction> boolean verify(SignatureWithPublicKey signatureWithPublicKey, T unsignedTransaction) {
+    return delegate.verify(signatureWithPublicKey, unsignedTransaction);
+  }
+
+  @Override
+  public <T extends Transaction> boolean verify(
+    Set<SignatureWithPublicKey> signatureWithPublicKeys,
+    T unsignedTransaction,
+    int minSigners
+  ) {
+    return delegate.verify(signatureWithPublicKeys, unsignedTransaction, minSigners);
+  }
+
+  private Metrics.Histogram signLatency(TransactionType transactionType) {
+    Metrics.Histogram latency = signLatencies.get(transactionType);
+    if (latency == null) {
+      latency = signLatencies.computeIfAbsent(transactionType, type -> metrics.timer(
+        "xrpl_sign_latency_seconds", "Time to sign a transaction, by transaction type.", "type", type.value()
+      ));
+    }
+    return latency;
+  }
+
+}
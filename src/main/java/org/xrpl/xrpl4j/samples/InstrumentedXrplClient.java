@@ -0,0 +1,134 @@
+package org.xrpl.xrpl4j.samples;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import org.xrpl.xrpl4j.client.JsonRpcClientErrorException;
+import org.xrpl.xrpl4j.crypto.signing.SingleSignedTransaction;
+import org.xrpl.xrpl4j.model.client.accounts.AccountInfoRequestParams;
+import org.xrpl.xrpl4j.model.client.accounts.AccountInfoResult;
+import org.xrpl.xrpl4j.model.client.accounts.AccountLinesRequestParams;
+import org.xrpl.xrpl4j.model.client.accounts.AccountLinesResult;
+import org.xrpl.xrpl4j.model.client.fees.FeeResult;
+import org.xrpl.xrpl4j.model.client.ledger.LedgerRequestParams;
+import org.xrpl.xrpl4j.model.client.ledger.LedgerResult;
+import org.xrpl.xrpl4j.model.client.transactions.SubmitResult;
+import org.xrpl.xrpl4j.model.client.transactions.TransactionRequestParams;
+import org.xrpl.xrpl4j.model.client.transactions.TransactionResult;
+import org.xrpl.xrpl4j.model.transactions.Transaction;
+
+/**
+ * An {@link XrplRpcClient} that records latency and error counts per JSON-RPC method.
+ */
+public class InstrumentedXrplClient extends ForwardingXrplClient {
+
+  private final MethodMetrics accountInfo;
+  private final MethodMetrics accountLines;
+  private final MethodMetrics fee;
+  private final MethodMetrics ledger;
+  private final MethodMetrics submit;
+  private final MethodMetrics transaction;
+
+  public InstrumentedXrplClient(XrplRpcClient delegate, Metrics metrics) {
+    super(delegate);
+    this.accountInfo = new MethodMetrics(metrics, "account_info");
+    this.accountLines = new MethodMetrics(metrics, "account_lines");
+    this.fee = new MethodMetrics(metrics, "fee");
+    this.ledger = new MethodMetrics(metrics, "ledger");
+    this.submit = new MethodMetrics(metrics, "submit");
+    this.transaction = new MethodMetrics(metrics, "tx");
+  }
+
+  @Override
+  public AccountInfoResult accountInfo(AccountInfoRequestParams params) throws JsonRpcClientErrorException {
+    long start = System.nanoTime();
+    try {
+      return delegate().accountInfo(params);
+    } catch (JsonRpcClientErrorException | RuntimeException e) {
+      accountInfo.errors.increment();
+      throw e;
+    } finally {
+      accountInfo.latency.record(System.nanoTime() - start);
+    }
+  }
+
+  @Override
+  public AccountLinesResult accountLines(AccountLinesRequestParams params) throws JsonRpcClientErrorException {
+    long start = System.nanoTime();
+    try {
+      return delegate().accountLines(params);
+    } catch (JsonRpcClientErrorException | RuntimeException e) {
+      accountLines.errors.increment();
+      throw e;
+    } finally {
+      accountLines.latency.record(System.nanoTime() - start);
+    }
+  }
+
+  @Override
+  public FeeResult fee() throws JsonRpcClientErrorException {
+    long start = System.nanoTime();
+    try {
+      return delegate().fee();
+    } catch (JsonRpcClientErrorException | RuntimeException e) {
+      fee.errors.increment();
+      throw e;
+    } finally {
+      fee.latency.record(System.nanoTime() - start);
+    }
+  }
+
+  @Override
+  public LedgerResult ledger(LedgerRequestParams params) throws JsonRpcClientErrorException {
+    long start = System.nanoTime();
+    try {
+      return delegate().ledger(params);
+    } catch (JsonRpcClientErrorException | RuntimeException e) {
+      ledger.errors.increment();
+      throw e;
+    } finally {
+      ledger.latency.record(System.nanoTime() - start);
+    }
+  }
+
+  @Override
+  public <T extends Transaction> SubmitResult<T> submit(SingleSignedTransaction<T> signedTransaction)
+    throws JsonRpcClientErrorException, JsonProcessingException {
+    long start = System.nanoTime();
+    try {
+      return delegate().submit(signedTransaction);
+    } catch (JsonRpcClientErrorException | JsonProcessingException | RuntimeException e) {
+      submit.errors.increment();
+      throw e;
+    } finally {
+      submit.latency.record(System.nanoTime() - start);
+    }
+  }
+
+  @Override
+  public <T extends Transaction> TransactionResult<T> transaction(TransactionRequestParams params, Class<T> type)
+    throws JsonRpcClientErrorException {
+    long start = System.nanoTime();
+    try {
+      return delegate().transaction(params, type);
+    } catch (JsonRpcClientErrorException | RuntimeException e) {
+      transaction.errors.increment();
+      throw e;
+    } finally {
+      transaction.latency.record(System.nanoTime() - start);
+    }
+  }
+
+  private static class MethodMetrics {
+
+    private final Metrics.Histogram latency;
+    private final Metrics.Counter errors;
+
+    private MethodMetrics(Metrics metrics, String method) {
+      this.latency = metrics.timer("xrpl_rpc_latency_seconds", "JSON-RPC latency by method.", "method", method);
+      this.errors = metrics.counter(
+        "xrpl_rpc_errors_total", "JSON-RPC calls that failed, by method.", "method", method
+      );
+    }
+
+  }
+
+}
@@ -0,0 +1,113 @@
+package org.xrpl.xrpl4j.samples;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import org.xrpl.xrpl4j.model.transactions.Address;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * What a token launch should end up with: an issuer, a currency, and the holders that trust it and how much each is
+ * sent. Read from and written to JSON like:
+ *
+ * <pre>
+ * {
+ *   "issuer": "rIssuer...",
+ *   "currency": "FOO",
+ *   "trustLimit": "10000000000",
+ *   "holders": [ { "address": "rHolder...", "amount": "3840" } ]
+ * }
+ * </pre>
+ */
+public class IssuanceManifest {
+
+  private final Address issuer;
+  private final String currency;
+  private final String trustLimit;
+  private final List<Holder> holders;
+
+  public IssuanceManifest(Address issuer, String currency, String trustLimit, List<Holder> holders) {
+    this.issuer = issuer;
+    this.currency = currency;
+    this.trustLimit = trustLimit;
+    this.holders = Collections.unmodifiableList(new ArrayList<>(holders));
+  }
+
+  public static IssuanceManifest read(Path path) throws IOException {
+    JsonNode json = new ObjectMapper().readTree(path.toFile());
+    List<Holder> holders = new ArrayList<>();
+    for (JsonNode holder : json.path("holders")) {
+      holders.add(new Holder(Address.of(holder.path("address").asText()), holder.path("amount").asText()));
+    }
+    return new IssuanceManifest(
+      Address.of(json.path("issuer").asText()),
+      json.path("currency").asText(),
+      json.path("trustLimit").asText(),
+      holders
+    );
+  }
+
+  public void write(Path path) throws IOException {
+    ObjectMapper objectMapper = new ObjectMapper();
+    ObjectNode json = objectMapper.createObjectNode();
+    json.put("issuer", issuer.value());
+    json.put("currency", currency);
+    json.put("trustLimit", trustLimit);
+    ArrayNode holderArray = json.putArray("holders");
+    for (Holder holder : holders) {
+      holderArray.addObject()
+        .put("address", holder.address.value())
+        .put("amount", holder.amount);
+    }
+    objectMapper.writerWithDefaultPrettyPrinter().writeValue(path.toFile(), json);
+  }
+
+  public Address issuer() {
+    return issuer;
+  }
+
+  public String currency() {
+    return currency;
+  }
+
+  /**
+   * The limit of each holder's trust line.
+   */
+  public String trustLimit() {
+    return trustLimit;
+  }
+
+  public List<Holder> holders() {
+    return holders;
+  }
+
+  public static class Holder {
+
+    private final Address address;
+    private final String amount;
+
+    public Holder(Address address, String amount) {
+      this.address = address;
+      this.amount = amount;
+    }
+
+    public Address address() {
+      return address;
+    }
+
+    /**
+     * How much of the currency the issuer sends this holder.
+     */
+    public String amount() {
+      return amount;
+    }
+
+  }
+
+}
@@ -0,0 +1,309 @@
+package org.xrpl.xrpl4j.samples;
+
+import org.xrpl.xrpl4j.crypto.keys.PublicKey;
+import org.xrpl.xrpl4j.model.client.transactions.TransactionResult;
+import org.xrpl.xrpl4j.model.transactions.AccountSet;
+import org.xrpl.xrpl4j.model.transactions.Address;
+import org.xrpl.xrpl4j.model.transactions.IssuedCurrencyAmount;
+import org.xrpl.xrpl4j.model.transactions.Payment;
+import org.xrpl.xrpl4j.model.transactions.Transaction;
+import org.xrpl.xrpl4j.model.transactions.TrustSet;
+import org.xrpl.xrpl4j.model.transactions.XrpCurrencyAmount;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.function.Function;
+
+/**
+ * Carries out an {@link IssuanceManifest}: sets {@code DefaultRipple} on the issuer, then has every holder set up a
+ * trust line, then pays each holder once its trust line is validated.
+ *
+ * <p>The steps form a dependency graph and each one starts as soon as the steps it depends on have validated. Every
+ * account submits its ready steps in order, with at most {@code maxInFlightPerAccount} awaiting validation, and
+ * different accounts submit concurrently. Each step goes through a {@link ReliableSubmitter} under a key derived
+ * from the manifest, so its {@link SubmissionJournal} doubles as the checkpoint: running the same manifest again
+ * skips every step that already validated and resumes the rest. A step that expired or was never applied is retried
+ * on a re-run; one that validated with a {@code tec} code or was rejected as malformed stays failed.
+ */
+public class IssuanceOrchestrator {
+
+  private static final String SUCCESS = "tesSUCCESS";
+
+  private final ReliableSubmitter submitter;
+  private final FeeEstimator feeEstimator;
+  private final Function<Address, PublicKey> publicKeys;
+  private final ExecutorService executor;
+  private final int maxInFlightPerAccount;
+
+  /**
+   * @param publicKeys the signing public key of the issuer and of every holder.
+   * @param executor   runs submissions; one task per account at a time.
+   */
+  public IssuanceOrchestrator(
+    ReliableSubmitter submitter,
+    FeeEstimator feeEstimator,
+    Function<Address, PublicKey> publicKeys,
+    ExecutorService executor,
+    int maxInFlightPerAccount
+  ) {
+    this.submitter = Objects.requireNonNull(submitter);
+    this.feeEstimator = Objects.requireNonNull(feeEstimator);
+    this.publicKeys = Objects.requireNonNull(publicKeys);
+    this.executor = Objects.requireNonNull(executor);
+    this.maxInFlightPerAccount = maxInFlightPerAccount;
+  }
+
+  /**
+   * Starts carrying out {@code manifest}.
+   *
+   * @return A future that completes once every step has validated, failed or been skipped because a step it
+   *   depends on failed.
+   */
+  public CompletableFuture<Report> run(IssuanceManifest manifest) {
+    Run run = new Run(plan(manifest));
+    run.start();
+    return run.done;
+  }
+
+  private List<Step> plan(IssuanceManifest manifest) {
+    String keyPrefix = "issue/" + manifest.issuer().value() + "/" + manifest.currency() + "/";
+    List<Step> steps = new ArrayList<>();
+
+    // Trust lines created before DefaultRipple is set would not ripple, so it comes first.
+    Step defaultRipple = new Step(keyPrefix + "AccountSet/DefaultRipple", manifest.issuer(),
+      fee -> defaultRipple(manifest, fee));
+    steps.add(defaultRipple);
+
+    for (IssuanceManifest.Holder holder : manifest.holders()) {
+      Step trustSet = new Step(keyPrefix + "TrustSet/" + holder.address().value(), holder.address(),
+        fee -> trustSet(manifest, holder, fee));
+      trustSet.dependsOn(defaultRipple);
+      steps.add(trustSet);
+
+      // Keyed by holder and not amount, so editing an amount between runs cannot pay a holder twice.
+      Step payment = new Step(keyPrefix + "Payment/" + holder.address().value(), manifest.issuer(),
+        fee -> payment(manifest, holder, fee));
+      payment.dependsOn(trustSet);
+      steps.add(payment);
+    }
+    return steps;
+  }
+
+  private AccountSet defaultRipple(IssuanceManifest manifest, XrpCurrencyAmount fee) {
+    return AccountSet.builder()
+      .account(manifest.issuer())
+      .fee(fee)
+      .setFlag(AccountSet.AccountSetFlag.DEFAULT_RIPPLE)
+      .signingPublicKey(publicKeys.apply(manifest.issuer()))
+      .build();
+  }
+
+  private TrustSet trustSet(IssuanceManifest manifest, IssuanceManifest.Holder holder, XrpCurrencyAmount fee) {
+    return TrustSet.builder()
+      .account(holder.address())
+      .fee(fee)
+      .limitAmount(IssuedCurrencyAmount.builder()
+        .currency(manifest.currency())
+        .issuer(manifest.issuer())
+        .value(manifest.trustLimit())
+        .build())
+      .signingPublicKey(publicKeys.apply(holder.address()))
+      .build();
+  }
+
+  private Payment payment(IssuanceManifest manifest, IssuanceManifest.Holder holder, XrpCurrencyAmount fee) {
+    return Payment.builder()
+      .account(manifest.issuer())
+      .fee(fee)
+      .destination(holder.address())
+      .amount(IssuedCurrencyAmount.builder()
+        .currency(manifest.currency())
+        .issuer(manifest.issuer())
+        .value(holder.amount())
+        .build())
+      .signingPublicKey(publicKeys.apply(manifest.issuer()))
+      .build();
+  }
+
+  /**
+   * One carrying out of a manifest. Graph and lane state is guarded by this.
+   */
+  private class Run {
+
+    private final List<Step> steps;
+    private final Map<Address, Lane> lanes = new HashMap<>();
+    private final Map<String, String> failures = new LinkedHashMap<>();
+    private final CompletableFuture<Report> done = new CompletableFuture<>();
+    private int validated;
+    private int skipped;
+    private int finished;
+
+    private Run(List<Step> steps) {
+      this.steps = steps;
+    }
+
+    private synchronized void start() {
+      for (Step step : steps) {
+        if (step.remainingDependencies == 0) {
+          enqueue(step);
+        }
+      }
+    }
+
+    private void enqueue(Step step) {
+      Lane lane = lanes.computeIfAbsent(step.account, account -> new Lane());
+      lane.ready.add(step);
+      maybeDrain(lane);
+    }
+
+    private void maybeDrain(Lane lane) {
+      if (!lane.draining && !lane.ready.isEmpty() && lane.inFlight < maxInFlightPerAccount) {
+        lane.draining = true;
+        executor.execute(() -> drain(lane));
+      }
+    }
+
+    /**
+     * Submits the lane's ready steps one after another, so the account's sequences follow the order they became
+     * ready in.
+     */
+    private void drain(Lane lane) {
+      while (true) {
+        Step step;
+        synchronized (this) {
+          if (lane.ready.isEmpty() || lane.inFlight >= maxInFlightPerAccount) {
+            lane.draining = false;
+            return;
+          }
+          step = lane.ready.poll();
+          lane.inFlight++;
+        }
+        try {
+          XrpCurrencyAmount fee = feeEstimator.feeFor(0.9, 1);
+          submitter.submit(step.key, step.transaction.apply(fee))
+            .whenComplete((result, throwable) -> completed(step, lane, result, throwable));
+        } catch (Exception e) {
+          completed(step, lane, null, e);
+        }
+      }
+    }
+
+    private synchronized void completed(Step step, Lane lane, TransactionResult<?> result, Throwable throwable) {
+      lane.inFlight--;
+      finished++;
+      String transactionResult = result == null ? null :
+        result.metadata().map(metadata -> metadata.transactionResult()).orElse("unknown");
+      if (SUCCESS.equals(transactionResult)) {
+        validated++;
+        for (Step dependent : step.dependents) {
+          if (--dependent.remainingDependencies == 0) {
+            enqueue(dependent);
+          }
+        }
+      } else {
+        failures.put(step.key, throwable != null ? String.valueOf(throwable.getMessage()) : transactionResult);
+        step.dependents.forEach(this::skip);
+      }
+      maybeDrain(lane);
+
+      if (finished == steps.size()) {
+        done.complete(new Report(steps.size(), validated, skipped, failures));
+      }
+    }
+
+    private void skip(Step step) {
+      skipped++;
+      finished++;
+      step.dependents.forEach(this::skip);
+    }
+
+  }
+
+  private static class Lane {
+
+    private final ArrayDeque<Step> ready = new ArrayDeque<>();
+    private int inFlight;
+    private boolean draining;
+
+  }
+
+  private static class Step {
+
+    private final String key;
+    private final Address account;
+    private final Function<XrpCurrencyAmount, Transaction> transaction;
+    private final List<Step> dependents = new ArrayList<>();
+    private int remainingDependencies;
+
+    private Step(String key, Address account, Function<XrpCurrencyAmount, Transaction> transaction) {
+      this.key = key;
+      this.account = account;
+      this.transaction = transaction;
+    }
+
+    private void dependsOn(Step dependency) {
+      dependency.dependents.add(this);
+      remainingDependencies++;
+    }
+
+  }
+
+  /**
+   * How a run went.
+   */
+  public static class Report {
+
+    private final int planned;
+    private final int validated;
+    private final int skipped;
+    private final Map<String, String> failures;
+
+    private Report(int planned, int validated, int skipped, Map<String, String> failures) {
+      this.planned = planned;
+      this.validated = validated;
+      this.skipped = skipped;
+      this.failures = Collections.unmodifiableMap(new LinkedHashMap<>(failures));
+    }
+
+    public int planned() {
+      return planned;
+    }
+
+    /**
+     * Steps validated with {@code tesSUCCESS}, in this run or an earlier one.
+     */
+    public int validated() {
+      return validated;
+    }
+
+    /**
+     * Steps not attempted because a step they depend on failed.
+     */
+    public int skipped() {
+      return skipped;
+    }
+
+    /**
+     * The reason each failed step failed, by step key.
+     */
+    public Map<String, String> failures() {
+      return failures;
+    }
+
+    @Override
+    public String toString() {
+      return String.format("planned=%d, validated=%d, failed=%d, skipped=%d", planned, validated, failures.size(),
+        skipped);
+    }
+
+  }
+
+}
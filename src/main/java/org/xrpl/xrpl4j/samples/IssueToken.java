@@ -1,46 +1,67 @@
 package org.xrpl.xrpl4j.samples;// Stand-alone code sample for the "issue a token" tutorial:
 
-import com.fasterxml.jackson.core.JsonProcessingException;
 import com.google.common.primitives.UnsignedInteger;
 import okhttp3.HttpUrl;
 import org.xrpl.xrpl4j.client.JsonRpcClientErrorException;
-import org.xrpl.xrpl4j.client.XrplClient;
 import org.xrpl.xrpl4j.client.faucet.FaucetClient;
 import org.xrpl.xrpl4j.client.faucet.FundAccountRequest;
 import org.xrpl.xrpl4j.crypto.keys.KeyPair;
 import org.xrpl.xrpl4j.crypto.keys.PrivateKey;
 import org.xrpl.xrpl4j.crypto.keys.Seed;
 import org.xrpl.xrpl4j.crypto.signing.SignatureService;
-import org.xrpl.xrpl4j.crypto.signing.SingleSignedTransaction;
 import org.xrpl.xrpl4j.crypto.signing.bc.BcSignatureService;
 import org.xrpl.xrpl4j.model.client.accounts.AccountInfoRequestParams;
-import org.xrpl.xrpl4j.model.client.accounts.AccountLinesRequestParams;
 import org.xrpl.xrpl4j.model.client.accounts.TrustLine;
 import org.xrpl.xrpl4j.model.client.common.LedgerIndex;
 import org.xrpl.xrpl4j.model.client.common.LedgerSpecifier;
-import org.xrpl.xrpl4j.model.client.fees.FeeResult;
 import org.xrpl.xrpl4j.model.client.ledger.LedgerRequestParams;
-import org.xrpl.xrpl4j.model.client.transactions.TransactionRequestParams;
 import org.xrpl.xrpl4j.model.client.transactions.TransactionResult;
-import org.xrpl.xrpl4j.model.immutables.FluentCompareTo;
 import org.xrpl.xrpl4j.model.transactions.AccountSet;
-import org.xrpl.xrpl4j.model.transactions.ImmutableTrustSet;
 import org.xrpl.xrpl4j.model.transactions.IssuedCurrencyAmount;
 import org.xrpl.xrpl4j.model.transactions.Payment;
 import org.xrpl.xrpl4j.model.transactions.TrustSet;
+import org.xrpl.xrpl4j.model.transactions.XrpCurrencyAmount;
 
+import java.time.Duration;
+import java.util.Collections;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.Collectors;
 
 public class IssueToken {
 
-  public static void main(String[] args)
-    throws InterruptedException, JsonRpcClientErrorException, JsonProcessingException {
+  private static final int MAX_IN_FLIGHT_PER_ACCOUNT = 10;
+
+  public static void main(String[] args) throws InterruptedException, JsonRpcClientErrorException {
     // Construct a network client ----------------------------------------------
     HttpUrl rippledUrl = HttpUrl
       .get("https://s.altnet.rippletest.net:51234/");
-    XrplClient xrplClient = new XrplClient(rippledUrl);
-    // Get the current network fee
-    FeeResult feeResult = xrplClient.fee();
+    // Pace requests to the public node, back off while it is busy and retry transient failures
+    ResilientXrplClient xrplClient = new ResilientXrplClient(
+      Collections.singletonList(rippledUrl), 10, 5, Duration.ofSeconds(2), Duration.ofSeconds(10)
+    );
+    // Serve fee, validated ledger and validated account_info lookups from memory between ledger closes
+    CachingXrplClient cachingXrplClient = new CachingXrplClient(xrplClient, Duration.ofSeconds(1));
+    // Learn fees from each validated ledger instead of trusting a single fee() reading, never paying over 0.1 XRP
+    FeeEstimator feeEstimator = new FeeEstimator(cachingXrplClient::fee, 64, XrpCurrencyAmount.ofDrops(100_000));
+
+    // Resolve submitted transactions against each newly validated ledger
+    ValidationTracker validationTracker = new ValidationTracker();
+    ValidatedLedgerPoller ledgerPoller = new ValidatedLedgerPoller(xrplClient, Duration.ofSeconds(1));
+    ledgerPoller.addListener(validationTracker);
+    ledgerPoller.addListener(cachingXrplClient);
+    ledgerPoller.addListener(feeEstimator);
+    // Measure the close rate so LastLedgerSequence buys a time budget rather than a fixed number of ledgers
+    LedgerCloseClock ledgerCloseClock = new LedgerCloseClock(32);
+    ledgerPoller.addListener(ledgerCloseClock);
+    // Driven by pushed ledgerClosed events; the poller's timer only runs while the stream is disconnected
+    LedgerStreamSubscriber ledgerStreamSubscriber =
+      new LedgerStreamSubscriber("wss://s.altnet.rippletest.net:51233/", ledgerPoller);
+    ledgerPoller.start();
+    ledgerStreamSubscriber.start();
 
     // Create cold and hot KeyPairs -----------------------
     KeyPair coldWalletKeyPair = Seed.ed25519Seed().deriveKeyPair();
@@ -59,14 +80,14 @@ public class IssueToken {
     boolean accountsFunded = false;
     while (!accountsFunded) {
       try {
-        xrplClient.accountInfo(
+        cachingXrplClient.accountInfo(
           AccountInfoRequestParams.builder()
             .ledgerSpecifier(LedgerSpecifier.VALIDATED)
             .account(coldWalletKeyPair.publicKey().deriveAddress())
             .build()
         );
 
-        xrplClient.accountInfo(
+        cachingXrplClient.accountInfo(
           AccountInfoRequestParams.builder()
             .ledgerSpecifier(LedgerSpecifier.VALIDATED)
             .account(hotWalletKeyPair.publicKey().deriveAddress())
@@ -75,112 +96,141 @@ public class IssueToken {
 
         accountsFunded = true;
       } catch (JsonRpcClientErrorException e) {
-        if (!e.getMessage().equals("Account not found.")) {
+        if (RpcError.of(e) != RpcError.ACCOUNT_NOT_FOUND) {
           throw e;
         }
         Thread.sleep(1000);
       }
     }
 
-    // Configure issuer settings -----------------------------------------------
-    UnsignedInteger coldWalletSequence = xrplClient.accountInfo(
-      AccountInfoRequestParams.builder()
-        .ledgerSpecifier(LedgerSpecifier.CURRENT)
-        .account(coldWalletKeyPair.publicKey().deriveAddress())
-        .build()
-    ).accountData().sequence();
-
-    AccountSet setDefaultRipple = AccountSet.builder()
-      .account(coldWalletKeyPair.publicKey().deriveAddress())
-      .fee(feeResult.drops().minimumFee())
-      .sequence(coldWalletSequence)
-      .signingPublicKey(coldWalletKeyPair.publicKey())
-      .setFlag(AccountSet.AccountSetFlag.DEFAULT_RIPPLE)
-      .lastLedgerSequence(computeLastLedgerSequence(xrplClient))
-      .build();
-
+    // Allocate sequences locally and pipeline each wallet's transactions -----
     SignatureService<PrivateKey> signatureService = new BcSignatureService();
-    SingleSignedTransaction<AccountSet> signedAccountSet = signatureService.sign(
-      coldWalletKeyPair.privateKey(), setDefaultRipple
+    SequenceAllocator coldWalletSequences =
+      SequenceAllocator.load(xrplClient, coldWalletKeyPair.publicKey().deriveAddress());
+    SequenceAllocator hotWalletSequences =
+      SequenceAllocator.load(xrplClient, hotWalletKeyPair.publicKey().deriveAddress());
+    ledgerStreamSubscriber.addSequenceAllocator(coldWalletSequences);
+    ledgerStreamSubscriber.addSequenceAllocator(hotWalletSequences);
+    SubmissionPipeline coldWalletPipeline = new SubmissionPipeline(
+      xrplClient, validationTracker, coldWalletSequences, MAX_IN_FLIGHT_PER_ACCOUNT
+    );
+    SubmissionPipeline hotWalletPipeline = new SubmissionPipeline(
+      xrplClient, validationTracker, hotWalletSequences, MAX_IN_FLIGHT_PER_ACCOUNT
     );
+    // Resyncs a wallet's sequences if a gap outlasts a validated ledger
+    ledgerPoller.addListener(coldWalletPipeline);
+    ledgerPoller.addListener(hotWalletPipeline);
 
-    submitAndWaitForValidation(signedAccountSet, xrplClient);
+    // Configure issuer settings -----------------------------------------------
+    UnsignedInteger lastLedgerSequence = computeLastLedgerSequence(cachingXrplClient, ledgerCloseClock);
+    // Account settings can wait a few ledgers; the trust line gates the Payment, so it should get in next ledger
+    XrpCurrencyAmount settingsFee = feeEstimator.feeFor(0.5, 3);
+    XrpCurrencyAmount trustSetFee = feeEstimator.feeFor(0.9, 1);
+    CompletableFuture<TransactionResult<?>> defaultRippleValidation = coldWalletPipeline.submit(sequence ->
+      signatureService.sign(
+        coldWalletKeyPair.privateKey(),
+        AccountSet.builder()
+          .account(coldWalletKeyPair.publicKey().deriveAddress())
+          .fee(settingsFee)
+          .sequence(sequence)
+          .signingPublicKey(coldWalletKeyPair.publicKey())
+          .setFlag(AccountSet.AccountSetFlag.DEFAULT_RIPPLE)
+          .lastLedgerSequence(lastLedgerSequence)
+          .build()
+      )
+    );
 
     // Configure hot address settings ------------------------------------------
-    UnsignedInteger hotWalletSequence = xrplClient.accountInfo(
-      AccountInfoRequestParams.builder()
-        .ledgerSpecifier(LedgerSpecifier.CURRENT)
-        .account(hotWalletKeyPair.publicKey().deriveAddress())
-        .build()
-    ).accountData().sequence();
-
-    AccountSet setRequireAuth = AccountSet.builder()
-      .account(hotWalletKeyPair.publicKey().deriveAddress())
-      .fee(feeResult.drops().minimumFee())
-      .sequence(hotWalletSequence)
-      .signingPublicKey(hotWalletKeyPair.publicKey())
-      .setFlag(AccountSet.AccountSetFlag.REQUIRE_AUTH)
-      .lastLedgerSequence(computeLastLedgerSequence(xrplClient))
-      .build();
-
-    SingleSignedTransaction<AccountSet> signedSetRequireAuth = signatureService.sign(
-      hotWalletKeyPair.privateKey(), setRequireAuth
+    CompletableFuture<TransactionResult<?>> requireAuthValidation = hotWalletPipeline.submit(sequence ->
+      signatureService.sign(
+        hotWalletKeyPair.privateKey(),
+        AccountSet.builder()
+          .account(hotWalletKeyPair.publicKey().deriveAddress())
+          .fee(settingsFee)
+          .sequence(sequence)
+          .signingPublicKey(hotWalletKeyPair.publicKey())
+          .setFlag(AccountSet.AccountSetFlag.REQUIRE_AUTH)
+          .lastLedgerSequence(lastLedgerSequence)
+          .build()
+      )
     );
-    submitAndWaitForValidation(signedSetRequireAuth, xrplClient);
 
     // Create trust line -------------------------------------------------------
+    // Submitted right behind the AccountSet above; the allocator hands out the next hot wallet sequence.
     String currencyCode = "FOO";
-    ImmutableTrustSet trustSet = TrustSet.builder()
-      .account(hotWalletKeyPair.publicKey().deriveAddress())
-      .fee(feeResult.drops().openLedgerFee())
-      .sequence(hotWalletSequence.plus(UnsignedInteger.ONE))
-      .limitAmount(IssuedCurrencyAmount.builder()
-        .currency(currencyCode)
-        .issuer(coldWalletKeyPair.publicKey().deriveAddress())
-        .value("10000000000")
-        .build())
-      .signingPublicKey(hotWalletKeyPair.publicKey())
-      .build();
-
-    SingleSignedTransaction<TrustSet> signedTrustSet = signatureService.sign(
-      hotWalletKeyPair.privateKey(), trustSet
+    CompletableFuture<TransactionResult<?>> trustSetValidation = hotWalletPipeline.submit(sequence ->
+      signatureService.sign(
+        hotWalletKeyPair.privateKey(),
+        TrustSet.builder()
+          .account(hotWalletKeyPair.publicKey().deriveAddress())
+          .fee(trustSetFee)
+          .sequence(sequence)
+          .limitAmount(IssuedCurrencyAmount.builder()
+            .currency(currencyCode)
+            .issuer(coldWalletKeyPair.publicKey().deriveAddress())
+            .value("10000000000")
+            .build())
+          .signingPublicKey(hotWalletKeyPair.publicKey())
+          .lastLedgerSequence(lastLedgerSequence)
+          .build()
+      )
     );
 
-    submitAndWaitForValidation(signedTrustSet, xrplClient);
+    waitForValidation(defaultRippleValidation);
+    waitForValidation(requireAuthValidation);
+    waitForValidation(trustSetValidation);
 
     // Send token --------------------------------------------------------------
-    Payment payment = Payment.builder()
-      .account(coldWalletKeyPair.publicKey().deriveAddress())
-      .fee(feeResult.drops().openLedgerFee())
-      .sequence(coldWalletSequence.plus(UnsignedInteger.ONE))
-      .destination(hotWalletKeyPair.publicKey().deriveAddress())
-      .amount(IssuedCurrencyAmount.builder()
-        .issuer(coldWalletKeyPair.publicKey().deriveAddress())
-        .currency(currencyCode)
-        .value("3840")
-        .build())
-      .signingPublicKey(coldWalletKeyPair.publicKey())
-      .build();
-
-    SingleSignedTransaction<Payment> signedPayment = signatureService.sign(
-      coldWalletKeyPair.privateKey(), payment
+    // The trust line must be validated before the issuer can pay into it.
+    XrpCurrencyAmount paymentFee = feeEstimator.feeFor(0.9, 1);
+    UnsignedInteger paymentLastLedgerSequence = computeLastLedgerSequence(cachingXrplClient, ledgerCloseClock);
+    CompletableFuture<TransactionResult<?>> paymentValidation = coldWalletPipeline.submit(sequence ->
+      signatureService.sign(
+        coldWalletKeyPair.privateKey(),
+        Payment.builder()
+          .account(coldWalletKeyPair.publicKey().deriveAddress())
+          .fee(paymentFee)
+          .sequence(sequence)
+          .destination(hotWalletKeyPair.publicKey().deriveAddress())
+          .amount(IssuedCurrencyAmount.builder()
+            .issuer(coldWalletKeyPair.publicKey().deriveAddress())
+            .currency(currencyCode)
+            .value("3840")
+            .build())
+          .signingPublicKey(coldWalletKeyPair.publicKey())
+          .lastLedgerSequence(paymentLastLedgerSequence)
+          .build()
+      )
     );
 
-    submitAndWaitForValidation(signedPayment, xrplClient);
+    waitForValidation(paymentValidation);
 
     // Check balances ----------------------------------------------------------
-    List<TrustLine> lines = xrplClient.accountLines(
-      AccountLinesRequestParams.builder()
-        .account(hotWalletKeyPair.publicKey().deriveAddress())
-        .ledgerSpecifier(LedgerSpecifier.VALIDATED)
-        .build()
-    ).lines();
+    // Follows account_lines markers page by page, so issuers with many holders are read in constant memory
+    TrustLineScanner trustLineScanner = new TrustLineScanner(
+      xrplClient, ForkJoinPool.commonPool(), UnsignedInteger.valueOf(400)
+    );
+    List<TrustLine> lines = trustLineScanner.stream(hotWalletKeyPair.publicKey().deriveAddress())
+      .collect(Collectors.toList());
     System.out.println("Hot wallet TrustLines: " + lines);
+
+    Map<String, TrustLineScanner.IssuedCurrencySummary> issued = trustLineScanner
+      .stream(coldWalletKeyPair.publicKey().deriveAddress())
+      .collect(TrustLineScanner.issuedByCurrency());
+    System.out.println("Cold wallet issued currencies: " + issued.values());
+    System.out.println("Cached lookups: fee[" + cachingXrplClient.feeStats() + "], ledger[" +
+      cachingXrplClient.ledgerStats() + "], accountInfo[" + cachingXrplClient.accountInfoStats() + "]");
+
+    ledgerStreamSubscriber.close();
+    ledgerPoller.close();
+    xrplClient.close();
   }
 
   // Helper methods ------------------------------------------------------------
-  private static UnsignedInteger computeLastLedgerSequence(XrplClient xrplClient)
-    throws JsonRpcClientErrorException {
+  private static UnsignedInteger computeLastLedgerSequence(
+    CachingXrplClient xrplClient,
+    LedgerCloseClock ledgerCloseClock
+  ) throws JsonRpcClientErrorException {
     // Get the latest validated ledger index
     LedgerIndex validatedLedger = xrplClient.ledger(
         LedgerRequestParams.builder()
@@ -190,52 +240,21 @@ public class IssueToken {
       .ledgerIndex()
       .orElseThrow(() -> new RuntimeException("LedgerIndex not available."));
 
-    return validatedLedger.plus(UnsignedInteger.valueOf(4)).unsignedIntegerValue();
+    // About 20 seconds' worth of ledgers at the measured close rate
+    return ledgerCloseClock.lastLedgerSequenceWithin(validatedLedger.unsignedIntegerValue(), Duration.ofSeconds(20));
   }
 
-  private static void submitAndWaitForValidation(SingleSignedTransaction<?> signedTransaction, XrplClient xrplClient)
-    throws InterruptedException, JsonRpcClientErrorException, JsonProcessingException {
-
-    xrplClient.submit(signedTransaction);
-
-    boolean transactionValidated = false;
-    boolean transactionExpired = false;
-    while (!transactionValidated && !transactionExpired) {
-      Thread.sleep(1000);
-      LedgerIndex latestValidatedLedgerIndex = xrplClient.ledger(
-          LedgerRequestParams.builder().ledgerSpecifier(LedgerSpecifier.VALIDATED).build()
-        )
-        .ledgerIndex()
-        .orElseThrow(() ->
-          new RuntimeException("Ledger response did not contain a LedgerIndex.")
-        );
-
-      TransactionResult<Payment> transactionResult = xrplClient.transaction(
-        TransactionRequestParams.of(signedTransaction.hash()),
-        Payment.class
-      );
-
-      if (transactionResult.validated()) {
-        System.out.println("Transaction was validated with result code " +
-          transactionResult.metadata().get().transactionResult());
-        transactionValidated = true;
-      } else {
-
-        boolean lastLedgerSequenceHasPassed = signedTransaction.signedTransaction().lastLedgerSequence()
-          .map((signedTransactionLastLedgerSeq) ->
-            FluentCompareTo.is(latestValidatedLedgerIndex.unsignedIntegerValue())
-              .greaterThan(signedTransactionLastLedgerSeq)
-          )
-          .orElse(false);
-
-        if (lastLedgerSequenceHasPassed) {
-          System.out.println("LastLedgerSequence has passed. Last tx response: " +
-            transactionResult);
-          transactionExpired = true;
-        } else {
-          System.out.println("Transaction not yet validated.");
-        }
+  private static void waitForValidation(CompletableFuture<TransactionResult<?>> validation)
+    throws InterruptedException {
+    try {
+      TransactionResult<?> transactionResult = validation.get();
+      System.out.println("Transaction was validated with result code " +
+        transactionResult.metadata().get().transactionResult());
+    } catch (ExecutionException e) {
+      if (!(e.getCause() instanceof TransactionExpiredException)) {
+        throw new RuntimeException(e.getCause());
       }
+      System.out.println(e.getCause().getMessage());
     }
   }
 
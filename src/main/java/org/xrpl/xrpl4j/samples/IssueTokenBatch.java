@@ -0,0 +1,136 @@
+package org.xrpl.xrpl4j.samples;
+
+import org.xrpl.xrpl4j.crypto.keys.KeyPair;
+import org.xrpl.xrpl4j.crypto.keys.PrivateKey;
+import org.xrpl.xrpl4j.crypto.keys.PublicKey;
+import org.xrpl.xrpl4j.crypto.keys.Seed;
+import org.xrpl.xrpl4j.crypto.signing.bc.BcSignatureService;
+import org.xrpl.xrpl4j.model.transactions.Address;
+import org.xrpl.xrpl4j.model.transactions.XrpCurrencyAmount;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Issues a token to many holders from an {@link IssuanceManifest} with an {@link IssuanceOrchestrator}, against an
+ * embedded {@link FakeRippled} that silently drops a share of what it accepts. The first run is stopped partway
+ * through as if the process had crashed; the second reads the same manifest and journal and finishes the job
+ * without repeating any step that already validated.
+ *
+ * <p>{@code IssueTokenBatch [holders] [dropRate] [crashAfterMillis]}
+ */
+public class IssueTokenBatch {
+
+  private static final Duration VALIDATION_BUDGET = Duration.ofSeconds(1);
+  private static final int MAX_ATTEMPTS = 10;
+  private static final int MAX_IN_FLIGHT_PER_ACCOUNT = 8;
+
+  public static void main(String[] args) throws Exception {
+    int holderCount = args.length > 0 ? Integer.parseInt(args[0]) : 25;
+    double dropRate = args.length > 1 ? Double.parseDouble(args[1]) : 0.2;
+    long crashAfterMillis = args.length > 2 ? Long.parseLong(args[2]) : 1_500;
+    System.out.println("Running the IssueTokenBatch sample with " + holderCount + " holders and " +
+      (int) (dropRate * 100) + "% of transactions dropped...");
+
+    // Keys and manifest --------------------------------------------------------
+    Map<Address, KeyPair> keyPairs = new HashMap<>();
+    KeyPair issuerKeyPair = Seed.ed25519Seed().deriveKeyPair();
+    keyPairs.put(issuerKeyPair.publicKey().deriveAddress(), issuerKeyPair);
+    List<IssuanceManifest.Holder> holders = new ArrayList<>();
+    for (int i = 0; i < holderCount; i++) {
+      KeyPair holderKeyPair = Seed.ed25519Seed().deriveKeyPair();
+      Address holderAddress = holderKeyPair.publicKey().deriveAddress();
+      keyPairs.put(holderAddress, holderKeyPair);
+      holders.add(new IssuanceManifest.Holder(holderAddress, String.valueOf(100 * (i + 1))));
+    }
+
+    Path manifestPath = Files.createTempFile("issuance", ".json");
+    Path journalPath = Files.createTempFile("issuance", ".jsonl");
+    new IssuanceManifest(issuerKeyPair.publicKey().deriveAddress(), "FOO", "10000000000", holders)
+      .write(manifestPath);
+
+    try (FakeRippled fakeRippled = new FakeRippled(Duration.ofMillis(250), 0.0, 0.0, dropRate)) {
+      XrplRpcClient xrplClient = XrplRpcClient.of(fakeRippled.start(0));
+
+      try (ValidatedLedgerPoller ledgerPoller = new ValidatedLedgerPoller(xrplClient, Duration.ofMillis(50))) {
+        LedgerCloseClock ledgerCloseClock = new LedgerCloseClock(16);
+        FeeEstimator feeEstimator = new FeeEstimator(xrplClient::fee, 64, XrpCurrencyAmount.ofDrops(100_000));
+        ledgerPoller.addListener(ledgerCloseClock);
+        ledgerPoller.addListener(feeEstimator);
+        ledgerPoller.start();
+
+        // First run, cut short
+        IssuanceOrchestrator.Report report = run(xrplClient, ledgerPoller, ledgerCloseClock, feeEstimator, keyPairs,
+          manifestPath, journalPath, crashAfterMillis);
+        System.out.println(report == null ? "Crashed after " + crashAfterMillis + "ms" : "First run: " + report);
+
+        // Second run, resuming from the journal
+        report = run(xrplClient, ledgerPoller, ledgerCloseClock, feeEstimator, keyPairs, manifestPath, journalPath,
+          TimeUnit.MINUTES.toMillis(2));
+        System.out.println("After restart: " + report);
+        if (report != null) {
+          report.failures().forEach((key, reason) -> System.out.println("  " + key + " failed: " + reason));
+        }
+      }
+    } finally {
+      Files.deleteIfExists(manifestPath);
+      Files.deleteIfExists(journalPath);
+    }
+  }
+
+  /**
+   * Runs the orchestrator over the manifest at {@code manifestPath} for at most {@code runMillis}.
+   *
+   * @return The run's report, or {@code null} if it did not finish in time.
+   */
+  private static IssuanceOrchestrator.Report run(
+    XrplRpcClient xrplClient,
+    ValidatedLedgerPoller ledgerPoller,
+    LedgerCloseClock ledgerCloseClock,
+    FeeEstimator feeEstimator,
+    Map<Address, KeyPair> keyPairs,
+    Path manifestPath,
+    Path journalPath,
+    long runMillis
+  ) throws Exception {
+    Map<Address, PrivateKey> privateKeys = new HashMap<>();
+    Map<Address, PublicKey> publicKeys = new HashMap<>();
+    keyPairs.forEach((address, keyPair) -> {
+      privateKeys.put(address, keyPair.privateKey());
+      publicKeys.put(address, keyPair.publicKey());
+    });
+
+    ValidationTracker validationTracker = new ValidationTracker();
+    ledgerPoller.addListener(validationTracker);
+    ExecutorService executor = Executors.newFixedThreadPool(4);
+    try (
+      SubmissionJournal journal = new SubmissionJournal(journalPath);
+      ReliableSubmitter submitter = new ReliableSubmitter(
+        xrplClient, validationTracker, ledgerCloseClock, feeEstimator, new BcSignatureService(), privateKeys::get,
+        journal, VALIDATION_BUDGET, MAX_ATTEMPTS
+      )
+    ) {
+      submitter.recover();
+      IssuanceOrchestrator orchestrator = new IssuanceOrchestrator(
+        submitter, feeEstimator, publicKeys::get, executor, MAX_IN_FLIGHT_PER_ACCOUNT
+      );
+      return orchestrator.run(IssuanceManifest.read(manifestPath)).get(runMillis, TimeUnit.MILLISECONDS);
+    } catch (TimeoutException e) {
+      return null;
+    } finally {
+      executor.shutdownNow();
+      // The poller outlives this run; a tracker left registered would keep every later ledger scanning for it.
+      ledgerPoller.removeListener(validationTracker);
+    }
+  }
+
+}
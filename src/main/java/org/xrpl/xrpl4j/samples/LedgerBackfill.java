@@ -0,0 +1,130 @@
+package org.xrpl.xrpl4j.samples;
+
+import com.google.common.primitives.UnsignedInteger;
+import org.xrpl.xrpl4j.client.JsonRpcClientErrorException;
+import org.xrpl.xrpl4j.model.client.common.LedgerIndex;
+import org.xrpl.xrpl4j.model.client.common.LedgerSpecifier;
+import org.xrpl.xrpl4j.model.client.ledger.LedgerRequestParams;
+import org.xrpl.xrpl4j.model.client.ledger.LedgerResult;
+
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+
+/**
+ * Fills a {@link TransactionIndex} from validated ledgers. Ledgers are fetched with transactions expanded by up to
+ * {@code parallelism} concurrent requests, but appended strictly in ledger order, so the index always covers a
+ * contiguous range and {@link #catchUp()} can carry on from wherever the last run stopped.
+ */
+public class LedgerBackfill {
+
+  private final XrplRpcClient xrplClient;
+  private final TransactionIndex transactionIndex;
+  private final ExecutorService executor;
+  private final int parallelism;
+
+  /**
+   * @param parallelism how many ledgers may be requested at once, and so how many fetched ledgers may be held in
+   *                    memory waiting for an earlier one.
+   */
+  public LedgerBackfill(
+    XrplRpcClient xrplClient,
+    TransactionIndex transactionIndex,
+    ExecutorService executor,
+    int parallelism
+  ) {
+    this.xrplClient = xrplClient;
+    this.transactionIndex = transactionIndex;
+    this.executor = executor;
+    this.parallelism = parallelism;
+  }
+
+  /**
+   * Indexes ledgers {@code from} through {@code to}, skipping any the index already holds. An index that already
+   * holds ledgers must end at or after {@code from - 1}, so that no ledger is left out. {@code to} is capped at the
+   * latest validated ledger, since anything later could still change.
+   *
+   * @return The number of transactions indexed.
+   */
+  public long backfill(UnsignedInteger from, UnsignedInteger to) throws IOException, JsonRpcClientErrorException {
+    UnsignedInteger validatedLedgerIndex = validatedLedgerIndex();
+    if (to.compareTo(validatedLedgerIndex) > 0) {
+      to = validatedLedgerIndex;
+    }
+    UnsignedInteger start = transactionIndex.lastLedgerIndex()
+      .map(last -> {
+        if (last.plus(UnsignedInteger.ONE).compareTo(from) < 0) {
+          throw new IllegalArgumentException(
+            "The index ends at ledger " + last + ", so backfilling from " + from + " would leave a gap."
+          );
+        }
+        return last.plus(UnsignedInteger.ONE);
+      })
+      .orElse(from);
+
+    long indexed = 0;
+    UnsignedInteger next = start;
+    Deque<Future<LedgerResult>> window = new ArrayDeque<>(parallelism);
+    try {
+      while (!window.isEmpty() || next.compareTo(to) <= 0) {
+        while (window.size() < parallelism && next.compareTo(to) <= 0) {
+          UnsignedInteger ledgerIndex = next;
+          window.add(executor.submit(() -> fetch(ledgerIndex)));
+          next = next.plus(UnsignedInteger.ONE);
+        }
+        indexed += transactionIndex.append(window.poll().get());
+      }
+    } catch (ExecutionException e) {
+      window.forEach(fetch -> fetch.cancel(true));
+      throw new RuntimeException("Unable to fetch ledger.", e.getCause());
+    } catch (InterruptedException e) {
+      window.forEach(fetch -> fetch.cancel(true));
+      Thread.currentThread().interrupt();
+      throw new RuntimeException("Interrupted while backfilling.", e);
+    }
+    return indexed;
+  }
+
+  /**
+   * Indexes every ledger validated since the last indexed one, or just the latest validated ledger if the index is
+   * empty.
+   *
+   * @return The number of transactions indexed.
+   */
+  public long catchUp() throws IOException, JsonRpcClientErrorException {
+    UnsignedInteger validatedLedgerIndex = validatedLedgerIndex();
+    UnsignedInteger from = transactionIndex.lastLedgerIndex()
+      .map(last -> last.plus(UnsignedInteger.ONE))
+      .orElse(validatedLedgerIndex);
+    return backfill(from, validatedLedgerIndex);
+  }
+
+  private LedgerResult fetch(UnsignedInteger ledgerIndex) throws JsonRpcClientErrorException {
+    LedgerResult ledgerResult = xrplClient.ledger(
+      LedgerRequestParams.builder()
+        .ledgerSpecifier(LedgerSpecifier.of(LedgerIndex.of(ledgerIndex)))
+        .transactions(true)
+        .build()
+    );
+    // A node that has not validated this ledger yet may return a closed ledger that is later replaced.
+    if (!ledgerResult.validated()) {
+      throw new RuntimeException("Ledger " + ledgerIndex + " is not validated.");
+    }
+    return ledgerResult;
+  }
+
+  private UnsignedInteger validatedLedgerIndex() throws JsonRpcClientErrorException {
+    return xrplClient.ledger(
+        LedgerRequestParams.builder()
+          .ledgerSpecifier(LedgerSpecifier.VALIDATED)
+          .build()
+      )
+      .ledgerIndex()
+      .orElseThrow(() -> new RuntimeException("LedgerIndex not available."))
+      .unsignedIntegerValue();
+  }
+
+}
@@ -0,0 +1,84 @@
+package org.xrpl.xrpl4j.samples;
+
+import com.google.common.primitives.UnsignedInteger;
+import org.xrpl.xrpl4j.model.client.ledger.LedgerResult;
+
+import java.time.Duration;
+import java.util.Optional;
+
+/**
+ * Measures how fast validated ledgers arrive, so a {@code LastLedgerSequence} can be picked to give a transaction a
+ * wall-clock budget rather than a fixed number of ledgers.
+ *
+ * <p>The interval is the elapsed time over the ledgers advanced across the last {@code windowSize} arrivals, which
+ * averages out the bursts of back-to-back ledgers delivered when a {@link ValidatedLedgerPoller} catches up.
+ */
+public class LedgerCloseClock implements ValidatedLedgerPoller.Listener {
+
+  private static final Duration DEFAULT_CLOSE_INTERVAL = Duration.ofSeconds(4);
+
+  private final long[] arrivalNanos;
+  private final long[] ledgerIndexes;
+
+  // Ring buffer state, guarded by this.
+  private int next;
+  private int size;
+
+  public LedgerCloseClock(int windowSize) {
+    this.arrivalNanos = new long[windowSize];
+    this.ledgerIndexes = new long[windowSize];
+  }
+
+  @Override
+  public void onValidatedLedger(LedgerResult ledgerResult) {
+    ledgerResult.ledgerIndex().ifPresent(
+      ledgerIndex -> record(ledgerIndex.unsignedIntegerValue().longValue(), System.nanoTime())
+    );
+  }
+
+  private synchronized void record(long ledgerIndex, long nanos) {
+    arrivalNanos[next] = nanos;
+    ledgerIndexes[next] = ledgerIndex;
+    next = (next + 1) % arrivalNanos.length;
+    size = Math.min(size + 1, arrivalNanos.length);
+  }
+
+  public synchronized Optional<UnsignedInteger> lastValidatedLedgerIndex() {
+    if (size == 0) {
+      return Optional.empty();
+    }
+    return Optional.of(UnsignedInteger.valueOf(ledgerIndexes[(next - 1 + arrivalNanos.length) % arrivalNanos.length]));
+  }
+
+  /**
+   * The average time between validated ledgers, or 4 seconds until at least two ledgers have been seen.
+   */
+  public synchronized Duration closeInterval() {
+    if (size < 2) {
+      return DEFAULT_CLOSE_INTERVAL;
+    }
+    int newest = (next - 1 + arrivalNanos.length) % arrivalNanos.length;
+    int oldest = (next - size + arrivalNanos.length) % arrivalNanos.length;
+    long ledgers = ledgerIndexes[newest] - ledgerIndexes[oldest];
+    if (ledgers <= 0) {
+      return DEFAULT_CLOSE_INTERVAL;
+    }
+    return Duration.ofNanos((arrivalNanos[newest] - arrivalNanos[oldest]) / ledgers);
+  }
+
+  /**
+   * How many ledgers are expected to validate within {@code budget}, but at least {@code minimumLedgers}.
+   */
+  public int ledgersWithin(Duration budget, int minimumLedgers) {
+    long intervalNanos = Math.max(1, closeInterval().toNanos());
+    return (int) Math.max(minimumLedgers, budget.toNanos() / intervalNanos);
+  }
+
+  /**
+   * A {@code LastLedgerSequence} that gives a transaction submitted now about {@code budget} to validate.
+   */
+  public UnsignedInteger lastLedgerSequenceWithin(UnsignedInteger validatedLedgerIndex, Duration budget) {
+    return validatedLedgerIndex.plus(UnsignedInteger.valueOf(ledgersWithin(budget, 2)));
+  }
+
+}
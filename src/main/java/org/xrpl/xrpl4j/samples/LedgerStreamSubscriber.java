@@ -0,0 +1,237 @@
+package org.xrpl.xrpl4j.samples;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.google.common.primitives.UnsignedInteger;
+import okhttp3.OkHttpClient;
+import okhttp3.Request;
+import okhttp3.Response;
+import okhttp3.WebSocket;
+import okhttp3.WebSocketListener;
+import org.xrpl.xrpl4j.model.transactions.Address;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Drives a {@link ValidatedLedgerPoller} from rippled's subscription streams instead of a polling timer, so
+ * validation completion, fee refresh and anything else registered as a {@link ValidatedLedgerPoller.Listener} react
+ * as soon as a ledger is validated.
+ *
+ * <p>One WebSocket carries the {@code ledger} stream and, for every registered {@link SequenceAllocator}, that
+ * account's {@code accounts} stream. Each {@code ledgerClosed} event calls
+ * {@link ValidatedLedgerPoller#catchUpTo(UnsignedInteger)}, which fetches any ledgers missed while disconnected over
+ * the {@code ledger} RPC. A validated transaction that used a sequence an allocator has not handed out yet (e.g. one
+ * submitted by another process) moves that allocator past it.
+ *
+ * <p>The socket reconnects with jittered exponential backoff and resubscribes; the subscribe response reports the
+ * current validated ledger, which closes any gap straight away. The poller's own timer, if started, is suspended
+ * from that response until the socket drops, so ledgers keep arriving while the stream is down.
+ */
+public class LedgerStreamSubscriber implements Closeable {
+
+  private static final long INITIAL_RECONNECT_MILLIS = 250;
+  private static final long MAX_RECONNECT_MILLIS = 30_000;
+
+  private final String webSocketUrl;
+  private final ValidatedLedgerPoller ledgerPoller;
+  private final ObjectMapper objectMapper = new ObjectMapper();
+  private final OkHttpClient okHttpClient = new OkHttpClient.Builder()
+    .pingInterval(20, TimeUnit.SECONDS)
+    .build();
+  private final Map<Address, SequenceAllocator> sequenceAllocators = new ConcurrentHashMap<>();
+  private final AtomicInteger requestIds = new AtomicInteger();
+  private final AtomicInteger reconnectCount = new AtomicInteger();
+  // Events are handled one at a time, in arrival order, off OkHttp's reader thread.
+  private final ScheduledExecutorService eventExecutor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+    Thread thread = new Thread(runnable, "ledger-stream-subscriber");
+    thread.setDaemon(true);
+    return thread;
+  });
+
+  // Only read and written on the event thread.
+  private WebSocket webSocket;
+  private long reconnectDelayMillis = INITIAL_RECONNECT_MILLIS;
+  private volatile boolean closed;
+
+  /**
+   * @param webSocketUrl the rippled WebSocket endpoint, e.g. {@code wss://s.altnet.rippletest.net:51233}.
+   */
+  public LedgerStreamSubscriber(String webSocketUrl, ValidatedLedgerPoller ledgerPoller) {
+    this.webSocketUrl = webSocketUrl;
+    this.ledgerPoller = ledgerPoller;
+  }
+
+  public void start() {
+    eventExecutor.execute(this::connect);
+  }
+
+  /**
+   * Subscribes to {@code allocator}'s account so that sequences consumed outside of it are skipped.
+   */
+  public void addSequenceAllocator(SequenceAllocator allocator) {
+    sequenceAllocators.put(allocator.account(), allocator);
+    eventExecutor.execute(() -> {
+      if (webSocket != null) {
+        subscribe(webSocket, false, allocator.account());
+      }
+    });
+  }
+
+  /**
+   * The number of times the socket has been re-opened after a failure or a server-side close.
+   */
+  public int reconnectCount() {
+    return reconnectCount.get();
+  }
+
+  private void connect() {
+    if (closed) {
+      return;
+    }
+    webSocket = okHttpClient.newWebSocket(new Request.Builder().url(webSocketUrl).build(), new StreamListener());
+  }
+
+  private void subscribe(WebSocket socket, boolean ledgerStream, Address... accounts) {
+    ObjectNode request = objectMapper.createObjectNode();
+    request.put("id", requestIds.incrementAndGet());
+    request.put("command", "subscribe");
+    if (ledgerStream) {
+      request.putArray("streams").add("ledger");
+    }
+    for (Address account : accounts) {
+      request.withArray("accounts").add(account.value());
+    }
+    socket.send(request.toString());
+  }
+
+  private void onOpen(WebSocket socket) {
+    if (socket != webSocket) {
+      return;
+    }
+    reconnectDelayMillis = INITIAL_RECONNECT_MILLIS;
+    subscribe(socket, true, sequenceAllocators.keySet().toArray(new Address[0]));
+  }
+
+  private void onMessage(WebSocket socket, String text) {
+    if (socket != webSocket) {
+      return;
+    }
+    JsonNode message;
+    try {
+      message = objectMapper.readTree(text);
+    } catch (IOException e) {
+      System.err.println("Ignoring unparseable stream message: " + e.getMessage());
+      return;
+    }
+
+    switch (message.path("type").asText()) {
+      case "response":
+        // The ledger stream's subscribe response carries the current validated ledger.
+        if (message.path("result").has("ledger_index")) {
+          ledgerPoller.suspendPolling();
+          catchUpTo(message.path("result").path("ledger_index").asLong());
+        }
+        break;
+      case "ledgerClosed":
+        catchUpTo(message.path("ledger_index").asLong());
+        break;
+      case "transaction":
+        onTransaction(message);
+        break;
+      default:
+        break;
+    }
+  }
+
+  private void catchUpTo(long ledgerIndex) {
+    try {
+      ledgerPoller.catchUpTo(UnsignedInteger.valueOf(ledgerIndex));
+    } catch (Exception e) {
+      // Nothing was skipped, so the next ledgerClosed event retries from the same ledger.
+      System.err.println("Unable to catch up to ledger " + ledgerIndex + ": " + e.getMessage());
+    }
+  }
+
+  private void onTransaction(JsonNode message) {
+    JsonNode transaction = message.path("transaction");
+    if (!message.path("validated").asBoolean(false) || !transaction.has("Account")) {
+      return;
+    }
+    SequenceAllocator allocator = sequenceAllocators.get(Address.of(transaction.path("Account").asText()));
+    long sequence = transaction.path("Sequence").asLong(0);
+    if (allocator != null && sequence > 0) {
+      allocator.skipPast(UnsignedInteger.valueOf(sequence));
+    }
+  }
+
+  private void onDisconnected(WebSocket socket, String reason) {
+    if (closed || socket != webSocket) {
+      return;
+    }
+    webSocket = null;
+    ledgerPoller.resumePolling();
+    // Full jitter keeps a fleet of clients from reconnecting to a restarted node in lockstep.
+    long delayMillis = ThreadLocalRandom.current().nextLong(reconnectDelayMillis + 1);
+    reconnectDelayMillis = Math.min(reconnectDelayMillis * 2, MAX_RECONNECT_MILLIS);
+    System.err.println("Ledger stream disconnected (" + reason + "); reconnecting in " + delayMillis + "ms");
+    eventExecutor.schedule(() -> {
+      reconnectCount.incrementAndGet();
+      connect();
+    }, delayMillis, TimeUnit.MILLISECONDS);
+  }
+
+  @Override
+  public void close() {
+    closed = true;
+    ledgerPoller.resumePolling();
+    eventExecutor.execute(() -> {
+      if (webSocket != null) {
+        webSocket.close(1000, "closing");
+      }
+    });
+    eventExecutor.shutdown();
+    okHttpClient.dispatcher().executorService().shutdown();
+  }
+
+  private class StreamListener extends WebSocketListener {
+
+    @Override
+    public void onOpen(WebSocket socket, Response response) {
+      dispatch(() -> LedgerStreamSubscriber.this.onOpen(socket));
+    }
+
+    @Override
+    public void onMessage(WebSocket socket, String text) {
+      dispatch(() -> LedgerStreamSubscriber.this.onMessage(socket, text));
+    }
+
+    @Override
+    public void onClosing(WebSocket socket, int code, String reason) {
+      socket.close(1000, null);
+      dispatch(() -> onDisconnected(socket, "closed by server: " + code));
+    }
+
+    @Override
+    public void onFailure(WebSocket socket, Throwable t, Response response) {
+      dispatch(() -> onDisconnected(socket, String.valueOf(t.getMessage())));
+    }
+
+    private void dispatch(Runnable event) {
+      // The event executor is shut down on close; late callbacks from the closing socket are dropped.
+      if (!closed) {
+        eventExecutor.execute(event);
+      }
+    }
+
+  }
+
+}
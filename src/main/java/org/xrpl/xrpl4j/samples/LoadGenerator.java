@@ -0,0 +1,372 @@
+package org.xrpl.xrpl4j.samples;
+
+import com.google.common.primitives.UnsignedInteger;
+import okhttp3.HttpUrl;
+import org.xrpl.xrpl4j.crypto.keys.KeyPair;
+import org.xrpl.xrpl4j.crypto.keys.PrivateKey;
+import org.xrpl.xrpl4j.crypto.keys.Seed;
+import org.xrpl.xrpl4j.crypto.signing.SignatureService;
+import org.xrpl.xrpl4j.crypto.signing.SingleSignedTransaction;
+import org.xrpl.xrpl4j.crypto.signing.bc.BcSignatureService;
+import org.xrpl.xrpl4j.model.client.transactions.TransactionResult;
+import org.xrpl.xrpl4j.model.transactions.AccountSet;
+import org.xrpl.xrpl4j.model.transactions.IssuedCurrencyAmount;
+import org.xrpl.xrpl4j.model.transactions.Payment;
+import org.xrpl.xrpl4j.model.transactions.TrustSet;
+import org.xrpl.xrpl4j.model.transactions.XrpCurrencyAmount;
+
+import java.io.Closeable;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Drives a configurable mix of Payment, TrustSet and AccountSet transactions at a target rate through
+ * {@link SubmissionPipeline}s and reports submit-to-validated latency percentiles and throughput.
+ *
+ * <p>Run {@link #main(String[])} to exercise it against an embedded {@link FakeRippled}, with no network access:
+ * {@code LoadGenerator [ratePerSecond] [durationSeconds] [accounts] [ledgerCloseMillis] [dropRate] [rpcErrorRate]
+ * [httpErrorRate] [metricsPort] [poll|stream]}. The three rates are {@link FakeRippled}'s fault injection. In
+ * {@code stream} mode validated ledgers are pushed over a {@link LedgerStreamSubscriber} instead of polled.
+ */
+public class LoadGenerator {
+
+  private static final UnsignedInteger LAST_LEDGER_SEQUENCE_OFFSET = UnsignedInteger.valueOf(4);
+  // How long submissions may run past the schedule, and then how long their outcomes may take to arrive.
+  private static final long DRAIN_TIMEOUT_NANOS = TimeUnit.MINUTES.toNanos(1);
+
+  private final XrplRpcClient xrplClient;
+  private final ValidatedLedgerPoller ledgerPoller;
+  private final ValidationTracker validationTracker;
+  private final SignatureService<PrivateKey> signatureService;
+  // Every transaction names two accounts, so memoize their addresses rather than hash each key again.
+  private final BulkAddressCodec addressCodec = new BulkAddressCodec(ForkJoinPool.commonPool(), 4096);
+  private final int paymentWeight;
+  private final int trustSetWeight;
+  private final int accountSetWeight;
+  private final int maxInFlightPerAccount;
+
+  private final LatencyRecorder latencies = new LatencyRecorder();
+  private final LongAdder validated = new LongAdder();
+  private final LongAdder expired = new LongAdder();
+  private final LongAdder failed = new LongAdder();
+
+  /**
+   * @param paymentWeight    relative share of Payments in the generated mix.
+   * @param trustSetWeight   relative share of TrustSets in the generated mix.
+   * @param accountSetWeight relative share of AccountSets in the generated mix.
+   */
+  public LoadGenerator(
+    XrplRpcClient xrplClient,
+    SignatureService<PrivateKey> signatureService,
+    ValidatedLedgerPoller ledgerPoller,
+    ValidationTracker validationTracker,
+    int paymentWeight,
+    int trustSetWeight,
+    int accountSetWeight,
+    int maxInFlightPerAccount
+  ) {
+    this.xrplClient = xrplClient;
+    this.signatureService = signatureService;
+    this.ledgerPoller = ledgerPoller;
+    this.validationTracker = validationTracker;
+    this.paymentWeight = paymentWeight;
+    this.trustSetWeight = trustSetWeight;
+    this.accountSetWeight = accountSetWeight;
+    this.maxInFlightPerAccount = maxInFlightPerAccount;
+  }
+
+  public static void main(String[] args) throws Exception {
+    int ratePerSecond = args.length > 0 ? Integer.parseInt(args[0]) : 200;
+    int durationSeconds = args.length > 1 ? Integer.parseInt(args[1]) : 30;
+    int accountCount = args.length > 2 ? Integer.parseInt(args[2]) : 16;
+    long ledgerCloseMillis = args.length > 3 ? Long.parseLong(args[3]) : 1000;
+    double dropRate = args.length > 4 ? Double.parseDouble(args[4]) : 0.0;
+    double rpcErrorRate = args.length > 5 ? Double.parseDouble(args[5]) : 0.0;
+    double httpErrorRate = args.length > 6 ? Double.parseDouble(args[6]) : 0.0;
+    int metricsPort = args.length > 7 ? Integer.parseInt(args[7]) : 9464;
+    boolean streamMode = args.length > 8 && "stream".equals(args[8]);
+    System.out.println("Running the LoadGenerator sample at " + ratePerSecond + " tx/s for " + durationSeconds +
+      "s across " + accountCount + " accounts...");
+
+    // Scrape http://localhost:<metricsPort>/metrics while the run is in progress
+    Metrics metrics = new Metrics();
+    try (
+      FakeRippled fakeRippled = new FakeRippled(
+        Duration.ofMillis(ledgerCloseMillis), rpcErrorRate, httpErrorRate, dropRate
+      );
+      FakeRippledStream fakeRippledStream = new FakeRippledStream(fakeRippled);
+      Closeable metricsEndpoint = metrics.serve(metricsPort)
+    ) {
+      HttpUrl rippledUrl = fakeRippled.start(0);
+      String rippledWebSocketUrl = fakeRippledStream.start(0);
+      // Per-method RPC latency and per-type signing latency show up alongside the validation metrics
+      XrplRpcClient xrplClient = new InstrumentedXrplClient(XrplRpcClient.of(rippledUrl), metrics);
+      SignatureService<PrivateKey> signatureService = new InstrumentedSignatureService<>(
+        new BcSignatureService(), metrics
+      );
+
+      ValidationTracker validationTracker = new ValidationTracker(metrics);
+      try (ValidatedLedgerPoller ledgerPoller = new ValidatedLedgerPoller(
+        xrplClient, Duration.ofMillis(Math.max(50, ledgerCloseMillis / 4))
+      )) {
+        ledgerPoller.addListener(validationTracker);
+        LedgerStreamSubscriber ledgerStreamSubscriber = new LedgerStreamSubscriber(rippledWebSocketUrl, ledgerPoller);
+        // In stream mode the timer only polls while the stream is disconnected.
+        ledgerPoller.start();
+        if (streamMode) {
+          ledgerStreamSubscriber.start();
+        }
+
+        LoadGenerator loadGenerator = new LoadGenerator(
+          xrplClient, signatureService, ledgerPoller, validationTracker, 8, 1, 1, 32
+        );
+        System.out.println(loadGenerator.run(ratePerSecond, Duration.ofSeconds(durationSeconds), accountCount));
+        ledgerStreamSubscriber.close();
+      }
+      System.out.print(metrics.scrape());
+    }
+  }
+
+  /**
+   * Generates {@code ratePerSecond} transactions per second for {@code duration}, spread round-robin across
+   * {@code accountCount} accounts that each submit from their own thread, then waits for every transaction to
+   * validate, expire or fail.
+   *
+   * @throws IllegalStateException if the submissions or their outcomes are still outstanding a minute later.
+   */
+  public Report run(int ratePerSecond, Duration duration, int accountCount) throws Exception {
+    latencies.clear();
+    validated.reset();
+    expired.reset();
+    failed.reset();
+    // LastLedgerSequence is derived from the poller, so wait until it has seen a validated ledger.
+    while (!ledgerPoller.lastValidatedLedgerIndex().isPresent()) {
+      Thread.sleep(50);
+    }
+
+    List<KeyPair> keyPairs = new ArrayList<>(accountCount);
+    List<SubmissionPipeline> pipelines = new ArrayList<>(accountCount);
+    List<ExecutorService> submitters = new ArrayList<>(accountCount);
+    for (int i = 0; i < accountCount; i++) {
+      KeyPair keyPair = Seed.ed25519Seed().deriveKeyPair();
+      keyPairs.add(keyPair);
+      SubmissionPipeline pipeline = new SubmissionPipeline(
+        xrplClient,
+        validationTracker,
+        SequenceAllocator.load(xrplClient, keyPair.publicKey().deriveAddress()),
+        maxInFlightPerAccount
+      );
+      ledgerPoller.addListener(pipeline);
+      pipelines.add(pipeline);
+      // One thread per account keeps each account's submissions in sequence order.
+      submitters.add(Executors.newSingleThreadExecutor());
+    }
+
+    long total = (long) ratePerSecond * duration.getSeconds();
+    long intervalNanos = TimeUnit.SECONDS.toNanos(1) / ratePerSecond;
+    long start = System.nanoTime();
+    for (long i = 0; i < total; i++) {
+      // Pace against the schedule rather than the previous send, so a slow send does not lower the rate.
+      long scheduledAt = start + i * intervalNanos;
+      long waitNanos = scheduledAt - System.nanoTime();
+      if (waitNanos > 0) {
+        LockSupport.parkNanos(waitNanos);
+      }
+
+      int accountIndex = (int) (i % accountCount);
+      KeyPair keyPair = keyPairs.get(accountIndex);
+      KeyPair counterparty = keyPairs.get((accountIndex + 1) % accountCount);
+      SubmissionPipeline pipeline = pipelines.get(accountIndex);
+      submitters.get(accountIndex).execute(() -> submitOne(pipeline, keyPair, counterparty));
+    }
+
+    try {
+      long deadline = System.nanoTime() + DRAIN_TIMEOUT_NANOS;
+      for (ExecutorService submitter : submitters) {
+        submitter.shutdown();
+        if (!submitter.awaitTermination(deadline - System.nanoTime(), TimeUnit.NANOSECONDS)) {
+          throw new IllegalStateException("Submissions still running a minute after the schedule ended");
+        }
+      }
+      deadline = System.nanoTime() + DRAIN_TIMEOUT_NANOS;
+      while (validated.sum() + expired.sum() + failed.sum() < total) {
+        if (System.nanoTime() - deadline > 0) {
+          throw new IllegalStateException((total - validated.sum() - expired.sum() - failed.sum()) +
+            " transactions still outstanding a minute after the last submission");
+        }
+        Thread.sleep(100);
+      }
+    } finally {
+      submitters.forEach(ExecutorService::shutdownNow);
+      pipelines.forEach(ledgerPoller::removeListener);
+    }
+
+    long[] sorted = latencies.snapshot();
+    Arrays.sort(sorted);
+    return new Report(validated.sum(), expired.sum(), failed.sum(), System.nanoTime() - start, sorted);
+  }
+
+  private void submitOne(SubmissionPipeline pipeline, KeyPair keyPair, KeyPair counterparty) {
+    // Set when the pipeline asks for a signature, i.e. once it has an in-flight slot, so time spent queued behind
+    // this account's earlier transactions is not counted as submit-to-validated latency.
+    long[] submittedAt = new long[1];
+    try {
+      CompletableFuture<TransactionResult<?>> validation = pipeline.submit(sequence -> {
+        submittedAt[0] = System.nanoTime();
+        return sign(keyPair, counterparty, sequence);
+      });
+      validation.whenComplete((result, throwable) -> {
+        if (throwable == null) {
+          latencies.record(System.nanoTime() - submittedAt[0]);
+          validated.increment();
+        } else if (throwable instanceof TransactionExpiredException) {
+          expired.increment();
+        } else {
+          failed.increment();
+        }
+      });
+    } catch (Exception e) {
+      failed.increment();
+    }
+  }
+
+  private SingleSignedTransaction<?> sign(KeyPair keyPair, KeyPair counterparty, UnsignedInteger sequence) {
+    UnsignedInteger lastLedgerSequence = ledgerPoller.lastValidatedLedgerIndex()
+      .orElse(UnsignedInteger.ZERO)
+      .plus(LAST_LEDGER_SEQUENCE_OFFSET);
+    int pick = ThreadLocalRandom.current().nextInt(paymentWeight + trustSetWeight + accountSetWeight);
+
+    if (pick < paymentWeight) {
+      return signatureService.sign(keyPair.privateKey(), Payment.builder()
+        .account(addressCodec.deriveAddress(keyPair.publicKey()))
+        .destination(addressCodec.deriveAddress(counterparty.publicKey()))
+        .amount(XrpCurrencyAmount.ofDrops(1000))
+        .fee(XrpCurrencyAmount.ofDrops(10))
+        .sequence(sequence)
+        .lastLedgerSequence(lastLedgerSequence)
+        .signingPublicKey(keyPair.publicKey())
+        .build());
+    }
+
+    if (pick < paymentWeight + trustSetWeight) {
+      return signatureService.sign(keyPair.privateKey(), TrustSet.builder()
+        .account(addressCodec.deriveAddress(keyPair.publicKey()))
+        .limitAmount(IssuedCurrencyAmount.builder()
+          .currency("FOO")
+          .issuer(addressCodec.deriveAddress(counterparty.publicKey()))
+          .value("10000000000")
+          .build())
+        .fee(XrpCurrencyAmount.ofDrops(10))
+        .sequence(sequence)
+        .lastLedgerSequence(lastLedgerSequence)
+        .signingPublicKey(keyPair.publicKey())
+        .build());
+    }
+
+    return signatureService.sign(keyPair.privateKey(), AccountSet.builder()
+      .account(addressCodec.deriveAddress(keyPair.publicKey()))
+      .fee(XrpCurrencyAmount.ofDrops(10))
+      .sequence(sequence)
+      .lastLedgerSequence(lastLedgerSequence)
+      .signingPublicKey(keyPair.publicKey())
+      .build());
+  }
+
+  /**
+   * The outcome of one {@link #run(int, Duration, int)}.
+   */
+  public static class Report {
+
+    private final long validatedCount;
+    private final long expiredCount;
+    private final long failedCount;
+    private final long elapsedNanos;
+    private final long[] sortedLatencyNanos;
+
+    private Report(long validatedCount, long expiredCount, long failedCount, long elapsedNanos, long[] sorted) {
+      this.validatedCount = validatedCount;
+      this.expiredCount = expiredCount;
+      this.failedCount = failedCount;
+      this.elapsedNanos = elapsedNanos;
+      this.sortedLatencyNanos = sorted;
+    }
+
+    public long validatedCount() {
+      return validatedCount;
+    }
+
+    public long expiredCount() {
+      return expiredCount;
+    }
+
+    public long failedCount() {
+      return failedCount;
+    }
+
+    /**
+     * Validated transactions per second, from the first submission until the last outcome arrived.
+     */
+    public double validatedPerSecond() {
+      return validatedCount / (elapsedNanos / 1e9);
+    }
+
+    /**
+     * @param percentile between 0 and 1.
+     */
+    public double latencyPercentileMillis(double percentile) {
+      if (sortedLatencyNanos.length == 0) {
+        return 0;
+      }
+      int index = (int) Math.min(sortedLatencyNanos.length - 1, Math.ceil(percentile * sortedLatencyNanos.length) - 1);
+      return sortedLatencyNanos[Math.max(0, index)] / 1e6;
+    }
+
+    @Override
+    public String toString() {
+      return String.format(
+        "validated=%d expired=%d failed=%d in %.1fs (%.1f tx/s validated)%n" +
+          "submit->validated latency ms: p50=%.1f p99=%.1f p999=%.1f max=%.1f",
+        validatedCount, expiredCount, failedCount, elapsedNanos / 1e9, validatedPerSecond(),
+        latencyPercentileMillis(0.50), latencyPercentileMillis(0.99), latencyPercentileMillis(0.999),
+        latencyPercentileMillis(1.0)
+      );
+    }
+
+  }
+
+  /**
+   * Collects raw latency samples; a run produces at most {@code rate * duration} of them.
+   */
+  private static class LatencyRecorder {
+
+    private long[] samples = new long[1024];
+    private int size;
+
+    private synchronized void record(long nanos) {
+      if (size == samples.length) {
+        samples = Arrays.copyOf(samples, size * 2);
+      }
+      samples[size++] = nanos;
+    }
+
+    private synchronized long[] snapshot() {
+      return Arrays.copyOf(samples, size);
+    }
+
+    private synchronized void clear() {
+      size = 0;
+    }
+
+  }
+
+}
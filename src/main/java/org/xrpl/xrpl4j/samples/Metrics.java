@@ -0,0 +1,272 @@
+package org.xrpl.xrpl4j.samples;
+
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A minimal in-process metrics registry of counters and log-linear histograms, exportable in the Prometheus text
+ * format. Metrics are created once up front; recording into them does not allocate.
+ */
+public class Metrics {
+
+  private static final double[] QUANTILES = {0.5, 0.9, 0.99, 0.999};
+
+  private final Map<String, Family> families = new ConcurrentHashMap<>();
+
+  /**
+   * Returns the counter for {@code name} and {@code labels}, creating it on first use.
+   *
+   * @param labels alternating label names and values, e.g. {@code "method", "submit"}.
+   */
+  public Counter counter(String name, String help, String... labels) {
+    return (Counter) family(name, help, "counter").metrics.computeIfAbsent(renderLabels(labels), l -> new Counter());
+  }
+
+  /**
+   * Returns a histogram of nanosecond durations for {@code name} and {@code labels}, exported in seconds.
+   */
+  public Histogram timer(String name, String help, String... labels) {
+    return histogram(name, help, 1e-9, labels);
+  }
+
+  /**
+   * Returns a histogram of non-negative values for {@code name} and {@code labels}, exported as recorded.
+   */
+  public Histogram histogram(String name, String help, String... labels) {
+    return histogram(name, help, 1, labels);
+  }
+
+  private Histogram histogram(String name, String help, double exportScale, String... labels) {
+    return (Histogram) family(name, help, "summary").metrics
+      .computeIfAbsent(renderLabels(labels), l -> new Histogram(exportScale));
+  }
+
+  private Family family(String name, String help, String type) {
+    Family family = families.computeIfAbsent(name, n -> new Family(help, type));
+    if (!family.type.equals(type)) {
+      throw new IllegalArgumentException(name + " is already registered as a " + family.type);
+    }
+    return family;
+  }
+
+  /**
+   * Renders every metric in the Prometheus text exposition format (version 0.0.4).
+   */
+  public String scrape() {
+    StringBuilder out = new StringBuilder();
+    new TreeMap<>(families).forEach((name, family) -> {
+      out.append("# HELP ").append(name).append(' ').append(family.help).append('\n');
+      out.append("# TYPE ").append(name).append(' ').append(family.type).append('\n');
+      new TreeMap<>(family.metrics).forEach((labels, metric) -> {
+        if (metric instanceof Counter) {
+          appendSample(out, name, labels, null, ((Counter) metric).get());
+        } else {
+          Histogram histogram = (Histogram) metric;
+          for (double quantile : QUANTILES) {
+            appendSample(out, name, labels, "quantile=\"" + quantile + "\"", histogram.exportedQuantile(quantile));
+          }
+          appendSample(out, name + "_sum", labels, null, histogram.exportedSum());
+          appendSample(out, name + "_count", labels, null, histogram.count());
+        }
+      });
+    });
+    return out.toString();
+  }
+
+  /**
+   * Serves {@link #scrape()} at {@code http://localhost:port/metrics}, on the loopback interface only, until the
+   * returned handle is closed.
+   */
+  public Closeable serve(int port) throws IOException {
+    return serve(new InetSocketAddress(InetAddress.getLoopbackAddress(), port));
+  }
+
+  /**
+   * Serves {@link #scrape()} at {@code /metrics} on {@code address} until the returned handle is closed. Anyone who can
+   * reach the address can read the metrics.
+   */
+  public Closeable serve(InetSocketAddress address) throws IOException {
+    HttpServer httpServer = HttpServer.create(address, 0);
+    httpServer.createContext("/metrics", exchange -> {
+      byte[] body = scrape().getBytes(StandardCharsets.UTF_8);
+      exchange.getResponseHeaders().add("Content-Type", "text/plain; version=0.0.4; charset=utf-8");
+      exchange.sendResponseHeaders(200, body.length);
+      try (OutputStream out = exchange.getResponseBody()) {
+        out.write(body);
+      }
+    });
+    httpServer.start();
+    return () -> httpServer.stop(0);
+  }
+
+  private static void appendSample(StringBuilder out, String name, String labels, String extraLabel, double value) {
+    out.append(name);
+    List<String> allLabels = new ArrayList<>(2);
+    if (!labels.isEmpty()) {
+      allLabels.add(labels);
+    }
+    if (extraLabel != null) {
+      allLabels.add(extraLabel);
+    }
+    if (!allLabels.isEmpty()) {
+      out.append('{').append(String.join(",", allLabels)).append('}');
+    }
+    out.append(' ');
+    if (value == Math.rint(value) && Math.abs(value) < 1e15) {
+      out.append((long) value);
+    } else {
+      out.append(value);
+    }
+    out.append('\n');
+  }
+
+  private static String renderLabels(String... labels) {
+    if (labels.length % 2 != 0) {
+      throw new IllegalArgumentException("labels must be name/value pairs");
+    }
+    StringBuilder rendered = new StringBuilder();
+    for (int i = 0; i < labels.length; i += 2) {
+      if (i > 0) {
+        rendered.append(',');
+      }
+      rendered.append(labels[i]).append("=\"")
+        .append(labels[i + 1].replace("\\", "\\\\").replace("\"", "\\\"").replace("\n", "\\n"))
+        .append('"');
+    }
+    return rendered.toString();
+  }
+
+  private static class Family {
+
+    private final String help;
+    private final String type;
+    private final Map<String, Object> metrics = new ConcurrentHashMap<>();
+
+    private Family(String help, String type) {
+      this.help = help;
+      this.type = type;
+    }
+
+  }
+
+  /**
+   * A monotonically increasing count.
+   */
+  public static class Counter {
+
+    private final LongAdder value = new LongAdder();
+
+    public void increment() {
+      value.increment();
+    }
+
+    public void add(long amount) {
+      value.add(amount);
+    }
+
+    public long get() {
+      return value.sum();
+    }
+
+  }
+
+  /**
+   * A log-linear histogram in the style of HdrHistogram: values below 16 are counted exactly and larger values fall
+   * into one of 16 equal sub-buckets per power of two, bounding relative error at about 6%. Buckets are preallocated,
+   * so {@link #record(long)} is allocation-free.
+   */
+  public static class Histogram {
+
+    private static final int SUB_BUCKET_BITS = 4;
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+    private static final int BUCKETS = SUB_BUCKETS + (63 - SUB_BUCKET_BITS) * SUB_BUCKETS;
+
+    private final double exportScale;
+    private final AtomicLongArray counts = new AtomicLongArray(BUCKETS);
+    private final LongAdder count = new LongAdder();
+    private final LongAdder sum = new LongAdder();
+
+    private Histogram(double exportScale) {
+      this.exportScale = exportScale;
+    }
+
+    public void record(long value) {
+      long clamped = Math.max(0, value);
+      counts.incrementAndGet(bucketIndex(clamped));
+      count.increment();
+      sum.add(clamped);
+    }
+
+    public long count() {
+      return count.sum();
+    }
+
+    public long sum() {
+      return sum.sum();
+    }
+
+    /**
+     * Returns the upper bound of the bucket containing the {@code quantile}th value, or 0 if nothing was recorded.
+     */
+    public long quantile(double quantile) {
+      long total = 0;
+      for (int i = 0; i < BUCKETS; i++) {
+        total += counts.get(i);
+      }
+      if (total == 0) {
+        return 0;
+      }
+      long rank = Math.max(1, (long) Math.ceil(quantile * total));
+      long seen = 0;
+      for (int i = 0; i < BUCKETS; i++) {
+        seen += counts.get(i);
+        if (seen >= rank) {
+          return bucketUpperBound(i);
+        }
+      }
+      return bucketUpperBound(BUCKETS - 1);
+    }
+
+    private double exportedQuantile(double quantile) {
+      return quantile(quantile) * exportScale;
+    }
+
+    private double exportedSum() {
+      return sum() * exportScale;
+    }
+
+    private static int bucketIndex(long value) {
+      if (value < SUB_BUCKETS) {
+        return (int) value;
+      }
+      int exponent = 63 - Long.numberOfLeadingZeros(value);
+      int shift = exponent - SUB_BUCKET_BITS;
+      int subBucket = (int) (value >>> shift) - SUB_BUCKETS;
+      return SUB_BUCKETS + shift * SUB_BUCKETS + subBucket;
+    }
+
+    private static long bucketUpperBound(int index) {
+      if (index < SUB_BUCKETS) {
+        return index;
+      }
+      int shift = (index - SUB_BUCKETS) / SUB_BUCKETS;
+      int subBucket = (index - SUB_BUCKETS) % SUB_BUCKETS;
+      return ((long) (SUB_BUCKETS + subBucket + 1) << shift) - 1;
+    }
+
+  }
+
+}
@@ -0,0 +1,84 @@
+package org.xrpl.xrpl4j.samples;
+
+import okhttp3.HttpUrl;
+import org.xrpl.xrpl4j.model.client.common.LedgerSpecifier;
+import org.xrpl.xrpl4j.model.client.ledger.LedgerRequestParams;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Balances reads across three embedded {@link FakeRippled} nodes, one healthy, one failing a third of its requests
+ * with HTTP 503 and one closing ledgers too slowly to keep up, and prints how {@link MultiNodeXrplClient} spread the
+ * load. Runs without network access: {@code MultiNodeReads [requests] [threads]}.
+ */
+public class MultiNodeReads {
+
+  public static void main(String[] args) throws Exception {
+    int requestCount = args.length > 0 ? Integer.parseInt(args[0]) : 5_000;
+    int threadCount = args.length > 1 ? Integer.parseInt(args[1]) : 8;
+    System.out.println("Running the MultiNodeReads sample with " + requestCount + " requests on " + threadCount +
+      " threads...");
+
+    // Keep one idle connection per client thread open to each node. These size the JDK's keep-alive pool for the
+    // whole process, and are read once, so they are set here before the first request rather than by the client.
+    System.setProperty("http.keepAlive", "true");
+    System.setProperty("http.maxConnections", String.valueOf(threadCount));
+
+    try (
+      FakeRippled healthyNode = new FakeRippled(Duration.ofMillis(250), 0.0, 0.0, 0.0);
+      FakeRippled flakyNode = new FakeRippled(Duration.ofMillis(250), 0.0, 0.33, 0.0);
+      FakeRippled laggingNode = new FakeRippled(Duration.ofMillis(1000), 0.0, 0.0, 0.0)
+    ) {
+      List<HttpUrl> rippledUrls = Arrays.asList(healthyNode.start(0), flakyNode.start(0), laggingNode.start(0));
+
+      // Eject any node more than 3 validated ledgers behind the most advanced one. Each node is paced, and slowed
+      // down by its 503s, through its own ResilientXrplClient; retrying on another node is left to failover.
+      try (MultiNodeXrplClient xrplClient = new MultiNodeXrplClient(
+        rippledUrls,
+        url -> new ResilientXrplClient(Collections.singletonList(url), 2_000, 1, Duration.ZERO, Duration.ofSeconds(1)),
+        Duration.ofMillis(250),
+        3
+      )) {
+        // Give the lagging node time to fall behind
+        Thread.sleep(2_000);
+
+        LongAdder failures = new LongAdder();
+        ExecutorService executor = Executors.newFixedThreadPool(threadCount);
+        List<Runnable> reads = new ArrayList<>(requestCount);
+        for (int i = 0; i < requestCount; i++) {
+          boolean feeRequest = i % 2 == 0;
+          reads.add(() -> {
+            try {
+              if (feeRequest) {
+                xrplClient.fee();
+              } else {
+                xrplClient.ledger(LedgerRequestParams.builder().ledgerSpecifier(LedgerSpecifier.VALIDATED).build());
+              }
+            } catch (Exception e) {
+              failures.increment();
+            }
+          });
+        }
+
+        long start = System.nanoTime();
+        reads.forEach(executor::execute);
+        executor.shutdown();
+        executor.awaitTermination(5, TimeUnit.MINUTES);
+        double elapsedSeconds = (System.nanoTime() - start) / 1e9;
+
+        System.out.printf("%d requests in %.1fs (%.0f req/s), %d failed after failover%n",
+          requestCount, elapsedSeconds, requestCount / elapsedSeconds, failures.sum());
+        xrplClient.nodeStats().forEach(System.out::println);
+      }
+    }
+  }
+
+}
@@ -0,0 +1,386 @@
+package org.xrpl.xrpl4j.samples;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import okhttp3.HttpUrl;
+import org.xrpl.xrpl4j.client.JsonRpcClientErrorException;
+import org.xrpl.xrpl4j.client.XrplClient;
+import org.xrpl.xrpl4j.crypto.signing.SingleSignedTransaction;
+import org.xrpl.xrpl4j.model.client.accounts.AccountInfoRequestParams;
+import org.xrpl.xrpl4j.model.client.accounts.AccountInfoResult;
+import org.xrpl.xrpl4j.model.client.accounts.AccountLinesRequestParams;
+import org.xrpl.xrpl4j.model.client.accounts.AccountLinesResult;
+import org.xrpl.xrpl4j.model.client.common.LedgerSpecifier;
+import org.xrpl.xrpl4j.model.client.fees.FeeResult;
+import org.xrpl.xrpl4j.model.client.ledger.LedgerRequestParams;
+import org.xrpl.xrpl4j.model.client.ledger.LedgerResult;
+import org.xrpl.xrpl4j.model.client.transactions.SubmitResult;
+import org.xrpl.xrpl4j.model.client.transactions.TransactionRequestParams;
+import org.xrpl.xrpl4j.model.client.transactions.TransactionResult;
+import org.xrpl.xrpl4j.model.transactions.Transaction;
+
+import java.io.Closeable;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Spreads the {@link XrplClient} calls used by the samples across several rippled nodes.
+ *
+ * <p>Reads go to the better of two randomly chosen healthy nodes ("power of two choices"), scored by smoothed
+ * latency times requests in flight, which steers load away from a slow node without herding onto the single fastest
+ * one. Submissions go only to the best-scoring healthy node. A call that fails in transport is retried on another
+ * node; rippled errors are returned as-is.
+ *
+ * <p>Each node is health-checked with a validated {@code ledger} header request, first before the constructor returns
+ * and then periodically. A node is ejected while its last checks failed or its validated ledger trails the most
+ * advanced node by more than {@code maxLedgerLag}, and is readmitted as soon as it recovers.
+ *
+ * <p>Node selection and failover are all it does. For per-node pacing, backoff on {@code tooBusy} and circuit
+ * breaking, give each node a single-URL {@link ResilientXrplClient}; see {@link MultiNodeReads}.
+ */
+public class MultiNodeXrplClient implements XrplRpcClient, Closeable {
+
+  private static final int MAX_CONSECUTIVE_FAILURES = 3;
+  // Weight of the newest sample in the latency moving average.
+  private static final double LATENCY_SMOOTHING = 0.2;
+  // Assumed latency of a node that has not answered yet, so that it does not score as the best node by default.
+  private static final double LATENCY_PRIOR_NANOS = TimeUnit.MILLISECONDS.toNanos(100);
+
+  private final List<Node> nodes;
+  private final long maxLedgerLag;
+  private final ScheduledExecutorService healthChecker;
+
+  /**
+   * @param maxLedgerLag how many validated ledgers a node may trail the most advanced node before it is ejected.
+   */
+  public MultiNodeXrplClient(List<HttpUrl> rippledUrls, Duration healthCheckInterval, long maxLedgerLag) {
+    this(rippledUrls, XrplRpcClient::of, healthCheckInterval, maxLedgerLag);
+  }
+
+  /**
+   * @param nodeClients  the client to reach each node through, e.g. a {@link ResilientXrplClient} for that URL alone.
+   * @param maxLedgerLag how many validated ledgers a node may trail the most advanced node before it is ejected.
+   */
+  public MultiNodeXrplClient(
+    List<HttpUrl> rippledUrls,
+    Function<HttpUrl, XrplRpcClient> nodeClients,
+    Duration healthCheckInterval,
+    long maxLedgerLag
+  ) {
+    if (rippledUrls.isEmpty()) {
+      throw new IllegalArgumentException("At least one rippled URL is required");
+    }
+    this.nodes = rippledUrls.stream().map(url -> new Node(url, nodeClients.apply(url))).collect(Collectors.toList());
+    this.maxLedgerLag = maxLedgerLag;
+    this.healthChecker = Executors.newScheduledThreadPool(nodes.size(), runnable -> {
+      Thread thread = new Thread(runnable, "multi-node-health-check");
+      thread.setDaemon(true);
+      return thread;
+    });
+    // Until a node has passed a check it is not eligible, so check them all up front, in parallel.
+    try {
+      healthChecker.invokeAll(nodes.stream()
+        .map(node -> Executors.callable(() -> checkHealth(node)))
+        .collect(Collectors.toList()));
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+    // Each node on its own schedule, so one hung node cannot delay the checks of the others.
+    for (Node node : nodes) {
+      healthChecker.scheduleWithFixedDelay(
+        () -> checkHealth(node), healthCheckInterval.toMillis(), healthCheckInterval.toMillis(), TimeUnit.MILLISECONDS
+      );
+    }
+  }
+
+  @Override
+  public AccountInfoResult accountInfo(AccountInfoRequestParams params) throws JsonRpcClientErrorException {
+    return execute(pickForRead(), client -> client.accountInfo(params));
+  }
+
+  @Override
+  public AccountLinesResult accountLines(AccountLinesRequestParams params) throws JsonRpcClientErrorException {
+    return execute(pickForRead(), client -> client.accountLines(params));
+  }
+
+  @Override
+  public FeeResult fee() throws JsonRpcClientErrorException {
+    return execute(pickForRead(), XrplRpcClient::fee);
+  }
+
+  @Override
+  public LedgerResult ledger(LedgerRequestParams params) throws JsonRpcClientErrorException {
+    return execute(pickForRead(), client -> client.ledger(params));
+  }
+
+  /**
+   * Submits to a healthy node. Resubmitting the same signed blob elsewhere after a transport failure is safe: a
+   * transaction is identified by its hash and can only be applied once.
+   */
+  @Override
+  public <T extends Transaction> SubmitResult<T> submit(SingleSignedTransaction<T> signedTransaction)
+    throws JsonRpcClientErrorException, JsonProcessingException {
+    return execute(pickForSubmit(), client -> client.submit(signedTransaction));
+  }
+
+  @Override
+  public <T extends Transaction> TransactionResult<T> transaction(TransactionRequestParams params, Class<T> type)
+    throws JsonRpcClientErrorException {
+    return execute(pickForRead(), client -> client.transaction(params, type));
+  }
+
+  /**
+   * A point-in-time view of every node, in the order the URLs were given.
+   */
+  public List<NodeStats> nodeStats() {
+    long highestValidated = highestValidatedLedgerIndex();
+    List<NodeStats> stats = new ArrayList<>(nodes.size());
+    for (Node node : nodes) {
+      stats.add(new NodeStats(
+        node.url,
+        node.isHealthy(highestValidated),
+        node.validatedLedgerIndex,
+        node.smoothedLatencyNanos / 1e6,
+        node.inFlight.get(),
+        node.requests.sum(),
+        node.failures.sum()
+      ));
+    }
+    return stats;
+  }
+
+  @Override
+  public void close() {
+    healthChecker.shutdownNow();
+  }
+
+  private <T, E extends Exception> T execute(Node first, Call<T, E> call) throws JsonRpcClientErrorException, E {
+    List<Node> tried = new ArrayList<>(nodes.size());
+    Node node = first;
+    while (true) {
+      Node current = node;
+      tried.add(current);
+      current.inFlight.incrementAndGet();
+      current.requests.increment();
+      long start = System.nanoTime();
+      try {
+        T result = call.call(current.client);
+        current.recordSuccess(System.nanoTime() - start);
+        return result;
+      } catch (RuntimeException e) {
+        // Connection refused, timeout, HTTP 5xx: the node did not answer, so another one may.
+        current.recordFailure();
+        node = pickExcluding(tried);
+        if (node == null) {
+          throw e;
+        }
+      } finally {
+        current.inFlight.decrementAndGet();
+      }
+    }
+  }
+
+  private Node pickForRead() {
+    List<Node> candidates = healthyNodes();
+    if (candidates.isEmpty()) {
+      // Every node is ejected; a possibly stale answer is still better than none.
+      candidates = nodes;
+    }
+    if (candidates.size() == 1) {
+      return candidates.get(0);
+    }
+    ThreadLocalRandom random = ThreadLocalRandom.current();
+    int first = random.nextInt(candidates.size());
+    int second = random.nextInt(candidates.size() - 1);
+    if (second >= first) {
+      second++;
+    }
+    Node a = candidates.get(first);
+    Node b = candidates.get(second);
+    return a.score() <= b.score() ? a : b;
+  }
+
+  private Node pickForSubmit() {
+    Node best = null;
+    for (Node node : healthyNodes()) {
+      if (best == null || node.score() < best.score()) {
+        best = node;
+      }
+    }
+    if (best == null) {
+      throw new IllegalStateException("No healthy rippled node to submit to: " + nodeStats());
+    }
+    return best;
+  }
+
+  private Node pickExcluding(List<Node> tried) {
+    Node best = null;
+    for (Node node : healthyNodes()) {
+      if (!tried.contains(node) && (best == null || node.score() < best.score())) {
+        best = node;
+      }
+    }
+    return best;
+  }
+
+  private List<Node> healthyNodes() {
+    long highestValidated = highestValidatedLedgerIndex();
+    List<Node> healthy = new ArrayList<>(nodes.size());
+    for (Node node : nodes) {
+      if (node.isHealthy(highestValidated)) {
+        healthy.add(node);
+      }
+    }
+    return healthy;
+  }
+
+  private long highestValidatedLedgerIndex() {
+    long highest = 0;
+    for (Node node : nodes) {
+      highest = Math.max(highest, node.validatedLedgerIndex);
+    }
+    return highest;
+  }
+
+  private void checkHealth(Node node) {
+    long start = System.nanoTime();
+    try {
+      LedgerResult ledgerResult = node.client.ledger(
+        LedgerRequestParams.builder()
+          .ledgerSpecifier(LedgerSpecifier.VALIDATED)
+          .build()
+      );
+      node.recordSuccess(System.nanoTime() - start);
+      ledgerResult.ledgerIndex().ifPresent(
+        ledgerIndex -> node.validatedLedgerIndex = ledgerIndex.unsignedIntegerValue().longValue()
+      );
+    } catch (Exception e) {
+      node.recordFailure();
+    }
+  }
+
+  private interface Call<T, E extends Exception> {
+    T call(XrplRpcClient client) throws JsonRpcClientErrorException, E;
+  }
+
+  private class Node {
+
+    private final HttpUrl url;
+    private final XrplRpcClient client;
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final AtomicInteger consecutiveFailures = new AtomicInteger();
+    private final LongAdder requests = new LongAdder();
+    private final LongAdder failures = new LongAdder();
+    private volatile double smoothedLatencyNanos = LATENCY_PRIOR_NANOS;
+    private volatile boolean latencySampled;
+    private volatile long validatedLedgerIndex;
+
+    private Node(HttpUrl url, XrplRpcClient client) {
+      this.url = url;
+      this.client = client;
+    }
+
+    private boolean isHealthy(long highestValidatedLedgerIndex) {
+      return consecutiveFailures.get() < MAX_CONSECUTIVE_FAILURES &&
+        validatedLedgerIndex > 0 &&
+        highestValidatedLedgerIndex - validatedLedgerIndex <= maxLedgerLag;
+    }
+
+    private double score() {
+      return smoothedLatencyNanos * (inFlight.get() + 1);
+    }
+
+    private void recordSuccess(long latencyNanos) {
+      consecutiveFailures.set(0);
+      double previous = smoothedLatencyNanos;
+      // Racy read-modify-write; a lost sample only nudges the average. The first sample replaces the prior.
+      smoothedLatencyNanos = latencySampled ? previous + LATENCY_SMOOTHING * (latencyNanos - previous) : latencyNanos;
+      latencySampled = true;
+    }
+
+    private void recordFailure() {
+      consecutiveFailures.incrementAndGet();
+      failures.increment();
+    }
+
+  }
+
+  /**
+   * Health and load of one node, as seen by this client.
+   */
+  public static class NodeStats {
+
+    private final HttpUrl url;
+    private final boolean healthy;
+    private final long validatedLedgerIndex;
+    private final double smoothedLatencyMillis;
+    private final int inFlight;
+    private final long requestCount;
+    private final long failureCount;
+
+    private NodeStats(
+      HttpUrl url,
+      boolean healthy,
+      long validatedLedgerIndex,
+      double smoothedLatencyMillis,
+      int inFlight,
+      long requestCount,
+      long failureCount
+    ) {
+      this.url = url;
+      this.healthy = healthy;
+      this.validatedLedgerIndex = validatedLedgerIndex;
+      this.smoothedLatencyMillis = smoothedLatencyMillis;
+      this.inFlight = inFlight;
+      this.requestCount = requestCount;
+      this.failureCount = failureCount;
+    }
+
+    public HttpUrl url() {
+      return url;
+    }
+
+    public boolean healthy() {
+      return healthy;
+    }
+
+    public long validatedLedgerIndex() {
+      return validatedLedgerIndex;
+    }
+
+    public double smoothedLatencyMillis() {
+      return smoothedLatencyMillis;
+    }
+
+    public int inFlight() {
+      return inFlight;
+    }
+
+    public long requestCount() {
+      return requestCount;
+    }
+
+    public long failureCount() {
+      return failureCount;
+    }
+
+    @Override
+    public String toString() {
+      return String.format(
+        "NodeStats{url=%s, healthy=%s, validatedLedgerIndex=%d, smoothedLatencyMillis=%.2f, inFlight=%d, " +
+          "requestCount=%d, failureCount=%d}",
+        url, healthy, validatedLedgerIndex, smoothedLatencyMillis, inFlight, requestCount, failureCount
+      );
+    }
+
+  }
+
+}
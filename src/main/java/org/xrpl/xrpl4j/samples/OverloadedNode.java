@@ -0,0 +1,142 @@
+package org.xrpl.xrpl4j.samples;
+
+import okhttp3.HttpUrl;
+import org.xrpl.xrpl4j.client.XrplClient;
+import org.xrpl.xrpl4j.crypto.keys.Seed;
+import org.xrpl.xrpl4j.model.client.accounts.AccountInfoRequestParams;
+import org.xrpl.xrpl4j.model.client.common.LedgerSpecifier;
+import org.xrpl.xrpl4j.model.transactions.Address;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Drives {@code account_info} reads from many threads at an embedded {@link FakeRippled} that caps its request rate
+ * with {@code slowDown} and randomly answers {@code tooBusy} and HTTP 503, first through a plain {@link XrplClient}
+ * and then through a {@link ResilientXrplClient}, and reports how many reads succeeded and how the rest failed. It
+ * then reads from two nodes through a {@link ResilientXrplClient} and stops one partway through, so its circuit
+ * opens and reads carry on against the other.
+ *
+ * <p>{@code OverloadedNode [threads] [nodeRequestsPerSecond] [seconds]}
+ */
+public class OverloadedNode {
+
+  private static final double TOO_BUSY_RATE = 0.02;
+  private static final double HTTP_503_RATE = 0.02;
+  private static final int ACCOUNTS = 100;
+
+  public static void main(String[] args) throws Exception {
+    int threads = args.length > 0 ? Integer.parseInt(args[0]) : 32;
+    int nodeRequestsPerSecond = args.length > 1 ? Integer.parseInt(args[1]) : 1_000;
+    int seconds = args.length > 2 ? Integer.parseInt(args[2]) : 5;
+    System.out.println("Running the OverloadedNode sample with " + threads + " threads against a node that allows " +
+      nodeRequestsPerSecond + " requests/s...");
+
+    List<Address> accounts = new ArrayList<>(ACCOUNTS);
+    for (int i = 0; i < ACCOUNTS; i++) {
+      accounts.add(Seed.ed25519Seed().deriveKeyPair().publicKey().deriveAddress());
+    }
+
+    // One overloaded node ---------------------------------------------------
+    try (FakeRippled fakeRippled = new FakeRippled(Duration.ofSeconds(1), TOO_BUSY_RATE, HTTP_503_RATE, 0.0)) {
+      HttpUrl rippledUrl = fakeRippled.start(0);
+      fakeRippled.limitRequestRate(nodeRequestsPerSecond);
+
+      XrplClient xrplClient = new XrplClient(rippledUrl);
+      Outcomes plain = run(threads, seconds, address -> xrplClient.accountInfo(accountInfoParams(address)), accounts);
+      System.out.println("XrplClient:          " + plain.summary(seconds));
+
+      // Paced a little under the node's limit, so the limit is rarely hit at all.
+      ResilientXrplClient resilientXrplClient = new ResilientXrplClient(
+        Collections.singletonList(rippledUrl), nodeRequestsPerSecond * 0.9, 8, Duration.ofSeconds(1),
+        Duration.ofSeconds(2)
+      );
+      Outcomes resilient = run(threads, seconds,
+        address -> resilientXrplClient.accountInfo(accountInfoParams(address)), accounts);
+      System.out.println("ResilientXrplClient: " + resilient.summary(seconds) + ", " +
+        resilientXrplClient.retryCount() + " retries");
+      resilientXrplClient.endpointStats().forEach(stats -> System.out.println("  " + stats));
+    }
+
+    // Two nodes, one of which goes away ---------------------------------------
+    try (
+      FakeRippled first = new FakeRippled(Duration.ofSeconds(1), 0.0, 0.0, 0.0);
+      FakeRippled second = new FakeRippled(Duration.ofSeconds(1), 0.0, 0.0, 0.0)
+    ) {
+      ResilientXrplClient resilientXrplClient = new ResilientXrplClient(
+        Arrays.asList(first.start(0), second.start(0)), nodeRequestsPerSecond * 0.9, 8, Duration.ofSeconds(1),
+        Duration.ofSeconds(2)
+      );
+      Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "stop-second-node");
+        thread.setDaemon(true);
+        return thread;
+      }).schedule(second::close, seconds * 500L, TimeUnit.MILLISECONDS);
+
+      Outcomes failover = run(threads, seconds,
+        address -> resilientXrplClient.accountInfo(accountInfoParams(address)), accounts);
+      System.out.println("Second node stopped halfway: " + failover.summary(seconds) + ", " +
+        resilientXrplClient.retryCount() + " retries");
+      resilientXrplClient.endpointStats().forEach(stats -> System.out.println("  " + stats));
+    }
+  }
+
+  private static AccountInfoRequestParams accountInfoParams(Address address) {
+    return AccountInfoRequestParams.builder()
+      .account(address)
+      .ledgerSpecifier(LedgerSpecifier.VALIDATED)
+      .build();
+  }
+
+  /**
+   * Calls {@code read} for random accounts from {@code threads} threads for {@code seconds}.
+   */
+  private static Outcomes run(int threads, int seconds, Read read, List<Address> accounts)
+    throws InterruptedException {
+    Outcomes outcomes = new Outcomes();
+    long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(seconds);
+    ExecutorService executor = Executors.newFixedThreadPool(threads);
+    for (int i = 0; i < threads; i++) {
+      executor.execute(() -> {
+        while (System.nanoTime() < deadline) {
+          try {
+            read.read(accounts.get(ThreadLocalRandom.current().nextInt(accounts.size())));
+            outcomes.succeeded.increment();
+          } catch (Exception e) {
+            outcomes.failures.computeIfAbsent(RpcError.of(e), error -> new LongAdder()).increment();
+          }
+        }
+      });
+    }
+    executor.shutdown();
+    executor.awaitTermination(seconds + 30, TimeUnit.SECONDS);
+    return outcomes;
+  }
+
+  private interface Read {
+    void read(Address address) throws Exception;
+  }
+
+  private static class Outcomes {
+
+    private final LongAdder succeeded = new LongAdder();
+    private final Map<RpcError, LongAdder> failures = new ConcurrentHashMap<>();
+
+    private String summary(int seconds) {
+      return String.format("%,d reads succeeded (%,.0f/s), failures %s", succeeded.sum(),
+        succeeded.sum() / (double) seconds, failures);
+    }
+
+  }
+
+}
@@ -0,0 +1,39 @@
+package org.xrpl.xrpl4j.samples;
+
+import okhttp3.HttpUrl;
+import org.xrpl.xrpl4j.client.faucet.FaucetClient;
+
+import java.time.Duration;
+
+public class ProvisionAccounts {
+
+  public static void main(String[] args) {
+    int accountCount = args.length > 0 ? Integer.parseInt(args[0]) : 20;
+    System.out.println("Running the ProvisionAccounts sample for " + accountCount + " accounts...");
+
+    // Construct a network client
+    HttpUrl rippledUrl = HttpUrl.get("https://s.altnet.rippletest.net:51234/");
+    XrplRpcClient xrplClient = XrplRpcClient.of(rippledUrl);
+    FaucetClient faucetClient = FaucetClient.construct(HttpUrl.get("https://faucet.altnet.rippletest.net"));
+
+    // Fund up to 8 accounts at a time, retrying each faucet request up to 5 times
+    AccountProvisioner provisioner = new AccountProvisioner(xrplClient, faucetClient, 8, 5, 5);
+
+    // Detect readiness for the whole batch from each newly validated ledger
+    ValidatedLedgerPoller ledgerPoller = new ValidatedLedgerPoller(xrplClient, Duration.ofSeconds(1));
+    ledgerPoller.addListener(provisioner);
+    ledgerPoller.start();
+
+    // Each account is printed as soon as it is ready to use
+    long start = System.nanoTime();
+    long readyCount = provisioner.provision(accountCount)
+      .peek(account -> System.out.println("Ready: " + account))
+      .count();
+    System.out.println(readyCount + " of " + accountCount + " accounts ready in " +
+      Duration.ofNanos(System.nanoTime() - start).getSeconds() + "s");
+
+    ledgerPoller.close();
+    provisioner.close();
+  }
+
+}
@@ -0,0 +1,182 @@
+package org.xrpl.xrpl4j.samples;
+
+import com.google.common.primitives.UnsignedInteger;
+import okhttp3.HttpUrl;
+import org.xrpl.xrpl4j.crypto.keys.KeyPair;
+import org.xrpl.xrpl4j.crypto.keys.PrivateKey;
+import org.xrpl.xrpl4j.crypto.keys.Seed;
+import org.xrpl.xrpl4j.crypto.signing.SignatureService;
+import org.xrpl.xrpl4j.crypto.signing.SingleSignedTransaction;
+import org.xrpl.xrpl4j.crypto.signing.bc.BcSignatureService;
+import org.xrpl.xrpl4j.model.client.common.LedgerSpecifier;
+import org.xrpl.xrpl4j.model.client.ledger.LedgerRequestParams;
+import org.xrpl.xrpl4j.model.client.transactions.TransactionRequestParams;
+import org.xrpl.xrpl4j.model.transactions.Address;
+import org.xrpl.xrpl4j.model.transactions.CurrencyAmount;
+import org.xrpl.xrpl4j.model.transactions.Hash256;
+import org.xrpl.xrpl4j.model.transactions.Payment;
+import org.xrpl.xrpl4j.model.transactions.XrpCurrencyAmount;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.stream.Stream;
+
+/**
+ * Sends a batch of Payments to an embedded {@link FakeRippled}, backfills the ledgers they landed in into a
+ * {@link TransactionIndex} with a {@link LedgerBackfill}, then reconciles every Payment's delivered amount once with a
+ * {@code tx} request per hash and once from the local index. A second batch is then picked up by reopening the index
+ * and catching up from the last indexed ledger. Pass the number of Payments per batch as the first argument (defaults
+ * to 2,000).
+ */
+public class ReconcilePayments {
+
+  private static final int SENDERS = 8;
+  private static final int DESTINATIONS = 16;
+  private static final int PARALLELISM = 16;
+  private static final Duration LEDGER_CLOSE_INTERVAL = Duration.ofMillis(100);
+
+  public static void main(String[] args) throws Exception {
+    int paymentCount = args.length > 0 ? Integer.parseInt(args[0]) : 2_000;
+    System.out.println("Running the ReconcilePayments sample with " + paymentCount + " payments per batch...");
+
+    List<KeyPair> senders = new ArrayList<>();
+    for (int i = 0; i < SENDERS; i++) {
+      senders.add(Seed.ed25519Seed().deriveKeyPair());
+    }
+    List<Address> destinations = new ArrayList<>();
+    for (int i = 0; i < DESTINATIONS; i++) {
+      destinations.add(Seed.ed25519Seed().deriveKeyPair().publicKey().deriveAddress());
+    }
+    long[] nextSequences = new long[SENDERS];
+    Arrays.fill(nextSequences, 1);
+
+    Path directory = Files.createTempDirectory("transaction-index");
+    ExecutorService executor = BatchSigner.defaultExecutor();
+    try (FakeRippled fakeRippled = new FakeRippled(LEDGER_CLOSE_INTERVAL, 0.0, 0.0, 0.0)) {
+      HttpUrl rippledUrl = fakeRippled.start(0);
+      XrplRpcClient xrplClient = XrplRpcClient.of(rippledUrl);
+      BlobSubmitter blobSubmitter = new BlobSubmitter(rippledUrl);
+      SignatureService<PrivateKey> signatureService = new BcSignatureService();
+
+      // First batch: backfill the range it landed in -----------------------------
+      UnsignedInteger firstLedger = validatedLedgerIndex(xrplClient).plus(UnsignedInteger.ONE);
+      List<Hash256> hashes = sendPayments(
+        blobSubmitter, signatureService, senders, destinations, nextSequences, paymentCount
+      );
+      UnsignedInteger lastLedger = awaitValidation(xrplClient);
+
+      try (TransactionIndex transactionIndex = new TransactionIndex(directory)) {
+        LedgerBackfill ledgerBackfill = new LedgerBackfill(xrplClient, transactionIndex, executor, PARALLELISM);
+        long start = System.nanoTime();
+        long indexed = ledgerBackfill.backfill(firstLedger, lastLedger);
+        System.out.printf("Backfilled ledgers %s-%s (%d transactions) in %.0fms%n", firstLedger, lastLedger, indexed,
+          (System.nanoTime() - start) / 1e6);
+
+        start = System.nanoTime();
+        List<Optional<CurrencyAmount>> remote = new ArrayList<>(hashes.size());
+        for (Hash256 hash : hashes) {
+          remote.add(xrplClient.transaction(TransactionRequestParams.of(hash), Payment.class).metadata()
+            .flatMap(metadata -> metadata.deliveredAmount()));
+        }
+        long remoteNanos = System.nanoTime() - start;
+
+        start = System.nanoTime();
+        List<Optional<CurrencyAmount>> local = new ArrayList<>(hashes.size());
+        for (Hash256 hash : hashes) {
+          local.add(transactionIndex.get(hash).flatMap(TransactionIndex.IndexedTransaction::deliveredAmount));
+        }
+        long localNanos = System.nanoTime() - start;
+
+        System.out.printf("Reconciled %d payments: tx per hash %.1fus each, local index %.1fus each%n",
+          hashes.size(), remoteNanos / 1e3 / hashes.size(), localNanos / 1e3 / hashes.size());
+        if (!remote.equals(local)) {
+          throw new IllegalStateException("Delivered amounts from the local index differ from rippled's.");
+        }
+      }
+
+      // Second batch: reopen and catch up from the last indexed ledger --------------
+      sendPayments(blobSubmitter, signatureService, senders, destinations, nextSequences, paymentCount);
+      awaitValidation(xrplClient);
+      try (TransactionIndex transactionIndex = new TransactionIndex(directory)) {
+        System.out.println("Reopened index with " + transactionIndex.size() + " transactions through ledger " +
+          transactionIndex.lastLedgerIndex().orElse(null));
+        long indexed = new LedgerBackfill(xrplClient, transactionIndex, executor, PARALLELISM).catchUp();
+        System.out.println("Caught up " + indexed + " transactions through ledger " +
+          transactionIndex.lastLedgerIndex().orElse(null));
+
+        Address destination = destinations.get(0);
+        List<TransactionIndex.IndexedTransaction> received = transactionIndex.forAccount(destination);
+        long receivedDrops = received.stream()
+          .map(TransactionIndex.IndexedTransaction::deliveredAmount)
+          .filter(amount -> amount.isPresent() && amount.get() instanceof XrpCurrencyAmount)
+          .mapToLong(amount -> ((XrpCurrencyAmount) amount.get()).value().longValue())
+          .sum();
+        System.out.println(destination + " received " + received.size() + " payments totalling " + receivedDrops +
+          " drops");
+      }
+    } finally {
+      executor.shutdown();
+      try (Stream<Path> paths = Files.list(directory)) {
+        for (Path path : (Iterable<Path>) paths::iterator) {
+          Files.delete(path);
+        }
+      }
+      Files.delete(directory);
+    }
+  }
+
+  private static List<Hash256> sendPayments(
+    BlobSubmitter blobSubmitter,
+    SignatureService<PrivateKey> signatureService,
+    List<KeyPair> senders,
+    List<Address> destinations,
+    long[] nextSequences,
+    int paymentCount
+  ) throws Exception {
+    List<Hash256> hashes = new ArrayList<>(paymentCount);
+    for (int i = 0; i < paymentCount; i++) {
+      int sender = i % senders.size();
+      KeyPair keyPair = senders.get(sender);
+      SingleSignedTransaction<Payment> signedPayment = signatureService.sign(keyPair.privateKey(), Payment.builder()
+        .account(keyPair.publicKey().deriveAddress())
+        .destination(destinations.get(i % destinations.size()))
+        .amount(XrpCurrencyAmount.ofDrops(1_000 + i))
+        .fee(XrpCurrencyAmount.ofDrops(10))
+        .sequence(UnsignedInteger.valueOf(nextSequences[sender]++))
+        .signingPublicKey(keyPair.publicKey())
+        .build());
+      blobSubmitter.submit(signedPayment);
+      hashes.add(signedPayment.hash());
+    }
+    return hashes;
+  }
+
+  /**
+   * Waits for everything submitted so far to be in a validated ledger, and returns that ledger's index.
+   */
+  private static UnsignedInteger awaitValidation(XrplRpcClient xrplClient) throws Exception {
+    UnsignedInteger target = validatedLedgerIndex(xrplClient).plus(UnsignedInteger.ONE);
+    while (validatedLedgerIndex(xrplClient).compareTo(target) < 0) {
+      Thread.sleep(LEDGER_CLOSE_INTERVAL.toMillis());
+    }
+    return target;
+  }
+
+  private static UnsignedInteger validatedLedgerIndex(XrplRpcClient xrplClient) throws Exception {
+    return xrplClient.ledger(
+        LedgerRequestParams.builder()
+          .ledgerSpecifier(LedgerSpecifier.VALIDATED)
+          .build()
+      )
+      .ledgerIndex()
+      .orElseThrow(() -> new RuntimeException("LedgerIndex not available."))
+      .unsignedIntegerValue();
+  }
+
+}
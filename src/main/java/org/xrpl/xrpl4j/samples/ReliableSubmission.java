@@ -0,0 +1,178 @@
+package org.xrpl.xrpl4j.samples;
+
+import com.google.common.primitives.UnsignedInteger;
+import org.xrpl.xrpl4j.crypto.keys.KeyPair;
+import org.xrpl.xrpl4j.crypto.keys.PrivateKey;
+import org.xrpl.xrpl4j.crypto.keys.Seed;
+import org.xrpl.xrpl4j.crypto.signing.bc.BcSignatureService;
+import org.xrpl.xrpl4j.model.client.accounts.AccountInfoRequestParams;
+import org.xrpl.xrpl4j.model.client.common.LedgerSpecifier;
+import org.xrpl.xrpl4j.model.transactions.Address;
+import org.xrpl.xrpl4j.model.transactions.Payment;
+import org.xrpl.xrpl4j.model.transactions.XrpCurrencyAmount;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Sends Payments through a {@link ReliableSubmitter} against an embedded {@link FakeRippled} that silently drops a
+ * share of what it accepts, stops the submitter partway through as if the process had crashed, then starts a new one
+ * from the same journal and submits every Payment again. Each Payment should be applied exactly once.
+ *
+ * <p>{@code ReliableSubmission [accounts] [paymentsPerAccount] [dropRate] [crashAfterMillis]}
+ */
+public class ReliableSubmission {
+
+  private static final Duration VALIDATION_BUDGET = Duration.ofSeconds(1);
+  private static final int MAX_ATTEMPTS = 10;
+
+  public static void main(String[] args) throws Exception {
+    int accountCount = args.length > 0 ? Integer.parseInt(args[0]) : 8;
+    int paymentsPerAccount = args.length > 1 ? Integer.parseInt(args[1]) : 5;
+    double dropRate = args.length > 2 ? Double.parseDouble(args[2]) : 0.3;
+    long crashAfterMillis = args.length > 3 ? Long.parseLong(args[3]) : 2_000;
+    System.out.println("Running the ReliableSubmission sample with " + accountCount + " accounts, " +
+      paymentsPerAccount + " payments each and " + (int) (dropRate * 100) + "% of transactions dropped...");
+
+    Path journalPath = Files.createTempFile("submissions", ".jsonl");
+    try (FakeRippled fakeRippled = new FakeRippled(Duration.ofMillis(250), 0.0, 0.0, dropRate)) {
+      XrplRpcClient xrplClient = XrplRpcClient.of(fakeRippled.start(0));
+
+      List<KeyPair> keyPairs = new ArrayList<>();
+      Map<Address, PrivateKey> privateKeys = new HashMap<>();
+      Map<Address, UnsignedInteger> startingSequences = new HashMap<>();
+      for (int i = 0; i < accountCount; i++) {
+        KeyPair keyPair = Seed.ed25519Seed().deriveKeyPair();
+        Address address = keyPair.publicKey().deriveAddress();
+        keyPairs.add(keyPair);
+        privateKeys.put(address, keyPair.privateKey());
+        startingSequences.put(address, validatedSequence(xrplClient, address));
+      }
+
+      try (ValidatedLedgerPoller ledgerPoller = new ValidatedLedgerPoller(xrplClient, Duration.ofMillis(50))) {
+        LedgerCloseClock ledgerCloseClock = new LedgerCloseClock(16);
+        FeeEstimator feeEstimator = new FeeEstimator(xrplClient::fee, 64, XrpCurrencyAmount.ofDrops(100_000));
+        ledgerPoller.addListener(ledgerCloseClock);
+        ledgerPoller.addListener(feeEstimator);
+        ledgerPoller.start();
+
+        // First run, cut short
+        ValidationTracker firstTracker = new ValidationTracker();
+        ledgerPoller.addListener(firstTracker);
+        try (
+          SubmissionJournal journal = new SubmissionJournal(journalPath);
+          ReliableSubmitter submitter = new ReliableSubmitter(
+            xrplClient, firstTracker, ledgerCloseClock, feeEstimator, new BcSignatureService(), privateKeys::get,
+            journal, VALIDATION_BUDGET, MAX_ATTEMPTS
+          )
+        ) {
+          Outcomes outcomes = submitAll(submitter, keyPairs, paymentsPerAccount, crashAfterMillis);
+          System.out.println("Crashed after " + crashAfterMillis + "ms: " + outcomes);
+        }
+
+        // Second run, resuming from the journal
+        ValidationTracker secondTracker = new ValidationTracker();
+        ledgerPoller.addListener(secondTracker);
+        try (
+          SubmissionJournal journal = new SubmissionJournal(journalPath);
+          ReliableSubmitter submitter = new ReliableSubmitter(
+            xrplClient, secondTracker, ledgerCloseClock, feeEstimator, new BcSignatureService(), privateKeys::get,
+            journal, VALIDATION_BUDGET, MAX_ATTEMPTS
+          )
+        ) {
+          System.out.println("Recovering " + journal.openEntries().size() + " unfinished submissions...");
+          submitter.recover();
+          Outcomes outcomes = submitAll(submitter, keyPairs, paymentsPerAccount, TimeUnit.MINUTES.toMillis(2));
+          System.out.println("After restart: " + outcomes);
+        }
+      }
+
+      // Every applied Payment consumed one sequence, so this is how many were applied.
+      long applied = 0;
+      for (Map.Entry<Address, UnsignedInteger> starting : startingSequences.entrySet()) {
+        applied += validatedSequence(xrplClient, starting.getKey()).longValue() - starting.getValue().longValue();
+      }
+      System.out.println("Payments applied: " + applied + " of " + accountCount * paymentsPerAccount);
+    } finally {
+      Files.deleteIfExists(journalPath);
+    }
+  }
+
+  /**
+   * Submits every account's Payments in order, one at a time per account, for at most {@code runMillis}.
+   */
+  private static Outcomes submitAll(
+    ReliableSubmitter submitter,
+    List<KeyPair> keyPairs,
+    int paymentsPerAccount,
+    long runMillis
+  ) throws InterruptedException {
+    Outcomes outcomes = new Outcomes();
+    ExecutorService accounts = Executors.newFixedThreadPool(keyPairs.size());
+    for (KeyPair keyPair : keyPairs) {
+      accounts.execute(() -> {
+        for (int i = 0; i < paymentsPerAccount && !Thread.currentThread().isInterrupted(); i++) {
+          try {
+            submitter.submit(key(keyPair, i), payment(keyPair)).get();
+            outcomes.validated.incrementAndGet();
+          } catch (InterruptedException e) {
+            return;
+          } catch (Exception e) {
+            outcomes.failed.incrementAndGet();
+          }
+        }
+      });
+    }
+    accounts.shutdown();
+    if (!accounts.awaitTermination(runMillis, TimeUnit.MILLISECONDS)) {
+      accounts.shutdownNow();
+    }
+    return outcomes;
+  }
+
+  private static String key(KeyPair keyPair, int index) {
+    return "payment-" + keyPair.publicKey().deriveAddress().value() + "-" + index;
+  }
+
+  private static Payment payment(KeyPair keyPair) {
+    // Sequence and LastLedgerSequence are left for the submitter to fill in.
+    return Payment.builder()
+      .account(keyPair.publicKey().deriveAddress())
+      .destination(Address.of("rPT1Sjq2YGrBMTttX4GZHjKu9dyfzbpAYe"))
+      .amount(XrpCurrencyAmount.ofDrops(1000))
+      .fee(XrpCurrencyAmount.ofDrops(10))
+      .signingPublicKey(keyPair.publicKey())
+      .build();
+  }
+
+  private static UnsignedInteger validatedSequence(XrplRpcClient xrplClient, Address address) throws Exception {
+    return xrplClient.accountInfo(AccountInfoRequestParams.builder()
+        .account(address)
+        .ledgerSpecifier(LedgerSpecifier.VALIDATED)
+        .build())
+      .accountData()
+      .sequence();
+  }
+
+  private static class Outcomes {
+
+    private final AtomicInteger validated = new AtomicInteger();
+    private final AtomicInteger failed = new AtomicInteger();
+
+    @Override
+    public String toString() {
+      return validated.get() + " payments validated, " + failed.get() + " failed";
+    }
+
+  }
+
+}
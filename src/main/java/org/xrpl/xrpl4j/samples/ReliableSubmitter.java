@@ -0,0 +1,527 @@
+package org.xrpl.xrpl4j.samples;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.google.common.primitives.UnsignedInteger;
+import org.xrpl.xrpl4j.client.JsonRpcClientErrorException;
+import org.xrpl.xrpl4j.crypto.keys.PrivateKey;
+import org.xrpl.xrpl4j.crypto.signing.SignatureService;
+import org.xrpl.xrpl4j.crypto.signing.SingleSignedTransaction;
+import org.xrpl.xrpl4j.model.client.common.LedgerSpecifier;
+import org.xrpl.xrpl4j.model.client.ledger.LedgerRequestParams;
+import org.xrpl.xrpl4j.model.client.transactions.SubmitResult;
+import org.xrpl.xrpl4j.model.client.transactions.TransactionRequestParams;
+import org.xrpl.xrpl4j.model.client.transactions.TransactionResult;
+import org.xrpl.xrpl4j.model.jackson.ObjectMapperFactory;
+import org.xrpl.xrpl4j.model.transactions.Address;
+import org.xrpl.xrpl4j.model.transactions.Hash256;
+import org.xrpl.xrpl4j.model.transactions.Transaction;
+import org.xrpl.xrpl4j.model.transactions.XrpCurrencyAmount;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Function;
+
+/**
+ * Submits transactions until they reach a final outcome, surviving expiry, fee spikes and process restarts.
+ *
+ * <p>Each submission is identified by a caller-chosen key and gets one {@code Sequence}, which every attempt reuses.
+ * When an attempt expires, the transaction is re-signed with an escalated fee and a fresh {@code LastLedgerSequence};
+ * because all attempts share a sequence, at most one of them can ever be applied. The {@code LastLedgerSequence} gives
+ * each attempt about {@code validationBudget} at the ledger close rate measured by a {@link LedgerCloseClock}.
+ *
+ * <p>Every attempt is written to a {@link SubmissionJournal} before it is submitted. After a restart,
+ * {@link #recover()} looks each unfinished submission's attempts up by hash and either records the one that was
+ * validated or resumes submitting; submitting a key again returns its journaled outcome instead of a second
+ * transaction, unless the submission was given up on without being applied, in which case it starts over.
+ *
+ * <p>A submission is only journaled as given up on once a validated ledger has passed every attempt's
+ * {@code LastLedgerSequence} and none of their hashes was found validated. Until that is known, say because rippled
+ * could not be reached, its future fails but its journal entry stays open, so that {@link #recover()} or submitting
+ * the key again resumes it rather than paying a second time.
+ */
+public class ReliableSubmitter implements Closeable {
+
+  private static final int MINIMUM_LEDGERS = 3;
+
+  private final XrplRpcClient xrplClient;
+  private final ValidationTracker validationTracker;
+  private final LedgerCloseClock ledgerCloseClock;
+  private final FeeEstimator feeEstimator;
+  private final SignatureService<PrivateKey> signatureService;
+  private final Function<Address, PrivateKey> signingKeys;
+  private final SubmissionJournal journal;
+  private final Duration validationBudget;
+  private final int maxAttempts;
+
+  private final ObjectMapper objectMapper = ObjectMapperFactory.create();
+  private final Map<Address, SequenceAllocator> sequenceAllocators = new ConcurrentHashMap<>();
+  private final Map<String, Submission> submissions = new ConcurrentHashMap<>();
+  // Resubmissions run here rather than on the poller thread that reports expiry.
+  private final ExecutorService resubmitter = Executors.newSingleThreadExecutor(runnable -> {
+    Thread thread = new Thread(runnable, "reliable-submitter");
+    thread.setDaemon(true);
+    return thread;
+  });
+
+  /**
+   * @param signingKeys      the private key for each submitting account; needed again to re-sign after a restart.
+   * @param validationBudget how long each attempt is given to validate before it is re-signed.
+   * @param maxAttempts      how many times a submission is signed before it is given up on.
+   */
+  public ReliableSubmitter(
+    XrplRpcClient xrplClient,
+    ValidationTracker validationTracker,
+    LedgerCloseClock ledgerCloseClock,
+    FeeEstimator feeEstimator,
+    SignatureService<PrivateKey> signatureService,
+    Function<Address, PrivateKey> signingKeys,
+    SubmissionJournal journal,
+    Duration validationBudget,
+    int maxAttempts
+  ) {
+    this.xrplClient = xrplClient;
+    this.validationTracker = validationTracker;
+    this.ledgerCloseClock = ledgerCloseClock;
+    this.feeEstimator = feeEstimator;
+    this.signatureService = signatureService;
+    this.signingKeys = signingKeys;
+    this.journal = journal;
+    this.validationBudget = validationBudget;
+    this.maxAttempts = maxAttempts;
+  }
+
+  /**
+   * Submits {@code transaction} under {@code key}, unless a submission with that key already exists, in which case
+   * its outcome is returned. A journaled submission that is known never to have been applied is submitted again with a
+   * new sequence, so re-running a job retries it; a validated or malformed one is final, and an open one is resumed.
+   * The transaction's {@code Sequence} and {@code LastLedgerSequence} are assigned here; its {@code Fee} is used for
+   * the first attempt.
+   *
+   * @return A future that completes with the validated result (which may be a {@code tec} failure), or fails with a
+   *   {@link TransactionExpiredException} once {@code maxAttempts} attempts have expired or a
+   *   {@link RuntimeException} if rippled rejected the transaction outright, or if whether it was applied could not be
+   *   determined, in which case its journal entry is left open.
+   */
+  public CompletableFuture<TransactionResult<?>> submit(String key, Transaction transaction)
+    throws JsonRpcClientErrorException {
+    Submission existing = submissions.get(key);
+    if (existing != null) {
+      return existing.outcome;
+    }
+    Optional<SubmissionJournal.Entry> journaled = journal.entry(key);
+    boolean retryable = journaled
+      .flatMap(SubmissionJournal.Entry::outcome)
+      .map(SubmissionJournal.Outcome::retryable)
+      .orElse(false);
+    if (journaled.isPresent() && !retryable) {
+      return resume(journaled.get()).outcome;
+    }
+
+    Submission submission = new Submission(key, transaction, null, transaction.fee());
+    Submission raced = submissions.putIfAbsent(key, submission);
+    if (raced != null) {
+      return raced.outcome;
+    }
+    // Only the caller that registered the key takes a sequence, so a lost race cannot leave a gap.
+    try {
+      submission.sequence = sequenceAllocator(transaction.account()).next();
+    } catch (JsonRpcClientErrorException | RuntimeException e) {
+      submissions.remove(key, submission);
+      submission.outcome.completeExceptionally(e);
+      throw e;
+    }
+    sendAttempt(submission);
+    return submission.outcome;
+  }
+
+  /**
+   * Resumes every submission the journal has no outcome for. Call once at startup, after the
+   * {@link ValidatedLedgerPoller} feeding the tracker and clock has started.
+   */
+  public void recover() {
+    for (SubmissionJournal.Entry entry : journal.openEntries()) {
+      resume(entry);
+    }
+  }
+
+  private Submission resume(SubmissionJournal.Entry entry) {
+    Optional<SubmissionJournal.Outcome> outcome = entry.outcome();
+    if (outcome.isPresent()) {
+      Submission finished = new Submission(entry.key(), null, null, null);
+      Submission raced = submissions.putIfAbsent(entry.key(), finished);
+      if (raced != null) {
+        return raced;
+      }
+      resubmitter.execute(() -> completeFromJournal(finished, outcome.get()));
+      return finished;
+    }
+
+    List<SubmissionJournal.Attempt> attempts = entry.attempts();
+    SubmissionJournal.Attempt latest = attempts.get(attempts.size() - 1);
+    Submission submission = new Submission(
+      entry.key(), latest.transaction(), latest.sequence(), latest.transaction().fee()
+    );
+    submission.attempt = attempts.size();
+    attempts.forEach(attempt -> submission.addAttempt(attempt.hash(), attempt.transaction()));
+    Submission raced = submissions.putIfAbsent(entry.key(), submission);
+    if (raced != null) {
+      return raced;
+    }
+
+    resubmitter.execute(() -> {
+      try {
+        // A restarted allocator reads the open ledger, which may not include this sequence yet.
+        sequenceAllocator(submission.account()).skipPast(submission.sequence);
+        boolean expired = allAttemptsExpired(submission, validatedLedgerIndex());
+        Optional<TransactionResult<?>> validated = findValidated(submission);
+        if (validated.isPresent()) {
+          succeed(submission, validated.get());
+        } else if (expired) {
+          retry(submission);
+        } else {
+          // Still live: submitting the same transaction again cannot apply it twice.
+          submitSigned(submission, sign(submission, latest.transaction()));
+        }
+      } catch (Exception e) {
+        // Whether an attempt validated is unknown, so leave the entry open for the next recovery.
+        abandon(submission, e);
+      }
+    });
+    return submission;
+  }
+
+  private void sendAttempt(Submission submission) {
+    SingleSignedTransaction<?> signedTransaction;
+    try {
+      UnsignedInteger lastLedgerSequence = validatedLedgerIndex()
+        .plus(UnsignedInteger.valueOf(ledgerCloseClock.ledgersWithin(validationBudget, MINIMUM_LEDGERS)));
+      Transaction prepared = prepare(submission, lastLedgerSequence);
+      signedTransaction = sign(submission, prepared);
+    } catch (Exception e) {
+      // This attempt never reached the network, so it all depends on the earlier ones.
+      fail(submission, e);
+      return;
+    }
+    try {
+      submitSigned(submission, signedTransaction);
+    } catch (Exception e) {
+      fail(submission, e);
+    }
+  }
+
+  private SingleSignedTransaction<?> sign(Submission submission, Transaction prepared) throws IOException {
+    SingleSignedTransaction<?> signedTransaction =
+      signatureService.sign(signingKeys.apply(submission.account()), prepared);
+    // Journaled before it can reach the network, so a crash cannot leave an attempt nobody knows about. Re-signing a
+    // resumed attempt yields the same hash, which is already journaled.
+    if (submission.addAttempt(signedTransaction.hash(), prepared)) {
+      journal.appendAttempt(submission.key, signedTransaction.hash(), prepared);
+    }
+    return signedTransaction;
+  }
+
+  private void submitSigned(Submission submission, SingleSignedTransaction<?> signedTransaction) throws Exception {
+    Hash256 hash = signedTransaction.hash();
+    submission.currentHash = hash;
+    validationTracker.track(signedTransaction)
+      .whenCompleteAsync((result, throwable) -> onAttemptCompleted(submission, hash, result, throwable), resubmitter);
+
+    SubmitResult<?> submitResult;
+    try {
+      submitResult = xrplClient.submit(signedTransaction);
+    } catch (JsonRpcClientErrorException | RuntimeException e) {
+      // It may or may not have reached rippled; either it validates or it expires and is re-signed.
+      System.err.println("Submitting " + hash + " failed, waiting for it to validate or expire: " + e.getMessage());
+      return;
+    }
+
+    String engineResult = submitResult.engineResult();
+    if (engineResult.startsWith("tes") || engineResult.startsWith("ter") || engineResult.startsWith("tec")) {
+      return;
+    }
+
+    if ("tefALREADY".equals(engineResult)) {
+      // This very attempt is already queued or applied; it validates or expires like any other.
+      return;
+    }
+    if ("tefPAST_SEQ".equals(engineResult)) {
+      // The sequence is used, by an earlier submit of this very attempt or by a transaction we did not send. Keep
+      // waiting: the former validates, and the latter shows up as this attempt expiring.
+      submission.sequenceConsumed = true;
+      return;
+    }
+    validationTracker.untrack(hash);
+    if (engineResult.startsWith("tel")) {
+      // Not applied and not queued here, typically because the fee was too low; the sequence is still ours.
+      resubmitter.execute(() -> retry(submission));
+      return;
+    }
+    // Rejected outright (tem, or another tef), so the sequence was not consumed by this attempt.
+    submission.rejectedHashes.add(hash);
+    RuntimeException rejection = new RuntimeException("Transaction " + hash + " was rejected with " + engineResult +
+      ": " + submitResult.engineResultMessage());
+    if (engineResult.startsWith("tem")) {
+      // Malformed, so it would only be rejected again, and no attempt can still be applied.
+      releaseSequence(submission);
+      fail(submission, rejection, false);
+    } else {
+      fail(submission, rejection);
+    }
+  }
+
+  private void onAttemptCompleted(Submission submission, Hash256 hash, TransactionResult<?> result, Throwable error) {
+    if (result != null) {
+      succeed(submission, result);
+    } else if (error instanceof TransactionExpiredException && hash.equals(submission.currentHash)) {
+      retry(submission);
+    } else if (!(error instanceof CancellationException) && error != null) {
+      // Tracking failed, which says nothing about whether the attempt was applied.
+      abandon(submission, error);
+    }
+  }
+
+  private void retry(Submission submission) {
+    if (submission.outcome.isDone()) {
+      return;
+    }
+    if (submission.sequenceConsumed) {
+      // Succeeds instead if one of our attempts turns out to have used it.
+      fail(submission, new RuntimeException(
+        "Sequence " + submission.sequence + " of " + submission.account() + " was used by another transaction."
+      ));
+      return;
+    }
+    if (submission.attempt >= maxAttempts) {
+      fail(submission, new TransactionExpiredException(submission.currentHash, validatedLedgerIndexOrZero()));
+      return;
+    }
+    try {
+      submission.fee = feeEstimator.escalate(submission.fee, submission.attempt);
+    } catch (JsonRpcClientErrorException e) {
+      submission.fee = XrpCurrencyAmount.ofDrops((long) Math.ceil(submission.fee.value().longValue() * 1.25));
+    }
+    submission.attempt++;
+    sendAttempt(submission);
+  }
+
+  private void succeed(Submission submission, TransactionResult<?> result) {
+    try {
+      journal.appendOutcome(submission.key, result.hash(), true, false, transactionResultCode(result));
+    } catch (IOException e) {
+      System.err.println("Unable to journal the outcome of " + submission.key + ": " + e.getMessage());
+    }
+    submission.outcome.complete(result);
+  }
+
+  /**
+   * Journals the submission as retryable if none of its attempts was applied or can still be, completes it if one was
+   * validated after all, and otherwise leaves its journal entry open.
+   */
+  private void fail(Submission submission, Throwable error) {
+    if (submission.outcome.isDone()) {
+      return;
+    }
+    try {
+      // Read first: once a validated ledger is past an attempt's LastLedgerSequence, its lookup is final.
+      boolean expired = allAttemptsExpired(submission, validatedLedgerIndex());
+      Optional<TransactionResult<?>> validated = findValidated(submission);
+      if (validated.isPresent()) {
+        succeed(submission, validated.get());
+        return;
+      }
+      if (expired) {
+        if (!submission.sequenceConsumed) {
+          releaseSequence(submission);
+        }
+        fail(submission, error, true);
+        return;
+      }
+    } catch (Exception e) {
+      error.addSuppressed(e);
+    }
+    abandon(submission, error);
+  }
+
+  /**
+   * Fails the submission's future without journaling an outcome, and forgets it, so that it is resumed from the
+   * journal by {@link #recover()} or by submitting its key again.
+   */
+  private void abandon(Submission submission, Throwable error) {
+    if (submission.outcome.completeExceptionally(error)) {
+      submissions.remove(submission.key, submission);
+    }
+  }
+
+  /**
+   * @param retryable whether submitting the key again may succeed; false only if rippled rejected it as malformed.
+   */
+  private void fail(Submission submission, Throwable error, boolean retryable) {
+    if (submission.outcome.isDone()) {
+      return;
+    }
+    Hash256 hash = submission.currentHash;
+    if (hash != null) {
+      try {
+        journal.appendOutcome(submission.key, hash, false, retryable, String.valueOf(error.getMessage()));
+      } catch (IOException e) {
+        System.err.println("Unable to journal the outcome of " + submission.key + ": " + e.getMessage());
+      }
+    }
+    submission.outcome.completeExceptionally(error);
+  }
+
+  private void completeFromJournal(Submission submission, SubmissionJournal.Outcome outcome) {
+    if (!outcome.validated()) {
+      submission.outcome.completeExceptionally(new RuntimeException(
+        "Submission " + submission.key + " previously failed: " + outcome.detail()
+      ));
+      return;
+    }
+    try {
+      submission.outcome.complete(
+        xrplClient.transaction(TransactionRequestParams.of(outcome.hash()), Transaction.class)
+      );
+    } catch (JsonRpcClientErrorException e) {
+      submission.outcome.completeExceptionally(e);
+    }
+  }
+
+  /**
+   * Looks every attempt up by hash.
+   *
+   * @throws JsonRpcClientErrorException if a lookup failed for any reason other than the transaction not being found,
+   *   so that whether it was applied is unknown.
+   */
+  private Optional<TransactionResult<?>> findValidated(Submission submission) throws JsonRpcClientErrorException {
+    for (Hash256 hash : submission.lastLedgerSequences.keySet()) {
+      try {
+        TransactionResult<Transaction> result =
+          xrplClient.transaction(TransactionRequestParams.of(hash), Transaction.class);
+        if (result.validated()) {
+          return Optional.of(result);
+        }
+      } catch (JsonRpcClientErrorException e) {
+        if (RpcError.of(e) != RpcError.TRANSACTION_NOT_FOUND) {
+          throw e;
+        }
+      }
+    }
+    return Optional.empty();
+  }
+
+  /**
+   * Whether no attempt can be applied any more: each was rejected by rippled or has a {@code LastLedgerSequence}
+   * below {@code validatedLedgerIndex}.
+   */
+  private static boolean allAttemptsExpired(Submission submission, UnsignedInteger validatedLedgerIndex) {
+    for (Map.Entry<Hash256, UnsignedInteger> attempt : submission.lastLedgerSequences.entrySet()) {
+      if (!submission.rejectedHashes.contains(attempt.getKey()) &&
+        validatedLedgerIndex.compareTo(attempt.getValue()) <= 0) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  /**
+   * The submission's transaction with its sequence, current fee and {@code lastLedgerSequence} filled in.
+   */
+  private Transaction prepare(Submission submission, UnsignedInteger lastLedgerSequence) throws IOException {
+    ObjectNode json = objectMapper.valueToTree(submission.template);
+    json.put("Sequence", submission.sequence.longValue());
+    json.put("Fee", submission.fee.value().toString());
+    json.put("LastLedgerSequence", lastLedgerSequence.longValue());
+    return objectMapper.treeToValue(json, Transaction.class);
+  }
+
+  private void releaseSequence(Submission submission) {
+    SequenceAllocator allocator = sequenceAllocators.get(submission.account());
+    if (allocator != null && submission.sequence != null) {
+      allocator.release(submission.sequence);
+    }
+  }
+
+  private UnsignedInteger validatedLedgerIndex() throws JsonRpcClientErrorException {
+    Optional<UnsignedInteger> observed = ledgerCloseClock.lastValidatedLedgerIndex();
+    if (observed.isPresent()) {
+      return observed.get();
+    }
+    return xrplClient.ledger(LedgerRequestParams.builder().ledgerSpecifier(LedgerSpecifier.VALIDATED).build())
+      .ledgerIndex()
+      .orElseThrow(() -> new RuntimeException("Ledger response did not contain a LedgerIndex."))
+      .unsignedIntegerValue();
+  }
+
+  private UnsignedInteger validatedLedgerIndexOrZero() {
+    return ledgerCloseClock.lastValidatedLedgerIndex().orElse(UnsignedInteger.ZERO);
+  }
+
+  private SequenceAllocator sequenceAllocator(Address account) throws JsonRpcClientErrorException {
+    SequenceAllocator allocator = sequenceAllocators.get(account);
+    if (allocator == null) {
+      SequenceAllocator loaded = SequenceAllocator.load(xrplClient, account);
+      allocator = sequenceAllocators.putIfAbsent(account, loaded);
+      if (allocator == null) {
+        allocator = loaded;
+      }
+    }
+    return allocator;
+  }
+
+  private static String transactionResultCode(TransactionResult<?> result) {
+    return result.metadata().map(metadata -> metadata.transactionResult()).orElse("unknown");
+  }
+
+  @Override
+  public void close() {
+    resubmitter.shutdownNow();
+  }
+
+  private static class Submission {
+
+    private final String key;
+    private final Transaction template;
+    // Every journaled attempt's LastLedgerSequence, by hash.
+    private final Map<Hash256, UnsignedInteger> lastLedgerSequences = new ConcurrentHashMap<>();
+    private final Set<Hash256> rejectedHashes = ConcurrentHashMap.newKeySet();
+    private final CompletableFuture<TransactionResult<?>> outcome = new CompletableFuture<>();
+    private volatile UnsignedInteger sequence;
+    private volatile XrpCurrencyAmount fee;
+    private volatile Hash256 currentHash;
+    private volatile int attempt = 1;
+    private volatile boolean sequenceConsumed;
+
+    private Submission(String key, Transaction template, UnsignedInteger sequence, XrpCurrencyAmount fee) {
+      this.key = key;
+      this.template = template;
+      this.sequence = sequence;
+      this.fee = fee;
+    }
+
+    private Address account() {
+      return template.account();
+    }
+
+    /**
+     * @return false if the attempt was already known.
+     */
+    private boolean addAttempt(Hash256 hash, Transaction transaction) {
+      // An attempt without one never expires, so it keeps the submission from being given up on.
+      UnsignedInteger lastLedgerSequence = transaction.lastLedgerSequence().orElse(UnsignedInteger.MAX_VALUE);
+      return lastLedgerSequences.putIfAbsent(hash, lastLedgerSequence) == null;
+    }
+
+  }
+
+}
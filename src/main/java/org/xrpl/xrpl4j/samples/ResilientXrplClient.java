@@ -0,0 +1,541 @@
+package org.xrpl.xrpl4j.samples;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import okhttp3.HttpUrl;
+import okhttp3.OkHttpClient;
+import org.xrpl.xrpl4j.client.JsonRpcClientErrorException;
+import org.xrpl.xrpl4j.client.XrplClient;
+import org.xrpl.xrpl4j.crypto.signing.SingleSignedTransaction;
+import org.xrpl.xrpl4j.model.client.accounts.AccountInfoRequestParams;
+import org.xrpl.xrpl4j.model.client.accounts.AccountInfoResult;
+import org.xrpl.xrpl4j.model.client.accounts.AccountLinesRequestParams;
+import org.xrpl.xrpl4j.model.client.accounts.AccountLinesResult;
+import org.xrpl.xrpl4j.model.client.fees.FeeResult;
+import org.xrpl.xrpl4j.model.client.ledger.LedgerRequestParams;
+import org.xrpl.xrpl4j.model.client.ledger.LedgerResult;
+import org.xrpl.xrpl4j.model.client.transactions.SubmitResult;
+import org.xrpl.xrpl4j.model.client.transactions.TransactionRequestParams;
+import org.xrpl.xrpl4j.model.client.transactions.TransactionResult;
+import org.xrpl.xrpl4j.model.transactions.Transaction;
+
+import java.io.Closeable;
+import java.net.ConnectException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Collectors;
+
+/**
+ * Makes the {@link XrplClient} calls used by the samples survive an overloaded or failing rippled, by classifying
+ * each failure with {@link RpcError}:
+ *
+ * <ul>
+ *   <li>Terminal errors ({@code actNotFound}, invalid requests, ...) are thrown straight away.</li>
+ *   <li>Rate-limited errors ({@code tooBusy}, {@code slowDown}, HTTP 503) halve the endpoint's send rate and are
+ *   retried after a jittered backoff. The rate creeps back up with each success.</li>
+ *   <li>Retriable errors (transport failures, an unsynced node, other 5xx) count towards the endpoint's circuit
+ *   breaker and are retried after a jittered backoff, on another endpoint if there is one.</li>
+ * </ul>
+ *
+ * <p>{@link #submit(SingleSignedTransaction)} is the exception: it is not retried once rippled may have received it.
+ *
+ * <p>Every endpoint has a token bucket that paces requests to at most {@code requestsPerSecond}, which should be
+ * sized to what the node allows, so an overloaded node sees fewer requests rather than a burst of retries. After
+ * {@value #FAILURES_TO_OPEN} consecutive retriable failures an endpoint's circuit opens and it gets no requests for
+ * {@code openDuration}, after which a single probe request decides whether it closes again.
+ *
+ * <p>It is an {@link XrplRpcClient}, so it can sit under {@link CachingXrplClient} or {@link InstrumentedXrplClient},
+ * and, given a single URL, serve as each node's client in a {@link MultiNodeXrplClient}. Other {@link XrplClient}
+ * calls can be made through {@link #execute(Call)}.
+ */
+public class ResilientXrplClient implements XrplRpcClient, Closeable {
+
+  private static final int FAILURES_TO_OPEN = 5;
+  private static final long BASE_BACKOFF_NANOS = TimeUnit.MILLISECONDS.toNanos(25);
+  // Floor for a throttled endpoint's rate, as a fraction of its configured rate.
+  private static final double MINIMUM_RATE_FRACTION = 0.05;
+  // Rate regained per success, as a fraction of the configured rate.
+  private static final double RATE_RECOVERY_FRACTION = 0.01;
+  // Rejections within this long of a throttle are treated as the same overload and do not halve the rate again.
+  private static final long THROTTLE_INTERVAL_NANOS = TimeUnit.MILLISECONDS.toNanos(100);
+
+  // Shared by every endpoint's BlobSubmitter; OkHttp resends on connection failure unless told not to.
+  private final OkHttpClient okHttpClient = new OkHttpClient.Builder().retryOnConnectionFailure(false).build();
+  private final List<Endpoint> endpoints;
+  private final int maxAttempts;
+  private final long maxBackoffNanos;
+  private final AtomicInteger nextEndpoint = new AtomicInteger();
+  private final LongAdder retries = new LongAdder();
+
+  /**
+   * @param requestsPerSecond the most requests each endpoint is sent per second, and its burst size.
+   * @param maxAttempts       attempts per call, including the first.
+   * @param maxBackoff        the longest pause between two attempts.
+   * @param openDuration      how long an endpoint whose circuit opened is left alone.
+   */
+  public ResilientXrplClient(
+    List<HttpUrl> rippledUrls,
+    double requestsPerSecond,
+    int maxAttempts,
+    Duration maxBackoff,
+    Duration openDuration
+  ) {
+    if (rippledUrls.isEmpty()) {
+      throw new IllegalArgumentException("At least one rippled URL is required");
+    }
+    this.endpoints = rippledUrls.stream()
+      .map(url -> new Endpoint(url, okHttpClient, requestsPerSecond, openDuration.toNanos()))
+      .collect(Collectors.toList());
+    this.maxAttempts = maxAttempts;
+    this.maxBackoffNanos = maxBackoff.toNanos();
+  }
+
+  @Override
+  public AccountInfoResult accountInfo(AccountInfoRequestParams params) throws JsonRpcClientErrorException {
+    return execute(client -> client.accountInfo(params));
+  }
+
+  @Override
+  public AccountLinesResult accountLines(AccountLinesRequestParams params) throws JsonRpcClientErrorException {
+    return execute(client -> client.accountLines(params));
+  }
+
+  @Override
+  public FeeResult fee() throws JsonRpcClientErrorException {
+    return execute(XrplClient::fee);
+  }
+
+  @Override
+  public LedgerResult ledger(LedgerRequestParams params) throws JsonRpcClientErrorException {
+    return execute(client -> client.ledger(params));
+  }
+
+  /**
+   * Submits, retrying only failures that show rippled did not apply it: a refused connection or an error answer. A
+   * lost response, or a 5xx a proxy may have sent after forwarding it, is thrown as is. Resubmitting then could be
+   * answered {@code tefPAST_SEQ} or {@code tefALREADY} for a transaction the first attempt applied, which a caller
+   * would take for a failure; instead, look the transaction up by hash, as {@link ReliableSubmitter} does.
+   *
+   * <p>It is sent through a {@link BlobSubmitter}, because {@code XrplClient} retries failed requests underneath.
+   */
+  @Override
+  public <T extends Transaction> SubmitResult<T> submit(SingleSignedTransaction<T> signedTransaction)
+    throws JsonRpcClientErrorException, JsonProcessingException {
+    return execute(endpoint -> {
+      // Parsed as the transaction's own type, so the cast holds.
+      @SuppressWarnings("unchecked")
+      SubmitResult<T> result = (SubmitResult<T>) (SubmitResult<?>) endpoint.blobSubmitter.submit(signedTransaction);
+      return result;
+    }, false);
+  }
+
+  @Override
+  public <T extends Transaction> TransactionResult<T> transaction(TransactionRequestParams params, Class<T> type)
+    throws JsonRpcClientErrorException {
+    return execute(client -> client.transaction(params, type));
+  }
+
+  /**
+   * Makes any other {@link XrplClient} call with the same pacing, retries and circuit breaking.
+   */
+  public <T, E extends Exception> T execute(Call<T, E> call) throws JsonRpcClientErrorException, E {
+    return execute(endpoint -> call.call(endpoint.client), true);
+  }
+
+  /**
+   * @param idempotent whether {@code call} can be repeated after a failure that may have reached rippled.
+   */
+  private <T, E extends Exception> T execute(EndpointCall<T, E> call, boolean idempotent)
+    throws JsonRpcClientErrorException, E {
+    Exception lastError = null;
+    for (int attempt = 0; attempt < maxAttempts; attempt++) {
+      if (attempt > 0) {
+        retries.increment();
+        backOff(attempt);
+      }
+      Endpoint endpoint = pickEndpoint();
+      if (endpoint == null) {
+        lastError = new IllegalStateException("Every rippled endpoint's circuit is open: " + endpointStats());
+        continue;
+      }
+
+      boolean outcomeRecorded = false;
+      try {
+        endpoint.tokenBucket.acquire();
+        endpoint.requests.increment();
+        T result;
+        try {
+          result = call.call(endpoint);
+        } catch (Exception e) {
+          outcomeRecorded = true;
+          RpcError error = RpcError.of(e);
+          switch (error.kind()) {
+            case RATE_LIMITED:
+              // Overloaded, but up: slow down rather than give up on the endpoint.
+              endpoint.rateLimited.increment();
+              endpoint.tokenBucket.throttle();
+              endpoint.circuitBreaker.recordSuccess();
+              break;
+            case RETRIABLE:
+              endpoint.failures.increment();
+              endpoint.circuitBreaker.recordFailure();
+              if (!idempotent && mayHaveBeenReceived(e, error)) {
+                throw e;
+              }
+              break;
+            default:
+              // The node answered; it is the request that failed.
+              endpoint.circuitBreaker.recordSuccess();
+              throw e;
+          }
+          lastError = e;
+          continue;
+        }
+        outcomeRecorded = true;
+        endpoint.tokenBucket.recover();
+        endpoint.circuitBreaker.recordSuccess();
+        return result;
+      } finally {
+        if (!outcomeRecorded) {
+          // Interrupted while paced, or an Error: counted as a failure so that a half-open probe cannot stay in
+          // flight forever and keep the endpoint's circuit from ever closing.
+          endpoint.circuitBreaker.recordFailure();
+        }
+      }
+    }
+
+    if (lastError instanceof JsonRpcClientErrorException) {
+      throw (JsonRpcClientErrorException) lastError;
+    }
+    if (lastError instanceof RuntimeException) {
+      throw (RuntimeException) lastError;
+    }
+    throw new RuntimeException("Call to rippled failed after " + maxAttempts + " attempts.", lastError);
+  }
+
+  /**
+   * How many attempts were retries of a failed one.
+   */
+  public long retryCount() {
+    return retries.sum();
+  }
+
+  /**
+   * A point-in-time view of every endpoint, in the order the URLs were given.
+   */
+  public List<EndpointStats> endpointStats() {
+    List<EndpointStats> stats = new ArrayList<>(endpoints.size());
+    for (Endpoint endpoint : endpoints) {
+      stats.add(new EndpointStats(
+        endpoint.url,
+        endpoint.circuitBreaker.state(),
+        endpoint.tokenBucket.rate(),
+        endpoint.requests.sum(),
+        endpoint.rateLimited.sum(),
+        endpoint.failures.sum(),
+        endpoint.circuitBreaker.openCount()
+      ));
+    }
+    return stats;
+  }
+
+  /**
+   * Whether a call that failed with {@code e} may still have been processed by rippled: it gave no answer, other than
+   * refusing the connection, or a server error that a proxy may have returned after forwarding the request.
+   */
+  private static boolean mayHaveBeenReceived(Exception e, RpcError error) {
+    if (error == RpcError.TRANSPORT) {
+      for (Throwable cause = e; cause != null; cause = cause.getCause()) {
+        if (cause instanceof ConnectException) {
+          return false;
+        }
+      }
+      return true;
+    }
+    return error == RpcError.HTTP_SERVER_ERROR;
+  }
+
+  /**
+   * Releases the connections and threads held for submitting. Other calls go through {@code XrplClient}s, which hold
+   * none that need releasing.
+   */
+  @Override
+  public void close() {
+    okHttpClient.dispatcher().executorService().shutdown();
+    okHttpClient.connectionPool().evictAll();
+  }
+
+  /**
+   * The next endpoint, round robin, whose circuit lets a request through, or {@code null} if none does.
+   */
+  private Endpoint pickEndpoint() {
+    int start = Math.floorMod(nextEndpoint.getAndIncrement(), endpoints.size());
+    for (int i = 0; i < endpoints.size(); i++) {
+      Endpoint endpoint = endpoints.get((start + i) % endpoints.size());
+      if (endpoint.circuitBreaker.allowRequest()) {
+        return endpoint;
+      }
+    }
+    return null;
+  }
+
+  /**
+   * Sleeps for a random time up to an exponentially growing cap ("full jitter"), so clients that failed together do
+   * not retry together.
+   */
+  private void backOff(int attempt) {
+    long capNanos = Math.min(maxBackoffNanos, BASE_BACKOFF_NANOS << Math.min(attempt - 1, 20));
+    sleepNanos(ThreadLocalRandom.current().nextLong(capNanos + 1));
+  }
+
+  private static void sleepNanos(long nanos) {
+    try {
+      TimeUnit.NANOSECONDS.sleep(nanos);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new RuntimeException("Interrupted while waiting to call rippled.", e);
+    }
+  }
+
+  /**
+   * A call to make against whichever endpoint is chosen.
+   */
+  public interface Call<T, E extends Exception> {
+    T call(XrplClient client) throws JsonRpcClientErrorException, E;
+  }
+
+  private interface EndpointCall<T, E extends Exception> {
+    T call(Endpoint endpoint) throws JsonRpcClientErrorException, E;
+  }
+
+  private static class Endpoint {
+
+    private final HttpUrl url;
+    private final XrplClient client;
+    private final BlobSubmitter blobSubmitter;
+    private final TokenBucket tokenBucket;
+    private final CircuitBreaker circuitBreaker;
+    private final LongAdder requests = new LongAdder();
+    private final LongAdder rateLimited = new LongAdder();
+    private final LongAdder failures = new LongAdder();
+
+    private Endpoint(HttpUrl url, OkHttpClient okHttpClient, double requestsPerSecond, long openNanos) {
+      this.url = url;
+      this.client = new XrplClient(url);
+      this.blobSubmitter = new BlobSubmitter(url, okHttpClient);
+      this.tokenBucket = new TokenBucket(requestsPerSecond);
+      this.circuitBreaker = new CircuitBreaker(openNanos);
+    }
+
+  }
+
+  /**
+   * Paces requests to a rate that is halved whenever the node says it is overloaded and regained a little with each
+   * success (additive increase, multiplicative decrease).
+   */
+  private static class TokenBucket {
+
+    private final double maximumRate;
+    private final double capacity;
+    private double rate;
+    private double tokens;
+    private long refilledAtNanos = System.nanoTime();
+    private long throttledAtNanos = System.nanoTime() - THROTTLE_INTERVAL_NANOS;
+
+    private TokenBucket(double requestsPerSecond) {
+      this.maximumRate = requestsPerSecond;
+      this.capacity = Math.max(1, requestsPerSecond);
+      this.rate = requestsPerSecond;
+      this.tokens = capacity;
+    }
+
+    /**
+     * Takes a token, waiting for it if the bucket is empty. Callers queue by reserving tokens ahead of time, so
+     * waiting callers are released evenly spaced rather than all at once.
+     */
+    private void acquire() {
+      long waitNanos;
+      synchronized (this) {
+        refill();
+        tokens -= 1;
+        waitNanos = tokens >= 0 ? 0 : (long) (-tokens / rate * 1e9);
+      }
+      if (waitNanos > 0) {
+        sleepNanos(waitNanos);
+      }
+    }
+
+    private synchronized void throttle() {
+      refill();
+      if (refilledAtNanos - throttledAtNanos >= THROTTLE_INTERVAL_NANOS) {
+        rate = Math.max(maximumRate * MINIMUM_RATE_FRACTION, rate / 2);
+        throttledAtNanos = refilledAtNanos;
+      }
+    }
+
+    private synchronized void recover() {
+      if (rate < maximumRate) {
+        refill();
+        rate = Math.min(maximumRate, rate + maximumRate * RATE_RECOVERY_FRACTION);
+      }
+    }
+
+    private synchronized double rate() {
+      return rate;
+    }
+
+    private void refill() {
+      long now = System.nanoTime();
+      tokens = Math.min(capacity, tokens + (now - refilledAtNanos) / 1e9 * rate);
+      refilledAtNanos = now;
+    }
+
+  }
+
+  /**
+   * Closed until {@value #FAILURES_TO_OPEN} consecutive failures, then open for {@code openNanos}, then half open:
+   * one probe request is let through, and its outcome closes or reopens the circuit.
+   */
+  private static class CircuitBreaker {
+
+    private final long openNanos;
+    private CircuitState state = CircuitState.CLOSED;
+    private int consecutiveFailures;
+    private long openedAtNanos;
+    private boolean probeInFlight;
+    private long openCount;
+
+    private CircuitBreaker(long openNanos) {
+      this.openNanos = openNanos;
+    }
+
+    private synchronized boolean allowRequest() {
+      switch (state) {
+        case CLOSED:
+          return true;
+        case OPEN:
+          if (System.nanoTime() - openedAtNanos < openNanos) {
+            return false;
+          }
+          state = CircuitState.HALF_OPEN;
+          probeInFlight = true;
+          return true;
+        default:
+          if (probeInFlight) {
+            return false;
+          }
+          probeInFlight = true;
+          return true;
+      }
+    }
+
+    private synchronized void recordSuccess() {
+      consecutiveFailures = 0;
+      probeInFlight = false;
+      state = CircuitState.CLOSED;
+    }
+
+    private synchronized void recordFailure() {
+      consecutiveFailures++;
+      probeInFlight = false;
+      if (state == CircuitState.HALF_OPEN || consecutiveFailures >= FAILURES_TO_OPEN) {
+        if (state != CircuitState.OPEN) {
+          openCount++;
+        }
+        state = CircuitState.OPEN;
+        openedAtNanos = System.nanoTime();
+      }
+    }
+
+    private synchronized CircuitState state() {
+      return state;
+    }
+
+    private synchronized long openCount() {
+      return openCount;
+    }
+
+  }
+
+  public enum CircuitState {
+    CLOSED, OPEN, HALF_OPEN
+  }
+
+  /**
+   * Pacing and health of one endpoint, as seen by this client.
+   */
+  public static class EndpointStats {
+
+    private final HttpUrl url;
+    private final CircuitState circuitState;
+    private final double requestsPerSecond;
+    private final long requestCount;
+    private final long rateLimitedCount;
+    private final long failureCount;
+    private final long circuitOpenCount;
+
+    private EndpointStats(
+      HttpUrl url,
+      CircuitState circuitState,
+      double requestsPerSecond,
+      long requestCount,
+      long rateLimitedCount,
+      long failureCount,
+      long circuitOpenCount
+    ) {
+      this.url = url;
+      this.circuitState = circuitState;
+      this.requestsPerSecond = requestsPerSecond;
+      this.requestCount = requestCount;
+      this.rateLimitedCount = rateLimitedCount;
+      this.failureCount = failureCount;
+      this.circuitOpenCount = circuitOpenCount;
+    }
+
+    public HttpUrl url() {
+      return url;
+    }
+
+    public CircuitState circuitState() {
+      return circuitState;
+    }
+
+    /**
+     * The rate the endpoint is currently paced to, after any throttling.
+     */
+    public double requestsPerSecond() {
+      return requestsPerSecond;
+    }
+
+    public long requestCount() {
+      return requestCount;
+    }
+
+    public long rateLimitedCount() {
+      return rateLimitedCount;
+    }
+
+    public long failureCount() {
+      return failureCount;
+    }
+
+    public long circuitOpenCount() {
+      return circuitOpenCount;
+    }
+
+    @Override
+    public String toString() {
+      return String.format(
+        "EndpointStats{url=%s, circuitState=%s, requestsPerSecond=%.0f, requestCount=%d, rateLimitedCount=%d, " +
+          "failureCount=%d, circuitOpenCount=%d}",
+        url, circuitState, requestsPerSecond, requestCount, rateLimitedCount, failureCount, circuitOpenCount
+      );
+    }
+
+  }
+
+}
@@ -0,0 +1,121 @@
+package org.xrpl.xrpl4j.samples;
+
+import feign.FeignException;
+import org.xrpl.xrpl4j.client.JsonRpcClientErrorException;
+
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * What went wrong with an {@link org.xrpl.xrpl4j.client.XrplClient} call, and whether trying again can help.
+ *
+ * <p>{@link JsonRpcClientErrorException} carries only rippled's {@code error_message}, so rippled errors are
+ * recognized by that message (or by their error token, which some responses put there instead). HTTP failures are
+ * recognized by status, and anything else caused by an {@link IOException} is a transport failure. The same holds for
+ * a {@link BlobSubmitter}'s failures, which wrap their cause in a {@code JsonRpcClientErrorException}.
+ */
+public enum RpcError {
+
+  ACCOUNT_NOT_FOUND(Kind.TERMINAL, "actNotFound", "Account not found."),
+  TRANSACTION_NOT_FOUND(Kind.TERMINAL, "txnNotFound", "Transaction not found."),
+  LEDGER_NOT_FOUND(Kind.TERMINAL, "lgrNotFound", "ledgerNotFound"),
+  TOO_BUSY(Kind.RATE_LIMITED, "tooBusy", "The server is too busy to help you now."),
+  SLOW_DOWN(Kind.RATE_LIMITED, "slowDown", "You are placing too much load on the server."),
+  NOT_READY(Kind.RETRIABLE, "notReady", "Not ready to handle this request."),
+  NO_CURRENT(Kind.RETRIABLE, "noCurrent", "Current ledger is unavailable."),
+  NO_CLOSED(Kind.RETRIABLE, "noClosed", "Closed ledger is unavailable."),
+  NOT_SYNCED(Kind.RETRIABLE, "notSynced", "Not synced to the network."),
+  /**
+   * HTTP 503 or 429: the node, or a proxy in front of it, is shedding load.
+   */
+  HTTP_UNAVAILABLE(Kind.RATE_LIMITED, null, null),
+  HTTP_SERVER_ERROR(Kind.RETRIABLE, null, null),
+  HTTP_CLIENT_ERROR(Kind.TERMINAL, null, null),
+  /**
+   * No HTTP response at all: connection refused or reset, or a timeout.
+   */
+  TRANSPORT(Kind.RETRIABLE, null, null),
+  /**
+   * Any other rippled error, or an exception that is not an RPC failure.
+   */
+  UNKNOWN(Kind.TERMINAL, null, null);
+
+  /**
+   * Whether, and how, a failed call should be retried.
+   */
+  public enum Kind {
+    /**
+     * The node may answer differently soon, or another node may answer now.
+     */
+    RETRIABLE,
+    /**
+     * The node is overloaded; retry after backing off and send less.
+     */
+    RATE_LIMITED,
+    /**
+     * The same request will fail the same way.
+     */
+    TERMINAL
+  }
+
+  private static final Map<String, RpcError> BY_MESSAGE = new HashMap<>();
+
+  static {
+    for (RpcError error : values()) {
+      if (error.token != null) {
+        BY_MESSAGE.put(error.token, error);
+        BY_MESSAGE.put(error.message, error);
+      }
+    }
+    // rippled reports both noNetwork and notSynced with the same message.
+    BY_MESSAGE.put("noNetwork", NOT_SYNCED);
+  }
+
+  private final Kind kind;
+  private final String token;
+  private final String message;
+
+  RpcError(Kind kind, String token, String message) {
+    this.kind = kind;
+    this.token = token;
+    this.message = message;
+  }
+
+  public Kind kind() {
+    return kind;
+  }
+
+  public boolean isRetriable() {
+    return kind != Kind.TERMINAL;
+  }
+
+  /**
+   * Classifies {@code error}, as thrown by an {@code XrplClient} call.
+   */
+  public static RpcError of(Throwable error) {
+    if (error instanceof JsonRpcClientErrorException && error.getCause() == null) {
+      return BY_MESSAGE.getOrDefault(error.getMessage(), UNKNOWN);
+    }
+    for (Throwable cause = error; cause != null; cause = cause.getCause()) {
+      if (cause instanceof FeignException && ((FeignException) cause).status() > 0) {
+        return ofStatus(((FeignException) cause).status());
+      }
+      if (cause instanceof BlobSubmitter.HttpStatusException) {
+        return ofStatus(((BlobSubmitter.HttpStatusException) cause).status());
+      }
+      if (cause instanceof IOException) {
+        return TRANSPORT;
+      }
+    }
+    return UNKNOWN;
+  }
+
+  private static RpcError ofStatus(int status) {
+    if (status == 503 || status == 429) {
+      return HTTP_UNAVAILABLE;
+    }
+    return status >= 500 ? HTTP_SERVER_ERROR : HTTP_CLIENT_ERROR;
+  }
+
+}
@@ -12,21 +12,29 @@ import org.xrpl.xrpl4j.model.transactions.Address;
 import org.xrpl.xrpl4j.model.transactions.Payment;
 import org.xrpl.xrpl4j.model.transactions.XrpCurrencyAmount;
 
+import java.util.function.Supplier;
+
 public class SecureSigning {
 
   public static void main(String[] args) {
     signUsingSingleKeySignatureService();
     signUsingDerivedKeysSignatureService();
+    signUsingCachingDerivedKeysSignatureService();
   }
 
   private static void signUsingSingleKeySignatureService() {
     KeyPair randomKeyPair = Seed.ed25519Seed().deriveKeyPair();
     System.out.println("Generated KeyPair: " + randomKeyPair);
 
-    SignatureService<PrivateKey> signatureService = new BcSignatureService();
+    // Record signing latency so it can be exported in the Prometheus text format
+    Metrics metrics = new Metrics();
+    SignatureService<PrivateKey> signatureService = new InstrumentedSignatureService<>(
+      new BcSignatureService(), metrics
+    );
     Payment payment = constructPayment(randomKeyPair.publicKey());
     SingleSignedTransaction<Payment> signedPayment = signatureService.sign(randomKeyPair.privateKey(), payment);
     System.out.println("Signed Payment: " + signedPayment.signedTransaction());
+    System.out.print(metrics.scrape());
   }
 
   private static void signUsingDerivedKeysSignatureService() {
@@ -52,6 +60,39 @@ public class SecureSigning {
     System.out.println("Signed Payment: " + signedPayment.signedTransaction());
   }
 
+  private static void signUsingCachingDerivedKeysSignatureService() {
+    // Keeps up to 1,000 derived key pairs in memory so repeated signing skips key derivation
+    Supplier<ServerSecret> serverSecretSupplier = () -> ServerSecret.of("shh".getBytes());
+    CachingDerivedKeySignatureService cachingSignatureService = new CachingDerivedKeySignatureService(
+      serverSecretSupplier, 1_000
+    );
+    SignatureService<PrivateKeyReference> derivedKeySignatureService = new BcDerivedKeySignatureService(
+      serverSecretSupplier
+    );
+
+    PrivateKeyReference privateKeyReference = new PrivateKeyReference() {
+      @Override
+      public KeyType keyType() {
+        return KeyType.ED25519;
+      }
+
+      @Override
+      public String keyIdentifier() {
+        return "sample-keypair";
+      }
+    };
+
+    PublicKey publicKey = cachingSignatureService.derivePublicKey(privateKeyReference);
+    if (!publicKey.equals(derivedKeySignatureService.derivePublicKey(privateKeyReference))) {
+      throw new IllegalStateException("Cached key derivation differs from BcDerivedKeySignatureService's.");
+    }
+    Payment payment = constructPayment(publicKey);
+    SingleSignedTransaction<Payment> signedPayment = cachingSignatureService.sign(privateKeyReference, payment);
+    System.out.println("Signed Payment: " + signedPayment.signedTransaction());
+    System.out.println("Derived key cache hits: " + cachingSignatureService.hitCount() +
+      ", misses: " + cachingSignatureService.missCount());
+  }
+
   private static Payment constructPayment(PublicKey publicKey) {
     return Payment.builder()
       .account(publicKey.deriveAddress())
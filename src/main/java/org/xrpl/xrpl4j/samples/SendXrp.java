@@ -1,10 +1,8 @@
 package org.xrpl.xrpl4j.samples;
 
-import com.fasterxml.jackson.core.JsonProcessingException;
 import com.google.common.primitives.UnsignedInteger;
 import okhttp3.HttpUrl;
 import org.xrpl.xrpl4j.client.JsonRpcClientErrorException;
-import org.xrpl.xrpl4j.client.XrplClient;
 import org.xrpl.xrpl4j.client.faucet.FaucetClient;
 import org.xrpl.xrpl4j.client.faucet.FundAccountRequest;
 import org.xrpl.xrpl4j.crypto.keys.KeyPair;
@@ -19,24 +17,45 @@ import org.xrpl.xrpl4j.model.client.common.LedgerIndex;
 import org.xrpl.xrpl4j.model.client.common.LedgerSpecifier;
 import org.xrpl.xrpl4j.model.client.fees.FeeResult;
 import org.xrpl.xrpl4j.model.client.ledger.LedgerRequestParams;
-import org.xrpl.xrpl4j.model.client.transactions.SubmitResult;
-import org.xrpl.xrpl4j.model.client.transactions.TransactionRequestParams;
 import org.xrpl.xrpl4j.model.client.transactions.TransactionResult;
-import org.xrpl.xrpl4j.model.immutables.FluentCompareTo;
 import org.xrpl.xrpl4j.model.transactions.Address;
 import org.xrpl.xrpl4j.model.transactions.Payment;
 import org.xrpl.xrpl4j.model.transactions.XrpCurrencyAmount;
 
 import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.Collections;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 
 public class SendXrp {
 
-  public static void main(String[] args) throws JsonRpcClientErrorException, JsonProcessingException, InterruptedException {
+  public static void main(String[] args) throws JsonRpcClientErrorException {
     System.out.println("Running the SendXrp sample...");
 
     // Construct a network client
     HttpUrl rippledUrl = HttpUrl.get("https://s.altnet.rippletest.net:51234/");
-    XrplClient xrplClient = new XrplClient(rippledUrl);
+    // Pace requests to the public node, back off while it is busy and retry transient failures. Per-method RPC
+    // latency and errors are recorded and printed in the Prometheus text format at the end.
+    Metrics metrics = new Metrics();
+    XrplRpcClient xrplClient = new InstrumentedXrplClient(new ResilientXrplClient(
+      Collections.singletonList(rippledUrl), 10, 5, Duration.ofSeconds(2), Duration.ofSeconds(10)
+    ), metrics);
+    // Serve fee, validated ledger and validated account_info lookups from memory between ledger closes
+    CachingXrplClient cachingXrplClient = new CachingXrplClient(xrplClient, Duration.ofSeconds(1));
+    // Every request below returns a CompletableFuture instead of blocking the calling thread
+    AsyncXrplClient asyncXrplClient = new AsyncXrplClient(cachingXrplClient, 64);
+
+    // Resolve submitted transactions against each newly validated ledger
+    ValidationTracker validationTracker = new ValidationTracker();
+    ValidatedLedgerPoller ledgerPoller = new ValidatedLedgerPoller(xrplClient, Duration.ofSeconds(1));
+    ledgerPoller.addListener(validationTracker);
+    ledgerPoller.addListener(cachingXrplClient);
+    // Driven by pushed ledgerClosed events; the poller's timer only runs while the stream is disconnected
+    LedgerStreamSubscriber ledgerStreamSubscriber =
+      new LedgerStreamSubscriber("wss://s.altnet.rippletest.net:51233/", ledgerPoller);
+    ledgerPoller.start();
+    ledgerStreamSubscriber.start();
 
     // Create a KeyPair
     KeyPair randomKeyPair = Seed.ed25519Seed().deriveKeyPair();
@@ -51,97 +70,103 @@ public class SendXrp {
     faucetClient.fundAccount(FundAccountRequest.of(classicAddress));
     System.out.println("Funded the account using the Testnet faucet.");
 
-    // Wait for the Faucet Payment to get validated
-    Thread.sleep(4 * 1000);
-
-    // Look up your Account Info
-    AccountInfoRequestParams requestParams = AccountInfoRequestParams.builder()
-      .account(classicAddress)
-      .ledgerSpecifier(LedgerSpecifier.VALIDATED)
-      .build();
-    AccountInfoResult accountInfoResult = xrplClient.accountInfo(requestParams);
-    UnsignedInteger sequence = accountInfoResult.accountData().sequence();
-
-    // Request current fee information from rippled
-    FeeResult feeResult = xrplClient.fee();
-    XrpCurrencyAmount openLedgerFee = feeResult.drops().openLedgerFee();
+    SignatureService<PrivateKey> signatureService = new InstrumentedSignatureService<>(
+      new BcSignatureService(), metrics
+    );
+    try {
+      // Wait for the Faucet Payment to get validated, then send the Payment
+      TransactionResult<?> transactionResult = asyncXrplClient.delay(Duration.ofSeconds(4))
+        .thenCompose(ignored -> sendXrp(
+          asyncXrplClient,
+          validationTracker,
+          signatureService,
+          randomKeyPair,
+          Address.of("rPT1Sjq2YGrBMTttX4GZHjKu9dyfzbpAYe"),
+          XrpCurrencyAmount.ofXrp(BigDecimal.ONE)
+        ))
+        .join();
+
+      // Check transaction results
+      System.out.println(transactionResult);
+      System.out.println("Explorer link: https://testnet.xrpl.org/transactions/" + transactionResult.hash());
+      transactionResult.metadata().ifPresent(metadata -> {
+        System.out.println("Result code: " + metadata.transactionResult());
+
+        metadata.deliveredAmount().ifPresent(deliveredAmount ->
+          System.out.println("XRP Delivered: " + ((XrpCurrencyAmount) deliveredAmount).toXrp())
+        );
+      });
+    } catch (CompletionException e) {
+      if (!(e.getCause() instanceof TransactionExpiredException)) {
+        throw e;
+      }
+      System.out.println(e.getCause().getMessage());
+    } finally {
+      ledgerStreamSubscriber.close();
+      ledgerPoller.close();
+      asyncXrplClient.close();
+    }
+    System.out.print(metrics.scrape());
+  }
 
-    // Get the latest validated ledger index
-    LedgerIndex validatedLedger = xrplClient.ledger(
+  /**
+   * Sends {@code amount} from the account of {@code keyPair} to {@code destination} without blocking, completing
+   * once the Payment is validated.
+   */
+  public static CompletableFuture<TransactionResult<?>> sendXrp(
+    AsyncXrplClient asyncXrplClient,
+    ValidationTracker validationTracker,
+    SignatureService<PrivateKey> signatureService,
+    KeyPair keyPair,
+    Address destination,
+    XrpCurrencyAmount amount
+  ) {
+    Address classicAddress = keyPair.publicKey().deriveAddress();
+
+    // Look up your Account Info, current fee information and the latest validated ledger index concurrently
+    CompletableFuture<AccountInfoResult> accountInfo = asyncXrplClient.accountInfo(
+      AccountInfoRequestParams.builder()
+        .account(classicAddress)
+        .ledgerSpecifier(LedgerSpecifier.VALIDATED)
+        .build()
+    );
+    CompletableFuture<FeeResult> fee = asyncXrplClient.fee();
+    CompletableFuture<LedgerIndex> validatedLedger = asyncXrplClient.ledger(
         LedgerRequestParams.builder()
           .ledgerSpecifier(LedgerSpecifier.VALIDATED)
           .build()
       )
-      .ledgerIndex()
-      .orElseThrow(() -> new RuntimeException("LedgerIndex not available."));
-
-    // LastLedgerSequence is the current ledger index + 4
-    UnsignedInteger lastLedgerSequence = validatedLedger.plus(UnsignedInteger.valueOf(4)).unsignedIntegerValue();
-
-    // Construct a Payment
-    Payment payment = Payment.builder()
-      .account(classicAddress)
-      .amount(XrpCurrencyAmount.ofXrp(BigDecimal.ONE))
-      .destination(Address.of("rPT1Sjq2YGrBMTttX4GZHjKu9dyfzbpAYe"))
-      .sequence(sequence)
-      .fee(openLedgerFee)
-      .signingPublicKey(randomKeyPair.publicKey())
-      .lastLedgerSequence(lastLedgerSequence)
-      .build();
-    System.out.println("Constructed Payment: " + payment);
-
-    // Construct a SignatureService to sign the Payment
-    SignatureService<PrivateKey> signatureService = new BcSignatureService();
-    SingleSignedTransaction<Payment> signedPayment = signatureService.sign(randomKeyPair.privateKey(), payment);
-    System.out.println("Signed Payment: " + signedPayment.signedTransaction());
-
-    // Submit the Payment
-    SubmitResult<Payment> paymentSubmitResult = xrplClient.submit(signedPayment);
-    System.out.println(paymentSubmitResult);
-
-    // Wait for validation
-    TransactionResult<Payment> transactionResult = null;
-
-    boolean transactionValidated = false;
-    boolean transactionExpired = false;
-    while (!transactionValidated && !transactionExpired) {
-      Thread.sleep(4 * 1000);
-      LedgerIndex latestValidatedLedgerIndex = xrplClient.ledger(
-          LedgerRequestParams.builder()
-            .ledgerSpecifier(LedgerSpecifier.VALIDATED)
-            .build()
-        )
-        .ledgerIndex()
-        .orElseThrow(() -> new RuntimeException("Ledger response did not contain a LedgerIndex."));
-
-      transactionResult = xrplClient.transaction(TransactionRequestParams.of(signedPayment.hash()), Payment.class);
-
-      if (transactionResult.validated()) {
-        System.out.println("Payment was validated with result code " + transactionResult.metadata().get().transactionResult());
-        transactionValidated = true;
-      } else {
-        boolean lastLedgerSequenceHasPassed = FluentCompareTo.
-          is(latestValidatedLedgerIndex.unsignedIntegerValue())
-          .greaterThan(UnsignedInteger.valueOf(lastLedgerSequence.intValue()));
-        if (lastLedgerSequenceHasPassed) {
-          System.out.println("LastLedgerSequence has passed. Last tx response: " +
-            transactionResult);
-          transactionExpired = true;
-        } else {
-          System.out.println("Payment not yet validated.");
-        }
-      }
-    }
-
-    // Check transaction results
-    System.out.println(transactionResult);
-    System.out.println("Explorer link: https://testnet.xrpl.org/transactions/" + signedPayment.hash());
-    transactionResult.metadata().ifPresent(metadata -> {
-      System.out.println("Result code: " + metadata.transactionResult());
-
-      metadata.deliveredAmount().ifPresent(deliveredAmount ->
-        System.out.println("XRP Delivered: " + ((XrpCurrencyAmount) deliveredAmount).toXrp())
-      );
-    });
+      .thenApply(ledgerResult -> ledgerResult.ledgerIndex()
+        .orElseThrow(() -> new RuntimeException("LedgerIndex not available.")));
+
+    return CompletableFuture.allOf(accountInfo, fee, validatedLedger)
+      .thenApply(ignored -> {
+        // LastLedgerSequence is the current ledger index + 4
+        UnsignedInteger lastLedgerSequence = validatedLedger.join()
+          .plus(UnsignedInteger.valueOf(4))
+          .unsignedIntegerValue();
+
+        // Construct a Payment
+        Payment payment = Payment.builder()
+          .account(classicAddress)
+          .amount(amount)
+          .destination(destination)
+          .sequence(accountInfo.join().accountData().sequence())
+          .fee(fee.join().drops().openLedgerFee())
+          .signingPublicKey(keyPair.publicKey())
+          .lastLedgerSequence(lastLedgerSequence)
+          .build();
+
+        // Sign the Payment
+        return signatureService.sign(keyPair.privateKey(), payment);
+      })
+      .thenCompose((SingleSignedTransaction<Payment> signedPayment) -> {
+        // Track before submitting so the validated ledger containing the Payment cannot be missed
+        CompletableFuture<TransactionResult<?>> validation = validationTracker.track(signedPayment);
+        return asyncXrplClient.submit(signedPayment).thenCompose(submitResult -> {
+          System.out.println(submitResult);
+          return validation;
+        });
+      });
   }
 }
@@ -0,0 +1,116 @@
+package org.xrpl.xrpl4j.samples;
+
+import com.google.common.primitives.UnsignedInteger;
+import org.xrpl.xrpl4j.client.JsonRpcClientErrorException;
+import org.xrpl.xrpl4j.model.client.accounts.AccountInfoRequestParams;
+import org.xrpl.xrpl4j.model.client.common.LedgerSpecifier;
+import org.xrpl.xrpl4j.model.transactions.Address;
+
+import java.util.NavigableSet;
+import java.util.TreeSet;
+
+/**
+ * Hands out an account's {@code Sequence} numbers locally so that concurrent callers can sign and submit several
+ * transactions per ledger without an {@code account_info} round-trip per transaction.
+ */
+public class SequenceAllocator {
+
+  private final XrplRpcClient xrplClient;
+  private final Address account;
+
+  // Sequences handed out and then released unused, below nextSequence. They are handed out again first, so a
+  // rejected transaction's gap is filled without reusing a sequence that is still in flight.
+  private final NavigableSet<UnsignedInteger> released = new TreeSet<>();
+
+  private UnsignedInteger nextSequence;
+
+  private SequenceAllocator(XrplRpcClient xrplClient, Address account, UnsignedInteger nextSequence) {
+    this.xrplClient = xrplClient;
+    this.account = account;
+    this.nextSequence = nextSequence;
+  }
+
+  /**
+   * Reads the account's sequence from the current (open) ledger once and allocates from there.
+   */
+  public static SequenceAllocator load(XrplRpcClient xrplClient, Address account) throws JsonRpcClientErrorException {
+    return new SequenceAllocator(xrplClient, account, fetchCurrentSequence(xrplClient, account));
+  }
+
+  public Address account() {
+    return account;
+  }
+
+  public synchronized UnsignedInteger next() {
+    if (!released.isEmpty()) {
+      return released.pollFirst();
+    }
+    UnsignedInteger sequence = nextSequence;
+    nextSequence = nextSequence.plus(UnsignedInteger.ONE);
+    return sequence;
+  }
+
+  /**
+   * Takes back {@code sequence}, handed out by {@link #next()}, after its transaction was rejected without consuming
+   * it (or never submitted). It is handed out again before any new sequence; allocation only moves back when it was
+   * the last sequence handed out, so a sequence still held by an in-flight transaction is never handed out twice.
+   */
+  public synchronized void release(UnsignedInteger sequence) {
+    if (sequence.compareTo(nextSequence) >= 0) {
+      return;
+    }
+    released.add(sequence);
+    while (!released.isEmpty() && released.last().plus(UnsignedInteger.ONE).equals(nextSequence)) {
+      nextSequence = released.pollLast();
+    }
+  }
+
+  /**
+   * Re-reads the account's sequence from rippled and moves past any sequences it shows as consumed, e.g. after
+   * {@code tefPAST_SEQ}. Never moves allocation backwards; use {@link #release(UnsignedInteger)} for that.
+   */
+  public void advance() throws JsonRpcClientErrorException {
+    UnsignedInteger currentSequence = fetchCurrentSequence(xrplClient, account);
+    if (currentSequence.compareTo(UnsignedInteger.ZERO) > 0) {
+      skipPast(currentSequence.minus(UnsignedInteger.ONE));
+    }
+  }
+
+  /**
+   * Re-reads the account's sequence from rippled and, if rippled is still waiting for a sequence this allocator has
+   * already handed out, hands that one out again next. For a {@code terPRE_SEQ} gap that has outlasted a validated
+   * ledger, whose transaction never reached rippled. Should it turn up after all, one of the two ends in
+   * {@code tefPAST_SEQ}.
+   */
+  public void resync() throws JsonRpcClientErrorException {
+    UnsignedInteger currentSequence = fetchCurrentSequence(xrplClient, account);
+    synchronized (this) {
+      if (currentSequence.compareTo(UnsignedInteger.ZERO) > 0) {
+        skipPast(currentSequence.minus(UnsignedInteger.ONE));
+      }
+      release(currentSequence);
+    }
+  }
+
+  /**
+   * Moves past {@code sequence} if it has not been handed out yet, e.g. because a transaction submitted by another
+   * process or an earlier run used it. Sequences this allocator already handed out are ignored.
+   */
+  public synchronized void skipPast(UnsignedInteger sequence) {
+    released.headSet(sequence, true).clear();
+    if (sequence.compareTo(nextSequence) >= 0) {
+      nextSequence = sequence.plus(UnsignedInteger.ONE);
+    }
+  }
+
+  private static UnsignedInteger fetchCurrentSequence(XrplRpcClient xrplClient, Address account)
+    throws JsonRpcClientErrorException {
+    return xrplClient.accountInfo(
+      AccountInfoRequestParams.builder()
+        .ledgerSpecifier(LedgerSpecifier.CURRENT)
+        .account(account)
+        .build()
+    ).accountData().sequence();
+  }
+
+}
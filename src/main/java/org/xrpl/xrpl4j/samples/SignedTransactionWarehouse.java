@@ -0,0 +1,582 @@
+package org.xrpl.xrpl4j.samples;
+
+import com.google.common.io.BaseEncoding;
+import com.google.common.primitives.UnsignedInteger;
+import org.xrpl.xrpl4j.codec.addresses.AddressCodec;
+import org.xrpl.xrpl4j.codec.addresses.UnsignedByteArray;
+import org.xrpl.xrpl4j.crypto.signing.SingleSignedTransaction;
+import org.xrpl.xrpl4j.model.transactions.Address;
+import org.xrpl.xrpl4j.model.transactions.Hash256;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.nio.Buffer;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Consumer;
+
+/**
+ * Keeps signed transaction blobs off the heap, in memory-mapped append-only segment files, so millions of transactions
+ * can be signed ahead of time (as in {@link SecureSigning}) and submitted later, including after a restart.
+ *
+ * <p>Each blob is indexed by hash and by account and sequence. The heap holds only the indexes, a few dozen bytes per
+ * transaction. {@link #pending(Address, UnsignedInteger, int)} pages through an account's unvalidated transactions in
+ * sequence order; once a transaction validates, {@link #markValidated(Hash256)} flags it in place and
+ * {@link #compact()} later drops it from disk.
+ *
+ * <p>Writes reach the page cache straight away and disk on {@link #flush()} or {@link #close()}. A record whose
+ * length header was never written, because the process died mid-append, is ignored on reopening.
+ *
+ * <p>{@link StoredTransaction}s are views of the segments rather than copies, so reading one allocates nothing but the
+ * view. Segments are unmapped when they are deleted or closed, so a view must not be used after the next
+ * {@link #compact()} or {@link #close()}.
+ */
+public class SignedTransactionWarehouse implements Closeable {
+
+  // Record layout: length, state, hash, account ID, sequence, blob length, blob. Length is written last.
+  private static final int LENGTH_OFFSET = 0;
+  private static final int STATE_OFFSET = 4;
+  private static final int HASH_OFFSET = 5;
+  private static final int ACCOUNT_OFFSET = HASH_OFFSET + 32;
+  private static final int SEQUENCE_OFFSET = ACCOUNT_OFFSET + 20;
+  private static final int BLOB_LENGTH_OFFSET = SEQUENCE_OFFSET + 4;
+  private static final int HEADER_LENGTH = BLOB_LENGTH_OFFSET + 4;
+
+  private static final byte PENDING = 0;
+  private static final byte VALIDATED = 1;
+
+  private static final String SEGMENT_SUFFIX = ".segment";
+
+  // Null where the JDK offers no way to unmap, leaving each mapping to be released when its buffer is collected.
+  private static final Consumer<MappedByteBuffer> UNMAPPER = unmapper();
+
+  private final Path directory;
+  private final int segmentSize;
+  private final List<Segment> segments = new ArrayList<>();
+  private final HashPrefixIndex hashIndex = new HashPrefixIndex();
+  private final Map<Address, SequenceIndex> sequenceIndexes = new HashMap<>();
+  private long nextSegmentNumber;
+  private long pendingCount;
+  // Bumped whenever segments are unmapped, which invalidates every StoredTransaction read before.
+  private volatile int generation;
+
+  /**
+   * Opens the warehouse in {@code directory}, creating it if needed, and indexes every segment already there.
+   *
+   * @param segmentSize the size of each segment file, which bounds the largest blob that can be stored.
+   */
+  public SignedTransactionWarehouse(Path directory, int segmentSize) throws IOException {
+    this.directory = directory;
+    this.segmentSize = segmentSize;
+    Files.createDirectories(directory);
+
+    List<Path> paths = new ArrayList<>();
+    try (DirectoryStream<Path> stream = Files.newDirectoryStream(directory, "*" + SEGMENT_SUFFIX)) {
+      stream.forEach(paths::add);
+    }
+    paths.sort(null);
+    for (Path path : paths) {
+      long number = Long.parseLong(path.getFileName().toString().replace(SEGMENT_SUFFIX, ""));
+      segments.add(Segment.open(path, segmentSize));
+      nextSegmentNumber = number + 1;
+    }
+    reindex();
+  }
+
+  /**
+   * Stores {@code signedTransaction} unless a transaction with the same hash is already stored.
+   *
+   * @return whether it was stored.
+   */
+  public synchronized boolean put(SingleSignedTransaction<?> signedTransaction) throws IOException {
+    byte[] hash = BaseEncoding.base16().decode(signedTransaction.hash().value());
+    if (find(hash) >= 0) {
+      return false;
+    }
+    byte[] blob = signedTransaction.signedTransactionBytes().toByteArray();
+    Address account = signedTransaction.signedTransaction().account();
+    byte[] accountId = AddressCodec.getInstance().decodeAccountId(account).toByteArray();
+    long sequence = signedTransaction.signedTransaction().sequence().longValue();
+
+    int recordLength = HEADER_LENGTH + blob.length;
+    if (recordLength > segmentSize) {
+      throw new IllegalArgumentException("A " + blob.length + " byte blob does not fit in a segment.");
+    }
+    Segment segment = activeSegment(recordLength);
+    ByteBuffer buffer = segment.buffer;
+    int offset = segment.writePosition;
+    buffer.put(offset + STATE_OFFSET, PENDING);
+    putBytes(buffer, offset + HASH_OFFSET, hash);
+    putBytes(buffer, offset + ACCOUNT_OFFSET, accountId);
+    buffer.putInt(offset + SEQUENCE_OFFSET, (int) sequence);
+    buffer.putInt(offset + BLOB_LENGTH_OFFSET, blob.length);
+    putBytes(buffer, offset + HEADER_LENGTH, blob);
+    buffer.putInt(offset + LENGTH_OFFSET, recordLength);
+    segment.writePosition += recordLength;
+
+    index(account, segments.size() - 1, offset);
+    return true;
+  }
+
+  public synchronized Optional<StoredTransaction> get(Hash256 hash) {
+    long location = find(BaseEncoding.base16().decode(hash.value()));
+    return location < 0 ? Optional.empty() : Optional.of(read(location, hash, null));
+  }
+
+  /**
+   * Every stored transaction for {@code account} with {@code sequence}; more than one if it was re-signed.
+   */
+  public synchronized List<StoredTransaction> get(Address account, UnsignedInteger sequence) {
+    List<StoredTransaction> found = new ArrayList<>();
+    SequenceIndex sequenceIndex = sequenceIndexes.get(account);
+    if (sequenceIndex != null) {
+      for (int i = sequenceIndex.firstAtOrAfter(sequence.longValue());
+           i < sequenceIndex.size && sequenceIndex.sequences[i] == sequence.longValue(); i++) {
+        found.add(read(sequenceIndex.locations[i], null, account));
+      }
+    }
+    return found;
+  }
+
+  /**
+   * Up to {@code limit} of {@code account}'s unvalidated transactions, in sequence order, starting at
+   * {@code fromSequence}. Page through them by passing one more than the last sequence returned.
+   */
+  public synchronized List<StoredTransaction> pending(Address account, UnsignedInteger fromSequence, int limit) {
+    List<StoredTransaction> page = new ArrayList<>(Math.min(limit, 1024));
+    SequenceIndex sequenceIndex = sequenceIndexes.get(account);
+    if (sequenceIndex == null) {
+      return page;
+    }
+    for (int i = sequenceIndex.firstAtOrAfter(fromSequence.longValue()); i < sequenceIndex.size; i++) {
+      long location = sequenceIndex.locations[i];
+      if (state(location) == PENDING) {
+        page.add(read(location, null, account));
+        if (page.size() == limit) {
+          break;
+        }
+      }
+    }
+    return page;
+  }
+
+  /**
+   * Every account with a stored transaction.
+   */
+  public synchronized List<Address> accounts() {
+    return new ArrayList<>(sequenceIndexes.keySet());
+  }
+
+  /**
+   * Flags the transaction with {@code hash} as validated, so it is no longer pending and the next {@link #compact()}
+   * removes it.
+   *
+   * @return whether a pending transaction with that hash was stored.
+   */
+  public synchronized boolean markValidated(Hash256 hash) {
+    long location = find(BaseEncoding.base16().decode(hash.value()));
+    if (location < 0 || state(location) != PENDING) {
+      return false;
+    }
+    segments.get(segment(location)).buffer.put(offset(location) + STATE_OFFSET, VALIDATED);
+    pendingCount--;
+    return true;
+  }
+
+  public synchronized long pendingCount() {
+    return pendingCount;
+  }
+
+  /**
+   * Rewrites every pending transaction into new segments and deletes the old ones, reclaiming the space held by
+   * validated transactions. Invalidates every previously returned {@link StoredTransaction} and its blob.
+   */
+  public synchronized void compact() throws IOException {
+    // Only the indexed copy of a pending record survives, not stale duplicates from an interrupted compaction.
+    long[] live = new long[(int) Math.min(pendingCount, Integer.MAX_VALUE)];
+    int liveCount = 0;
+    for (int segmentIndex = 0; segmentIndex < segments.size(); segmentIndex++) {
+      ByteBuffer buffer = segments.get(segmentIndex).buffer;
+      for (int offset = 0; offset < segments.get(segmentIndex).writePosition; ) {
+        long location = location(segmentIndex, offset);
+        if (buffer.get(offset + STATE_OFFSET) == PENDING && find(hashAt(buffer, offset)) == location) {
+          if (liveCount == live.length) {
+            live = Arrays.copyOf(live, Math.max(16, liveCount * 2));
+          }
+          live[liveCount++] = location;
+        }
+        offset += buffer.getInt(offset + LENGTH_OFFSET);
+      }
+    }
+
+    List<Segment> oldSegments = new ArrayList<>(segments);
+    segments.clear();
+    for (int i = 0; i < liveCount; i++) {
+      long location = live[i];
+      ByteBuffer source = oldSegments.get(segment(location)).buffer;
+      int offset = offset(location);
+      int recordLength = source.getInt(offset + LENGTH_OFFSET);
+      Segment segment = activeSegment(recordLength);
+      ByteBuffer record = source.duplicate();
+      ((Buffer) record).limit(offset + recordLength).position(offset);
+      ByteBuffer target = segment.buffer.duplicate();
+      ((Buffer) target).position(segment.writePosition);
+      target.put(record);
+      segment.writePosition += recordLength;
+    }
+    // The copies are durable before the originals go, so a crash in between leaves duplicates, not gaps.
+    for (Segment segment : segments) {
+      segment.buffer.force();
+    }
+    // Unmapped before deleting, or the disk space is only reclaimed (and, on Windows, the file only deletable) once
+    // the collector happens to release the mappings.
+    generation++;
+    for (Segment oldSegment : oldSegments) {
+      oldSegment.close();
+      Files.delete(oldSegment.path);
+    }
+    oldSegments.clear();
+    reindex();
+  }
+
+  /**
+   * Forces everything stored or marked so far to disk.
+   */
+  public synchronized void flush() {
+    for (Segment segment : segments) {
+      segment.buffer.force();
+    }
+  }
+
+  @Override
+  public synchronized void close() throws IOException {
+    flush();
+    generation++;
+    for (Segment segment : segments) {
+      segment.close();
+    }
+    segments.clear();
+  }
+
+  private Segment activeSegment(int recordLength) throws IOException {
+    Segment active = segments.isEmpty() ? null : segments.get(segments.size() - 1);
+    if (active == null || active.writePosition + recordLength > segmentSize) {
+      Path path = directory.resolve(String.format("%016d%s", nextSegmentNumber, SEGMENT_SUFFIX));
+      active = Segment.open(path, segmentSize);
+      nextSegmentNumber++;
+      segments.add(active);
+    }
+    return active;
+  }
+
+  private void reindex() {
+    hashIndex.clear();
+    sequenceIndexes.clear();
+    pendingCount = 0;
+    // Indexing account IDs rather than addresses skips base58 for runs of one account's transactions.
+    byte[] previousAccountId = new byte[20];
+    byte[] accountId = new byte[20];
+    Address account = null;
+    for (int segmentIndex = 0; segmentIndex < segments.size(); segmentIndex++) {
+      Segment segment = segments.get(segmentIndex);
+      ByteBuffer buffer = segment.buffer;
+      int offset = 0;
+      while (offset + HEADER_LENGTH <= segmentSize) {
+        int recordLength = buffer.getInt(offset + LENGTH_OFFSET);
+        int blobLength = buffer.getInt(offset + BLOB_LENGTH_OFFSET);
+        if (recordLength == 0 || recordLength != HEADER_LENGTH + blobLength || offset + recordLength > segmentSize) {
+          break;
+        }
+        // A compaction interrupted before deleting its source segments leaves a second copy behind.
+        if (find(hashAt(buffer, offset)) < 0) {
+          getBytes(buffer, offset + ACCOUNT_OFFSET, accountId);
+          if (account == null || !Arrays.equals(accountId, previousAccountId)) {
+            account = AddressCodec.getInstance().encodeAccountId(UnsignedByteArray.of(accountId));
+            System.arraycopy(accountId, 0, previousAccountId, 0, accountId.length);
+          }
+          index(account, segmentIndex, offset);
+        }
+        offset += recordLength;
+      }
+      segment.writePosition = offset;
+    }
+  }
+
+  private void index(Address account, int segmentIndex, int offset) {
+    long location = location(segmentIndex, offset);
+    ByteBuffer buffer = segments.get(segmentIndex).buffer;
+    hashIndex.put(buffer.getLong(offset + HASH_OFFSET), location);
+    sequenceIndexes.computeIfAbsent(account, a -> new SequenceIndex())
+      .add(Integer.toUnsignedLong(buffer.getInt(offset + SEQUENCE_OFFSET)), location);
+    if (buffer.get(offset + STATE_OFFSET) == PENDING) {
+      pendingCount++;
+    }
+  }
+
+  /**
+   * The location of the record with {@code hash}, or -1.
+   */
+  private long find(byte[] hash) {
+    long prefix = ByteBuffer.wrap(hash).getLong();
+    for (int slot = hashIndex.firstSlot(prefix); hashIndex.location(slot) >= 0; slot = hashIndex.nextSlot(slot)) {
+      if (hashIndex.prefix(slot) == prefix) {
+        long location = hashIndex.location(slot);
+        if (Arrays.equals(hash, hashAt(segments.get(segment(location)).buffer, offset(location)))) {
+          return location;
+        }
+      }
+    }
+    return -1;
+  }
+
+  private byte state(long location) {
+    return segments.get(segment(location)).buffer.get(offset(location) + STATE_OFFSET);
+  }
+
+  /**
+   * A view of the record at {@code location}. The hash and account are decoded from the segment only if they are asked
+   * for and the caller does not already know them.
+   */
+  private StoredTransaction read(long location, Hash256 hash, Address account) {
+    ByteBuffer buffer = segments.get(segment(location)).readOnlyBuffer;
+    int offset = offset(location);
+    return new StoredTransaction(
+      this,
+      generation,
+      buffer,
+      offset,
+      hash,
+      account,
+      buffer.getInt(offset + SEQUENCE_OFFSET),
+      buffer.get(offset + STATE_OFFSET) == VALIDATED
+    );
+  }
+
+  private static byte[] hashAt(ByteBuffer buffer, int offset) {
+    byte[] hash = new byte[32];
+    getBytes(buffer, offset + HASH_OFFSET, hash);
+    return hash;
+  }
+
+  private static void putBytes(ByteBuffer buffer, int offset, byte[] bytes) {
+    ByteBuffer target = buffer.duplicate();
+    ((Buffer) target).position(offset);
+    target.put(bytes);
+  }
+
+  private static void getBytes(ByteBuffer buffer, int offset, byte[] bytes) {
+    ByteBuffer source = buffer.duplicate();
+    ((Buffer) source).position(offset);
+    source.get(bytes);
+  }
+
+  private static Consumer<MappedByteBuffer> unmapper() {
+    try {
+      // Java 9 and later.
+      Class<?> unsafeClass = Class.forName("sun.misc.Unsafe");
+      Field theUnsafe = unsafeClass.getDeclaredField("theUnsafe");
+      theUnsafe.setAccessible(true);
+      Object unsafe = theUnsafe.get(null);
+      Method invokeCleaner = unsafeClass.getMethod("invokeCleaner", ByteBuffer.class);
+      return buffer -> invoke(invokeCleaner, unsafe, buffer);
+    } catch (NoSuchMethodException e) {
+      // Java 8.
+      try {
+        Method cleaner = Class.forName("sun.nio.ch.DirectBuffer").getMethod("cleaner");
+        Method clean = Class.forName("sun.misc.Cleaner").getMethod("clean");
+        return buffer -> invoke(clean, invoke(cleaner, buffer));
+      } catch (ReflectiveOperationException | RuntimeException unsupported) {
+        return null;
+      }
+    } catch (ReflectiveOperationException | RuntimeException unsupported) {
+      return null;
+    }
+  }
+
+  private static Object invoke(Method method, Object target, Object... arguments) {
+    try {
+      return method.invoke(target, arguments);
+    } catch (ReflectiveOperationException e) {
+      throw new IllegalStateException("Could not unmap a segment.", e);
+    }
+  }
+
+  private static long location(int segmentIndex, int offset) {
+    return ((long) segmentIndex << 32) | offset;
+  }
+
+  private static int segment(long location) {
+    return (int) (location >>> 32);
+  }
+
+  private static int offset(long location) {
+    return (int) location;
+  }
+
+  /**
+   * A stored signed transaction, read from its segment, valid until the next {@link #compact()} or {@link #close()}.
+   * Its blob is a read-only view of the segment and can be submitted without copying through
+   * {@link BlobSubmitter#submit(ByteBuffer)}.
+   */
+  public static class StoredTransaction {
+
+    private final SignedTransactionWarehouse warehouse;
+    private final int generation;
+    private final ByteBuffer buffer;
+    private final int offset;
+    private final int sequence;
+    private final boolean validated;
+    private Hash256 hash;
+    private Address account;
+
+    private StoredTransaction(
+      SignedTransactionWarehouse warehouse,
+      int generation,
+      ByteBuffer buffer,
+      int offset,
+      Hash256 hash,
+      Address account,
+      int sequence,
+      boolean validated
+    ) {
+      this.warehouse = warehouse;
+      this.generation = generation;
+      this.buffer = buffer;
+      this.offset = offset;
+      this.hash = hash;
+      this.account = account;
+      this.sequence = sequence;
+      this.validated = validated;
+    }
+
+    public Hash256 hash() {
+      if (hash == null) {
+        checkMapped();
+        hash = Hash256.of(BaseEncoding.base16().encode(hashAt(buffer, offset)));
+      }
+      return hash;
+    }
+
+    public Address account() {
+      if (account == null) {
+        checkMapped();
+        byte[] accountId = new byte[20];
+        getBytes(buffer, offset + ACCOUNT_OFFSET, accountId);
+        account = AddressCodec.getInstance().encodeAccountId(UnsignedByteArray.of(accountId));
+      }
+      return account;
+    }
+
+    public UnsignedInteger sequence() {
+      return UnsignedInteger.fromIntBits(sequence);
+    }
+
+    public boolean validated() {
+      return validated;
+    }
+
+    public ByteBuffer blob() {
+      checkMapped();
+      ByteBuffer blob = buffer.duplicate();
+      // Cast so that a JDK 9+ build still links against Java 8's Buffer methods, not ByteBuffer's covariant overrides.
+      ((Buffer) blob).limit(offset + HEADER_LENGTH + buffer.getInt(offset + BLOB_LENGTH_OFFSET))
+        .position(offset + HEADER_LENGTH);
+      return blob.slice();
+    }
+
+    private void checkMapped() {
+      // Reading an unmapped segment would crash the JVM rather than throw.
+      if (warehouse.generation != generation) {
+        throw new IllegalStateException("The warehouse was compacted or closed after this transaction was read.");
+      }
+    }
+
+  }
+
+  private static class Segment {
+
+    private final Path path;
+    private final FileChannel channel;
+    private final MappedByteBuffer buffer;
+    private final ByteBuffer readOnlyBuffer;
+    private int writePosition;
+
+    private Segment(Path path, FileChannel channel, MappedByteBuffer buffer) {
+      this.path = path;
+      this.channel = channel;
+      this.buffer = buffer;
+      this.readOnlyBuffer = buffer.asReadOnlyBuffer();
+    }
+
+    private static Segment open(Path path, int size) throws IOException {
+      FileChannel channel = FileChannel.open(
+        path, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE
+      );
+      return new Segment(path, channel, channel.map(FileChannel.MapMode.READ_WRITE, 0, size));
+    }
+
+    private void close() throws IOException {
+      channel.close();
+      if (UNMAPPER != null) {
+        UNMAPPER.accept(buffer);
+      }
+    }
+
+  }
+
+  /**
+   * One account's record locations, sorted by sequence. Transactions are usually stored in sequence order, so adding
+   * is almost always an append.
+   */
+  private static class SequenceIndex {
+
+    private long[] sequences = new long[16];
+    private long[] locations = new long[16];
+    private int size;
+
+    private void add(long sequence, long location) {
+      if (size == sequences.length) {
+        sequences = Arrays.copyOf(sequences, size * 2);
+        locations = Arrays.copyOf(locations, size * 2);
+      }
+      int index = size;
+      if (size > 0 && sequences[size - 1] > sequence) {
+        index = firstAtOrAfter(sequence + 1);
+        System.arraycopy(sequences, index, sequences, index + 1, size - index);
+        System.arraycopy(locations, index, locations, index + 1, size - index);
+      }
+      sequences[index] = sequence;
+      locations[index] = location;
+      size++;
+    }
+
+    private int firstAtOrAfter(long sequence) {
+      int low = 0;
+      int high = size;
+      while (low < high) {
+        int middle = (low + high) >>> 1;
+        if (sequences[middle] < sequence) {
+          low = middle + 1;
+        } else {
+          high = middle;
+        }
+      }
+      return low;
+    }
+
+  }
+
+}
@@ -0,0 +1,111 @@
+package org.xrpl.xrpl4j.samples;
+
+import com.google.common.primitives.UnsignedInteger;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.xrpl.xrpl4j.crypto.keys.KeyPair;
+import org.xrpl.xrpl4j.crypto.keys.PrivateKey;
+import org.xrpl.xrpl4j.crypto.keys.Seed;
+import org.xrpl.xrpl4j.crypto.signing.SignatureService;
+import org.xrpl.xrpl4j.crypto.signing.bc.BcSignatureService;
+import org.xrpl.xrpl4j.model.transactions.Address;
+import org.xrpl.xrpl4j.model.transactions.Payment;
+import org.xrpl.xrpl4j.model.transactions.XrpCurrencyAmount;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JMH benchmark of ed25519 and secp256k1 signatures per second, single-threaded and through a {@link BatchSigner}, to
+ * help size signing hosts. Scores are signatures per second; the {@code gc} profiler reports bytes allocated per
+ * signature ({@code gc.alloc.rate.norm} divided by the batch size).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SigningBenchmark {
+
+  private static final int BATCH_SIZE = 1_000;
+
+  @Param({"ed25519", "secp256k1"})
+  public String keyType;
+
+  private SignatureService<PrivateKey> signatureService;
+  private ExecutorService executor;
+  private BatchSigner<PrivateKey> batchSigner;
+  private KeyPair keyPair;
+  private List<Payment> payments;
+
+  public static void main(String[] args) throws RunnerException {
+    new Runner(new OptionsBuilder()
+      .include(SigningBenchmark.class.getSimpleName())
+      .addProfiler(GCProfiler.class)
+      .build()
+    ).run();
+  }
+
+  @Setup
+  public void setUp() {
+    signatureService = new BcSignatureService();
+    executor = BatchSigner.defaultExecutor();
+    batchSigner = new BatchSigner<>(signatureService, executor);
+    keyPair = "ed25519".equals(keyType) ? Seed.ed25519Seed().deriveKeyPair() : Seed.secp256k1Seed().deriveKeyPair();
+    payments = constructPayments(keyPair, BATCH_SIZE);
+  }
+
+  @TearDown
+  public void tearDown() {
+    executor.shutdown();
+  }
+
+  @Benchmark
+  @OperationsPerInvocation(BATCH_SIZE)
+  public void singleThreaded(Blackhole blackhole) {
+    for (Payment payment : payments) {
+      blackhole.consume(signatureService.sign(keyPair.privateKey(), payment));
+    }
+  }
+
+  @Benchmark
+  @OperationsPerInvocation(BATCH_SIZE)
+  public Object batched() throws InterruptedException {
+    return batchSigner.signAll(keyPair.privateKey(), payments);
+  }
+
+  private static List<Payment> constructPayments(KeyPair keyPair, int count) {
+    List<Payment> payments = new ArrayList<>(count);
+    for (int i = 0; i < count; i++) {
+      payments.add(Payment.builder()
+        .account(keyPair.publicKey().deriveAddress())
+        .destination(Address.of("rPT1Sjq2YGrBMTttX4GZHjKu9dyfzbpAYe"))
+        .amount(XrpCurrencyAmount.ofDrops(1000 + i))
+        .fee(XrpCurrencyAmount.ofDrops(10))
+        .sequence(UnsignedInteger.valueOf(i + 1))
+        .signingPublicKey(keyPair.publicKey())
+        .build());
+    }
+    return payments;
+  }
+
+}
@@ -0,0 +1,131 @@
+package org.xrpl.xrpl4j.samples;
+
+import com.google.common.primitives.UnsignedInteger;
+import okhttp3.HttpUrl;
+import org.xrpl.xrpl4j.client.JsonRpcClientErrorException;
+import org.xrpl.xrpl4j.crypto.keys.KeyPair;
+import org.xrpl.xrpl4j.crypto.keys.PrivateKey;
+import org.xrpl.xrpl4j.crypto.keys.Seed;
+import org.xrpl.xrpl4j.crypto.signing.SignatureService;
+import org.xrpl.xrpl4j.crypto.signing.bc.BcSignatureService;
+import org.xrpl.xrpl4j.model.client.transactions.SubmitResult;
+import org.xrpl.xrpl4j.model.client.transactions.TransactionRequestParams;
+import org.xrpl.xrpl4j.model.transactions.Address;
+import org.xrpl.xrpl4j.model.transactions.Payment;
+import org.xrpl.xrpl4j.model.transactions.Transaction;
+import org.xrpl.xrpl4j.model.transactions.XrpCurrencyAmount;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Signs a batch of Payments offline into a {@link SignedTransactionWarehouse}, reopens it as a later process would,
+ * then submits everything pending in sequence order to an embedded {@link FakeRippled}, marks what validated and
+ * compacts the warehouse. Pass the number of Payments as the first argument (defaults to 10,000).
+ */
+public class StagePresignedPayments {
+
+  private static final int SEGMENT_SIZE = 16 * 1024 * 1024;
+  private static final int PAGE_SIZE = 1_000;
+
+  public static void main(String[] args) throws Exception {
+    int paymentCount = args.length > 0 ? Integer.parseInt(args[0]) : 10_000;
+    System.out.println("Running the StagePresignedPayments sample with " + paymentCount + " payments...");
+    Path directory = Files.createTempDirectory("warehouse");
+    KeyPair keyPair = Seed.ed25519Seed().deriveKeyPair();
+    Address account = keyPair.publicKey().deriveAddress();
+
+    // Offline: sign and stage -------------------------------------------------
+    SignatureService<PrivateKey> signatureService = new BcSignatureService();
+    long start = System.nanoTime();
+    try (SignedTransactionWarehouse warehouse = new SignedTransactionWarehouse(directory, SEGMENT_SIZE)) {
+      for (int i = 0; i < paymentCount; i++) {
+        warehouse.put(signatureService.sign(keyPair.privateKey(), Payment.builder()
+          .account(account)
+          .destination(Address.of("rPT1Sjq2YGrBMTttX4GZHjKu9dyfzbpAYe"))
+          .amount(XrpCurrencyAmount.ofDrops(1000))
+          .fee(XrpCurrencyAmount.ofDrops(10))
+          .sequence(UnsignedInteger.valueOf(i + 1))
+          .signingPublicKey(keyPair.publicKey())
+          .build()));
+      }
+    }
+    System.out.printf("Staged %d signed payments in %.1fs across %d segment files%n", paymentCount,
+      (System.nanoTime() - start) / 1e9, segmentCount(directory));
+
+    // Later: reopen, submit and reconcile -------------------------------------
+    try (
+      FakeRippled fakeRippled = new FakeRippled(Duration.ofMillis(500), 0.0, 0.0, 0.0);
+      SignedTransactionWarehouse warehouse = new SignedTransactionWarehouse(directory, SEGMENT_SIZE)
+    ) {
+      HttpUrl rippledUrl = fakeRippled.start(0);
+      XrplRpcClient xrplClient = XrplRpcClient.of(rippledUrl);
+      BlobSubmitter blobSubmitter = new BlobSubmitter(rippledUrl);
+      System.out.println("Reopened with " + warehouse.pendingCount() + " pending payments");
+
+      start = System.nanoTime();
+      List<SignedTransactionWarehouse.StoredTransaction> submitted = new ArrayList<>();
+      UnsignedInteger next = UnsignedInteger.ZERO;
+      List<SignedTransactionWarehouse.StoredTransaction> page;
+      while (!(page = warehouse.pending(account, next, PAGE_SIZE)).isEmpty()) {
+        for (SignedTransactionWarehouse.StoredTransaction storedTransaction : page) {
+          SubmitResult<Transaction> result = blobSubmitter.submit(storedTransaction.blob());
+          if ("tesSUCCESS".equals(result.engineResult())) {
+            submitted.add(storedTransaction);
+          } else {
+            System.out.println("Sequence " + storedTransaction.sequence() + " was not applied: " +
+              result.engineResult());
+          }
+        }
+        next = page.get(page.size() - 1).sequence().plus(UnsignedInteger.ONE);
+      }
+      System.out.printf("Submitted %d payments from mapped segments in %.1fs%n", submitted.size(),
+        (System.nanoTime() - start) / 1e9);
+
+      while (!submitted.isEmpty()) {
+        Thread.sleep(500);
+        for (Iterator<SignedTransactionWarehouse.StoredTransaction> iterator = submitted.iterator();
+             iterator.hasNext(); ) {
+          SignedTransactionWarehouse.StoredTransaction storedTransaction = iterator.next();
+          if (isValidated(xrplClient, storedTransaction)) {
+            warehouse.markValidated(storedTransaction.hash());
+            iterator.remove();
+          }
+        }
+      }
+      warehouse.compact();
+      System.out.println("Submitted payments validated; " + warehouse.pendingCount() + " pending and " +
+        segmentCount(directory) + " segment files after compaction");
+    } finally {
+      try (Stream<Path> paths = Files.list(directory)) {
+        for (Path path : (Iterable<Path>) paths::iterator) {
+          Files.delete(path);
+        }
+      }
+      Files.delete(directory);
+    }
+  }
+
+  private static boolean isValidated(
+    XrplRpcClient xrplClient,
+    SignedTransactionWarehouse.StoredTransaction transaction
+  ) {
+    try {
+      return xrplClient.transaction(TransactionRequestParams.of(transaction.hash()), Transaction.class).validated();
+    } catch (JsonRpcClientErrorException e) {
+      return false;
+    }
+  }
+
+  private static long segmentCount(Path directory) throws Exception {
+    try (Stream<Path> paths = Files.list(directory)) {
+      return paths.count();
+    }
+  }
+
+}
@@ -0,0 +1,264 @@
+package org.xrpl.xrpl4j.samples;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.google.common.primitives.UnsignedInteger;
+import org.xrpl.xrpl4j.model.jackson.ObjectMapperFactory;
+import org.xrpl.xrpl4j.model.transactions.Hash256;
+import org.xrpl.xrpl4j.model.transactions.Transaction;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * An append-only, fsynced log of every signed submission attempt and final outcome, one JSON object per line, so a
+ * {@link ReliableSubmitter} can pick up where it left off after a restart.
+ *
+ * <p>Each attempt is written before it is submitted. Opening a journal compacts it: finished submissions keep only
+ * their outcome, and a line torn by a crash mid-write is dropped.
+ */
+public class SubmissionJournal implements Closeable {
+
+  private static final String ATTEMPT = "attempt";
+  private static final String OUTCOME = "outcome";
+
+  private final ObjectMapper objectMapper = ObjectMapperFactory.create();
+  private final Map<String, Entry> entries = new LinkedHashMap<>();
+  private final FileChannel channel;
+
+  public SubmissionJournal(Path path) throws IOException {
+    if (Files.exists(path)) {
+      for (String line : Files.readAllLines(path, StandardCharsets.UTF_8)) {
+        try {
+          apply(objectMapper.readTree(line));
+        } catch (IOException e) {
+          // Only the last line can be torn, and its attempt was never submitted.
+        }
+      }
+    }
+    compact(path);
+    this.channel = FileChannel.open(path, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+  }
+
+  public synchronized Optional<Entry> entry(String key) {
+    return Optional.ofNullable(entries.get(key));
+  }
+
+  /**
+   * Every submission that has no outcome yet, in the order they were first journaled.
+   */
+  public synchronized List<Entry> openEntries() {
+    List<Entry> open = new ArrayList<>();
+    for (Entry entry : entries.values()) {
+      if (!entry.outcome().isPresent()) {
+        open.add(entry);
+      }
+    }
+    return open;
+  }
+
+  public synchronized void appendAttempt(String key, Hash256 hash, Transaction transaction) throws IOException {
+    append(attemptRecord(key, hash, transaction));
+  }
+
+  /**
+   * @param validated whether {@code hash} made it into a validated ledger, as opposed to the submission being given
+   *                  up on.
+   * @param retryable whether a submission that was given up on may be submitted again: none of its attempts was
+   *                  applied and it was not rejected as malformed.
+   */
+  public synchronized void appendOutcome(String key, Hash256 hash, boolean validated, boolean retryable, String detail)
+    throws IOException {
+    append(outcomeRecord(key, new Outcome(hash, validated, retryable, detail)));
+  }
+
+  @Override
+  public synchronized void close() throws IOException {
+    channel.close();
+  }
+
+  private void append(ObjectNode record) throws IOException {
+    byte[] bytes = (objectMapper.writeValueAsString(record) + "\n").getBytes(StandardCharsets.UTF_8);
+    ByteBuffer line = ByteBuffer.wrap(bytes);
+    while (line.hasRemaining()) {
+      channel.write(line);
+    }
+    channel.force(false);
+    // Only once durable, so nothing reads back a record that a crash could still lose.
+    apply(record);
+  }
+
+  private void apply(JsonNode record) throws IOException {
+    String key = record.path("key").asText();
+    Entry entry = entries.computeIfAbsent(key, Entry::new);
+    Hash256 hash = Hash256.of(record.path("hash").asText());
+    if (ATTEMPT.equals(record.path("type").asText())) {
+      if (entry.outcome != null) {
+        // Submitted again after a retryable failure; the earlier attempts were never applied.
+        entry.outcome = null;
+        entry.attempts.clear();
+      }
+      entry.attempts.add(new Attempt(hash, objectMapper.treeToValue(record.get("transaction"), Transaction.class)));
+    } else {
+      entry.outcome = new Outcome(
+        hash, record.path("validated").asBoolean(), record.path("retryable").asBoolean(), record.path("detail").asText()
+      );
+    }
+  }
+
+  private ObjectNode attemptRecord(String key, Hash256 hash, Transaction transaction) {
+    ObjectNode record = objectMapper.createObjectNode();
+    record.put("type", ATTEMPT);
+    record.put("key", key);
+    record.put("hash", hash.value());
+    record.set("transaction", objectMapper.valueToTree(transaction));
+    return record;
+  }
+
+  private ObjectNode outcomeRecord(String key, Outcome outcome) {
+    ObjectNode record = objectMapper.createObjectNode();
+    record.put("type", OUTCOME);
+    record.put("key", key);
+    record.put("hash", outcome.hash.value());
+    record.put("validated", outcome.validated);
+    record.put("retryable", outcome.retryable);
+    record.put("detail", outcome.detail);
+    return record;
+  }
+
+  private void compact(Path path) throws IOException {
+    Path compacted = path.resolveSibling(path.getFileName() + ".compacting");
+    try (FileChannel out = FileChannel.open(
+      compacted, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING
+    )) {
+      StringBuilder lines = new StringBuilder();
+      for (Entry entry : entries.values()) {
+        if (entry.outcome != null) {
+          lines.append(objectMapper.writeValueAsString(outcomeRecord(entry.key, entry.outcome))).append('\n');
+        } else {
+          for (Attempt attempt : entry.attempts) {
+            lines.append(objectMapper.writeValueAsString(attemptRecord(entry.key, attempt.hash, attempt.transaction)))
+              .append('\n');
+          }
+        }
+      }
+      ByteBuffer buffer = ByteBuffer.wrap(lines.toString().getBytes(StandardCharsets.UTF_8));
+      while (buffer.hasRemaining()) {
+        out.write(buffer);
+      }
+      out.force(true);
+    }
+    Files.move(compacted, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+  }
+
+  /**
+   * Everything journaled for one submission key.
+   */
+  public static class Entry {
+
+    private final String key;
+    private final List<Attempt> attempts = new ArrayList<>();
+    private Outcome outcome;
+
+    private Entry(String key) {
+      this.key = key;
+    }
+
+    public String key() {
+      return key;
+    }
+
+    /**
+     * Every signed attempt, oldest first. All of them share one {@code Sequence}.
+     */
+    public List<Attempt> attempts() {
+      return Collections.unmodifiableList(attempts);
+    }
+
+    public Optional<Outcome> outcome() {
+      return Optional.ofNullable(outcome);
+    }
+
+  }
+
+  /**
+   * One signed submission attempt, with the transaction exactly as signed minus its signature.
+   */
+  public static class Attempt {
+
+    private final Hash256 hash;
+    private final Transaction transaction;
+
+    private Attempt(Hash256 hash, Transaction transaction) {
+      this.hash = hash;
+      this.transaction = transaction;
+    }
+
+    public Hash256 hash() {
+      return hash;
+    }
+
+    public Transaction transaction() {
+      return transaction;
+    }
+
+    public UnsignedInteger sequence() {
+      return transaction.sequence();
+    }
+
+  }
+
+  /**
+   * How a submission ended.
+   */
+  public static class Outcome {
+
+    private final Hash256 hash;
+    private final boolean validated;
+    private final boolean retryable;
+    private final String detail;
+
+    private Outcome(Hash256 hash, boolean validated, boolean retryable, String detail) {
+      this.hash = hash;
+      this.validated = validated;
+      this.retryable = retryable;
+      this.detail = detail;
+    }
+
+    public Hash256 hash() {
+      return hash;
+    }
+
+    public boolean validated() {
+      return validated;
+    }
+
+    /**
+     * Whether the submission was given up on without being applied, e.g. it expired after every attempt or lost its
+     * sequence, so it may be submitted again. A validated {@code tec} or a {@code tem} rejection is final.
+     */
+    public boolean retryable() {
+      return retryable;
+    }
+
+    public String detail() {
+      return detail;
+    }
+
+  }
+
+}
@@ -0,0 +1,165 @@
+package org.xrpl.xrpl4j.samples;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.google.common.primitives.UnsignedInteger;
+import org.xrpl.xrpl4j.client.JsonRpcClientErrorException;
+import org.xrpl.xrpl4j.crypto.signing.SingleSignedTransaction;
+import org.xrpl.xrpl4j.model.client.ledger.LedgerResult;
+import org.xrpl.xrpl4j.model.client.transactions.SubmitResult;
+import org.xrpl.xrpl4j.model.client.transactions.TransactionResult;
+import org.xrpl.xrpl4j.model.transactions.Hash256;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Function;
+
+/**
+ * Submits transactions for a single account back to back, keeping up to {@code maxInFlight} of them pending
+ * validation at once. Sequences come from a {@link SequenceAllocator} and validation from a
+ * {@link ValidationTracker}.
+ *
+ * <p>A sequence that is never consumed leaves a gap that holds every later transaction from the account as
+ * {@code terPRE_SEQ}. The pipeline hands such a sequence out again when its transaction expires or its submit fails,
+ * and, registered with the {@link ValidatedLedgerPoller}, resyncs the allocator with rippled when a {@code terPRE_SEQ}
+ * transaction is still held after the next validated ledger.
+ */
+public class SubmissionPipeline implements ValidatedLedgerPoller.Listener {
+
+  private static final String PAST_SEQUENCE = "tefPAST_SEQ";
+  private static final String PRE_SEQUENCE = "terPRE_SEQ";
+  private static final int MAX_SEQUENCE_RETRIES = 3;
+  // The ledger that closes while a terPRE_SEQ transaction is submitted may miss the transaction filling its gap, so
+  // only the one after it counts.
+  private static final int LEDGERS_HELD_BEFORE_RESYNC = 2;
+
+  private final XrplRpcClient xrplClient;
+  private final ValidationTracker validationTracker;
+  private final SequenceAllocator sequenceAllocator;
+  private final Semaphore inFlight;
+  // terPRE_SEQ transactions still pending, by the number of validated ledgers seen since.
+  private final Map<Hash256, Integer> heldTransactions = new ConcurrentHashMap<>();
+  private final AtomicBoolean resyncRequested = new AtomicBoolean();
+
+  public SubmissionPipeline(
+    XrplRpcClient xrplClient,
+    ValidationTracker validationTracker,
+    SequenceAllocator sequenceAllocator,
+    int maxInFlight
+  ) {
+    this.xrplClient = xrplClient;
+    this.validationTracker = validationTracker;
+    this.sequenceAllocator = sequenceAllocator;
+    this.inFlight = new Semaphore(maxInFlight);
+  }
+
+  /**
+   * Allocates a sequence, signs the transaction built by {@code signer} with it and submits it. Blocks while
+   * {@code maxInFlight} transactions for this account are still awaiting validation.
+   *
+   * @param signer builds and signs a transaction for the given {@code Sequence}.
+   *
+   * @return A future that completes once the transaction is validated or expires.
+   *
+   * @throws JsonRpcClientErrorException if the submit request fails. The transaction is no longer tracked; after a
+   *                                     transport failure it may still have reached rippled.
+   */
+  public CompletableFuture<TransactionResult<?>> submit(
+    Function<UnsignedInteger, SingleSignedTransaction<?>> signer
+  ) throws InterruptedException, JsonRpcClientErrorException, JsonProcessingException {
+    inFlight.acquire();
+    try {
+      CompletableFuture<TransactionResult<?>> validation = submitWithSequenceRetries(signer);
+      validation.whenComplete((result, throwable) -> inFlight.release());
+      return validation;
+    } catch (Exception e) {
+      inFlight.release();
+      throw e;
+    }
+  }
+
+  private CompletableFuture<TransactionResult<?>> submitWithSequenceRetries(
+    Function<UnsignedInteger, SingleSignedTransaction<?>> signer
+  ) throws JsonRpcClientErrorException, JsonProcessingException {
+    if (resyncRequested.compareAndSet(true, false)) {
+      sequenceAllocator.resync();
+    }
+    for (int attempt = 0; ; attempt++) {
+      UnsignedInteger sequence = sequenceAllocator.next();
+      SingleSignedTransaction<?> signedTransaction;
+      try {
+        signedTransaction = signer.apply(sequence);
+      } catch (RuntimeException e) {
+        sequenceAllocator.release(sequence);
+        throw e;
+      }
+      CompletableFuture<TransactionResult<?>> validation = validationTracker.track(signedTransaction);
+      SubmitResult<?> submitResult;
+      try {
+        submitResult = xrplClient.submit(signedTransaction);
+      } catch (Exception e) {
+        // Usually rejected before it reached the engine (tooBusy, 503). If it was applied after all, whoever gets
+        // the sequence next sees tefPAST_SEQ and moves past it.
+        validationTracker.untrack(signedTransaction.hash());
+        sequenceAllocator.release(sequence);
+        throw e;
+      }
+      String engineResult = submitResult.engineResult();
+
+      if (PRE_SEQUENCE.equals(engineResult)) {
+        // An earlier sequence from this account has not reached rippled yet; rippled holds this one until it does,
+        // so keep tracking it. onValidatedLedger resyncs if the gap outlasts the next validated ledger.
+        Hash256 hash = signedTransaction.hash();
+        heldTransactions.put(hash, 0);
+        validation.whenComplete((result, throwable) -> heldTransactions.remove(hash));
+        return releaseOnExpiry(validation, sequence);
+      }
+
+      if (engineResult.startsWith("tes") || engineResult.startsWith("ter") || engineResult.startsWith("tec")) {
+        return releaseOnExpiry(validation, sequence);
+      }
+
+      validationTracker.untrack(signedTransaction.hash());
+      if (PAST_SEQUENCE.equals(engineResult)) {
+        // Something else consumed the sequence; move past whatever rippled has seen and try the next one.
+        sequenceAllocator.advance();
+      } else {
+        // tef, tel and tem results never consume the sequence, so hand it to the next caller.
+        sequenceAllocator.release(sequence);
+      }
+      if (!PAST_SEQUENCE.equals(engineResult) || attempt >= MAX_SEQUENCE_RETRIES) {
+        throw new RuntimeException("Transaction " + signedTransaction.hash() + " was rejected with " +
+          engineResult + ": " + submitResult.engineResultMessage());
+      }
+    }
+  }
+
+  /**
+   * Requests a resync before the next allocation once a {@code terPRE_SEQ} transaction has been held for
+   * {@value #LEDGERS_HELD_BEFORE_RESYNC} validated ledgers, i.e. whatever should have filled its gap never will.
+   */
+  @Override
+  public void onValidatedLedger(LedgerResult ledgerResult) {
+    heldTransactions.replaceAll((hash, ledgers) -> ledgers + 1);
+    if (heldTransactions.values().removeIf(ledgers -> ledgers >= LEDGERS_HELD_BEFORE_RESYNC)) {
+      // Resynced on the next submitting thread rather than with an account_info call on the poller's.
+      resyncRequested.set(true);
+    }
+  }
+
+  private CompletableFuture<TransactionResult<?>> releaseOnExpiry(
+    CompletableFuture<TransactionResult<?>> validation,
+    UnsignedInteger sequence
+  ) {
+    validation.whenComplete((result, throwable) -> {
+      if (throwable instanceof TransactionExpiredException) {
+        // Never applied and now never will be, so the sequence is free again.
+        sequenceAllocator.release(sequence);
+      }
+    });
+    return validation;
+  }
+
+}
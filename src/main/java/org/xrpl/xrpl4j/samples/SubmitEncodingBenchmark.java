@@ -0,0 +1,155 @@
+package org.xrpl.xrpl4j.samples;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.google.common.primitives.UnsignedInteger;
+import okhttp3.HttpUrl;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.xrpl.xrpl4j.client.JsonRpcClientErrorException;
+import org.xrpl.xrpl4j.client.JsonRpcRequest;
+import org.xrpl.xrpl4j.client.XrplClient;
+import org.xrpl.xrpl4j.crypto.keys.KeyPair;
+import org.xrpl.xrpl4j.crypto.keys.Seed;
+import org.xrpl.xrpl4j.crypto.signing.SingleSignedTransaction;
+import org.xrpl.xrpl4j.crypto.signing.bc.BcSignatureService;
+import org.xrpl.xrpl4j.model.client.XrplMethods;
+import org.xrpl.xrpl4j.model.client.transactions.SubmitRequestParams;
+import org.xrpl.xrpl4j.model.client.transactions.SubmitResult;
+import org.xrpl.xrpl4j.model.jackson.ObjectMapperFactory;
+import org.xrpl.xrpl4j.model.transactions.Address;
+import org.xrpl.xrpl4j.model.transactions.Payment;
+import org.xrpl.xrpl4j.model.transactions.Transaction;
+import org.xrpl.xrpl4j.model.transactions.XrpCurrencyAmount;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JMH benchmark comparing how the {@code submit} request body is built the way {@code XrplClient.submit} does (hex
+ * {@code String}, request POJO, Jackson) with {@link SubmitRequestEncoder}, in nanoseconds per transaction; the
+ * {@code gc} profiler reports bytes allocated per transaction ({@code gc.alloc.rate.norm} divided by the batch size).
+ * It also times a full submit through {@code XrplClient} and {@link BlobSubmitter} against an embedded
+ * {@link FakeRippled}.
+ *
+ * <p>The submit benchmarks cycle through a fixed set of signed transactions, one account per path. Once every
+ * sequence has been used, rippled answers {@code tefPAST_SEQ}, which takes the same request and response path.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SubmitEncodingBenchmark {
+
+  private static final int BATCH_SIZE = 1_000;
+  private static final int SUBMITS = 2_000;
+
+  private static final ObjectMapper OBJECT_MAPPER = ObjectMapperFactory.create();
+
+  private List<SingleSignedTransaction<Payment>> signedTransactions;
+  private FakeRippled fakeRippled;
+  private XrplClient xrplClient;
+  private BlobSubmitter blobSubmitter;
+  private List<SingleSignedTransaction<Payment>> xrplClientSubmits;
+  private List<SingleSignedTransaction<Payment>> blobSubmitterSubmits;
+  private int nextXrplClientSubmit;
+  private int nextBlobSubmitterSubmit;
+
+  public static void main(String[] args) throws RunnerException {
+    new Runner(new OptionsBuilder()
+      .include(SubmitEncodingBenchmark.class.getSimpleName())
+      .addProfiler(GCProfiler.class)
+      .build()
+    ).run();
+  }
+
+  @Setup
+  public void setUp() throws IOException {
+    signedTransactions = signPayments(Seed.ed25519Seed().deriveKeyPair(), BATCH_SIZE);
+
+    fakeRippled = new FakeRippled(Duration.ofSeconds(1), 0.0, 0.0, 0.0);
+    HttpUrl rippledUrl = fakeRippled.start(0);
+    xrplClient = new XrplClient(rippledUrl);
+    blobSubmitter = new BlobSubmitter(rippledUrl);
+    // Each sequence is accepted once, so each path submits from its own account.
+    xrplClientSubmits = signPayments(Seed.ed25519Seed().deriveKeyPair(), SUBMITS);
+    blobSubmitterSubmits = signPayments(Seed.ed25519Seed().deriveKeyPair(), SUBMITS);
+  }
+
+  @TearDown
+  public void tearDown() {
+    fakeRippled.close();
+  }
+
+  @Benchmark
+  @OperationsPerInvocation(BATCH_SIZE)
+  public void jacksonEncode(Blackhole blackhole) throws JsonProcessingException {
+    for (int i = 0; i < signedTransactions.size(); i++) {
+      JsonRpcRequest request = JsonRpcRequest.builder()
+        .method(XrplMethods.SUBMIT)
+        .addParams(SubmitRequestParams.of(signedTransactions.get(i).signedTransactionBytes().hexValue()))
+        .build();
+      blackhole.consume(OBJECT_MAPPER.writeValueAsBytes(request));
+    }
+  }
+
+  @Benchmark
+  @OperationsPerInvocation(BATCH_SIZE)
+  public void submitRequestEncoder(Blackhole blackhole) {
+    SubmitRequestEncoder encoder = SubmitRequestEncoder.forCurrentThread();
+    for (int i = 0; i < signedTransactions.size(); i++) {
+      blackhole.consume(encoder.encode(signedTransactions.get(i)));
+    }
+  }
+
+  @Benchmark
+  public SubmitResult<Payment> xrplClientSubmit() throws JsonRpcClientErrorException, JsonProcessingException {
+    SingleSignedTransaction<Payment> signedTransaction = xrplClientSubmits.get(nextXrplClientSubmit);
+    nextXrplClientSubmit = (nextXrplClientSubmit + 1) % SUBMITS;
+    return xrplClient.submit(signedTransaction);
+  }
+
+  @Benchmark
+  public SubmitResult<Transaction> blobSubmitterSubmit() throws JsonRpcClientErrorException {
+    SingleSignedTransaction<Payment> signedTransaction = blobSubmitterSubmits.get(nextBlobSubmitterSubmit);
+    nextBlobSubmitterSubmit = (nextBlobSubmitterSubmit + 1) % SUBMITS;
+    return blobSubmitter.submit(signedTransaction);
+  }
+
+  private static List<SingleSignedTransaction<Payment>> signPayments(KeyPair keyPair, int count) {
+    BcSignatureService signatureService = new BcSignatureService();
+    List<SingleSignedTransaction<Payment>> signedTransactions = new ArrayList<>(count);
+    for (int i = 0; i < count; i++) {
+      signedTransactions.add(signatureService.sign(keyPair.privateKey(), Payment.builder()
+        .account(keyPair.publicKey().deriveAddress())
+        .destination(Address.of("rPT1Sjq2YGrBMTttX4GZHjKu9dyfzbpAYe"))
+        .amount(XrpCurrencyAmount.ofDrops(1000 + i))
+        .fee(XrpCurrencyAmount.ofDrops(10))
+        .sequence(UnsignedInteger.valueOf(i + 1))
+        .signingPublicKey(keyPair.publicKey())
+        .build()));
+    }
+    return signedTransactions;
+  }
+
+}
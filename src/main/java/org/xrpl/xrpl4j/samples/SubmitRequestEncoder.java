@@ -0,0 +1,100 @@
+package org.xrpl.xrpl4j.samples;
+
+import org.xrpl.xrpl4j.codec.addresses.UnsignedByteArray;
+import org.xrpl.xrpl4j.crypto.signing.SingleSignedTransaction;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * Writes the JSON-RPC {@code submit} request body for a signed transaction straight from its binary encoding into a
+ * reusable buffer, skipping the request POJO, Jackson and the hex {@code String} that {@code XrplClient.submit} goes
+ * through. Once the buffer has grown to fit the largest transaction, encoding allocates nothing.
+ *
+ * <p>Instances are not thread-safe; use {@link #forCurrentThread()}.
+ */
+public class SubmitRequestEncoder {
+
+  private static final byte[] PREFIX = "{\"method\":\"submit\",\"params\":[{\"tx_blob\":\""
+    .getBytes(StandardCharsets.US_ASCII);
+  private static final byte[] SUFFIX = "\"}]}".getBytes(StandardCharsets.US_ASCII);
+  private static final byte[] HEX_DIGITS = "0123456789ABCDEF".getBytes(StandardCharsets.US_ASCII);
+
+  private static final ThreadLocal<SubmitRequestEncoder> ENCODERS = ThreadLocal.withInitial(SubmitRequestEncoder::new);
+
+  private byte[] buffer = new byte[1024];
+  private int length;
+
+  public static SubmitRequestEncoder forCurrentThread() {
+    return ENCODERS.get();
+  }
+
+  /**
+   * Encodes the request body for {@code signedTransaction}, replacing whatever the buffer held before.
+   *
+   * @return the length of the body, which starts at index 0 of {@link #buffer()}.
+   */
+  public int encode(SingleSignedTransaction<?> signedTransaction) {
+    UnsignedByteArray blob = signedTransaction.signedTransactionBytes();
+    int blobLength = blob.length();
+    int position = begin(blobLength);
+    for (int i = 0; i < blobLength; i++) {
+      position = appendHex(position, blob.get(i).asInt());
+    }
+    return end(position);
+  }
+
+  /**
+   * Encodes the request body for a signed transaction blob, from its position to its limit, without moving either.
+   *
+   * @return the length of the body, which starts at index 0 of {@link #buffer()}.
+   */
+  public int encode(ByteBuffer blob) {
+    int blobLength = blob.remaining();
+    int position = begin(blobLength);
+    for (int i = blob.position(); i < blob.limit(); i++) {
+      position = appendHex(position, blob.get(i) & 0xFF);
+    }
+    return end(position);
+  }
+
+  private int begin(int blobLength) {
+    int required = PREFIX.length + blobLength * 2 + SUFFIX.length;
+    if (buffer.length < required) {
+      buffer = Arrays.copyOf(buffer, Math.max(required, buffer.length * 2));
+    }
+    System.arraycopy(PREFIX, 0, buffer, 0, PREFIX.length);
+    return PREFIX.length;
+  }
+
+  private int appendHex(int position, int value) {
+    buffer[position] = HEX_DIGITS[value >>> 4];
+    buffer[position + 1] = HEX_DIGITS[value & 0x0F];
+    return position + 2;
+  }
+
+  private int end(int position) {
+    System.arraycopy(SUFFIX, 0, buffer, position, SUFFIX.length);
+    length = position + SUFFIX.length;
+    return length;
+  }
+
+  /**
+   * The buffer holding the last encoded body. Only valid until the next {@link #encode} on this thread.
+   */
+  public byte[] buffer() {
+    return buffer;
+  }
+
+  public int length() {
+    return length;
+  }
+
+  public void writeTo(OutputStream out) throws IOException {
+    out.write(buffer, 0, length);
+  }
+
+}
@@ -0,0 +1,28 @@
+package org.xrpl.xrpl4j.samples;
+
+import com.google.common.primitives.UnsignedInteger;
+import org.xrpl.xrpl4j.model.transactions.Hash256;
+
+/**
+ * Thrown when a validated ledger passes a transaction's {@code LastLedgerSequence} without including it.
+ */
+public class TransactionExpiredException extends RuntimeException {
+
+  private final Hash256 transactionHash;
+  private final UnsignedInteger lastLedgerSequence;
+
+  public TransactionExpiredException(Hash256 transactionHash, UnsignedInteger lastLedgerSequence) {
+    super("LastLedgerSequence " + lastLedgerSequence + " has passed for transaction " + transactionHash);
+    this.transactionHash = transactionHash;
+    this.lastLedgerSequence = lastLedgerSequence;
+  }
+
+  public Hash256 transactionHash() {
+    return transactionHash;
+  }
+
+  public UnsignedInteger lastLedgerSequence() {
+    return lastLedgerSequence;
+  }
+
+}
@@ -0,0 +1,425 @@
+package org.xrpl.xrpl4j.samples;
+
+import com.google.common.io.BaseEncoding;
+import com.google.common.primitives.UnsignedInteger;
+import org.xrpl.xrpl4j.codec.addresses.AddressCodec;
+import org.xrpl.xrpl4j.codec.addresses.UnsignedByteArray;
+import org.xrpl.xrpl4j.model.client.ledger.LedgerResult;
+import org.xrpl.xrpl4j.model.client.transactions.TransactionResult;
+import org.xrpl.xrpl4j.model.transactions.Address;
+import org.xrpl.xrpl4j.model.transactions.CurrencyAmount;
+import org.xrpl.xrpl4j.model.transactions.Hash256;
+import org.xrpl.xrpl4j.model.transactions.IssuedCurrencyAmount;
+import org.xrpl.xrpl4j.model.transactions.Payment;
+import org.xrpl.xrpl4j.model.transactions.Transaction;
+import org.xrpl.xrpl4j.model.transactions.TransactionType;
+import org.xrpl.xrpl4j.model.transactions.XrpCurrencyAmount;
+
+import java.io.BufferedInputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.nio.Buffer;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * A local, append-only index of validated transactions, so reconciliation can look up a transaction's result and
+ * delivered amount by hash, or every transaction sent or received by an account, without a {@code tx} request per
+ * transaction. Fed one whole ledger at a time, in ledger order, by {@link LedgerBackfill}.
+ *
+ * <p>Each transaction takes one compact record on disk (hash, ledger, account, destination, type, result and
+ * delivered amount); the heap holds only a hash table and per-account lists of record offsets. A ledger is committed
+ * by a marker record written after its transactions, so a ledger interrupted mid-append is discarded on reopening
+ * and fetched again by the next catch-up.
+ */
+public class TransactionIndex implements Closeable {
+
+  private static final String FILE_NAME = "transactions.index";
+
+  // Transaction record: length, kind, hash, ledger index, account ID, destination flag, [destination account ID],
+  // type, result, amount kind, [amount]. Ledger record: length, kind, ledger index.
+  private static final int KIND_OFFSET = 4;
+  private static final int HASH_OFFSET = 5;
+  private static final int LEDGER_INDEX_OFFSET = HASH_OFFSET + 32;
+  private static final int ACCOUNT_OFFSET = LEDGER_INDEX_OFFSET + 4;
+  private static final int DESTINATION_FLAG_OFFSET = ACCOUNT_OFFSET + 20;
+  private static final int LEDGER_RECORD_LENGTH = 9;
+  private static final int MAX_RECORD_LENGTH = 512;
+
+  private static final byte TRANSACTION = 1;
+  private static final byte LEDGER = 2;
+
+  private static final byte NO_AMOUNT = 0;
+  private static final byte XRP_AMOUNT = 1;
+  private static final byte ISSUED_AMOUNT = 2;
+
+  private final FileChannel channel;
+  private final HashPrefixIndex hashIndex = new HashPrefixIndex();
+  private final Map<ByteBuffer, OffsetList> accountIndexes = new HashMap<>();
+  private final ByteBuffer readBuffer = ByteBuffer.allocate(MAX_RECORD_LENGTH);
+  private long committedLength;
+  private UnsignedInteger firstLedgerIndex;
+  private UnsignedInteger lastLedgerIndex;
+
+  /**
+   * Opens the index in {@code directory}, creating it if needed, and reads the offsets of every committed record
+   * into memory.
+   */
+  public TransactionIndex(Path directory) throws IOException {
+    Files.createDirectories(directory);
+    this.channel = FileChannel.open(
+      directory.resolve(FILE_NAME), StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE
+    );
+    reindex();
+  }
+
+  /**
+   * Indexes every transaction in {@code ledgerResult}, which must have been requested with transactions expanded and
+   * must be the ledger right after {@link #lastLedgerIndex()}, if any.
+   *
+   * @return The number of transactions indexed.
+   */
+  public synchronized int append(LedgerResult ledgerResult) throws IOException {
+    UnsignedInteger ledgerIndex = ledgerResult.ledgerIndex()
+      .orElseThrow(() -> new IllegalArgumentException("Ledger response did not contain a LedgerIndex."))
+      .unsignedIntegerValue();
+    if (lastLedgerIndex != null && !ledgerIndex.equals(lastLedgerIndex.plus(UnsignedInteger.ONE))) {
+      throw new IllegalArgumentException(
+        "Ledger " + ledgerIndex + " does not follow the last indexed ledger, " + lastLedgerIndex + "."
+      );
+    }
+
+    List<TransactionResult<? extends Transaction>> transactions = ledgerResult.ledger().transactions();
+    ByteBuffer records = ByteBuffer.allocate(transactions.size() * MAX_RECORD_LENGTH + LEDGER_RECORD_LENGTH);
+    List<Integer> recordOffsets = new ArrayList<>(transactions.size());
+    for (TransactionResult<? extends Transaction> transactionResult : transactions) {
+      recordOffsets.add(records.position());
+      encode(transactionResult, ledgerIndex, records);
+    }
+    records.putInt(LEDGER_RECORD_LENGTH).put(LEDGER).putInt(ledgerIndex.intValue());
+    // Cast so that a JDK 9+ build still links against Java 8's Buffer methods, not ByteBuffer's covariant overrides.
+    ((Buffer) records).flip();
+
+    long position = committedLength;
+    while (records.hasRemaining()) {
+      position += channel.write(records, position);
+    }
+    for (int recordOffset : recordOffsets) {
+      index(records, recordOffset, committedLength + recordOffset);
+    }
+    committedLength = position;
+    commit(ledgerIndex);
+    return transactions.size();
+  }
+
+  public synchronized Optional<IndexedTransaction> get(Hash256 hash) throws IOException {
+    byte[] hashBytes = BaseEncoding.base16().decode(hash.value());
+    long prefix = ByteBuffer.wrap(hashBytes).getLong();
+    for (int slot = hashIndex.firstSlot(prefix); hashIndex.location(slot) >= 0; slot = hashIndex.nextSlot(slot)) {
+      if (hashIndex.prefix(slot) == prefix) {
+        ByteBuffer record = read(hashIndex.location(slot));
+        if (Arrays.equals(hashBytes, bytesAt(record, HASH_OFFSET, 32))) {
+          return Optional.of(decode(record));
+        }
+      }
+    }
+    return Optional.empty();
+  }
+
+  /**
+   * Every indexed transaction sent or received by {@code account}, in ledger order.
+   */
+  public synchronized List<IndexedTransaction> forAccount(Address account) throws IOException {
+    OffsetList offsets = accountIndexes.get(accountId(account));
+    if (offsets == null) {
+      return Collections.emptyList();
+    }
+    List<IndexedTransaction> found = new ArrayList<>(offsets.size);
+    for (int i = 0; i < offsets.size; i++) {
+      found.add(decode(read(offsets.offsets[i])));
+    }
+    return found;
+  }
+
+  public synchronized Optional<UnsignedInteger> firstLedgerIndex() {
+    return Optional.ofNullable(firstLedgerIndex);
+  }
+
+  public synchronized Optional<UnsignedInteger> lastLedgerIndex() {
+    return Optional.ofNullable(lastLedgerIndex);
+  }
+
+  public synchronized long size() {
+    return hashIndex.size();
+  }
+
+  public synchronized void flush() throws IOException {
+    channel.force(false);
+  }
+
+  @Override
+  public synchronized void close() throws IOException {
+    flush();
+    channel.close();
+  }
+
+  private void reindex() throws IOException {
+    // Not closed, since closing the stream would close the channel.
+    DataInputStream input = new DataInputStream(new BufferedInputStream(Channels.newInputStream(channel), 1 << 20));
+    long fileLength = channel.size();
+    long position = 0;
+    // Records are only indexed once the ledger record that commits them has been read.
+    List<ByteBuffer> uncommittedRecords = new ArrayList<>();
+    List<Long> uncommittedOffsets = new ArrayList<>();
+    while (position + 4 <= fileLength) {
+      int length = input.readInt();
+      if (length < LEDGER_RECORD_LENGTH || length > MAX_RECORD_LENGTH || position + length > fileLength) {
+        break;
+      }
+      byte[] record = new byte[length];
+      input.readFully(record, 4, length - 4);
+      ByteBuffer recordBuffer = ByteBuffer.wrap(record).putInt(0, length);
+      if (record[KIND_OFFSET] == LEDGER) {
+        for (int i = 0; i < uncommittedRecords.size(); i++) {
+          index(uncommittedRecords.get(i), 0, uncommittedOffsets.get(i));
+        }
+        uncommittedRecords.clear();
+        uncommittedOffsets.clear();
+        committedLength = position + length;
+        commit(UnsignedInteger.fromIntBits(recordBuffer.getInt(KIND_OFFSET + 1)));
+      } else {
+        uncommittedRecords.add(recordBuffer);
+        uncommittedOffsets.add(position);
+      }
+      position += length;
+    }
+    // Drop whatever follows the last committed ledger; it is written again when that ledger is next appended.
+    channel.truncate(committedLength);
+  }
+
+  private void commit(UnsignedInteger ledgerIndex) {
+    if (firstLedgerIndex == null) {
+      firstLedgerIndex = ledgerIndex;
+    }
+    lastLedgerIndex = ledgerIndex;
+  }
+
+  private void index(ByteBuffer records, int recordOffset, long fileOffset) {
+    hashIndex.put(records.getLong(recordOffset + HASH_OFFSET), fileOffset);
+    ByteBuffer account = ByteBuffer.wrap(bytesAt(records, recordOffset + ACCOUNT_OFFSET, 20));
+    accountIndexes.computeIfAbsent(account, a -> new OffsetList()).add(fileOffset);
+    if (records.get(recordOffset + DESTINATION_FLAG_OFFSET) == 1) {
+      ByteBuffer destination = ByteBuffer.wrap(bytesAt(records, recordOffset + DESTINATION_FLAG_OFFSET + 1, 20));
+      if (!destination.equals(account)) {
+        accountIndexes.computeIfAbsent(destination, a -> new OffsetList()).add(fileOffset);
+      }
+    }
+  }
+
+  private ByteBuffer read(long offset) throws IOException {
+    ((Buffer) readBuffer).clear();
+    while (readBuffer.hasRemaining()) {
+      if (channel.read(readBuffer, offset + readBuffer.position()) < 0) {
+        break;
+      }
+    }
+    ((Buffer) readBuffer).flip();
+    return readBuffer;
+  }
+
+  private static void encode(
+    TransactionResult<? extends Transaction> result,
+    UnsignedInteger ledgerIndex,
+    ByteBuffer records
+  ) {
+    int start = records.position();
+    Transaction transaction = result.transaction();
+    records.putInt(0).put(TRANSACTION);
+    records.put(BaseEncoding.base16().decode(result.hash().value()));
+    records.putInt(ledgerIndex.intValue());
+    records.put(accountId(transaction.account()).array());
+    if (transaction instanceof Payment) {
+      records.put((byte) 1).put(accountId(((Payment) transaction).destination()).array());
+    } else {
+      records.put((byte) 0);
+    }
+    putString(records, transaction.transactionType().value());
+    putString(records, result.metadata().map(metadata -> metadata.transactionResult()).orElse("unknown"));
+
+    Optional<CurrencyAmount> deliveredAmount = result.metadata().flatMap(metadata -> metadata.deliveredAmount());
+    if (deliveredAmount.isPresent() && deliveredAmount.get() instanceof XrpCurrencyAmount) {
+      records.put(XRP_AMOUNT).putLong(((XrpCurrencyAmount) deliveredAmount.get()).value().longValue());
+    } else if (deliveredAmount.isPresent() && deliveredAmount.get() instanceof IssuedCurrencyAmount) {
+      IssuedCurrencyAmount issuedAmount = (IssuedCurrencyAmount) deliveredAmount.get();
+      records.put(ISSUED_AMOUNT);
+      putString(records, issuedAmount.currency());
+      records.put(accountId(issuedAmount.issuer()).array());
+      putString(records, issuedAmount.value());
+    } else {
+      records.put(NO_AMOUNT);
+    }
+    records.putInt(start, records.position() - start);
+  }
+
+  private static IndexedTransaction decode(ByteBuffer record) {
+    ByteBuffer source = record.duplicate();
+    ((Buffer) source).position(HASH_OFFSET);
+    Hash256 hash = Hash256.of(BaseEncoding.base16().encode(getBytes(source, 32)));
+    UnsignedInteger ledgerIndex = UnsignedInteger.fromIntBits(source.getInt());
+    Address account = address(getBytes(source, 20));
+    Optional<Address> destination = source.get() == 1 ? Optional.of(address(getBytes(source, 20))) : Optional.empty();
+    TransactionType transactionType = TransactionType.forValue(getString(source));
+    String transactionResult = getString(source);
+
+    Optional<CurrencyAmount> deliveredAmount;
+    byte amountKind = source.get();
+    if (amountKind == XRP_AMOUNT) {
+      deliveredAmount = Optional.of(XrpCurrencyAmount.ofDrops(source.getLong()));
+    } else if (amountKind == ISSUED_AMOUNT) {
+      deliveredAmount = Optional.of(IssuedCurrencyAmount.builder()
+        .currency(getString(source))
+        .issuer(address(getBytes(source, 20)))
+        .value(getString(source))
+        .build());
+    } else {
+      deliveredAmount = Optional.empty();
+    }
+    return new IndexedTransaction(
+      hash, ledgerIndex, transactionType, account, destination, transactionResult, deliveredAmount
+    );
+  }
+
+  private static ByteBuffer accountId(Address address) {
+    return ByteBuffer.wrap(AddressCodec.getInstance().decodeAccountId(address).toByteArray());
+  }
+
+  private static Address address(byte[] accountId) {
+    return AddressCodec.getInstance().encodeAccountId(UnsignedByteArray.of(accountId));
+  }
+
+  private static void putString(ByteBuffer buffer, String value) {
+    byte[] bytes = value.getBytes(StandardCharsets.US_ASCII);
+    buffer.put((byte) bytes.length).put(bytes);
+  }
+
+  private static String getString(ByteBuffer buffer) {
+    return new String(getBytes(buffer, buffer.get() & 0xFF), StandardCharsets.US_ASCII);
+  }
+
+  private static byte[] getBytes(ByteBuffer buffer, int length) {
+    byte[] bytes = new byte[length];
+    buffer.get(bytes);
+    return bytes;
+  }
+
+  private static byte[] bytesAt(ByteBuffer buffer, int offset, int length) {
+    ByteBuffer source = buffer.duplicate();
+    ((Buffer) source).position(offset);
+    return getBytes(source, length);
+  }
+
+  /**
+   * What the index holds for one validated transaction.
+   */
+  public static class IndexedTransaction {
+
+    private final Hash256 hash;
+    private final UnsignedInteger ledgerIndex;
+    private final TransactionType transactionType;
+    private final Address account;
+    private final Optional<Address> destination;
+    private final String transactionResult;
+    private final Optional<CurrencyAmount> deliveredAmount;
+
+    private IndexedTransaction(
+      Hash256 hash,
+      UnsignedInteger ledgerIndex,
+      TransactionType transactionType,
+      Address account,
+      Optional<Address> destination,
+      String transactionResult,
+      Optional<CurrencyAmount> deliveredAmount
+    ) {
+      this.hash = hash;
+      this.ledgerIndex = ledgerIndex;
+      this.transactionType = transactionType;
+      this.account = account;
+      this.destination = destination;
+      this.transactionResult = transactionResult;
+      this.deliveredAmount = deliveredAmount;
+    }
+
+    public Hash256 hash() {
+      return hash;
+    }
+
+    public UnsignedInteger ledgerIndex() {
+      return ledgerIndex;
+    }
+
+    public TransactionType transactionType() {
+      return transactionType;
+    }
+
+    public Address account() {
+      return account;
+    }
+
+    /**
+     * The destination of a Payment.
+     */
+    public Optional<Address> destination() {
+      return destination;
+    }
+
+    public String transactionResult() {
+      return transactionResult;
+    }
+
+    /**
+     * The amount actually delivered, for transactions whose metadata reports one.
+     */
+    public Optional<CurrencyAmount> deliveredAmount() {
+      return deliveredAmount;
+    }
+
+    @Override
+    public String toString() {
+      return "IndexedTransaction{hash=" + hash + ", ledgerIndex=" + ledgerIndex + ", transactionType=" +
+        transactionType + ", account=" + account + ", destination=" + destination + ", transactionResult=" +
+        transactionResult + ", deliveredAmount=" + deliveredAmount + "}";
+    }
+
+  }
+
+  /**
+   * A growable list of record offsets, in the order they were appended.
+   */
+  private static class OffsetList {
+
+    private long[] offsets = new long[8];
+    private int size;
+
+    private void add(long offset) {
+      if (size == offsets.length) {
+        offsets = Arrays.copyOf(offsets, size * 2);
+      }
+      offsets[size++] = offset;
+    }
+
+  }
+
+}
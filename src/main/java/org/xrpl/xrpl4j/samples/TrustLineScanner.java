@@ -0,0 +1,187 @@
+package org.xrpl.xrpl4j.samples;
+
+import com.google.common.primitives.UnsignedInteger;
+import org.xrpl.xrpl4j.model.client.accounts.AccountLinesRequestParams;
+import org.xrpl.xrpl4j.model.client.accounts.AccountLinesResult;
+import org.xrpl.xrpl4j.model.client.accounts.TrustLine;
+import org.xrpl.xrpl4j.model.client.common.LedgerSpecifier;
+import org.xrpl.xrpl4j.model.transactions.Address;
+import org.xrpl.xrpl4j.model.transactions.Marker;
+
+import java.math.BigDecimal;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Optional;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.stream.Collector;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Reads every trust line of an account by following {@code account_lines} markers, fetching the next page in the
+ * background while the current one is consumed. At most two pages are held in memory at a time.
+ *
+ * <p>All pages are read from the validated ledger the first page was served from, so the result is a consistent
+ * snapshot.
+ */
+public class TrustLineScanner {
+
+  private final XrplRpcClient xrplClient;
+  private final Executor prefetchExecutor;
+  private final UnsignedInteger pageSize;
+
+  public TrustLineScanner(XrplRpcClient xrplClient, Executor prefetchExecutor, UnsignedInteger pageSize) {
+    this.xrplClient = xrplClient;
+    this.prefetchExecutor = prefetchExecutor;
+    this.pageSize = pageSize;
+  }
+
+  public Stream<TrustLine> stream(Address account) {
+    return StreamSupport.stream(
+      Spliterators.spliteratorUnknownSize(iterator(account), Spliterator.ORDERED | Spliterator.NONNULL),
+      false
+    );
+  }
+
+  public Iterator<TrustLine> iterator(Address account) {
+    return new TrustLineIterator(account);
+  }
+
+  /**
+   * Collects, in one pass over an issuer's trust lines, the amount issued and number of holders per currency.
+   */
+  public static Collector<TrustLine, ?, Map<String, IssuedCurrencySummary>> issuedByCurrency() {
+    return Collector.of(
+      TreeMap::new,
+      (Map<String, IssuedCurrencySummary> summaries, TrustLine trustLine) -> summaries
+        .computeIfAbsent(trustLine.currency(), IssuedCurrencySummary::new)
+        .add(trustLine),
+      (left, right) -> {
+        right.forEach((currency, summary) -> left.merge(currency, summary, IssuedCurrencySummary::merge));
+        return left;
+      }
+    );
+  }
+
+  private AccountLinesResult fetchPage(Address account, LedgerSpecifier ledgerSpecifier, Optional<Marker> marker) {
+    try {
+      return xrplClient.accountLines(
+        AccountLinesRequestParams.builder()
+          .account(account)
+          .ledgerSpecifier(ledgerSpecifier)
+          .limit(pageSize)
+          .marker(marker)
+          .build()
+      );
+    } catch (Exception e) {
+      throw new CompletionException(e);
+    }
+  }
+
+  private class TrustLineIterator implements Iterator<TrustLine> {
+
+    private final Address account;
+    private Iterator<TrustLine> currentPage;
+    private CompletableFuture<AccountLinesResult> nextPage;
+
+    private TrustLineIterator(Address account) {
+      this.account = account;
+      this.nextPage = CompletableFuture.supplyAsync(
+        () -> fetchPage(account, LedgerSpecifier.VALIDATED, Optional.empty()),
+        prefetchExecutor
+      );
+    }
+
+    @Override
+    public boolean hasNext() {
+      while ((currentPage == null || !currentPage.hasNext()) && nextPage != null) {
+        AccountLinesResult page = nextPage.join();
+        currentPage = page.lines().iterator();
+        nextPage = page.marker()
+          .map(marker -> {
+            LedgerSpecifier snapshot = page.ledgerIndex()
+              .map(LedgerSpecifier::of)
+              .orElse(LedgerSpecifier.VALIDATED);
+            return CompletableFuture.supplyAsync(
+              () -> fetchPage(account, snapshot, Optional.of(marker)),
+              prefetchExecutor
+            );
+          })
+          .orElse(null);
+      }
+      return currentPage.hasNext();
+    }
+
+    @Override
+    public TrustLine next() {
+      if (!hasNext()) {
+        throw new NoSuchElementException();
+      }
+      return currentPage.next();
+    }
+
+  }
+
+  /**
+   * Totals for one currency, seen from the issuer's side: a holder's balance appears as a negative balance on the
+   * issuer's trust line.
+   */
+  public static class IssuedCurrencySummary {
+
+    private final String currency;
+    private BigDecimal totalIssued = BigDecimal.ZERO;
+    private long holderCount;
+    private long trustLineCount;
+
+    private IssuedCurrencySummary(String currency) {
+      this.currency = currency;
+    }
+
+    private IssuedCurrencySummary add(TrustLine trustLine) {
+      trustLineCount++;
+      BigDecimal balance = new BigDecimal(trustLine.balance());
+      if (balance.signum() < 0) {
+        totalIssued = totalIssued.subtract(balance);
+        holderCount++;
+      }
+      return this;
+    }
+
+    private IssuedCurrencySummary merge(IssuedCurrencySummary other) {
+      totalIssued = totalIssued.add(other.totalIssued);
+      holderCount += other.holderCount;
+      trustLineCount += other.trustLineCount;
+      return this;
+    }
+
+    public String currency() {
+      return currency;
+    }
+
+    public BigDecimal totalIssued() {
+      return totalIssued;
+    }
+
+    public long holderCount() {
+      return holderCount;
+    }
+
+    public long trustLineCount() {
+      return trustLineCount;
+    }
+
+    @Override
+    public String toString() {
+      return "IssuedCurrencySummary{currency=" + currency + ", totalIssued=" + totalIssued.toPlainString() +
+        ", holderCount=" + holderCount + ", trustLineCount=" + trustLineCount + "}";
+    }
+
+  }
+
+}
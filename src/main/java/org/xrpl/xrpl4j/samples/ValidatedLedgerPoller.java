@@ -0,0 +1,142 @@
+package org.xrpl.xrpl4j.samples;
+
+import com.google.common.primitives.UnsignedInteger;
+import org.xrpl.xrpl4j.client.JsonRpcClientErrorException;
+import org.xrpl.xrpl4j.model.client.common.LedgerIndex;
+import org.xrpl.xrpl4j.model.client.common.LedgerSpecifier;
+import org.xrpl.xrpl4j.model.client.ledger.LedgerRequestParams;
+import org.xrpl.xrpl4j.model.client.ledger.LedgerResult;
+
+import java.io.Closeable;
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Polls rippled for the latest validated ledger and hands every newly validated ledger (with its transactions
+ * expanded) to the registered {@link Listener}s exactly once, in ledger order.
+ *
+ * <p>The poller can also be driven by pushed ledger events through {@link #catchUpTo(UnsignedInteger)}; see
+ * {@link LedgerStreamSubscriber}, which suspends the timer while its stream is connected so that the timer only
+ * polls as a fallback.
+ */
+public class ValidatedLedgerPoller implements Closeable {
+
+  /**
+   * Callback invoked on the poller thread for each newly validated ledger.
+   */
+  public interface Listener {
+    void onValidatedLedger(LedgerResult ledgerResult);
+  }
+
+  private final XrplRpcClient xrplClient;
+  private final Duration pollInterval;
+  private final List<Listener> listeners = new CopyOnWriteArrayList<>();
+  private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+    Thread thread = new Thread(runnable, "validated-ledger-poller");
+    thread.setDaemon(true);
+    return thread;
+  });
+
+  // Serializes fetching and dispatching, so ledgers go out once and in order whether the timer or a stream drives
+  // them, without blocking readers of lastDispatchedLedgerIndex across ledger RPCs.
+  private final Object dispatchLock = new Object();
+
+  private volatile UnsignedInteger lastDispatchedLedgerIndex;
+  private volatile boolean pollingSuspended;
+
+  public ValidatedLedgerPoller(XrplRpcClient xrplClient, Duration pollInterval) {
+    this.xrplClient = xrplClient;
+    this.pollInterval = pollInterval;
+  }
+
+  public void addListener(Listener listener) {
+    listeners.add(listener);
+  }
+
+  public void removeListener(Listener listener) {
+    listeners.remove(listener);
+  }
+
+  public void start() {
+    scheduler.scheduleWithFixedDelay(this::poll, 0, pollInterval.toMillis(), TimeUnit.MILLISECONDS);
+  }
+
+  /**
+   * Skips timer polls until {@link #resumePolling()}; {@link #catchUpTo(UnsignedInteger)} still dispatches.
+   */
+  public void suspendPolling() {
+    pollingSuspended = true;
+  }
+
+  public void resumePolling() {
+    pollingSuspended = false;
+  }
+
+  public Optional<UnsignedInteger> lastValidatedLedgerIndex() {
+    return Optional.ofNullable(lastDispatchedLedgerIndex);
+  }
+
+  private void poll() {
+    if (pollingSuspended) {
+      return;
+    }
+    try {
+      // One cheap header-only request per poll; ledgers are only fetched in full when the index moves.
+      LedgerIndex validatedLedgerIndex = xrplClient.ledger(
+          LedgerRequestParams.builder()
+            .ledgerSpecifier(LedgerSpecifier.VALIDATED)
+            .build()
+        )
+        .ledgerIndex()
+        .orElseThrow(() -> new RuntimeException("Ledger response did not contain a LedgerIndex."));
+
+      catchUpTo(validatedLedgerIndex.unsignedIntegerValue());
+    } catch (Exception e) {
+      // Keep polling; a transient RPC failure is recovered on the next tick because no ledger is skipped.
+      System.err.println("Unable to poll validated ledger: " + e.getMessage());
+    }
+  }
+
+  /**
+   * Dispatches every validated ledger after the last dispatched one, up to and including {@code validatedIndex}. A
+   * listener that throws is reported and skipped; the ledger still counts as dispatched, so no other listener sees it
+   * twice.
+   */
+  public void catchUpTo(UnsignedInteger validatedIndex) throws JsonRpcClientErrorException {
+    synchronized (dispatchLock) {
+      if (lastDispatchedLedgerIndex == null) {
+        lastDispatchedLedgerIndex = validatedIndex.minus(UnsignedInteger.ONE);
+      }
+
+      while (validatedIndex.compareTo(lastDispatchedLedgerIndex) > 0) {
+        UnsignedInteger nextIndex = lastDispatchedLedgerIndex.plus(UnsignedInteger.ONE);
+        LedgerResult ledgerResult = xrplClient.ledger(
+          LedgerRequestParams.builder()
+            .ledgerSpecifier(LedgerSpecifier.of(LedgerIndex.of(nextIndex)))
+            .transactions(true)
+            .build()
+        );
+
+        for (Listener listener : listeners) {
+          try {
+            listener.onValidatedLedger(ledgerResult);
+          } catch (RuntimeException e) {
+            System.err.println("Listener failed on ledger " + nextIndex + ": " + e.getMessage());
+          }
+        }
+        lastDispatchedLedgerIndex = nextIndex;
+      }
+    }
+  }
+
+  @Override
+  public void close() {
+    scheduler.shutdownNow();
+  }
+
+}
@@ -0,0 +1,125 @@
+package org.xrpl.xrpl4j.samples;
+
+import com.google.common.primitives.UnsignedInteger;
+import org.xrpl.xrpl4j.crypto.signing.SingleSignedTransaction;
+import org.xrpl.xrpl4j.model.client.ledger.LedgerResult;
+import org.xrpl.xrpl4j.model.client.transactions.TransactionResult;
+import org.xrpl.xrpl4j.model.immutables.FluentCompareTo;
+import org.xrpl.xrpl4j.model.transactions.Hash256;
+import org.xrpl.xrpl4j.model.transactions.Transaction;
+
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Resolves any number of submitted transactions against each validated ledger as it is published by a
+ * {@link ValidatedLedgerPoller}, instead of polling {@code tx} once per transaction per ledger.
+ *
+ * <p>Transactions must be tracked before they are submitted so that the ledger containing them cannot be missed.
+ */
+public class ValidationTracker implements ValidatedLedgerPoller.Listener {
+
+  private final Map<Hash256, PendingTransaction> pendingTransactions = new ConcurrentHashMap<>();
+
+  private final Metrics.Histogram timeToValidation;
+  private final Metrics.Histogram ledgersWaited;
+  private final Metrics.Counter validatedCount;
+  private final Metrics.Counter expiredCount;
+
+  public ValidationTracker() {
+    this(new Metrics());
+  }
+
+  public ValidationTracker(Metrics metrics) {
+    this.timeToValidation = metrics.timer(
+      "xrpl_time_to_validation_seconds", "Time from tracking a transaction to seeing it in a validated ledger."
+    );
+    this.ledgersWaited = metrics.histogram(
+      "xrpl_validation_ledgers_waited", "Validated ledgers checked per transaction before it validated or expired."
+    );
+    this.validatedCount = metrics.counter("xrpl_transactions_validated_total", "Tracked transactions validated.");
+    this.expiredCount = metrics.counter("xrpl_transactions_expired_total", "Tracked transactions expired.");
+  }
+
+  /**
+   * Starts tracking {@code signedTransaction}. The returned future completes with the transaction's result once a
+   * validated ledger contains it, or fails with a {@link TransactionExpiredException} once a validated ledger passes
+   * its {@code LastLedgerSequence}.
+   */
+  public CompletableFuture<TransactionResult<?>> track(SingleSignedTransaction<?> signedTransaction) {
+    PendingTransaction pendingTransaction = new PendingTransaction(
+      signedTransaction.signedTransaction().lastLedgerSequence()
+    );
+    PendingTransaction existing = pendingTransactions.putIfAbsent(signedTransaction.hash(), pendingTransaction);
+    return existing != null ? existing.future : pendingTransaction.future;
+  }
+
+  /**
+   * Stops tracking a transaction that is known not to have been applied, failing its future.
+   */
+  public void untrack(Hash256 transactionHash) {
+    PendingTransaction pendingTransaction = pendingTransactions.remove(transactionHash);
+    if (pendingTransaction != null) {
+      pendingTransaction.future.cancel(false);
+    }
+  }
+
+  public int pendingCount() {
+    return pendingTransactions.size();
+  }
+
+  @Override
+  public void onValidatedLedger(LedgerResult ledgerResult) {
+    if (pendingTransactions.isEmpty()) {
+      return;
+    }
+
+    for (TransactionResult<? extends Transaction> transactionResult : ledgerResult.ledger().transactions()) {
+      PendingTransaction pendingTransaction = pendingTransactions.remove(transactionResult.hash());
+      if (pendingTransaction != null) {
+        timeToValidation.record(System.nanoTime() - pendingTransaction.trackedAtNanos);
+        ledgersWaited.record(pendingTransaction.ledgersWaited + 1);
+        validatedCount.increment();
+        pendingTransaction.future.complete(transactionResult);
+      }
+    }
+
+    ledgerResult.ledgerIndex().ifPresent(ledgerIndex -> {
+      Iterator<Map.Entry<Hash256, PendingTransaction>> iterator = pendingTransactions.entrySet().iterator();
+      while (iterator.hasNext()) {
+        Map.Entry<Hash256, PendingTransaction> entry = iterator.next();
+        Optional<UnsignedInteger> lastLedgerSequence = entry.getValue().lastLedgerSequence;
+        boolean lastLedgerSequenceHasPassed = lastLedgerSequence
+          .map(sequence -> FluentCompareTo.is(ledgerIndex.unsignedIntegerValue()).greaterThan(sequence))
+          .orElse(false);
+        entry.getValue().ledgersWaited++;
+        if (lastLedgerSequenceHasPassed) {
+          iterator.remove();
+          ledgersWaited.record(entry.getValue().ledgersWaited);
+          expiredCount.increment();
+          entry.getValue().future.completeExceptionally(
+            new TransactionExpiredException(entry.getKey(), lastLedgerSequence.get())
+          );
+        }
+      }
+    });
+  }
+
+  private static class PendingTransaction {
+
+    private final Optional<UnsignedInteger> lastLedgerSequence;
+    private final CompletableFuture<TransactionResult<?>> future = new CompletableFuture<>();
+    private final long trackedAtNanos = System.nanoTime();
+    // Only touched on the poller thread.
+    private int ledgersWaited;
+
+    private PendingTransaction(Optional<UnsignedInteger> lastLedgerSequence) {
+      this.lastLedgerSequence = lastLedgerSequence;
+    }
+
+  }
+
+}
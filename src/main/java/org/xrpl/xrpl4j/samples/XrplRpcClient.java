@@ -0,0 +1,82 @@
+package org.xrpl.xrpl4j.samples;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import okhttp3.HttpUrl;
+import org.xrpl.xrpl4j.client.JsonRpcClientErrorException;
+import org.xrpl.xrpl4j.client.XrplClient;
+import org.xrpl.xrpl4j.crypto.signing.SingleSignedTransaction;
+import org.xrpl.xrpl4j.model.client.accounts.AccountInfoRequestParams;
+import org.xrpl.xrpl4j.model.client.accounts.AccountInfoResult;
+import org.xrpl.xrpl4j.model.client.accounts.AccountLinesRequestParams;
+import org.xrpl.xrpl4j.model.client.accounts.AccountLinesResult;
+import org.xrpl.xrpl4j.model.client.fees.FeeResult;
+import org.xrpl.xrpl4j.model.client.ledger.LedgerRequestParams;
+import org.xrpl.xrpl4j.model.client.ledger.LedgerResult;
+import org.xrpl.xrpl4j.model.client.transactions.SubmitResult;
+import org.xrpl.xrpl4j.model.client.transactions.TransactionRequestParams;
+import org.xrpl.xrpl4j.model.client.transactions.TransactionResult;
+import org.xrpl.xrpl4j.model.transactions.Transaction;
+
+/**
+ * The {@link XrplClient} calls the samples make ({@code account_info}, {@code account_lines}, {@code fee},
+ * {@code ledger}, {@code submit} and {@code tx}), with the same signatures. The client decorators here implement
+ * only this, so they stack in any order and a call none of them supports does not compile, rather than failing at
+ * runtime. {@link #of(XrplClient)} adapts a plain {@code XrplClient}.
+ */
+public interface XrplRpcClient {
+
+  AccountInfoResult accountInfo(AccountInfoRequestParams params) throws JsonRpcClientErrorException;
+
+  AccountLinesResult accountLines(AccountLinesRequestParams params) throws JsonRpcClientErrorException;
+
+  FeeResult fee() throws JsonRpcClientErrorException;
+
+  LedgerResult ledger(LedgerRequestParams params) throws JsonRpcClientErrorException;
+
+  <T extends Transaction> SubmitResult<T> submit(SingleSignedTransaction<T> signedTransaction)
+    throws JsonRpcClientErrorException, JsonProcessingException;
+
+  <T extends Transaction> TransactionResult<T> transaction(TransactionRequestParams params, Class<T> type)
+    throws JsonRpcClientErrorException;
+
+  static XrplRpcClient of(HttpUrl rippledUrl) {
+    return of(new XrplClient(rippledUrl));
+  }
+
+  static XrplRpcClient of(XrplClient xrplClient) {
+    return new XrplRpcClient() {
+      @Override
+      public AccountInfoResult accountInfo(AccountInfoRequestParams params) throws JsonRpcClientErrorException {
+        return xrplClient.accountInfo(params);
+      }
+
+      @Override
+      public AccountLinesResult accountLines(AccountLinesRequestParams params) throws JsonRpcClientErrorException {
+        return xrplClient.accountLines(params);
+      }
+
+      @Override
+      public FeeResult fee() throws JsonRpcClientErrorException {
+        return xrplClient.fee();
+      }
+
+      @Override
+      public LedgerResult ledger(LedgerRequestParams params) throws JsonRpcClientErrorException {
+        return xrplClient.ledger(params);
+      }
+
+      @Override
+      public <T extends Transaction> SubmitResult<T> submit(SingleSignedTransaction<T> signedTransaction)
+        throws JsonRpcClientErrorException, JsonProcessingException {
+        return xrplClient.submit(signedTransaction);
+      }
+
+      @Override
+      public <T extends Transaction> TransactionResult<T> transaction(TransactionRequestParams params, Class<T> type)
+        throws JsonRpcClientErrorException {
+        return xrplClient.transaction(params, type);
+      }
+    };
+  }
+
+}
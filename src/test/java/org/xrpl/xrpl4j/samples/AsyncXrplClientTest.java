@@ -0,0 +1,84 @@
+package org.xrpl.xrpl4j.samples;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.xrpl.xrpl4j.crypto.keys.KeyPair;
+import org.xrpl.xrpl4j.crypto.keys.PrivateKey;
+import org.xrpl.xrpl4j.crypto.keys.Seed;
+import org.xrpl.xrpl4j.crypto.signing.SignatureService;
+import org.xrpl.xrpl4j.crypto.signing.bc.BcSignatureService;
+import org.xrpl.xrpl4j.model.client.transactions.TransactionResult;
+import org.xrpl.xrpl4j.model.transactions.Address;
+import org.xrpl.xrpl4j.model.transactions.XrpCurrencyAmount;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+class AsyncXrplClientTest {
+
+  private static final int FLOWS = 10_000;
+  private static final int MAX_CONCURRENT_REQUESTS = 64;
+
+  private FakeRippled fakeRippled;
+  private ValidatedLedgerPoller ledgerPoller;
+  private ValidationTracker validationTracker;
+  private AsyncXrplClient asyncXrplClient;
+
+  @BeforeEach
+  void setUp() throws Exception {
+    // Ledgers close slowly enough that LastLedgerSequence (validated + 4) outlasts submitting every flow.
+    fakeRippled = new FakeRippled(Duration.ofSeconds(3), 0.0, 0.0, 0.0);
+    XrplRpcClient xrplClient = XrplRpcClient.of(fakeRippled.start(0));
+    CachingXrplClient cachingXrplClient = new CachingXrplClient(xrplClient, Duration.ofSeconds(1));
+
+    validationTracker = new ValidationTracker();
+    ledgerPoller = new ValidatedLedgerPoller(xrplClient, Duration.ofMillis(200));
+    ledgerPoller.addListener(validationTracker);
+    ledgerPoller.addListener(cachingXrplClient);
+    ledgerPoller.start();
+    asyncXrplClient = new AsyncXrplClient(cachingXrplClient, MAX_CONCURRENT_REQUESTS);
+  }
+
+  @AfterEach
+  void tearDown() {
+    asyncXrplClient.close();
+    ledgerPoller.close();
+    fakeRippled.close();
+  }
+
+  @Test
+  void tenThousandConcurrentSendXrpFlowsValidateWithoutAThreadEach() throws Exception {
+    SignatureService<PrivateKey> signatureService = new BcSignatureService();
+    Address destination = Seed.ed25519Seed().deriveKeyPair().publicKey().deriveAddress();
+    List<KeyPair> keyPairs = new ArrayList<>(FLOWS);
+    for (int i = 0; i < FLOWS; i++) {
+      keyPairs.add(Seed.ed25519Seed().deriveKeyPair());
+    }
+
+    ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+    int threadsBefore = threads.getThreadCount();
+    threads.resetPeakThreadCount();
+
+    List<CompletableFuture<TransactionResult<?>>> flows = new ArrayList<>(FLOWS);
+    for (KeyPair keyPair : keyPairs) {
+      flows.add(SendXrp.sendXrp(
+        asyncXrplClient, validationTracker, signatureService, keyPair, destination, XrpCurrencyAmount.ofDrops(1)
+      ));
+    }
+    CompletableFuture.allOf(flows.toArray(new CompletableFuture<?>[0])).get(2, TimeUnit.MINUTES);
+
+    assertThat(flows).allSatisfy(flow -> assertThat(flow.join().metadata())
+      .hasValueSatisfying(metadata -> assertThat(metadata.transactionResult()).isEqualTo("tesSUCCESS")));
+    // Client workers and fake rippled's handlers, not one thread per flow.
+    assertThat(threads.getPeakThreadCount() - threadsBefore).isLessThan(4 * MAX_CONCURRENT_REQUESTS);
+  }
+
+}
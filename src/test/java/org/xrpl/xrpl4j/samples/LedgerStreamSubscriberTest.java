@@ -0,0 +1,77 @@
+package org.xrpl.xrpl4j.samples;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
+
+class LedgerStreamSubscriberTest {
+
+  private final List<Long> dispatchedLedgerIndexes = new CopyOnWriteArrayList<>();
+
+  private FakeRippled fakeRippled;
+  private FakeRippledStream fakeRippledStream;
+  private ValidatedLedgerPoller ledgerPoller;
+  private LedgerStreamSubscriber ledgerStreamSubscriber;
+
+  @BeforeEach
+  void setUp() throws Exception {
+    // Ledgers close faster than the subscriber reconnects, so each dropped connection leaves a gap to backfill.
+    fakeRippled = new FakeRippled(Duration.ofMillis(50), 0.0, 0.0, 0.0);
+    fakeRippledStream = new FakeRippledStream(fakeRippled);
+    XrplRpcClient xrplClient = XrplRpcClient.of(fakeRippled.start(0));
+    String webSocketUrl = fakeRippledStream.start(0);
+
+    // The poller's timer is never started, so every ledger is driven by the stream.
+    ledgerPoller = new ValidatedLedgerPoller(xrplClient, Duration.ofSeconds(1));
+    ledgerPoller.addListener(ledgerResult -> ledgerResult.ledgerIndex().ifPresent(
+      ledgerIndex -> dispatchedLedgerIndexes.add(ledgerIndex.unsignedIntegerValue().longValue())
+    ));
+    ledgerStreamSubscriber = new LedgerStreamSubscriber(webSocketUrl, ledgerPoller);
+  }
+
+  @AfterEach
+  void tearDown() throws Exception {
+    ledgerStreamSubscriber.close();
+    ledgerPoller.close();
+    fakeRippledStream.close();
+    fakeRippled.close();
+  }
+
+  @Test
+  void deliversEveryValidatedLedgerExactlyOnceAcrossDroppedConnections() throws Exception {
+    ledgerStreamSubscriber.start();
+    awaitDispatched(fakeRippled.validatedLedgerIndex() + 5);
+
+    for (int i = 0; i < 3; i++) {
+      fakeRippledStream.dropConnections();
+      Thread.sleep(300);
+    }
+    awaitDispatched(fakeRippled.validatedLedgerIndex() + 5);
+
+    assertThat(ledgerStreamSubscriber.reconnectCount()).isPositive();
+    List<Long> dispatched = new ArrayList<>(dispatchedLedgerIndexes);
+    long first = dispatched.get(0);
+    assertThat(dispatched).containsExactlyElementsOf(
+      LongStream.range(first, first + dispatched.size()).boxed().collect(Collectors.toList())
+    );
+  }
+
+  private void awaitDispatched(long ledgerIndex) throws InterruptedException {
+    long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+    while (ledgerPoller.lastValidatedLedgerIndex().map(index -> index.longValue() < ledgerIndex).orElse(true)) {
+      assertThat(System.nanoTime() - deadline).as("ledger %s dispatched in time", ledgerIndex).isNegative();
+      Thread.sleep(20);
+    }
+  }
+
+}
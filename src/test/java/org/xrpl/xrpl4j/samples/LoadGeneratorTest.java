@@ -0,0 +1,50 @@
+package org.xrpl.xrpl4j.samples;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.xrpl.xrpl4j.crypto.signing.bc.BcSignatureService;
+
+import java.time.Duration;
+
+class LoadGeneratorTest {
+
+  private static final int RATE_PER_SECOND = 200;
+  private static final int DURATION_SECONDS = 5;
+
+  private FakeRippled fakeRippled;
+  private ValidatedLedgerPoller ledgerPoller;
+  private LoadGenerator loadGenerator;
+
+  @BeforeEach
+  void setUp() throws Exception {
+    fakeRippled = new FakeRippled(Duration.ofMillis(250), 0.0, 0.0, 0.0);
+    XrplRpcClient xrplClient = XrplRpcClient.of(fakeRippled.start(0));
+    ValidationTracker validationTracker = new ValidationTracker();
+    ledgerPoller = new ValidatedLedgerPoller(xrplClient, Duration.ofMillis(50));
+    ledgerPoller.addListener(validationTracker);
+    ledgerPoller.start();
+    loadGenerator = new LoadGenerator(
+      xrplClient, new BcSignatureService(), ledgerPoller, validationTracker, 8, 1, 1, 32
+    );
+  }
+
+  @AfterEach
+  void tearDown() {
+    ledgerPoller.close();
+    fakeRippled.close();
+  }
+
+  @Test
+  void everySubmissionValidatesAtAtLeastHalfTheTargetRate() throws Exception {
+    LoadGenerator.Report report = loadGenerator.run(RATE_PER_SECOND, Duration.ofSeconds(DURATION_SECONDS), 8);
+
+    assertThat(report.validatedCount() + report.expiredCount() + report.failedCount())
+      .isEqualTo(RATE_PER_SECOND * DURATION_SECONDS);
+    assertThat(report.validatedCount()).isEqualTo(RATE_PER_SECOND * DURATION_SECONDS);
+    assertThat(report.validatedPerSecond()).isGreaterThanOrEqualTo(RATE_PER_SECOND / 2.0);
+  }
+
+}
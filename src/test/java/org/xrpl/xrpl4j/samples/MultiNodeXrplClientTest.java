@@ -0,0 +1,78 @@
+package org.xrpl.xrpl4j.samples;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import okhttp3.HttpUrl;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.xrpl.xrpl4j.model.client.common.LedgerSpecifier;
+import org.xrpl.xrpl4j.model.client.ledger.LedgerRequestParams;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+class MultiNodeXrplClientTest {
+
+  private static final LedgerRequestParams VALIDATED_LEDGER = LedgerRequestParams.builder()
+    .ledgerSpecifier(LedgerSpecifier.VALIDATED)
+    .build();
+
+  private FakeRippled first;
+  private FakeRippled second;
+  private MultiNodeXrplClient client;
+
+  @AfterEach
+  void tearDown() {
+    if (client != null) {
+      client.close();
+    }
+    first.close();
+    second.close();
+  }
+
+  @Test
+  void ejectsALaggingNodeAndStopsReadingFromIt() throws Exception {
+    first = new FakeRippled(Duration.ofMillis(50), 0.0, 0.0, 0.0);
+    second = new FakeRippled(Duration.ofSeconds(30), 0.0, 0.0, 0.0);
+    client = new MultiNodeXrplClient(start(), Duration.ofMillis(50), 2);
+
+    long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+    while (client.nodeStats().get(1).healthy()) {
+      assertThat(System.nanoTime() - deadline).as("lagging node ejected in time").isNegative();
+      Thread.sleep(20);
+    }
+    assertThat(client.nodeStats().get(0).healthy()).isTrue();
+
+    long laggingRequests = client.nodeStats().get(1).requestCount();
+    for (int i = 0; i < 20; i++) {
+      client.ledger(VALIDATED_LEDGER);
+    }
+    assertThat(client.nodeStats().get(1).requestCount()).isEqualTo(laggingRequests);
+    assertThat(client.nodeStats().get(0).requestCount()).isGreaterThanOrEqualTo(20);
+  }
+
+  @Test
+  void failsReadsOverToAnotherNodeWhenOneStopsAnswering() throws Exception {
+    first = new FakeRippled(Duration.ofMillis(200), 0.0, 0.0, 0.0);
+    second = new FakeRippled(Duration.ofMillis(200), 0.0, 0.0, 0.0);
+    // Health checks are too rare to notice the outage, so only failover keeps the reads succeeding.
+    client = new MultiNodeXrplClient(start(), Duration.ofMinutes(10), 2);
+    // Stop the node reads prefer, so that the first read is sent to it.
+    List<MultiNodeXrplClient.NodeStats> stats = client.nodeStats();
+    int stopped = stats.get(0).smoothedLatencyMillis() <= stats.get(1).smoothedLatencyMillis() ? 0 : 1;
+    (stopped == 0 ? first : second).close();
+
+    for (int i = 0; i < 20; i++) {
+      assertThat(client.ledger(VALIDATED_LEDGER).ledgerIndex()).isPresent();
+    }
+    assertThat(client.nodeStats().get(stopped).failureCount()).isPositive();
+    assertThat(client.nodeStats().get(1 - stopped).requestCount()).isEqualTo(20);
+  }
+
+  private List<HttpUrl> start() throws Exception {
+    return Arrays.asList(first.start(0), second.start(0));
+  }
+
+}
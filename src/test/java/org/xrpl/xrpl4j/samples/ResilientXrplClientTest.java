@@ -0,0 +1,228 @@
+package org.xrpl.xrpl4j.samples;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.google.common.primitives.UnsignedInteger;
+import okhttp3.HttpUrl;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.xrpl.xrpl4j.client.JsonRpcClientErrorException;
+import org.xrpl.xrpl4j.crypto.keys.KeyPair;
+import org.xrpl.xrpl4j.crypto.keys.Seed;
+import org.xrpl.xrpl4j.crypto.signing.SingleSignedTransaction;
+import org.xrpl.xrpl4j.crypto.signing.bc.BcSignatureService;
+import org.xrpl.xrpl4j.model.client.accounts.AccountInfoRequestParams;
+import org.xrpl.xrpl4j.model.client.common.LedgerSpecifier;
+import org.xrpl.xrpl4j.model.client.transactions.TransactionRequestParams;
+import org.xrpl.xrpl4j.model.transactions.Address;
+import org.xrpl.xrpl4j.model.transactions.Hash256;
+import org.xrpl.xrpl4j.model.transactions.Payment;
+import org.xrpl.xrpl4j.model.transactions.Transaction;
+import org.xrpl.xrpl4j.model.transactions.XrpCurrencyAmount;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.concurrent.TimeUnit;
+
+class ResilientXrplClientTest {
+
+  private static final Duration OPEN_DURATION = Duration.ofMillis(200);
+
+  private FakeRippled fakeRippled;
+  private HttpUrl rippledUrl;
+  private HttpUrl deadUrl;
+
+  @BeforeEach
+  void setUp() throws Exception {
+    fakeRippled = new FakeRippled(Duration.ofSeconds(1), 0.0, 0.0, 0.0);
+    rippledUrl = fakeRippled.start(0);
+    // A port that was just free, so connecting to it is refused.
+    FakeRippled stopped = new FakeRippled(Duration.ofSeconds(1), 0.0, 0.0, 0.0);
+    deadUrl = stopped.start(0);
+    stopped.close();
+  }
+
+  @AfterEach
+  void tearDown() {
+    fakeRippled.close();
+  }
+
+  @Test
+  void terminalErrorsAreThrownWithoutRetrying() {
+    ResilientXrplClient client = newClient(rippledUrl, 1_000, 5);
+
+    assertThatThrownBy(() -> client.accountInfo(AccountInfoRequestParams.builder()
+      .account(Seed.ed25519Seed().deriveKeyPair().publicKey().deriveAddress())
+      .ledgerSpecifier(LedgerSpecifier.VALIDATED)
+      .build()
+    )).isInstanceOf(JsonRpcClientErrorException.class);
+    assertThatThrownBy(() -> client.transaction(TransactionRequestParams.of(Hash256.of(
+      "E08D6E9754025BA2534A78707605E0601F03ACE063687A0CA1BDDACFCD1698C7"
+    )), Transaction.class)).isInstanceOf(JsonRpcClientErrorException.class);
+
+    ResilientXrplClient.EndpointStats stats = client.endpointStats().get(0);
+    assertThat(client.retryCount()).isZero();
+    assertThat(stats.requestCount()).isEqualTo(2);
+    assertThat(stats.failureCount()).isZero();
+    assertThat(stats.circuitState()).isEqualTo(ResilientXrplClient.CircuitState.CLOSED);
+  }
+
+  @Test
+  void transportErrorsFailOverToAnotherEndpoint() throws Exception {
+    ResilientXrplClient client = new ResilientXrplClient(
+      Arrays.asList(deadUrl, rippledUrl), 1_000, 3, Duration.ofMillis(50), OPEN_DURATION
+    );
+
+    for (int i = 0; i < 4; i++) {
+      client.fee();
+    }
+
+    assertThat(client.endpointStats().get(0).failureCount()).isPositive();
+    assertThat(client.endpointStats().get(1).requestCount()).isGreaterThanOrEqualTo(4);
+    assertThat(client.retryCount()).isPositive();
+  }
+
+  @Test
+  void circuitOpensAfterConsecutiveFailuresAndClosesAfterASuccessfulProbe() throws Exception {
+    ResilientXrplClient client = newClient(deadUrl, 1_000, 1);
+
+    for (int i = 0; i < 5; i++) {
+      assertThatThrownBy(client::fee).isNotInstanceOf(IllegalStateException.class);
+    }
+    assertThat(client.endpointStats().get(0).circuitState()).isEqualTo(ResilientXrplClient.CircuitState.OPEN);
+    assertThat(client.endpointStats().get(0).circuitOpenCount()).isEqualTo(1);
+
+    // Open: rejected without a request.
+    assertThatThrownBy(client::fee).isInstanceOf(IllegalStateException.class);
+    assertThat(client.endpointStats().get(0).requestCount()).isEqualTo(5);
+
+    // Half open: a failed probe reopens the circuit.
+    Thread.sleep(OPEN_DURATION.toMillis() + 50);
+    assertThatThrownBy(client::fee).isNotInstanceOf(IllegalStateException.class);
+    assertThat(client.endpointStats().get(0).requestCount()).isEqualTo(6);
+    assertThat(client.endpointStats().get(0).circuitState()).isEqualTo(ResilientXrplClient.CircuitState.OPEN);
+    assertThat(client.endpointStats().get(0).circuitOpenCount()).isEqualTo(2);
+
+    // Half open again, with the node back: a successful probe closes it.
+    try (FakeRippled restarted = new FakeRippled(Duration.ofSeconds(1), 0.0, 0.0, 0.0)) {
+      restarted.start(deadUrl.port());
+      Thread.sleep(OPEN_DURATION.toMillis() + 50);
+      client.fee();
+    }
+    assertThat(client.endpointStats().get(0).circuitState()).isEqualTo(ResilientXrplClient.CircuitState.CLOSED);
+    assertThat(client.endpointStats().get(0).circuitOpenCount()).isEqualTo(2);
+  }
+
+  @Test
+  void probeThatThrowsAnErrorReopensTheCircuit() throws Exception {
+    ResilientXrplClient client = newClient(deadUrl, 1_000, 1);
+    for (int i = 0; i < 5; i++) {
+      assertThatThrownBy(client::fee).isNotInstanceOf(IllegalStateException.class);
+    }
+
+    Thread.sleep(OPEN_DURATION.toMillis() + 50);
+    assertThatThrownBy(() -> client.execute(xrplClient -> {
+      throw new Error("Probe did not complete.");
+    })).isExactlyInstanceOf(Error.class);
+
+    assertThat(client.endpointStats().get(0).circuitState()).isEqualTo(ResilientXrplClient.CircuitState.OPEN);
+    assertThat(client.endpointStats().get(0).circuitOpenCount()).isEqualTo(2);
+    // And the next probe is let through once the circuit has been open for long enough.
+    Thread.sleep(OPEN_DURATION.toMillis() + 50);
+    assertThatThrownBy(client::fee).isNotInstanceOf(IllegalStateException.class);
+    assertThat(client.endpointStats().get(0).requestCount()).isEqualTo(7);
+  }
+
+  @Test
+  void rateLimitedResponsesSlowTheEndpointDownWithoutOpeningItsCircuit() throws Exception {
+    fakeRippled.limitRequestRate(10);
+    ResilientXrplClient client = newClient(rippledUrl, 1_000, 1);
+
+    for (int i = 0; i < 20; i++) {
+      try {
+        client.fee();
+      } catch (JsonRpcClientErrorException e) {
+        // slowDown
+      }
+    }
+
+    ResilientXrplClient.EndpointStats throttled = client.endpointStats().get(0);
+    assertThat(throttled.rateLimitedCount()).isPositive();
+    assertThat(throttled.requestsPerSecond()).isLessThanOrEqualTo(500).isGreaterThanOrEqualTo(50);
+    assertThat(throttled.failureCount()).isZero();
+    assertThat(throttled.circuitState()).isEqualTo(ResilientXrplClient.CircuitState.CLOSED);
+
+    fakeRippled.limitRequestRate(0);
+    client.fee();
+    assertThat(client.endpointStats().get(0).requestsPerSecond()).isGreaterThan(throttled.requestsPerSecond());
+  }
+
+  @Test
+  void rateLimitedCallsAreRetriedUntilTheySucceed() throws Exception {
+    fakeRippled.limitRequestRate(20);
+    ResilientXrplClient client = newClient(rippledUrl, 1_000, 10);
+
+    for (int i = 0; i < 10; i++) {
+      client.fee();
+    }
+
+    assertThat(client.endpointStats().get(0).rateLimitedCount()).isPositive();
+    assertThat(client.retryCount()).isPositive();
+  }
+
+  @Test
+  void submitWhoseResponseIsLostIsNotResentAndIsAppliedOnce() throws Exception {
+    ResilientXrplClient client = newClient(rippledUrl, 1_000, 5);
+    KeyPair keyPair = Seed.ed25519Seed().deriveKeyPair();
+    Address account = keyPair.publicKey().deriveAddress();
+    UnsignedInteger sequence = accountSequence(client, account);
+    SingleSignedTransaction<Payment> payment = new BcSignatureService().sign(keyPair.privateKey(), Payment.builder()
+      .account(account)
+      .destination(Seed.ed25519Seed().deriveKeyPair().publicKey().deriveAddress())
+      .amount(XrpCurrencyAmount.ofDrops(1_000))
+      .fee(XrpCurrencyAmount.ofDrops(10))
+      .sequence(sequence)
+      .lastLedgerSequence(UnsignedInteger.valueOf(fakeRippled.validatedLedgerIndex() + 10))
+      .signingPublicKey(keyPair.publicKey())
+      .build());
+    fakeRippled.dropSubmitResponses(1);
+
+    // A resubmission would be answered tefPAST_SEQ, which reads as a failure of a transaction that was applied.
+    assertThatThrownBy(() -> client.submit(payment)).isInstanceOf(JsonRpcClientErrorException.class);
+    assertThat(client.retryCount()).isZero();
+    assertThat(client.endpointStats().get(0).requestCount()).isEqualTo(2);
+
+    long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+    while (!isValidated(client, payment.hash())) {
+      assertThat(System.nanoTime() - deadline).as("submitted payment validated in time").isNegative();
+      Thread.sleep(50);
+    }
+    assertThat(accountSequence(client, account)).isEqualTo(sequence.plus(UnsignedInteger.ONE));
+  }
+
+  private static UnsignedInteger accountSequence(ResilientXrplClient client, Address account) throws Exception {
+    return client.accountInfo(AccountInfoRequestParams.builder()
+      .account(account)
+      .ledgerSpecifier(LedgerSpecifier.CURRENT)
+      .build()
+    ).accountData().sequence();
+  }
+
+  private static boolean isValidated(ResilientXrplClient client, Hash256 hash) {
+    try {
+      return client.transaction(TransactionRequestParams.of(hash), Transaction.class).validated();
+    } catch (JsonRpcClientErrorException e) {
+      return false;
+    }
+  }
+
+  private static ResilientXrplClient newClient(HttpUrl url, double requestsPerSecond, int maxAttempts) {
+    return new ResilientXrplClient(
+      Collections.singletonList(url), requestsPerSecond, maxAttempts, Duration.ofMillis(200), OPEN_DURATION
+    );
+  }
+
+}
@@ -0,0 +1,110 @@
+package org.xrpl.xrpl4j.samples;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.google.common.primitives.UnsignedInteger;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.xrpl.xrpl4j.crypto.keys.KeyPair;
+import org.xrpl.xrpl4j.crypto.keys.Seed;
+import org.xrpl.xrpl4j.crypto.signing.SingleSignedTransaction;
+import org.xrpl.xrpl4j.crypto.signing.bc.BcSignatureService;
+import org.xrpl.xrpl4j.model.client.transactions.TransactionResult;
+import org.xrpl.xrpl4j.model.transactions.Address;
+import org.xrpl.xrpl4j.model.transactions.Payment;
+import org.xrpl.xrpl4j.model.transactions.XrpCurrencyAmount;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+class ValidationTrackerTest {
+
+  private static final Address DESTINATION = Address.of("rPT1Sjq2YGrBMTttX4GZHjKu9dyfzbpAYe");
+
+  private final BcSignatureService signatureService = new BcSignatureService();
+
+  private FakeRippled fakeRippled;
+  private XrplRpcClient xrplClient;
+  private ValidatedLedgerPoller ledgerPoller;
+  private ValidationTracker validationTracker;
+
+  @BeforeEach
+  void setUp() throws Exception {
+    fakeRippled = new FakeRippled(Duration.ofMillis(200), 0.0, 0.0, 0.0);
+    xrplClient = XrplRpcClient.of(fakeRippled.start(0));
+    validationTracker = new ValidationTracker();
+    ledgerPoller = new ValidatedLedgerPoller(xrplClient, Duration.ofMillis(50));
+    ledgerPoller.addListener(validationTracker);
+    ledgerPoller.start();
+  }
+
+  @AfterEach
+  void tearDown() {
+    ledgerPoller.close();
+    fakeRippled.close();
+  }
+
+  @Test
+  void completesWithTheResultOfATesTransaction() throws Exception {
+    SingleSignedTransaction<Payment> payment = signPayment(1, 1_000);
+
+    CompletableFuture<TransactionResult<?>> validation = validationTracker.track(payment);
+    assertThat(xrplClient.submit(payment).engineResult()).isEqualTo("tesSUCCESS");
+
+    TransactionResult<?> result = validation.get(10, TimeUnit.SECONDS);
+    assertThat(result.hash()).isEqualTo(payment.hash());
+    assertThat(result.metadata()).hasValueSatisfying(
+      metadata -> assertThat(metadata.transactionResult()).isEqualTo("tesSUCCESS")
+    );
+    assertThat(validationTracker.pendingCount()).isZero();
+  }
+
+  @Test
+  void completesWithTheResultOfATecTransaction() throws Exception {
+    // More than FakeRippled's fixed balance, so applied as tecUNFUNDED_PAYMENT.
+    SingleSignedTransaction<Payment> payment = signPayment(1, 100_000_000_000L);
+
+    CompletableFuture<TransactionResult<?>> validation = validationTracker.track(payment);
+    assertThat(xrplClient.submit(payment).engineResult()).isEqualTo("tecUNFUNDED_PAYMENT");
+
+    TransactionResult<?> result = validation.get(10, TimeUnit.SECONDS);
+    assertThat(result.hash()).isEqualTo(payment.hash());
+    assertThat(result.metadata()).hasValueSatisfying(
+      metadata -> assertThat(metadata.transactionResult()).isEqualTo("tecUNFUNDED_PAYMENT")
+    );
+  }
+
+  @Test
+  void failsOnceAValidatedLedgerPassesLastLedgerSequence() throws Exception {
+    // A sequence gap: held as terPRE_SEQ and never applied.
+    SingleSignedTransaction<Payment> payment = signPayment(5, 1_000);
+
+    CompletableFuture<TransactionResult<?>> validation = validationTracker.track(payment);
+    assertThat(xrplClient.submit(payment).engineResult()).isEqualTo("terPRE_SEQ");
+
+    assertThatThrownBy(() -> validation.get(10, TimeUnit.SECONDS))
+      .isInstanceOf(ExecutionException.class)
+      .hasCauseInstanceOf(TransactionExpiredException.class);
+    assertThat(fakeRippled.validatedLedgerIndex())
+      .isGreaterThan(payment.signedTransaction().lastLedgerSequence().get().longValue());
+    assertThat(validationTracker.pendingCount()).isZero();
+  }
+
+  private SingleSignedTransaction<Payment> signPayment(int sequence, long drops) {
+    KeyPair keyPair = Seed.ed25519Seed().deriveKeyPair();
+    return signatureService.sign(keyPair.privateKey(), Payment.builder()
+      .account(keyPair.publicKey().deriveAddress())
+      .destination(DESTINATION)
+      .amount(XrpCurrencyAmount.ofDrops(drops))
+      .fee(XrpCurrencyAmount.ofDrops(10))
+      .sequence(UnsignedInteger.valueOf(sequence))
+      .lastLedgerSequence(UnsignedInteger.valueOf(fakeRippled.validatedLedgerIndex() + 4))
+      .signingPublicKey(keyPair.publicKey())
+      .build());
+  }
+
+}